@@ -0,0 +1,185 @@
+package com.example.gonuts;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.Locale;
+
+/**
+ * Collects per-phase frame timings from the game loop. Each frame records how long was spent locking the
+ * canvas, updating the game, drawing and posting the canvas, plus the interval since the previous frame.
+ * Timings go into fixed-bucket histograms so recording never allocates; at the end of a session the
+ * percentiles, maxima and jank counts can be dumped to a text file in app-private storage.
+ *
+ * Jank is counted in missed refreshes of the display the frames are paced to: a frame interval longer than
+ * 1.5 refresh periods means at least one vsync was missed, and one longer than 2.5 periods means two or more
+ * were. The half-period margin keeps the normal jitter of on-time frames from being counted.
+ */
+public class FrameProfiler {
+
+    /**
+     * The measured parts of a frame.
+     */
+    public enum Phase {
+        /** Waiting for and locking the surface canvas. */
+        LOCK,
+        /** All simulation ticks run during the frame. */
+        UPDATE,
+        /** Drawing the game onto the canvas. */
+        DRAW,
+        /** Unlocking the canvas and posting it to the display. */
+        POST,
+        /** Time between the starts of consecutive frames. */
+        INTERVAL
+    }
+
+    private static final long BUCKET_WIDTH_NANOS = 100000L; // Histogram resolution of 0.1 ms
+    private static final int BUCKET_COUNT = 1000; // Histograms cover 0 to 100 ms exactly
+    public static final long DEFAULT_REFRESH_PERIOD_NANOS = 16666667L; // Refresh period of a 60 Hz display
+
+    private final FrameTimeHistogram[] histograms; // One histogram per phase
+    private long jankNanos; // Frame interval above which a vsync was missed, 1.5 refresh periods
+    private long severeJankNanos; // Frame interval above which two vsyncs were missed, 2.5 refresh periods
+    private long jankFrames; // Frames whose interval exceeded jankNanos
+    private long severeJankFrames; // Frames whose interval exceeded severeJankNanos
+    private final long sessionStartMillis; // Wall clock time the session started, used to name the dump
+
+    /**
+     * Constructs a FrameProfiler with empty histograms, counting jank against a 60 Hz display.
+     */
+    public FrameProfiler() {
+        Phase[] phases = Phase.values();
+        histograms = new FrameTimeHistogram[phases.length];
+        for (int i = 0; i < phases.length; i++) {
+            histograms[i] = new FrameTimeHistogram(BUCKET_WIDTH_NANOS, BUCKET_COUNT);
+        }
+        sessionStartMillis = System.currentTimeMillis();
+        setRefreshPeriodNanos(DEFAULT_REFRESH_PERIOD_NANOS);
+    }
+
+    /**
+     * Sets the refresh period of the display the frames are paced to, which jank is measured against. Frames
+     * already counted as jank are not recounted.
+     *
+     * @param refreshPeriodNanos The time between two vsyncs, in nanoseconds, for example 1e9 / 90 on a 90 Hz
+     *                           display.
+     */
+    public void setRefreshPeriodNanos(long refreshPeriodNanos) {
+        if (refreshPeriodNanos <= 0) {
+            throw new IllegalArgumentException("Refresh period must be positive");
+        }
+        jankNanos = refreshPeriodNanos * 3 / 2;
+        severeJankNanos = refreshPeriodNanos * 5 / 2;
+    }
+
+    /**
+     * Records the time spent in one phase of the current frame. Frame intervals also update the jank counts.
+     *
+     * @param phase The phase that was measured.
+     * @param nanos The time spent in it, in nanoseconds.
+     */
+    public void record(Phase phase, long nanos) {
+        histograms[phase.ordinal()].record(nanos);
+        if (phase == Phase.INTERVAL) {
+            if (nanos > jankNanos) {
+                jankFrames++;
+            }
+            if (nanos > severeJankNanos) {
+                severeJankFrames++;
+            }
+        }
+    }
+
+    /**
+     * Gets the histogram collected for a phase.
+     *
+     * @param phase The phase to look up.
+     * @return The phase's histogram.
+     */
+    public FrameTimeHistogram getHistogram(Phase phase) {
+        return histograms[phase.ordinal()];
+    }
+
+    /**
+     * Gets the number of frames that missed at least one vsync, with an interval over 1.5 refresh periods.
+     *
+     * @return The jank count.
+     */
+    public long getJankFrames() {
+        return jankFrames;
+    }
+
+    /**
+     * Gets the number of frames that missed two or more vsyncs, with an interval over 2.5 refresh periods.
+     *
+     * @return The severe jank count.
+     */
+    public long getSevereJankFrames() {
+        return severeJankFrames;
+    }
+
+    /**
+     * Writes a plain-text report of the session: one line per phase with its sample count, mean, p50, p95,
+     * p99 and max in milliseconds, followed by the jank counts, labelled with their thresholds.
+     *
+     * @param writer The writer to write the report to.
+     */
+    public void writeReport(Writer writer) {
+        PrintWriter out = new PrintWriter(writer);
+        out.println("phase,count,mean_ms,p50_ms,p95_ms,p99_ms,max_ms");
+        for (Phase phase : Phase.values()) {
+            FrameTimeHistogram histogram = histograms[phase.ordinal()];
+            out.println(String.format(Locale.US, "%s,%d,%.2f,%.2f,%.2f,%.2f,%.2f",
+                    phase.name().toLowerCase(Locale.US),
+                    histogram.getCount(),
+                    toMillis(histogram.getMeanNanos()),
+                    toMillis(histogram.getPercentileNanos(0.50)),
+                    toMillis(histogram.getPercentileNanos(0.95)),
+                    toMillis(histogram.getPercentileNanos(0.99)),
+                    toMillis(histogram.getMaxNanos())));
+        }
+        out.println(String.format(Locale.US, "jank_over_%.1fms,%d", toMillis(jankNanos), jankFrames));
+        out.println(String.format(Locale.US, "jank_over_%.1fms,%d", toMillis(severeJankNanos), severeJankFrames));
+        out.flush();
+    }
+
+    /**
+     * Writes the session report to a new file named after the session start time.
+     *
+     * @param directory The directory to write to, normally the app's private files directory.
+     * @return The file written, or null if it could not be written.
+     */
+    public File dump(File directory) {
+        File file = new File(directory, "frame-stats-" + sessionStartMillis + ".csv");
+        try (FileWriter writer = new FileWriter(file)) {
+            writeReport(writer);
+            return file;
+        } catch (IOException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * Clears all collected timings.
+     */
+    public void reset() {
+        for (FrameTimeHistogram histogram : histograms) {
+            histogram.reset();
+        }
+        jankFrames = 0;
+        severeJankFrames = 0;
+    }
+
+    /**
+     * Converts nanoseconds to fractional milliseconds.
+     *
+     * @param nanos The duration in nanoseconds.
+     * @return The duration in milliseconds.
+     */
+    private static double toMillis(long nanos) {
+        return nanos / 1000000.0;
+    }
+}
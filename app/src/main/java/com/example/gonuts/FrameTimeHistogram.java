@@ -0,0 +1,108 @@
+package com.example.gonuts;
+
+/**
+ * A histogram of durations with fixed-width buckets. Recording a value only increments a counter, so it can be
+ * called every frame without allocating. Percentiles are resolved to the upper edge of the bucket they fall
+ * in, so they are accurate to one bucket width; the maximum is tracked exactly.
+ */
+public class FrameTimeHistogram {
+    private final long bucketWidthNanos; // Width of each bucket in nanoseconds
+    private final int[] buckets; // Number of samples per bucket; the last bucket collects everything above the range
+    private long count; // Total number of samples
+    private long totalNanos; // Sum of all samples
+    private long maxNanos; // Largest sample recorded
+
+    /**
+     * Constructs a histogram covering durations from 0 to bucketWidthNanos * bucketCount, with one extra bucket
+     * for anything longer.
+     *
+     * @param bucketWidthNanos The width of each bucket in nanoseconds.
+     * @param bucketCount The number of buckets in the covered range.
+     */
+    public FrameTimeHistogram(long bucketWidthNanos, int bucketCount) {
+        this.bucketWidthNanos = bucketWidthNanos;
+        this.buckets = new int[bucketCount + 1];
+    }
+
+    /**
+     * Records one duration.
+     *
+     * @param nanos The duration in nanoseconds; negative values are counted as 0.
+     */
+    public void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        long index = nanos / bucketWidthNanos;
+        buckets[index >= buckets.length - 1 ? buckets.length - 1 : (int) index]++;
+        count++;
+        totalNanos += nanos;
+        if (nanos > maxNanos) {
+            maxNanos = nanos;
+        }
+    }
+
+    /**
+     * Gets the duration below which the given fraction of samples fall.
+     *
+     * @param fraction The percentile as a fraction, e.g. 0.95 for p95.
+     * @return The upper edge of the bucket containing the percentile, capped at the maximum sample, or 0
+     *         if nothing was recorded.
+     */
+    public long getPercentileNanos(double fraction) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(fraction * count);
+        if (rank < 1) {
+            rank = 1;
+        }
+        long seen = 0;
+        for (int i = 0; i < buckets.length - 1; i++) {
+            seen += buckets[i];
+            if (seen >= rank) {
+                return Math.min((i + 1) * bucketWidthNanos, maxNanos);
+            }
+        }
+        return maxNanos;
+    }
+
+    /**
+     * Gets the number of recorded samples.
+     *
+     * @return The sample count.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Gets the mean of the recorded samples.
+     *
+     * @return The mean in nanoseconds, or 0 if nothing was recorded.
+     */
+    public long getMeanNanos() {
+        return count == 0 ? 0 : totalNanos / count;
+    }
+
+    /**
+     * Gets the largest recorded sample.
+     *
+     * @return The maximum in nanoseconds.
+     */
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    /**
+     * Clears all recorded samples.
+     */
+    public void reset() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = 0;
+        }
+        count = 0;
+        totalNanos = 0;
+        maxNanos = 0;
+    }
+}
@@ -1,19 +1,81 @@
 package com.example.gonuts;
 
+import android.graphics.Bitmap;
 import android.graphics.Canvas;
+import android.graphics.HardwareRenderer;
+import android.graphics.PixelFormat;
+import android.graphics.RecordingCanvas;
+import android.graphics.Rect;
+import android.graphics.RenderNode;
+import android.hardware.HardwareBuffer;
+import android.media.Image;
+import android.media.ImageReader;
+import android.os.Looper;
+import android.view.Choreographer;
+import android.view.Display;
+import android.view.Surface;
 import android.view.SurfaceHolder;
 import android.widget.Toast;
 
 /**
  * GameThread manages the main game loop and rendering process. It controls the timing for updating game states
  * and drawing.
+ *
+ * Frames are paced in one of two ways. By default the thread runs its own Looper and is woken by
+ * {@link Choreographer} once per display refresh, so frames line up with vsync. The older sleep-based pacing
+ * is kept as a fallback for devices or tests where a Choreographer is not available.
+ *
+ * Frames can be drawn on a software canvas, rasterized by the CPU, or on a hardware-accelerated canvas from
+ * {@link Surface#lockHardwareCanvas()}. A surface is only ever locked by one backend: in AUTO mode the thread
+ * times a batch of full frames on each backend offscreen before its first frame and keeps the faster one. If
+ * the hardware canvas cannot be locked the thread falls back to software for good.
  */
-public class GameThread extends Thread {
-    private boolean running; // Flag to control the game loop
+public class GameThread extends Thread implements Choreographer.FrameCallback {
+
+    /**
+     * The ways the game loop can be paced.
+     */
+    public enum FramePacing {
+        /** Frames are driven by Choreographer vsync callbacks on the game thread's own Looper. */
+        VSYNC,
+        /** Frames are paced by sleeping until the next MAX_FPS deadline. */
+        SLEEP
+    }
+
+    /**
+     * The canvas implementations frames can be drawn with.
+     */
+    public enum RenderBackend {
+        /** CPU-rasterized canvas from SurfaceHolder.lockCanvas(), supports dirty-region updates. */
+        SOFTWARE,
+        /** GPU-accelerated canvas from Surface.lockHardwareCanvas(), always repaints the whole surface. */
+        HARDWARE,
+        /** Time PROBE_FRAMES full offscreen frames on each backend before the first frame, keep the faster. */
+        AUTO
+    }
+
+    private volatile boolean running; // Flag to control the game loop
     private final SurfaceHolder surfaceHolder; // Holder providing access and control over the surface
     private final GameView gameView; // The game view to update and draw
+    private FramePacing framePacing = FramePacing.VSYNC; // How frames are scheduled
+    private volatile Looper looper; // The game thread's Looper while running in VSYNC mode
+    private long previousTime; // Timestamp of the previous frame in nanoseconds
+    private long accumulator; // Real time not yet consumed by simulation ticks
+    private boolean dirtyRegionRendering = true; // Whether frames repaint only the area that changed
+    private final Rect dirtyRect = new Rect(); // Area of the surface repainted this frame
+    private RenderBackend renderBackend = RenderBackend.SOFTWARE; // Requested rendering backend
+    private RenderBackend activeBackend = RenderBackend.SOFTWARE; // Backend used for the next frame
+    private boolean backendChosen; // Whether AUTO mode has probed the backends for this thread's surface
+    private final long[] frameTimeTotals = new long[2]; // Total full-frame render time per backend, in nanoseconds
+    private final int[] frameCounts = new int[2]; // Full frames rendered per backend
+    private static final int PROBE_FRAMES = 120; // Frames timed on each backend in AUTO mode
+    private final FrameProfiler profiler = new FrameProfiler(); // Per-phase timings of this thread's frames
     private static final int MAX_FPS = 60; // Maximum frames per second
-    private long targetTime = 1000 / MAX_FPS; // target time in milliseconds to achieve desired FPS
+    private static final int TICKS_PER_SECOND = GameWorld.TICKS_PER_SECOND; // Fixed rate at which the simulation advances
+    private static final long FRAME_NANOS = 1000000000L / MAX_FPS; // Target duration of a rendered frame
+    private static final long TICK_NANOS = 1000000000L / TICKS_PER_SECOND; // Simulated time covered by one update
+    private static final int MAX_TICKS_PER_FRAME = 5; // Cap on catch-up updates before a frame is drawn
+    private static final long MAX_FRAME_DELTA_NANOS = 250000000L; // Longest gap (e.g. after a stall) fed to the simulation
 
     /**
      * Constructs a GameThread.
@@ -35,47 +97,192 @@ public class GameThread extends Thread {
      */
     public void setRunning(boolean running) {
         this.running = running;
+        Looper current = looper;
+        if (!running && current != null) {
+            // Wake the vsync loop so run() can return
+            current.quitSafely();
+        }
+    }
+
+    /**
+     * Selects how frames are paced. Must be called before the thread is started.
+     *
+     * @param framePacing The pacing mode to use.
+     */
+    public void setFramePacing(FramePacing framePacing) {
+        this.framePacing = framePacing;
+    }
+
+    /**
+     * Gets the pacing mode used by the game loop.
+     *
+     * @return The current pacing mode.
+     */
+    public FramePacing getFramePacing() {
+        return framePacing;
+    }
+
+    /**
+     * Enables or disables dirty-region rendering. When enabled, each frame locks and repaints only the part
+     * of the surface covered by moving sprites and changed tiles; otherwise every frame repaints the whole
+     * surface.
+     *
+     * @param dirtyRegionRendering true to repaint only what changed.
+     */
+    public void setDirtyRegionRendering(boolean dirtyRegionRendering) {
+        this.dirtyRegionRendering = dirtyRegionRendering;
+        if (!dirtyRegionRendering) {
+            gameView.requestFullRedraw();
+        }
+    }
+
+    /**
+     * Selects the canvas implementation used to draw frames. Must be called before the thread is started,
+     * since a surface that has been locked with one backend cannot be locked with the other. HARDWARE falls
+     * back to SOFTWARE if the hardware canvas is not available.
+     *
+     * @param renderBackend The backend to use.
+     */
+    public void setRenderBackend(RenderBackend renderBackend) {
+        this.renderBackend = renderBackend;
+        activeBackend = renderBackend == RenderBackend.HARDWARE ? RenderBackend.HARDWARE : RenderBackend.SOFTWARE;
+    }
+
+    /**
+     * Gets the backend that is drawing frames. In AUTO mode this is SOFTWARE until the backends have been
+     * compared before the first frame.
+     *
+     * @return SOFTWARE or HARDWARE.
+     */
+    public RenderBackend getActiveBackend() {
+        return activeBackend;
+    }
+
+    /**
+     * Gets the average time spent rendering a full frame with the given backend, for comparing the backends
+     * on the current device. Frames that repaint only a dirty region are not counted, so both backends are
+     * measured on the same work. In AUTO mode these are the offscreen probe frames; otherwise they are the
+     * full frames locked, drawn and posted on the surface.
+     *
+     * @param backend SOFTWARE or HARDWARE.
+     * @return The average frame render time in nanoseconds, or 0 if no frames were drawn with it.
+     */
+    public long getAverageFrameTimeNanos(RenderBackend backend) {
+        int index = backend.ordinal();
+        return frameCounts[index] == 0 ? 0 : frameTimeTotals[index] / frameCounts[index];
+    }
+
+    /**
+     * Gets the profiler recording this thread's frame timings.
+     *
+     * @return The frame profiler.
+     */
+    public FrameProfiler getProfiler() {
+        return profiler;
     }
 
     /**
-     * The main game loop that controls update and draw cycles. It ensures that the game updates and redraws
-     * at a consistent rate, defined by MAX_FPS. It also handles locking and unlocking the canvas to ensure
-     * that drawing operations do not conflict with surface updates.
+     * Runs the game loop until it is stopped, using the selected frame pacing. If vsync pacing cannot be
+     * set up on this thread, the loop falls back to sleep-based pacing.
      */
     @Override
     public void run() {
-        long startTime;
-        long timeMillis;
-        long waitTime;
-        Canvas canvas;
+        previousTime = System.nanoTime();
+        accumulator = 0;
 
-        while (running) {
-            startTime = System.nanoTime();
-            canvas = null;
+        if (framePacing == FramePacing.VSYNC) {
+            if (prepareVsync()) {
+                profiler.setRefreshPeriodNanos(getDisplayRefreshPeriodNanos());
+                runVsyncLoop();
+                return;
+            }
+            framePacing = FramePacing.SLEEP;
+        }
+        // Sleep-paced frames are due every FRAME_NANOS whatever the display does
+        profiler.setRefreshPeriodNanos(FRAME_NANOS);
+        runSleepLoop();
+    }
 
-            try {
-                // Try locking the canvas for pixel editing
-                canvas = this.surfaceHolder.lockCanvas();
-                synchronized (surfaceHolder) {
-                    if (canvas != null) {
-                        this.gameView.update(); // Update the game state before drawing
-                        this.gameView.draw(canvas); // Draw the frame
-                    }
-                }
-            } finally {
-                if (canvas != null) {
-                    // Make sure to unlock the canvas and post the changes
-                    surfaceHolder.unlockCanvasAndPost(canvas);
-                }
+    /**
+     * Gets the time between two vsyncs of the display the game is shown on, which frames are paced to in
+     * VSYNC mode.
+     *
+     * @return The refresh period in nanoseconds, or FRAME_NANOS if the display is not known.
+     */
+    private long getDisplayRefreshPeriodNanos() {
+        Display display = gameView.getDisplay();
+        float refreshRate = display != null ? display.getRefreshRate() : 0;
+        return refreshRate > 0 ? (long) (1000000000L / refreshRate) : FRAME_NANOS;
+    }
+
+    /**
+     * Prepares a Looper on this thread and registers for Choreographer's first vsync callback. Only this
+     * setup is guarded; exceptions thrown while running frames are left to propagate.
+     *
+     * @return true if vsync pacing is set up, false if no Choreographer is available on this thread.
+     */
+    private boolean prepareVsync() {
+        try {
+            Looper.prepare();
+            looper = Looper.myLooper();
+            Choreographer.getInstance().postFrameCallback(this);
+            return true;
+        } catch (RuntimeException e) {
+            // No Choreographer available on this thread, use the sleep loop instead
+            looper = null;
+            return false;
+        }
+    }
+
+    /**
+     * Lets Choreographer call {@link #doFrame(long)} on every vsync until the game is stopped and the Looper
+     * has quit.
+     */
+    private void runVsyncLoop() {
+        try {
+            if (running) {
+                Looper.loop();
             }
+        } finally {
+            looper = null;
+        }
+    }
 
-            timeMillis = (System.nanoTime() - startTime) / 1000000;
-            waitTime = targetTime - timeMillis;
+    /**
+     * Called by Choreographer on the game thread when a new display frame begins.
+     *
+     * @param frameTimeNanos The vsync timestamp of the frame, in the System.nanoTime() time base.
+     */
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        if (!running) {
+            Looper.myLooper().quitSafely();
+            return;
+        }
+
+        runFrame(frameTimeNanos);
+
+        if (running) {
+            Choreographer.getInstance().postFrameCallback(this);
+        } else {
+            Looper.myLooper().quitSafely();
+        }
+    }
+
+    /**
+     * The fallback game loop, which paces frames to MAX_FPS by sleeping off the rest of each frame.
+     */
+    private void runSleepLoop() {
+        while (running) {
+            long frameStart = System.nanoTime();
+            runFrame(frameStart);
+
+            long waitNanos = FRAME_NANOS - (System.nanoTime() - frameStart);
 
             try {
                 // Maintain the frame rate by waiting if necessary
-                if (waitTime > 0) {
-                    sleep(waitTime);
+                if (waitNanos > 0) {
+                    sleep(waitNanos / 1000000, (int) (waitNanos % 1000000));
                 }
             } catch (InterruptedException e) {
                 // Properly handle interruption to stop the thread safely
@@ -84,4 +291,214 @@ public class GameThread extends Thread {
         }
     }
 
+    /**
+     * In AUTO mode, picks the backend for this thread's surface before its first frame is drawn, so that the
+     * surface is only ever locked by one backend. The game view draws PROBE_FRAMES full frames on each
+     * backend into an offscreen target the size of the surface, and the backend with the lower average frame
+     * time is kept. Software frames are drawn into a bitmap and hardware frames are recorded into a
+     * RenderNode and rendered into an ImageReader, waiting until each frame is presented.
+     */
+    private void chooseBackend() {
+        if (renderBackend != RenderBackend.AUTO || backendChosen) {
+            return;
+        }
+        backendChosen = true;
+        activeBackend = RenderBackend.SOFTWARE;
+        Rect frame = surfaceHolder.getSurfaceFrame();
+        int width = frame.width();
+        int height = frame.height();
+        if (width <= 0 || height <= 0) {
+            return; // Nothing to measure against, stay on software
+        }
+
+        probeSoftware(width, height);
+        try {
+            probeHardware(width, height);
+        } catch (RuntimeException e) {
+            // No hardware rendering available, stay on software from now on
+            return;
+        }
+        if (getAverageFrameTimeNanos(RenderBackend.HARDWARE) < getAverageFrameTimeNanos(RenderBackend.SOFTWARE)) {
+            activeBackend = RenderBackend.HARDWARE;
+        }
+        gameView.requestFullRedraw();
+    }
+
+    /**
+     * Times PROBE_FRAMES full frames drawn on a software canvas backed by an offscreen bitmap.
+     *
+     * @param width The width of the surface, in pixels.
+     * @param height The height of the surface, in pixels.
+     */
+    private void probeSoftware(int width, int height) {
+        Bitmap target = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+        Canvas canvas = new Canvas(target);
+        for (int i = 0; i < PROBE_FRAMES; i++) {
+            long start = System.nanoTime();
+            synchronized (surfaceHolder) {
+                this.gameView.draw(canvas, 1f);
+            }
+            recordFullFrame(RenderBackend.SOFTWARE, System.nanoTime() - start);
+        }
+        target.recycle();
+    }
+
+    /**
+     * Times PROBE_FRAMES full frames drawn on a hardware canvas and rendered by the GPU into an offscreen
+     * ImageReader.
+     *
+     * @param width The width of the surface, in pixels.
+     * @param height The height of the surface, in pixels.
+     */
+    private void probeHardware(int width, int height) {
+        ImageReader reader = ImageReader.newInstance(width, height, PixelFormat.RGBA_8888, 2,
+                HardwareBuffer.USAGE_GPU_COLOR_OUTPUT);
+        RenderNode content = new RenderNode("BackendProbe");
+        content.setPosition(0, 0, width, height);
+        HardwareRenderer renderer = new HardwareRenderer();
+        try {
+            renderer.setContentRoot(content);
+            renderer.setSurface(reader.getSurface());
+            for (int i = 0; i < PROBE_FRAMES; i++) {
+                long start = System.nanoTime();
+                RecordingCanvas canvas = content.beginRecording(width, height);
+                try {
+                    synchronized (surfaceHolder) {
+                        this.gameView.draw(canvas, 1f);
+                    }
+                } finally {
+                    content.endRecording();
+                }
+                renderer.createRenderRequest().setWaitForPresent(true).syncAndDraw();
+                Image image = reader.acquireLatestImage();
+                recordFullFrame(RenderBackend.HARDWARE, System.nanoTime() - start);
+                if (image != null) {
+                    image.close(); // Free the buffer for the next frame
+                }
+            }
+        } finally {
+            renderer.destroy();
+            reader.close();
+        }
+    }
+
+    /**
+     * Adds the render time of a full frame to a backend's totals.
+     *
+     * @param backend SOFTWARE or HARDWARE.
+     * @param nanos The time taken to render the frame, in nanoseconds.
+     */
+    private void recordFullFrame(RenderBackend backend, long nanos) {
+        frameTimeTotals[backend.ordinal()] += nanos;
+        frameCounts[backend.ordinal()]++;
+    }
+
+    /**
+     * Runs a single frame. Simulation time advances in fixed ticks of TICK_NANOS, independent of how long
+     * rendering takes: elapsed real time is accumulated and drained one update at a time, so a slow frame
+     * results in several updates before the next draw rather than the game running in slow motion.
+     * Catch-up is capped at MAX_TICKS_PER_FRAME so a long stall cannot trap the loop in updates. The time
+     * left over in the accumulator is passed to the draw as an interpolation factor, so characters are
+     * drawn between their last two simulated positions.
+     *
+     * @param frameTimeNanos The time at which this frame starts, in nanoseconds.
+     */
+    private void runFrame(long frameTimeNanos) {
+        long elapsed = frameTimeNanos - previousTime;
+        previousTime = frameTimeNanos;
+        profiler.record(FrameProfiler.Phase.INTERVAL, elapsed);
+
+        // Don't try to simulate the whole gap after the thread was descheduled for a long time
+        if (elapsed > MAX_FRAME_DELTA_NANOS) {
+            elapsed = MAX_FRAME_DELTA_NANOS;
+        } else if (elapsed < 0) {
+            elapsed = 0;
+        }
+        accumulator += elapsed;
+
+        // The world belongs to this thread and other threads only reach it through its command queue,
+        // so updating it needs no lock
+        long updateStart = System.nanoTime();
+        int ticks = 0;
+        while (accumulator >= TICK_NANOS && ticks < MAX_TICKS_PER_FRAME) {
+            this.gameView.update(); // Advance the game state by one fixed tick
+            accumulator -= TICK_NANOS;
+            ticks++;
+        }
+        profiler.record(FrameProfiler.Phase.UPDATE, System.nanoTime() - updateStart);
+
+        // Drop whatever could not be caught up so the backlog doesn't keep growing
+        if (accumulator >= TICK_NANOS) {
+            accumulator %= TICK_NANOS;
+        }
+        float alpha = (float) accumulator / TICK_NANOS;
+
+        chooseBackend();
+        RenderBackend backend = activeBackend;
+
+        // Work out how much of the surface needs repainting; null means all of it
+        Rect dirty = null;
+        synchronized (surfaceHolder) {
+            if (this.gameView.computeDirtyRegion(dirtyRect, alpha) && dirtyRegionRendering) {
+                if (dirtyRect.isEmpty()) {
+                    return; // Nothing moved, the surface already shows this frame
+                }
+                // Hardware canvases don't keep the previous frame, so they always repaint everything
+                if (backend == RenderBackend.SOFTWARE) {
+                    dirty = dirtyRect;
+                }
+            }
+        }
+
+        long renderStart = System.nanoTime();
+        long drawStart = renderStart;
+        long postStart = renderStart;
+        Surface surface = null;
+        Canvas canvas = null;
+        try {
+            if (backend == RenderBackend.HARDWARE) {
+                surface = this.surfaceHolder.getSurface();
+                try {
+                    canvas = surface.lockHardwareCanvas();
+                } catch (RuntimeException e) {
+                    // Hardware canvas not supported on this surface, stay on software from now on
+                    activeBackend = RenderBackend.SOFTWARE;
+                    backend = RenderBackend.SOFTWARE;
+                    surface = null;
+                }
+            }
+            if (backend == RenderBackend.SOFTWARE) {
+                // Try locking the canvas for pixel editing; the canvas comes back clipped to the dirty region
+                canvas = dirty != null ? this.surfaceHolder.lockCanvas(dirty) : this.surfaceHolder.lockCanvas();
+            }
+            drawStart = System.nanoTime();
+            synchronized (surfaceHolder) {
+                if (canvas != null) {
+                    this.gameView.draw(canvas, alpha); // Draw the frame between the last two ticks
+                }
+            }
+        } finally {
+            postStart = System.nanoTime();
+            if (canvas != null) {
+                // Make sure to unlock the canvas and post the changes
+                if (surface != null) {
+                    surface.unlockCanvasAndPost(canvas);
+                } else {
+                    surfaceHolder.unlockCanvasAndPost(canvas);
+                }
+            }
+        }
+
+        if (canvas != null) {
+            long renderEnd = System.nanoTime();
+            profiler.record(FrameProfiler.Phase.LOCK, drawStart - renderStart);
+            profiler.record(FrameProfiler.Phase.DRAW, postStart - drawStart);
+            profiler.record(FrameProfiler.Phase.POST, renderEnd - postStart);
+            // Only full frames are compared, and in AUTO mode the comparison was made offscreen
+            if (dirty == null && renderBackend != RenderBackend.AUTO) {
+                recordFullFrame(backend, renderEnd - renderStart);
+            }
+        }
+    }
+
 }
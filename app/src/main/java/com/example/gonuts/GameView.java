@@ -6,82 +6,60 @@ import android.graphics.BitmapFactory;
 import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.Paint;
-import android.os.Handler;
+import android.graphics.Rect;
 import android.view.SurfaceHolder;
 import android.view.SurfaceView;
 import android.widget.Toast;
 
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
-import java.util.Random;
+import java.io.IOException;
 
 /**
- * Represents the game view, handling all drawing and game logic.
- * This class is responsible for setting up the game environment, managing game objects like the Squirrel, Fox,
- * and projectiles, and handling game state changes and drawing on the screen.
+ * Represents the game view, handling the drawing of the game.
+ * The game rules and state (maze, Squirrel, Fox and projectiles) live in a {@link GameWorld}; this class sets up
+ * the game environment, drives the world from the game thread, reacts to the world's events
+ * and draws the world on the screen.
  */
-public class GameView extends SurfaceView implements SurfaceHolder.Callback {
+public class GameView extends SurfaceView implements SurfaceHolder.Callback, GameEventListener {
     private GameThread thread; // Main thread for the game loop
-    private int[][] maze = new int[19][19]; // Representation of the game maze
-    private Squirrel squirrel; // Player character
-    private Fox fox; // Enemy character
+    private GameWorld world; // The game simulation being shown
     private Paint bushPaint; // Paint for drawing bushes (walls of the maze)
     private Paint emptySpacePaint; // Paint for empty spaces in the maze
     private Bitmap acornImage; // Bitmap for drawing acorns
+    private Bitmap squirrelImage; // Bitmap for drawing the squirrel
+    private Bitmap foxImage; // Bitmap for drawing the fox
+    private MazeLayer mazeLayer; // Cached rendering of the maze
     private Bitmap projectileImage; // Bitmap for drawing projectiles
     private Bitmap backgroundImage; // Background image for the game
     private Bitmap frameImage;  // Frame image around the game area
     private int blockSize;  // Size of each block in the grid
-    private int offsetX;    // Horizontal offset to center the maze
-    private int offsetY;    // Vertical offset to center the maze
-    private Random random = new Random(); // Random number generator
-    private List<Projectile> projectiles = new ArrayList<>(); // Add a list to manage projectiles
-
-    /**
-     * Handler for managing the respawn of the Fox. This makes it so that the fox is respawned periodically.
-     */
-    private Handler respawnHandler = new Handler();
-    private Runnable respawnRunnable = new Runnable() {
+    private Camera camera; // Viewport following the squirrel, mapping maze cells to the screen
+    private volatile int viewWidth; // View width handed to the game thread for the camera
+    private volatile int viewHeight; // View height handed to the game thread for the camera
+    private volatile float requestedZoom = 1f; // Zoom handed to the game thread for the camera
+    private volatile boolean cameraChangePending; // Whether the game thread has yet to apply a new size or zoom
+    private boolean fullRedrawPending = true; // Whether the next frame must repaint the whole surface
+    private final Rect previousSpriteBounds = new Rect(); // Area covered by moving sprites in the last frame
+    private final Rect currentSpriteBounds = new Rect(); // Area covered by moving sprites in this frame
+    private final Rect changedTileBounds = new Rect(); // Area of maze tiles changed since the last frame
+    private final Rect spriteBounds = new Rect(); // Scratch rectangle for a single sprite's bounds
+    private Canvas spriteCanvas; // Canvas the entities are being drawn on, only set while drawing them
+    private final RenderSystem.Sprites spriteBoundsAdder = new RenderSystem.Sprites() {
         @Override
-        public void run() {
-            // Check if the fox exists and respawn it at a new location if it does.
-            if (fox != null) {
-                fox.respawn(blockSize, maze, offsetX, offsetY);
-                postInvalidate();  // Request to redraw the view (calls the draw method)
-            }
-            // Schedule the next respawn
-            respawnHandler.postDelayed(this, 10000);  // 10000ms = 10 seconds
+        public void drawSprite(int kind, float cellX, float cellY) {
+            addSpriteBounds(cellX, cellY);
         }
     };
-
-    /**
-     * Handler for managing the shooting of projectiles by the Fox. This handles the creation and scheduling
-     * of projectiles aimed at the Squirrel.
-     */
-    private Handler shootHandler = new Handler();
-    private Runnable shootRunnable = new Runnable() {
+    private final RenderSystem.Sprites spriteDrawer = new RenderSystem.Sprites() {
         @Override
-        public void run() {
-            // Create a projectile if the fox and squirrel are present
-            if (fox != null && squirrel != null) {
-                projectiles.add(new Projectile(
-                        projectileImage,
-                        fox.getX() + blockSize / 2,  // Assuming the fox image is centered in its block
-                        fox.getY() + blockSize / 2,
-                        squirrel.getX() + blockSize / 2,
-                        squirrel.getY() + blockSize / 2
-                ));
-                postInvalidate(); // Request to redraw the view (calls the draw method)
-            }
-            // Schedule the next shot
-            shootHandler.postDelayed(this, 2000); // 2000ms = 2 seconds
+        public void drawSprite(int kind, float cellX, float cellY) {
+            GameView.this.drawSprite(spriteCanvas, spriteImage(kind), cellX, cellY);
         }
     };
 
     /**
      * Constructs a GameView which sets up the game environment, initializes rendering components, and starts the game logic.
-     * It sets the view to be focusable to handle interactions and starts timers for game events like fox respawning and projectile shooting.
+     * Timed game events like fox respawning and projectile shooting are scheduled by the world on its own clock,
+     * so they pause with the game loop.
      *
      * @param context The current context, used to create new views and access resources.
      */
@@ -98,70 +76,38 @@ public class GameView extends SurfaceView implements SurfaceHolder.Callback {
 
         emptySpacePaint = new Paint();
         emptySpacePaint.setColor(Color.rgb(151, 192, 133)); // Light green for empty spaces
+        mazeLayer = new MazeLayer(bushPaint, emptySpacePaint);
 
-        // Load the background and frame image
+        // Load the background image; the frame is loaded once the view size is known
         backgroundImage = BitmapFactory.decodeResource(getResources(), R.drawable.maze_background);
-        frameImage = BitmapFactory.decodeResource(getResources(), R.drawable.maze_frame);
 
-        // Initialize the maze structure and randomize acorn placements
-        initializeMaze();
-        randomizeAcorns();
-
-        // Start the respawn timer for the fox
-        respawnHandler.postDelayed(respawnRunnable, 10000);  // 10000ms = 10 seconds
-
-        // Start the timer for the projectile
-        shootHandler.postDelayed(shootRunnable, 2000); // 2000ms = 2 seconds
-
-    }
-
-    /**
-     * Initializes the maze structure with a 19x19 grid where walls are represented by 1s and
-     * open paths by 0s.
-     */
-    private void initializeMaze() {
-        // Hardcoded grid representing the maze layout
-        maze = new int[][] {
-                {1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1},
-                {1,0,0,0,0,0,0,0,0,1,0,0,0,0,0,0,0,0,1},
-                {1,0,1,1,0,1,1,1,0,1,0,1,1,1,0,1,1,0,1},
-                {1,0,1,1,0,1,1,1,0,1,0,1,1,1,0,1,1,0,1},
-                {1,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,1},
-                {1,0,1,1,0,1,0,1,1,1,1,1,0,1,0,1,1,0,1},
-                {1,0,0,0,0,1,0,0,0,1,0,0,0,1,0,0,0,0,1},
-                {1,0,0,1,0,1,1,1,0,1,0,1,1,1,0,1,0,0,1},
-                {1,0,1,1,0,1,0,0,0,0,0,0,0,1,0,1,1,0,1},
-                {1,0,0,0,0,1,0,0,0,0,0,0,0,1,0,0,0,0,1},
-                {1,0,1,1,0,0,0,0,0,0,0,0,0,0,0,1,1,0,1},
-                {1,0,0,1,0,1,0,1,1,1,1,1,0,1,0,1,0,0,1},
-                {1,0,0,0,0,0,0,0,0,1,0,0,0,0,0,0,0,0,1},
-                {1,0,1,1,0,1,1,1,0,1,0,1,1,1,0,1,1,0,1},
-                {1,0,0,1,0,0,0,0,0,0,0,0,0,0,0,1,0,0,1},
-                {1,1,0,0,0,1,0,1,1,1,1,1,0,1,0,0,0,1,1},
-                {1,0,0,1,1,1,0,0,0,1,0,0,0,1,1,1,0,0,1},
-                {1,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,1},
-                {1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1}
-        };
+        // Create the game world on the first shipped level, with randomized acorn placements
+        world = new GameWorld(loadLevel(context, 0), System.nanoTime());
+        world.setListener(this);
+        camera = new Camera(world.getRows(), world.getCols());
     }
 
     /**
-     * Randomizes the placement of acorns within the open paths of the maze. Each open cell has a 10% chance
-     * of being assigned an acorn.
+     * Loads a level from the level pack shipped in the app's assets, falling back to the classic maze if the
+     * pack cannot be read.
+     *
+     * @param context The context whose assets hold the level pack.
+     * @param index The number of the level in the pack.
+     * @return The level.
      */
-    private void randomizeAcorns() {
-        // Randomize acorns in open paths
-        for (int i = 1; i < 18; i++) {
-            for (int j = 1; j < 18; j++) {
-                if (maze[i][j] == 0 && random.nextDouble() < 0.1) { // 10% chance to place an acorn
-                    maze[i][j] = 2; // 2 represent an acorn
-                }
-            }
+    private static Level loadLevel(Context context, int index) {
+        try {
+            return LevelAssets.openAsset(context, LevelAssets.DEFAULT_PACK).load(index);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return MazeLayouts.classicLevel();
         }
     }
 
     /**
      * Handles resizing of the game view based on the new dimensions.
-     * It also resizes images to fit the new block size and reinitializes game entities like the Squirrel and Fox.
+     * The camera picks a block size for the new viewport, and the images and maze are redone at that size.
+     * Called on the UI thread, so the new size is handed to the game thread and applied before its next draw.
      *
      * @param w The new width of this view.
      * @param h The new height of this view.
@@ -171,37 +117,80 @@ public class GameView extends SurfaceView implements SurfaceHolder.Callback {
     @Override
     protected void onSizeChanged(int w, int h, int oldw, int oldh) {
         super.onSizeChanged(w, h, oldw, oldh);
-        blockSize = Math.min(w, h) / 19;  // Determine the block size based on the smaller dimension
-        offsetX = (w - blockSize * 19) / 2;  // Calculate offsets to center the maze
-        offsetY = (h - blockSize * 19) / 2;
-
-        // Resize the frame image to fit the maze size plus the desired frame thickness
-        int frameWidth = blockSize * 19 + 2 * 30; // desiredFrameThickness is how thick you want the frame to be
-        int frameHeight = frameWidth;  // Assuming a square frame for simplicity
-        frameImage = Bitmap.createScaledBitmap(frameImage, frameWidth, frameHeight, false);
-
-        // Instantiate the Squirrel and the Fox with the maze size
-        squirrel = new Squirrel(getContext(), blockSize, offsetX, offsetY);
-        fox = new Fox(getContext(), blockSize, maze, offsetX, offsetY);
-
-        /**
-         * Loads the projectile image from resources and scales it to match the block size of the maze.
-         * This ensures that the projectile image is appropriately sized to fit within the game's grid system.
-         */
-        Bitmap originalProjectile = BitmapFactory.decodeResource(getResources(), R.drawable.slime_image);
-        projectileImage = Bitmap.createScaledBitmap(originalProjectile, blockSize, blockSize, false);
-
-        // Resize the acorn image to fit the new block size
+        viewWidth = w;
+        viewHeight = h;
+        cameraChangePending = true;
+    }
+
+    /**
+     * Sets how far the camera is zoomed in. At zoom 1 the shorter side of the screen shows 19 cells, the
+     * whole classic maze; larger values show fewer, larger cells and smaller values more, smaller ones.
+     * Safe to call from any thread; the game thread applies the zoom before its next draw, since the camera,
+     * sprites and maze layer belong to it.
+     *
+     * @param zoom The zoom factor, greater than 0.
+     */
+    public void setZoom(float zoom) {
+        if (zoom <= 0) {
+            throw new IllegalArgumentException("Zoom must be positive");
+        }
+        requestedZoom = zoom;
+        cameraChangePending = true;
+    }
+
+    /**
+     * Applies a view size or zoom handed over by another thread. Called on the game thread before the camera
+     * is used for a frame, so nothing is resized or released while a frame is being drawn.
+     */
+    private void applyCameraChange() {
+        if (!cameraChangePending) {
+            return;
+        }
+        cameraChangePending = false;
+        camera.setViewSize(viewWidth, viewHeight);
+        camera.setZoom(requestedZoom);
+        applyBlockSize();
+    }
+
+    /**
+     * Resizes images to the camera's current block size. When the whole maze fits on screen it is framed and
+     * rendered once into the cached maze layer; otherwise the layer is dropped and only the visible tiles
+     * are drawn each frame.
+     */
+    private void applyBlockSize() {
+        blockSize = camera.getCellSize();
+        Squirrel squirrel = world.getSquirrel();
+        camera.follow(squirrel.getX(), squirrel.getY());
+
+        // Load the character, projectile and acorn images at the new block size
         loadAndResizeBitmaps();
+
+        if (camera.isWholeMazeVisible()) {
+            // Resize the frame image to fit the maze size plus the desired frame thickness
+            int frameWidth = blockSize * world.getCols() + 2 * 30; // 30 is the frame thickness
+            int frameHeight = blockSize * world.getRows() + 2 * 30;
+            frameImage = SpriteCache.getInstance().getSprite(getResources(), R.drawable.maze_frame,
+                    frameWidth, frameHeight);
+
+            // Render the maze once at the new block size; frames only copy this layer from now on
+            mazeLayer.rebuild(world.getMaze(), blockSize, acornImage);
+        } else {
+            frameImage = null; // The maze runs off the edges of the screen, so there is nothing to frame
+            mazeLayer.release();
+        }
+        requestFullRedraw();
     }
 
     /**
-     * Loads and resizes bitmap images used within the game. Specifically, it resizes the acorn image
-     * to fit the size of the blocks in the maze.
+     * Loads the bitmap images used within the maze at the size of its blocks. All images come from the
+     * shared sprite cache, so a size seen before is not decoded again.
      */
     private void loadAndResizeBitmaps() {
-        Bitmap originalAcorn = BitmapFactory.decodeResource(getResources(), R.drawable.acorn_image);
-        acornImage = Bitmap.createScaledBitmap(originalAcorn, blockSize, blockSize, false);
+        SpriteCache sprites = SpriteCache.getInstance();
+        squirrelImage = sprites.getSprite(getResources(), R.drawable.squirrel_image, blockSize, blockSize);
+        foxImage = sprites.getSprite(getResources(), R.drawable.fox_image, blockSize, blockSize);
+        projectileImage = sprites.getSprite(getResources(), R.drawable.slime_image, blockSize, blockSize);
+        acornImage = sprites.getSprite(getResources(), R.drawable.acorn_image, blockSize, blockSize);
     }
 
     /**
@@ -216,8 +205,8 @@ public class GameView extends SurfaceView implements SurfaceHolder.Callback {
     }
 
     /**
-     * Called when the surface changes, for example during orientation changes. This method is currently
-     * implemented as empty, used only if needed for responding to size changes.
+     * Called when the surface changes, for example during orientation changes. The whole surface is
+     * repainted on the next frame since none of its previous contents can be reused.
      *
      * @param holder The surface holder whose surface has changed.
      * @param format The new PixelFormat of the surface.
@@ -225,11 +214,12 @@ public class GameView extends SurfaceView implements SurfaceHolder.Callback {
      * @param height The new height of the surface.
      */
     @Override
-    public void surfaceChanged(SurfaceHolder holder, int format, int width, int height) {}
+    public void surfaceChanged(SurfaceHolder holder, int format, int width, int height) {
+        requestFullRedraw();
+    }
 
     /**
-     * Called when the surface is destroyed. This method stops the game thread and removes callbacks
-     * to prevent memory leaks.
+     * Called when the surface is destroyed. This method stops the game thread and with it the game clock.
      *
      * @param holder The surface holder whose surface is being destroyed.
      */
@@ -246,35 +236,58 @@ public class GameView extends SurfaceView implements SurfaceHolder.Callback {
             }
         }
 
-        // Remove callbacks when the view is destroyed to avoid leaks
-        respawnHandler.removeCallbacks(respawnRunnable);
-
-        // Remove callbacks to avoid leaks
-        shootHandler.removeCallbacks(shootRunnable);
+        dumpFrameStats();
     }
 
     /**
-     * Updates the state of the game, including checking for collisions between projectiles and the squirrel,
-     * as well as handling projectile movement and interaction with the game environment.
+     * Updates the state of the game by advancing the world one tick. Projectile movement, acorn collection
+     * and collisions are handled by the world, which reports the results back through the event callbacks.
      */
     public void update() {
-        // Update and check for collisions for each projectile
-        Iterator<Projectile> iterator = projectiles.iterator();
-        while (iterator.hasNext()) {
-            Projectile projectile = iterator.next();
-            projectile.update();
-
-            // Collision with squirrel: check if a projectile is close enough to consider it a collision
-            if (Math.hypot(projectile.getX() - squirrel.getX(), projectile.getY() - squirrel.getY()) < blockSize) {
-                iterator.remove(); // Remove the projectile on collision
-                endGame();// game ends when projectile hits squirrel
-            }
+        world.tick();
+    }
 
-            // Collision with maze frame
-            // Check if the projectile has collided with the frame; if so, remove it
+    /**
+     * Called by the world when a maze cell changes. Marks the tile for redrawing in the cached maze layer
+     * and adds it to the area repainted on the next frame.
+     *
+     * @param row The row of the cell.
+     * @param col The column of the cell.
+     */
+    @Override
+    public void onCellChanged(int row, int col) {
+        mazeLayer.invalidateTile(row, col);
+        if (camera.isVisible(col, row)) {
+            int x = (int) camera.toScreenX(col);
+            int y = (int) camera.toScreenY(row);
+            changedTileBounds.union(x, y, x + blockSize, y + blockSize);
         }
     }
 
+    /**
+     * Called by the world when the fox fires. Nothing to do here; the projectile is drawn from the world.
+     *
+     * @param index The index of the new projectile.
+     */
+    @Override
+    public void onProjectileFired(int index) {
+    }
+
+    /**
+     * Called by the world when the fox respawns. Nothing to do here; the fox is drawn from the world.
+     */
+    @Override
+    public void onFoxRespawned() {
+    }
+
+    /**
+     * Called by the world when a projectile hits the squirrel, which ends the game.
+     */
+    @Override
+    public void onSquirrelHit() {
+        endGame();
+    }
+
     /**
      * Ends the game once the game loop stops. Stops when squirrel gets hit by slime
      */
@@ -282,6 +295,56 @@ public class GameView extends SurfaceView implements SurfaceHolder.Callback {
         thread.setRunning(false);  // Stop the game loop, ending the game
     }
 
+    /**
+     * Moves the squirrel one step. Safe to call from any thread, for example an input handler on the UI thread;
+     * the move is queued and applied by the game thread at the start of its next tick.
+     *
+     * @param directionX -1 to move left, 1 to move right, 0 to stay in the same column.
+     * @param directionY -1 to move up, 1 to move down, 0 to stay in the same row.
+     * @return true if the move was queued, false if the command queue is full.
+     */
+    public boolean moveSquirrel(int directionX, int directionY) {
+        return world.getCommands().offer(GameWorld.COMMAND_MOVE_SQUIRREL, directionX, directionY, 0, 0);
+    }
+
+    /**
+     * Freezes or unfreezes the game without stopping the game thread, so the last frame stays on screen.
+     * Safe to call from any thread; the change is applied at the start of the next tick.
+     *
+     * @param paused true to freeze the game, false to continue it.
+     * @return true if the change was queued, false if the command queue is full.
+     */
+    public boolean setGamePaused(boolean paused) {
+        return world.getCommands().offer(GameWorld.COMMAND_PAUSE, paused ? 1 : 0, 0, 0, 0);
+    }
+
+    /**
+     * Makes the foxes chase the squirrel through the maze, or stop chasing. Safe to call from any thread; the
+     * change is applied at the start of the next tick.
+     *
+     * @param chasing true to make the foxes chase the squirrel.
+     * @return true if the change was queued, false if the command queue is full.
+     */
+    public boolean setFoxChasing(boolean chasing) {
+        return world.getCommands().offer(GameWorld.COMMAND_FOX_CHASE, chasing ? 1 : 0, 0, 0, 0);
+    }
+
+    /**
+     * Adds foxes to the maze for horde mode. Safe to call from any thread; the foxes are added at the start
+     * of the next tick, up to GameWorld.MAX_FOXES in all.
+     *
+     * @param count The number of foxes to add.
+     * @return true if every fox was queued, false if the command queue filled up.
+     */
+    public boolean addFoxes(int count) {
+        for (int i = 0; i < count; i++) {
+            if (!world.getCommands().offer(GameWorld.COMMAND_ADD_FOX, 0, 0, 0, 0)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Pauses the game by safely stopping the game thread. Ensures that the thread stops completely before proceeding.
      */
@@ -297,6 +360,19 @@ public class GameView extends SurfaceView implements SurfaceHolder.Callback {
                 // Retry stopping the thread if interrupted
             }
         }
+        dumpFrameStats();
+    }
+
+    /**
+     * Writes the frame timings collected by the stopped game thread to the app's private files directory,
+     * then clears them so the same frames are not reported twice.
+     */
+    private void dumpFrameStats() {
+        FrameProfiler profiler = thread.getProfiler();
+        if (profiler.getHistogram(FrameProfiler.Phase.INTERVAL).getCount() > 0) {
+            profiler.dump(getContext().getFilesDir());
+            profiler.reset();
+        }
     }
 
     /**
@@ -310,14 +386,85 @@ public class GameView extends SurfaceView implements SurfaceHolder.Callback {
         }
     }
 
+    /**
+     * Forces the next frame to repaint the whole surface, for example after a resize or a level change.
+     */
+    public void requestFullRedraw() {
+        fullRedrawPending = true;
+    }
+
+    /**
+     * Works out which part of the surface has to be repainted for the next frame. Only the moving sprites
+     * (squirrel, fox and projectiles) and changed maze tiles differ between frames, so the dirty region is
+     * the union of where the sprites were drawn last frame, where they will be drawn this frame, and any
+     * tiles changed in between. Must be called once per frame, after the update and before drawing, as it
+     * also moves the camera to follow the squirrel; when the view scrolls the whole surface is repainted.
+     *
+     * @param dirty The rectangle that receives the region to repaint.
+     * @param alpha How far the frame is between the previous tick (0) and the current tick (1).
+     * @return false if the whole surface must be repainted, in which case dirty is left unspecified.
+     */
+    public boolean computeDirtyRegion(Rect dirty, float alpha) {
+        applyCameraChange();
+        Squirrel squirrel = world.getSquirrel();
+        if (camera.follow(squirrel.interpolateX(alpha), squirrel.interpolateY(alpha))) {
+            requestFullRedraw();
+        }
+
+        currentSpriteBounds.setEmpty();
+        RenderSystem.draw(world.getEntities(), alpha, spriteBoundsAdder);
+
+        dirty.set(previousSpriteBounds);
+        dirty.union(currentSpriteBounds);
+        dirty.union(changedTileBounds);
+        previousSpriteBounds.set(currentSpriteBounds);
+        changedTileBounds.setEmpty();
+
+        if (fullRedrawPending) {
+            fullRedrawPending = false;
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Adds the screen area of a block-sized sprite drawn at the given maze position to currentSpriteBounds,
+     * if it is on screen at all.
+     *
+     * @param cellX The sprite's x-coordinate, in cells.
+     * @param cellY The sprite's y-coordinate, in cells.
+     */
+    private void addSpriteBounds(float cellX, float cellY) {
+        if (!camera.isVisible(cellX, cellY)) {
+            return;
+        }
+        int left = (int) Math.floor(camera.toScreenX(cellX));
+        int top = (int) Math.floor(camera.toScreenY(cellY));
+        currentSpriteBounds.union(left, top, left + blockSize + 1, top + blockSize + 1);
+    }
+
     /**
      * Draws the game elements on the canvas, including the background, maze, frame, and characters.
-     * This is the main drawing method called every frame.
+     * Moving characters are drawn at their latest simulated positions.
      *
      * @param canvas The canvas on which to draw the game elements.
      */
     @Override
     public void draw(Canvas canvas) {
+        draw(canvas, 1f);
+    }
+
+    /**
+     * Draws the game elements on the canvas, including the background, maze, frame, and characters.
+     * This is the main drawing method called every frame. Since the simulation advances in fixed ticks
+     * that rarely line up with display frames, moving characters are drawn part of the way between
+     * their previous and current simulated positions.
+     *
+     * @param canvas The canvas on which to draw the game elements.
+     * @param alpha How far the frame is between the previous tick (0) and the current tick (1).
+     */
+    public void draw(Canvas canvas, float alpha) {
+        applyCameraChange();
         super.draw(canvas);
         if (canvas != null) {
             //Draw the background image on the screen
@@ -327,53 +474,65 @@ public class GameView extends SurfaceView implements SurfaceHolder.Callback {
             drawMaze(canvas);
 
             // Draw the frame centered on the screen over the maze
-            int frameX = (getWidth() - frameImage.getWidth()) / 2;
-            int frameY = (getHeight() - frameImage.getHeight()) / 2;
-            canvas.drawBitmap(frameImage, frameX, frameY, null);
-
-            // Draw the Fox
-            if (fox != null) {
-                fox.draw(canvas);
+            if (frameImage != null) {
+                int frameX = (getWidth() - frameImage.getWidth()) / 2;
+                int frameY = (getHeight() - frameImage.getHeight()) / 2;
+                canvas.drawBitmap(frameImage, frameX, frameY, null);
             }
 
-            //Draw the squirrel
-            if (squirrel != null) {
-                squirrel.draw(canvas);
-            }
+            // Draw the foxes, then the squirrel, then the projectiles, each kind with its one shared sprite
+            spriteCanvas = canvas;
+            RenderSystem.draw(world.getEntities(), alpha, spriteDrawer);
+            spriteCanvas = null;
+        }
+    }
 
-            // Draw all active projectiles
-            for (Projectile projectile : projectiles) {
-                projectile.draw(canvas);
-            }
+    /**
+     * Gets the sprite for a kind of entity.
+     *
+     * @param kind The kind of entity, such as CollisionGrid.KIND_FOX.
+     * @return The sprite image, or null if it is not loaded yet or the kind has none.
+     */
+    private Bitmap spriteImage(int kind) {
+        switch (kind) {
+            case CollisionGrid.KIND_FOX:
+                return foxImage;
+            case CollisionGrid.KIND_SQUIRREL:
+                return squirrelImage;
+            case CollisionGrid.KIND_PROJECTILE:
+                return projectileImage;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Draws a block-sized sprite at a position in the maze, unless it is off screen.
+     *
+     * @param canvas The canvas to draw on.
+     * @param image The sprite image, or null if it is not loaded yet.
+     * @param cellX The sprite's x-coordinate, in cells.
+     * @param cellY The sprite's y-coordinate, in cells.
+     */
+    private void drawSprite(Canvas canvas, Bitmap image, float cellX, float cellY) {
+        if (image != null && camera.isVisible(cellX, cellY)) {
+            canvas.drawBitmap(image, camera.toScreenX(cellX), camera.toScreenY(cellY), null);
         }
     }
 
     /**
-     * Draws the maze based on the predetermined grid and iterates through each cell of the maze array
-     * to determine what to draw based on the cell's value: 1 represents a wall (bush), 2 represents a
-     * space with an acorn, and 0 represents an empty path and are colored in with their respective
-     * shades so players can easily recognize paths, obstacles, and collectibles.
+     * Draws the maze. When it fits on screen this copies the cached maze layer onto the canvas; the layer is
+     * rendered from the maze grid when the view is sized and only individual tiles are redrawn when cells
+     * change, so this costs a single bitmap copy per frame. A larger maze is drawn tile by tile, but only
+     * the tiles the camera can see.
      *
      * @param canvas The canvas on which the maze is drawn.
      */
     private void drawMaze(Canvas canvas) {
-        for (int i = 0; i < 19; i++) {
-            for (int j = 0; j < 19; j++) {
-                int x = j * blockSize + offsetX;
-                int y = i * blockSize + offsetY;
-                // Draw bushes/wall
-                if (maze[i][j] == 1) {
-                    canvas.drawRect(x, y, x + blockSize, y + blockSize, bushPaint);
-                }
-                // Draw an empty space and acorn
-                else if (maze[i][j] == 2 && acornImage != null) {
-                    canvas.drawRect(x, y, x + blockSize, y + blockSize, emptySpacePaint);
-                    canvas.drawBitmap(acornImage, x, y, null);
-                } else if (maze[i][j] == 0) {
-                    // Draw an empty space as the path
-                    canvas.drawRect(x, y, x + blockSize, y + blockSize, emptySpacePaint);
-                }
-            }
+        if (camera.isWholeMazeVisible()) {
+            mazeLayer.draw(canvas, camera.getOffsetX(), camera.getOffsetY());
+        } else {
+            mazeLayer.drawVisible(canvas, world.getMaze(), camera, acornImage);
         }
     }
 }
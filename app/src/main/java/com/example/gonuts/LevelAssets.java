@@ -0,0 +1,70 @@
+package com.example.gonuts;
+
+import android.content.Context;
+import android.content.res.AssetFileDescriptor;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Opens the level packs shipped with the app or downloaded into its storage. Packs are memory-mapped
+ * wherever possible, so opening one reads only its index and levels are decoded straight from the file:
+ * packs in app storage are mapped directly, and packs in the APK's assets are mapped in place, which works
+ * because the build stores .gnl assets uncompressed. Should an asset be compressed anyway, it is read into
+ * memory instead.
+ */
+public final class LevelAssets {
+    public static final String DEFAULT_PACK = "levels.gnl"; // Asset holding the levels shipped with the game
+
+    /**
+     * Not instantiable; all loaders are static.
+     */
+    private LevelAssets() {
+    }
+
+    /**
+     * Opens a level pack from the app's assets.
+     *
+     * @param context The context whose assets to use.
+     * @param assetName The name of the pack within the assets.
+     * @return The pack.
+     * @throws IOException If the asset is missing or is not a valid pack.
+     */
+    public static LevelPack openAsset(Context context, String assetName) throws IOException {
+        AssetFileDescriptor descriptor;
+        try {
+            descriptor = context.getAssets().openFd(assetName);
+        } catch (FileNotFoundException e) {
+            // Compressed assets have no file region to map, so fall back to reading the stream
+            InputStream in = context.getAssets().open(assetName);
+            try {
+                return LevelPack.read(in);
+            } finally {
+                in.close();
+            }
+        }
+        FileInputStream in = descriptor.createInputStream();
+        try {
+            return LevelPack.map(in.getChannel(), descriptor.getStartOffset(), descriptor.getLength());
+        } finally {
+            in.close(); // The mapping stays valid after the file is closed
+            descriptor.close();
+        }
+    }
+
+    /**
+     * Opens a level pack stored in the app's private files directory, for example one downloaded after
+     * installation.
+     *
+     * @param context The context whose files directory to use.
+     * @param fileName The name of the pack file.
+     * @return The pack.
+     * @throws IOException If the file is missing or is not a valid pack.
+     */
+    public static LevelPack openFile(Context context, String fileName) throws IOException {
+        return LevelPack.map(new File(context.getFilesDir(), fileName));
+    }
+}
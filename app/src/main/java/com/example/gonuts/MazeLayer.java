@@ -0,0 +1,181 @@
+package com.example.gonuts;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+
+/**
+ * An offscreen bitmap holding the rendered maze (bushes, paths and acorns). The maze rarely changes, so it is
+ * drawn into this layer once and each frame only has to copy the layer onto the screen. When a cell changes,
+ * for example when an acorn is collected, only that tile is marked dirty and redrawn into the layer before
+ * the next frame.
+ *
+ * A maze larger than the screen would need a layer bigger than the screen too, most of which is never shown,
+ * so such mazes are not cached: {@link #drawVisible(Canvas, MazeGrid, Camera, Bitmap)} draws just the tiles
+ * the camera can see straight onto the canvas instead.
+ */
+public class MazeLayer {
+    private final Paint bushPaint; // Paint for drawing bushes (walls of the maze)
+    private final Paint emptySpacePaint; // Paint for empty spaces in the maze
+    private Bitmap acornImage; // Bitmap for drawing acorns
+    private Bitmap layer; // Offscreen bitmap holding the rendered maze
+    private Canvas layerCanvas; // Canvas drawing into the layer bitmap
+    private MazeGrid maze; // The maze grid being rendered
+    private int blockSize; // Size of each block in the grid
+    private boolean[] dirtyTiles; // Tiles that need to be redrawn into the layer, by cell index
+    private boolean hasDirtyTiles; // Whether any entry in dirtyTiles is set
+
+    /**
+     * Constructs a MazeLayer drawing with the given paints.
+     *
+     * @param bushPaint The paint used for bushes.
+     * @param emptySpacePaint The paint used for open paths.
+     */
+    public MazeLayer(Paint bushPaint, Paint emptySpacePaint) {
+        this.bushPaint = bushPaint;
+        this.emptySpacePaint = emptySpacePaint;
+    }
+
+    /**
+     * Allocates the layer for the given maze and block size and renders every tile into it. Called whenever
+     * the block size or the whole maze changes.
+     *
+     * @param maze The maze grid to render.
+     * @param blockSize The size of each block in pixels.
+     * @param acornImage The acorn bitmap, already scaled to the block size.
+     */
+    public void rebuild(MazeGrid maze, int blockSize, Bitmap acornImage) {
+        this.maze = maze;
+        this.blockSize = blockSize;
+        this.acornImage = acornImage;
+
+        int rows = maze.getRows();
+        int cols = maze.getCols();
+        if (layer == null || layer.getWidth() != cols * blockSize || layer.getHeight() != rows * blockSize) {
+            if (layer != null) {
+                layer.recycle();
+            }
+            layer = Bitmap.createBitmap(cols * blockSize, rows * blockSize, Bitmap.Config.ARGB_8888);
+            layerCanvas = new Canvas(layer);
+        }
+        dirtyTiles = new boolean[maze.size()];
+        hasDirtyTiles = false;
+
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                drawTile(i, j);
+            }
+        }
+    }
+
+    /**
+     * Frees the layer bitmap, for example when the maze no longer fits on screen and is drawn with
+     * drawVisible instead. The next rebuild allocates it again.
+     */
+    public void release() {
+        if (layer != null) {
+            layer.recycle();
+            layer = null;
+            layerCanvas = null;
+        }
+        maze = null;
+        dirtyTiles = null;
+        hasDirtyTiles = false;
+    }
+
+    /**
+     * Marks a single tile as changed so it is redrawn into the layer before the next frame.
+     *
+     * @param row The row of the changed tile.
+     * @param col The column of the changed tile.
+     */
+    public void invalidateTile(int row, int col) {
+        if (dirtyTiles != null) {
+            dirtyTiles[maze.index(row, col)] = true;
+            hasDirtyTiles = true;
+        }
+    }
+
+    /**
+     * Draws the layer onto the canvas with its top-left corner at the given position, first redrawing any
+     * tiles that changed since the last frame.
+     *
+     * @param canvas The canvas to draw on.
+     * @param x The x-coordinate of the maze's top-left corner.
+     * @param y The y-coordinate of the maze's top-left corner.
+     */
+    public void draw(Canvas canvas, int x, int y) {
+        if (layer == null) {
+            return;
+        }
+        if (hasDirtyTiles) {
+            for (int i = 0; i < dirtyTiles.length; i++) {
+                if (dirtyTiles[i]) {
+                    drawTile(maze.rowOf(i), maze.colOf(i));
+                    dirtyTiles[i] = false;
+                }
+            }
+            hasDirtyTiles = false;
+        }
+        canvas.drawBitmap(layer, x, y, null);
+    }
+
+    /**
+     * Draws the tiles the camera can see straight onto the canvas, without using the layer. Used for mazes
+     * too large to cache; only the visible tiles are touched, so the cost depends on the size of the screen.
+     *
+     * @param canvas The canvas to draw on.
+     * @param maze The maze grid to render.
+     * @param camera The camera giving the visible tiles and their position on screen.
+     * @param acornImage The acorn bitmap, already scaled to the camera's cell size.
+     */
+    public void drawVisible(Canvas canvas, MazeGrid maze, Camera camera, Bitmap acornImage) {
+        int size = camera.getCellSize();
+        int lastRow = camera.getLastRow();
+        int lastCol = camera.getLastCol();
+        for (int i = camera.getFirstRow(); i <= lastRow; i++) {
+            int y = camera.getOffsetY() + i * size;
+            for (int j = camera.getFirstCol(); j <= lastCol; j++) {
+                drawTile(canvas, maze, i, j, camera.getOffsetX() + j * size, y, size, acornImage);
+            }
+        }
+    }
+
+    /**
+     * Renders one tile into the layer.
+     *
+     * @param row The row of the tile.
+     * @param col The column of the tile.
+     */
+    private void drawTile(int row, int col) {
+        drawTile(layerCanvas, maze, row, col, col * blockSize, row * blockSize, blockSize, acornImage);
+    }
+
+    /**
+     * Renders one tile based on its cell flags: a wall is drawn as a bush, and any other cell as an empty
+     * path with an acorn on top if it has one. Every tile is fully opaque, so redrawing a tile replaces
+     * whatever was there before.
+     *
+     * @param canvas The canvas to draw on.
+     * @param maze The maze grid.
+     * @param row The row of the tile.
+     * @param col The column of the tile.
+     * @param x The x-coordinate of the tile's top-left corner on the canvas.
+     * @param y The y-coordinate of the tile's top-left corner on the canvas.
+     * @param size The size of the tile in pixels.
+     * @param acornImage The acorn bitmap, or null if it is not loaded yet.
+     */
+    private void drawTile(Canvas canvas, MazeGrid maze, int row, int col, int x, int y, int size,
+                          Bitmap acornImage) {
+        // Draw bushes/wall
+        if (maze.isWall(row, col)) {
+            canvas.drawRect(x, y, x + size, y + size, bushPaint);
+        } else {
+            // Draw an empty space as the path, with an acorn on top if there is one
+            canvas.drawRect(x, y, x + size, y + size, emptySpacePaint);
+            if (maze.hasAcorn(row, col) && acornImage != null) {
+                canvas.drawBitmap(acornImage, x, y, null);
+            }
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.gonuts;
+
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.util.LruCache;
+
+/**
+ * A process-wide cache of game sprites, keyed by drawable resource id and target size. Sprites are decoded
+ * with a power-of-two sample size so the decoder produces a bitmap close to the target size directly, instead
+ * of decoding the full-resolution image and then scaling it down. Every class drawing the same image at the
+ * same size shares one bitmap, so bitmaps returned from the cache must never be recycled or modified.
+ */
+public class SpriteCache {
+    private static SpriteCache instance; // The shared cache instance
+    private final LruCache<Long, Bitmap> cache; // Decoded sprites, bounded by their size in bytes
+    private int hits; // Number of requests served from the cache
+    private int misses; // Number of requests that had to decode the resource
+
+    /**
+     * Constructs a SpriteCache holding at most the given number of bytes of bitmaps.
+     *
+     * @param maxBytes The maximum total size of cached bitmaps, in bytes.
+     */
+    SpriteCache(int maxBytes) {
+        cache = new LruCache<Long, Bitmap>(maxBytes) {
+            @Override
+            protected int sizeOf(Long key, Bitmap bitmap) {
+                return bitmap.getByteCount();
+            }
+        };
+    }
+
+    /**
+     * Gets the shared cache, creating it on first use with an eighth of the available heap as its budget.
+     *
+     * @return The process-wide sprite cache.
+     */
+    public static synchronized SpriteCache getInstance() {
+        if (instance == null) {
+            instance = new SpriteCache((int) Math.min(Integer.MAX_VALUE, Runtime.getRuntime().maxMemory() / 8));
+        }
+        return instance;
+    }
+
+    /**
+     * Gets a drawable resource scaled to exactly the given size, decoding it if it is not cached yet.
+     *
+     * @param resources The resources to decode the drawable from.
+     * @param resId The id of the drawable resource.
+     * @param width The width of the sprite in pixels.
+     * @param height The height of the sprite in pixels.
+     * @return The shared sprite bitmap, or null if the size is not positive or the resource cannot be decoded.
+     */
+    public synchronized Bitmap getSprite(Resources resources, int resId, int width, int height) {
+        if (width <= 0 || height <= 0) {
+            return null;
+        }
+        Long key = cacheKey(resId, width, height);
+        Bitmap sprite = cache.get(key);
+        if (sprite != null) {
+            hits++;
+            return sprite;
+        }
+        misses++;
+
+        sprite = decodeSampled(resources, resId, width, height);
+        if (sprite != null) {
+            cache.put(key, sprite);
+        }
+        return sprite;
+    }
+
+    /**
+     * Decodes a drawable close to the requested size, then scales it to exactly that size.
+     *
+     * @param resources The resources to decode the drawable from.
+     * @param resId The id of the drawable resource.
+     * @param width The target width in pixels.
+     * @param height The target height in pixels.
+     * @return The decoded sprite, or null if the resource cannot be decoded.
+     */
+    private static Bitmap decodeSampled(Resources resources, int resId, int width, int height) {
+        // Read only the image dimensions first
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inJustDecodeBounds = true;
+        options.inScaled = false;
+        BitmapFactory.decodeResource(resources, resId, options);
+
+        options.inSampleSize = calculateSampleSize(options.outWidth, options.outHeight, width, height);
+        options.inJustDecodeBounds = false;
+        Bitmap decoded = BitmapFactory.decodeResource(resources, resId, options);
+        if (decoded == null || (decoded.getWidth() == width && decoded.getHeight() == height)) {
+            return decoded;
+        }
+
+        Bitmap scaled = Bitmap.createScaledBitmap(decoded, width, height, false);
+        if (scaled != decoded) {
+            decoded.recycle();
+        }
+        return scaled;
+    }
+
+    /**
+     * Calculates the largest power-of-two sample size that still decodes an image at least as large as the
+     * target, so the final scale never has to enlarge it.
+     *
+     * @param sourceWidth The width of the image in the resource.
+     * @param sourceHeight The height of the image in the resource.
+     * @param targetWidth The requested width.
+     * @param targetHeight The requested height.
+     * @return The sample size to pass to the decoder, at least 1.
+     */
+    static int calculateSampleSize(int sourceWidth, int sourceHeight, int targetWidth, int targetHeight) {
+        int sampleSize = 1;
+        while (sourceWidth / (sampleSize * 2) >= targetWidth && sourceHeight / (sampleSize * 2) >= targetHeight) {
+            sampleSize *= 2;
+        }
+        return sampleSize;
+    }
+
+    /**
+     * Packs a resource id and a sprite size into a single cache key.
+     *
+     * @param resId The id of the drawable resource.
+     * @param width The width of the sprite.
+     * @param height The height of the sprite.
+     * @return The cache key.
+     */
+    static long cacheKey(int resId, int width, int height) {
+        return ((long) resId << 32) | ((long) (width & 0xFFFF) << 16) | (height & 0xFFFF);
+    }
+
+    /**
+     * Gets the number of requests served from the cache.
+     *
+     * @return The hit count.
+     */
+    public synchronized int getHitCount() {
+        return hits;
+    }
+
+    /**
+     * Gets the number of requests that had to decode their resource.
+     *
+     * @return The miss count.
+     */
+    public synchronized int getMissCount() {
+        return misses;
+    }
+
+    /**
+     * Gets the total size of the bitmaps currently held by the cache.
+     *
+     * @return The cached size in bytes.
+     */
+    public synchronized int getCachedBytes() {
+        return cache.size();
+    }
+
+    /**
+     * Drops every cached sprite, for example when the system is low on memory.
+     */
+    public synchronized void clear() {
+        cache.evictAll();
+    }
+}
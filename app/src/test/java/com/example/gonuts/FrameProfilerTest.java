@@ -0,0 +1,118 @@
+package com.example.gonuts;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.StringWriter;
+import java.util.Random;
+
+/**
+ * Tests the {@link FrameProfiler} and its {@link FrameTimeHistogram}s, checking that percentiles, maxima and
+ * jank counts are derived correctly from the recorded frame timings.
+ */
+public class FrameProfilerTest {
+    private static final long MILLIS = 1000000L;
+    private FrameProfiler profiler;
+
+    /**
+     * Creates an empty profiler before each test.
+     */
+    @Before
+    public void setUp() {
+        profiler = new FrameProfiler();
+    }
+
+    /**
+     * Tests that percentiles are resolved to the bucket the requested rank falls in and that the maximum
+     * is exact.
+     */
+    @Test
+    public void testHistogramPercentiles() {
+        FrameTimeHistogram histogram = new FrameTimeHistogram(MILLIS, 100);
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i * MILLIS - 1); // 0.999 ms, 1.999 ms, ... lands in buckets 0 to 99
+        }
+        assertEquals(100, histogram.getCount());
+        assertEquals("p50 should be the upper edge of bucket 49", 50 * MILLIS, histogram.getPercentileNanos(0.50));
+        assertEquals("p95 should be the upper edge of bucket 94", 95 * MILLIS, histogram.getPercentileNanos(0.95));
+        assertEquals("Max should be exact", 100 * MILLIS - 1, histogram.getMaxNanos());
+    }
+
+    /**
+     * Tests that samples longer than the histogram's range are still counted and reported through the max.
+     */
+    @Test
+    public void testHistogramOverflow() {
+        FrameTimeHistogram histogram = new FrameTimeHistogram(MILLIS, 10);
+        histogram.record(2 * MILLIS);
+        histogram.record(500 * MILLIS);
+        assertEquals(2, histogram.getCount());
+        assertEquals(500 * MILLIS, histogram.getPercentileNanos(0.99));
+        assertEquals(0, new FrameTimeHistogram(MILLIS, 10).getPercentileNanos(0.5));
+    }
+
+    /**
+     * Tests that on a 60 Hz display frame intervals over 25 ms and 41.7 ms, one and two missed vsyncs, are
+     * counted as jank and severe jank.
+     */
+    @Test
+    public void testJankCounts() {
+        profiler.record(FrameProfiler.Phase.INTERVAL, 16 * MILLIS);
+        profiler.record(FrameProfiler.Phase.INTERVAL, 20 * MILLIS);
+        profiler.record(FrameProfiler.Phase.INTERVAL, 34 * MILLIS);
+        profiler.record(FrameProfiler.Phase.INTERVAL, 50 * MILLIS);
+        profiler.record(FrameProfiler.Phase.DRAW, 50 * MILLIS); // Only intervals count towards jank
+        assertEquals(2, profiler.getJankFrames());
+        assertEquals(1, profiler.getSevereJankFrames());
+    }
+
+    /**
+     * Tests that a steady stream of 60 Hz frames jittering by up to half a millisecond either way, as vsync
+     * timestamps and sleep pacing do, records no jank at all.
+     */
+    @Test
+    public void testSteadyFramesAreNotJank() {
+        Random random = new Random(1);
+        for (int i = 0; i < 10000; i++) {
+            long jitter = (long) ((random.nextDouble() - 0.5) * MILLIS);
+            profiler.record(FrameProfiler.Phase.INTERVAL, FrameProfiler.DEFAULT_REFRESH_PERIOD_NANOS + jitter);
+        }
+        assertEquals(0, profiler.getJankFrames());
+        assertEquals(0, profiler.getSevereJankFrames());
+    }
+
+    /**
+     * Tests that jank follows the refresh period of the display: a 60 Hz frame interval on a 120 Hz display
+     * is a missed vsync.
+     */
+    @Test
+    public void testRefreshPeriod() {
+        profiler.setRefreshPeriodNanos(1000000000L / 120);
+        profiler.record(FrameProfiler.Phase.INTERVAL, 8 * MILLIS);
+        profiler.record(FrameProfiler.Phase.INTERVAL, 17 * MILLIS);
+        profiler.record(FrameProfiler.Phase.INTERVAL, 25 * MILLIS);
+        assertEquals(2, profiler.getJankFrames());
+        assertEquals(1, profiler.getSevereJankFrames());
+    }
+
+    /**
+     * Tests that the report has a line for every phase and the jank totals, and that reset clears it all.
+     */
+    @Test
+    public void testReportAndReset() {
+        profiler.record(FrameProfiler.Phase.UPDATE, 2 * MILLIS);
+        profiler.record(FrameProfiler.Phase.INTERVAL, 50 * MILLIS);
+        StringWriter writer = new StringWriter();
+        profiler.writeReport(writer);
+        String report = writer.toString();
+        assertTrue(report.contains("update,1,2.00,2.00,2.00,2.00,2.00"));
+        assertTrue(report.contains("jank_over_25.0ms,1"));
+        assertTrue(report.contains("jank_over_41.7ms,1"));
+        assertEquals(FrameProfiler.Phase.values().length + 3, report.split("\n").length);
+
+        profiler.reset();
+        assertEquals(0, profiler.getHistogram(FrameProfiler.Phase.UPDATE).getCount());
+        assertEquals(0, profiler.getJankFrames());
+    }
+}
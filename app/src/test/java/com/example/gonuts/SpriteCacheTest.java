@@ -0,0 +1,42 @@
+package com.example.gonuts;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Tests the sizing and keying logic of the {@link SpriteCache}. These checks don't decode any bitmaps, so they
+ * run without the Android framework.
+ */
+public class SpriteCacheTest {
+
+    /**
+     * Tests that the sample size is the largest power of two that keeps the decoded image at least as large
+     * as the target in both dimensions.
+     */
+    @Test
+    public void testCalculateSampleSize() {
+        assertEquals("Image already at target size should not be sampled", 1,
+                SpriteCache.calculateSampleSize(64, 64, 64, 64));
+        assertEquals("Image smaller than the target should not be sampled", 1,
+                SpriteCache.calculateSampleSize(32, 32, 64, 64));
+        assertEquals("512px image for a 64px sprite should be sampled by 8", 8,
+                SpriteCache.calculateSampleSize(512, 512, 64, 64));
+        assertEquals("500px image for a 64px sprite should be sampled by 4", 4,
+                SpriteCache.calculateSampleSize(500, 500, 64, 64));
+        assertEquals("The tighter dimension should limit the sample size", 2,
+                SpriteCache.calculateSampleSize(1024, 200, 64, 64));
+    }
+
+    /**
+     * Tests that sprites of the same resource at different sizes, and different resources at the same
+     * size, get different cache keys.
+     */
+    @Test
+    public void testCacheKeyDistinguishesResourceAndSize() {
+        long key = SpriteCache.cacheKey(R.drawable.fox_image, 40, 40);
+        assertEquals(key, SpriteCache.cacheKey(R.drawable.fox_image, 40, 40));
+        assertNotEquals(key, SpriteCache.cacheKey(R.drawable.fox_image, 41, 40));
+        assertNotEquals(key, SpriteCache.cacheKey(R.drawable.fox_image, 40, 41));
+        assertNotEquals(key, SpriteCache.cacheKey(R.drawable.squirrel_image, 40, 40));
+    }
+}
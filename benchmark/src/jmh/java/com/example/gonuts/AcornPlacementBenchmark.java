@@ -0,0 +1,54 @@
+package com.example.gonuts;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures scattering acorns over the maze. Each run first restores the maze without acorns so every run
+ * does the same work; restoreMaze measures that restore alone so it can be subtracted.
+ */
+@State(Scope.Thread)
+public class AcornPlacementBenchmark {
+
+    @Param({"19", "99", "499"})
+    public int mazeSize;
+
+    private MazeGrid emptyMaze;
+    private GameWorld world;
+
+    /**
+     * Creates the world and keeps a copy of its maze without acorns.
+     */
+    @Setup
+    public void setUp() {
+        emptyMaze = BenchmarkMazes.create(mazeSize);
+        world = new GameWorld(BenchmarkMazes.create(mazeSize), 1L);
+    }
+
+    /**
+     * Restores the maze and places acorns on it.
+     *
+     * @return The maze, so the work cannot be optimized away.
+     */
+    @Benchmark
+    public MazeGrid randomizeAcorns() {
+        MazeGrid maze = restoreMaze();
+        world.randomizeAcorns();
+        return maze;
+    }
+
+    /**
+     * Copies the acorn-free maze back over the world's maze.
+     *
+     * @return The maze, so the work cannot be optimized away.
+     */
+    @Benchmark
+    public MazeGrid restoreMaze() {
+        MazeGrid maze = world.getMaze();
+        maze.copyFrom(emptyMaze);
+        return maze;
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.gonuts;
+
+/**
+ * Builds mazes of different sizes for the benchmarks.
+ */
+final class BenchmarkMazes {
+
+    /**
+     * Not instantiable; all mazes are static factories.
+     */
+    private BenchmarkMazes() {
+    }
+
+    /**
+     * Creates a maze of the given size. Size 19 returns the classic layout; other sizes get an outer wall
+     * and a regular grid of bushes on every other row and column, which has a similar wall density.
+     *
+     * @param size The number of rows and columns.
+     * @return A new maze grid.
+     */
+    static MazeGrid create(int size) {
+        if (size == 19) {
+            return MazeLayouts.classic();
+        }
+        MazeGrid maze = new MazeGrid(size, size);
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                boolean border = i == 0 || j == 0 || i == size - 1 || j == size - 1;
+                boolean pillar = i % 2 == 0 && j % 2 == 0;
+                maze.set(i, j, border || pillar ? MazeGrid.WALL : MazeGrid.PATH);
+            }
+        }
+        return maze;
+    }
+
+    /**
+     * Places stationary projectiles on open cells at least two cells away from the squirrel, cycling through
+     * those cells if there are more projectiles than cells. They never hit anything, so every tick processes
+     * the same number of projectiles.
+     *
+     * @param world The world to add projectiles to.
+     * @param count The number of projectiles to add.
+     */
+    static void addIdleProjectiles(GameWorld world, int count) {
+        float squirrelX = world.getSquirrel().getX();
+        float squirrelY = world.getSquirrel().getY();
+        int added = 0;
+        while (added < count) {
+            for (int i = 0; i < world.getRows() && added < count; i++) {
+                for (int j = 0; j < world.getCols() && added < count; j++) {
+                    boolean open = !world.getMaze().isWall(i, j);
+                    boolean farFromSquirrel = Math.hypot(j - squirrelX, i - squirrelY) > 2;
+                    if (open && farFromSquirrel) {
+                        world.spawnProjectile(j, i, 0, 0);
+                        added++;
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.gonuts;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+
+/**
+ * Compares two ways for a number of foxes to each find their next step towards the squirrel: one A* search
+ * per fox, against one shared flow field. Every operation moves the squirrel to another cell, so the flow
+ * field is searched again each time; in a game the squirrel only changes cell every few ticks, and the ticks
+ * in between cost the flow field nothing but the foxes' constant-time lookups.
+ */
+@State(Scope.Thread)
+public class FlowFieldBenchmark {
+    private static final int TARGETS = 64; // Squirrel cells cycled through
+
+    @Param({"19", "99"})
+    public int mazeSize;
+
+    @Param({"1", "8", "64"})
+    public int foxCount;
+
+    private PathFinder paths;
+    private FlowField field;
+    private int[] foxCells;
+    private int[] targets;
+    private int nextTarget;
+
+    /**
+     * Creates the maze and places the foxes and the squirrel's cells at random on open cells.
+     */
+    @Setup
+    public void setUp() {
+        MazeGrid maze = mazeSize == 19
+                ? MazeLayouts.classic()
+                : MazeGenerator.backtracker(mazeSize, mazeSize, 1L, 0.1f);
+        paths = new PathFinder(maze);
+        field = new FlowField(maze);
+        Random random = new Random(1);
+        foxCells = new int[foxCount];
+        for (int i = 0; i < foxCount; i++) {
+            foxCells[i] = randomOpenCell(maze, random);
+        }
+        targets = new int[TARGETS];
+        for (int i = 0; i < TARGETS; i++) {
+            targets[i] = randomOpenCell(maze, random);
+        }
+    }
+
+    /**
+     * Picks a random open cell.
+     *
+     * @param maze The maze.
+     * @param random The random generator.
+     * @return The packed id of the cell.
+     */
+    private static int randomOpenCell(MazeGrid maze, Random random) {
+        while (true) {
+            int cell = random.nextInt(maze.size());
+            if (!maze.isWall(cell)) {
+                return cell;
+            }
+        }
+    }
+
+    /**
+     * Gets the next squirrel cell.
+     *
+     * @return The packed id of the cell.
+     */
+    private int nextTarget() {
+        nextTarget = (nextTarget + 1) % TARGETS;
+        return targets[nextTarget];
+    }
+
+    /**
+     * Finds every fox's next step with its own A* search.
+     *
+     * @return The sum of the next steps, so the work cannot be optimized away.
+     */
+    @Benchmark
+    public int searchPerFox() {
+        int target = nextTarget();
+        int sum = 0;
+        for (int cell : foxCells) {
+            if (paths.search(cell, target) && paths.getPathLength() > 1) {
+                sum += paths.getPathCell(1);
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Finds every fox's next step from one flow field searched from the squirrel's cell.
+     *
+     * @return The sum of the next steps, so the work cannot be optimized away.
+     */
+    @Benchmark
+    public int sharedFlowField() {
+        field.update(nextTarget());
+        int sum = 0;
+        for (int cell : foxCells) {
+            sum += field.nextStep(cell);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.gonuts;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+
+/**
+ * Measures how long the fox takes to pick a new hiding place from the maze's wall index.
+ */
+@State(Scope.Thread)
+public class FoxRespawnBenchmark {
+
+    @Param({"19", "99", "499"})
+    public int mazeSize;
+
+    private WallIndex walls;
+    private Fox fox;
+
+    /**
+     * Creates the maze, indexes its walls and places a fox in it.
+     */
+    @Setup
+    public void setUp() {
+        walls = new WallIndex(BenchmarkMazes.create(mazeSize));
+        fox = new Fox(walls, new Random(1L));
+    }
+
+    /**
+     * Respawns the fox once.
+     *
+     * @return The fox's new column, so the work cannot be optimized away.
+     */
+    @Benchmark
+    public float respawn() {
+        fox.respawn(walls);
+        return fox.getX();
+    }
+
+    /**
+     * Respawns the fox right after the maze changed, which includes rescanning the maze for walls.
+     *
+     * @return The fox's new column, so the work cannot be optimized away.
+     */
+    @Benchmark
+    public float respawnAfterMazeChange() {
+        walls.invalidate();
+        fox.respawn(walls);
+        return fox.getX();
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.gonuts;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures a full simulation tick of the classic maze with an increasing number of projectiles in flight.
+ * The squirrel is invulnerable, so the fox's shots never end the game and the world is built only once per
+ * trial; run with -prof gc to check that ticks allocate nothing.
+ */
+@State(Scope.Thread)
+public class GameWorldTickBenchmark {
+
+    @Param({"0", "10", "100", "1000"})
+    public int projectileCount;
+
+    private GameWorld world;
+
+    /**
+     * Creates the world with an invulnerable squirrel and fills it with projectiles that never hit it.
+     */
+    @Setup
+    public void setUp() {
+        // Leave room for the fox's own shots on top of the idle projectiles
+        world = new GameWorld(MazeLayouts.classic(), 1L, projectileCount + GameWorld.DEFAULT_PROJECTILE_CAPACITY);
+        world.setInvulnerable(true);
+        BenchmarkMazes.addIdleProjectiles(world, projectileCount);
+    }
+
+    /**
+     * Advances the world by one tick.
+     *
+     * @return The tick count, so the work cannot be optimized away.
+     */
+    @Benchmark
+    public long tick() {
+        world.tick();
+        return world.getTickCount();
+    }
+}
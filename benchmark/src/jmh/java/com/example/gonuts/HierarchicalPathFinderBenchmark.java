@@ -0,0 +1,95 @@
+package com.example.gonuts;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+
+/**
+ * Measures fox path queries on a large generated maze: a search between random open cells followed by the
+ * first step along the path, which is all a chasing fox reads. Compares exact A* over the cells with a
+ * {@link HierarchicalPathFinder}, whose clusters are built before measuring, and measures repairing a
+ * cluster after a door toggles. Run with -prof gc to check that queries allocate nothing.
+ */
+@State(Scope.Thread)
+public class HierarchicalPathFinderBenchmark {
+
+    private static final int QUERIES = 64; // Number of start and goal pairs cycled through
+
+    @Param({"129", "513"})
+    public int mazeSize;
+
+    @Param({"cells", "clusters"})
+    public String graph;
+
+    private MazeGrid maze;
+    private PathSearch paths;
+    private HierarchicalPathFinder routes;
+    private final int[] starts = new int[QUERIES];
+    private final int[] goals = new int[QUERIES];
+    private int query;
+    private int door;
+
+    /**
+     * Creates the maze, the path search and the start and goal pairs.
+     */
+    @Setup
+    public void setUp() {
+        maze = MazeGenerator.backtracker(mazeSize, mazeSize, 1L, 0.1f);
+        routes = new HierarchicalPathFinder(maze);
+        routes.precompute();
+        paths = graph.equals("clusters") ? routes : new PathFinder(maze);
+        Random random = new Random(7);
+        for (int i = 0; i < QUERIES; i++) {
+            starts[i] = randomOpenCell(random);
+            goals[i] = randomOpenCell(random);
+        }
+        door = maze.index(mazeSize / 2, mazeSize / 2 + 1);
+    }
+
+    /**
+     * Searches for a path between the next pair of cells and takes its first step.
+     *
+     * @return The cell of the first step, so the work cannot be optimized away.
+     */
+    @Benchmark
+    public int searchFirstStep() {
+        query = (query + 1) % QUERIES;
+        if (!paths.search(starts[query], goals[query])) {
+            return -1;
+        }
+        return paths.getPathCell(Math.min(1, paths.getPathLength() - 1));
+    }
+
+    /**
+     * Toggles a wall in the middle of the maze, as a door opening or closing would, and searches across it,
+     * which repairs the wall's cluster.
+     *
+     * @return The length of the path, so the work cannot be optimized away.
+     */
+    @Benchmark
+    public int toggleDoorAndSearch() {
+        maze.set(door, maze.get(door) ^ MazeGrid.WALL);
+        routes.cellChanged(door);
+        routes.search(starts[0], goals[0]);
+        return routes.getPathLength();
+    }
+
+    /**
+     * Picks a random open cell.
+     *
+     * @param random The random generator.
+     * @return The packed id of the cell.
+     */
+    private int randomOpenCell(Random random) {
+        while (true) {
+            int cell = random.nextInt(maze.size());
+            if (!maze.isWall(cell)) {
+                return cell;
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.gonuts;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Measures a full simulation tick in horde mode: hundreds of foxes chasing the squirrel through a generated
+ * maze while thousands of projectiles are in flight, all stored as dense entity tables and run through the
+ * same systems, with the foxes' AI either on the benchmark thread or decided on the common ForkJoinPool. Run
+ * with -prof gc to check that ticks allocate nothing.
+ *
+ * The squirrel is invulnerable, so the horde never ends the game and the world is built only once per trial.
+ * The foxes still move to new bushes on their own timers, which keeps them spread over the maze rather than
+ * all gathered on the squirrel.
+ */
+@State(Scope.Thread)
+public class HordeTickBenchmark {
+
+    @Param({"64", "256", "1024"})
+    public int foxCount;
+
+    @Param({"1000", "4000"})
+    public int projectileCount;
+
+    @Param({"thread", "pool"})
+    public String ai;
+
+    private GameWorld world;
+
+    /**
+     * Creates the world with an invulnerable squirrel, adds the foxes and sets them chasing, and fills it with
+     * projectiles that never hit the squirrel.
+     */
+    @Setup
+    public void setUp() {
+        // Leave room for the foxes' own shots on top of the idle projectiles
+        world = new GameWorld(MazeGenerator.backtracker(99, 99, 1L, 0.1f), 1L,
+                projectileCount + GameWorld.DEFAULT_PROJECTILE_CAPACITY);
+        for (int i = 1; i < foxCount; i++) {
+            world.addFox();
+        }
+        world.setFoxChasing(true);
+        world.setInvulnerable(true);
+        if (ai.equals("pool")) {
+            world.setAiPool(ForkJoinPool.commonPool());
+        }
+        BenchmarkMazes.addIdleProjectiles(world, projectileCount);
+    }
+
+    /**
+     * Advances the world by one tick.
+     *
+     * @return The tick count, so the work cannot be optimized away.
+     */
+    @Benchmark
+    public long tick() {
+        world.tick();
+        return world.getTickCount();
+    }
+}
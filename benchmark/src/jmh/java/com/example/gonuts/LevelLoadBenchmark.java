@@ -0,0 +1,81 @@
+package com.example.gonuts;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures loading levels from a memory-mapped level pack, and opening the pack itself.
+ */
+@State(Scope.Thread)
+public class LevelLoadBenchmark {
+    private static final int LEVEL_COUNT = 100; // Levels in the benchmark pack
+
+    @Param({"19", "199", "999"})
+    public int mazeSize;
+
+    private File file;
+    private LevelPack pack;
+    private int next;
+
+    /**
+     * Writes a pack of generated levels to a temporary file and maps it.
+     *
+     * @throws IOException If the pack cannot be written.
+     */
+    @Setup
+    public void setUp() throws IOException {
+        List<Level> levels = new ArrayList<>();
+        for (int i = 0; i < LEVEL_COUNT; i++) {
+            levels.add(new Level(MazeGenerator.eller(mazeSize, mazeSize, i, 0.2f), 600, 120, true));
+        }
+        file = File.createTempFile("levels", ".gnl");
+        FileOutputStream out = new FileOutputStream(file);
+        try {
+            LevelPack.write(levels, out);
+        } finally {
+            out.close();
+        }
+        pack = LevelPack.map(file);
+    }
+
+    /**
+     * Deletes the pack file.
+     */
+    @TearDown
+    public void tearDown() {
+        file.delete();
+    }
+
+    /**
+     * Decodes the next level of the pack.
+     *
+     * @return The level, so the work cannot be optimized away.
+     * @throws IOException If the level is not valid.
+     */
+    @Benchmark
+    public Level loadLevel() throws IOException {
+        next = (next + 1) % LEVEL_COUNT;
+        return pack.load(next);
+    }
+
+    /**
+     * Maps the pack file and reads its index.
+     *
+     * @return The pack, so the work cannot be optimized away.
+     * @throws IOException If the pack cannot be mapped.
+     */
+    @Benchmark
+    public LevelPack openPack() throws IOException {
+        return LevelPack.map(file);
+    }
+}
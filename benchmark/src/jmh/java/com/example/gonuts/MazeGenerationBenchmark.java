@@ -0,0 +1,62 @@
+package com.example.gonuts;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures how long each maze generator takes to build a square maze, as it would while a level loads.
+ */
+@State(Scope.Thread)
+public class MazeGenerationBenchmark {
+
+    @Param({"99", "499", "999"})
+    public int mazeSize;
+
+    @Param({"0", "0.5"})
+    public float braid;
+
+    private long seed; // Changed on every call so each run builds a different maze
+
+    /**
+     * Generates a maze with the recursive backtracker.
+     *
+     * @return The maze, so the work cannot be optimized away.
+     */
+    @Benchmark
+    public MazeGrid backtracker() {
+        return MazeGenerator.backtracker(mazeSize, mazeSize, seed++, braid);
+    }
+
+    /**
+     * Generates a maze with Eller's algorithm.
+     *
+     * @return The maze, so the work cannot be optimized away.
+     */
+    @Benchmark
+    public MazeGrid eller() {
+        return MazeGenerator.eller(mazeSize, mazeSize, seed++, braid);
+    }
+
+    /**
+     * Streams a maze from Eller's algorithm without storing it, counting its open cells.
+     *
+     * @return The number of open cells, so the work cannot be optimized away.
+     */
+    @Benchmark
+    public int streamEller() {
+        final int[] open = {0};
+        MazeGenerator.streamEller(mazeSize, mazeSize, seed++, new MazeGenerator.RowSink() {
+            @Override
+            public void onRow(int row, byte[] cells) {
+                for (byte cell : cells) {
+                    if (cell == MazeGrid.PATH) {
+                        open[0]++;
+                    }
+                }
+            }
+        });
+        return open[0];
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.gonuts;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures A* path queries from one corner of the maze to the opposite one, the longest kind of query a fox
+ * chasing on its own path search makes, over the cells with a {@link PathFinder} and over the junctions with
+ * a {@link CorridorGraph}. Run with -prof gc to check that searches allocate nothing.
+ */
+@State(Scope.Thread)
+public class PathFinderBenchmark {
+
+    @Param({"19", "99", "499"})
+    public int mazeSize;
+
+    @Param({"pillars", "generated"})
+    public String layout;
+
+    @Param({"cells", "corridors"})
+    public String graph;
+
+    private PathSearch paths;
+    private int start;
+    private int goal;
+
+    /**
+     * Creates the maze and the path search.
+     */
+    @Setup
+    public void setUp() {
+        MazeGrid maze = layout.equals("generated") && mazeSize != 19
+                ? MazeGenerator.backtracker(mazeSize, mazeSize, 1L, 0.1f)
+                : BenchmarkMazes.create(mazeSize);
+        if (graph.equals("corridors")) {
+            CorridorGraph corridors = new CorridorGraph(maze);
+            corridors.getNodeCount(); // Build the graph before measuring
+            paths = corridors;
+        } else {
+            paths = new PathFinder(maze);
+        }
+        start = maze.index(1, 1);
+        goal = maze.index(mazeSize - 2, mazeSize - 2);
+    }
+
+    /**
+     * Searches for a path across the maze.
+     *
+     * @return The length of the path, so the work cannot be optimized away.
+     */
+    @Benchmark
+    public int searchAcrossMaze() {
+        paths.search(start, goal);
+        return paths.getPathLength();
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.gonuts;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the projectile-versus-squirrel collision check on its own: testing every projectile directly,
+ * and finding the same contacts through the world's collision grid.
+ */
+@State(Scope.Thread)
+public class ProjectileCollisionBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int projectileCount;
+
+    private GameWorld world;
+    private CollisionGrid grid;
+
+    /**
+     * Creates the world and fills it with projectiles that never hit the squirrel.
+     */
+    @Setup
+    public void setUp() {
+        world = new GameWorld(MazeLayouts.classic(), 1L, projectileCount);
+        BenchmarkMazes.addIdleProjectiles(world, projectileCount);
+        grid = new CollisionGrid(world.getCols(), world.getRows(), 1f, projectileCount + 1);
+        grid.setCollides(CollisionGrid.KIND_SQUIRREL, CollisionGrid.KIND_PROJECTILE);
+    }
+
+    /**
+     * Checks every projectile against the squirrel.
+     *
+     * @return The number of hits, so the work cannot be optimized away.
+     */
+    @Benchmark
+    public int checkCollisions() {
+        Squirrel squirrel = world.getSquirrel();
+        ProjectileSystem projectiles = world.getProjectiles();
+        int hits = 0;
+        for (int i = 0; i < projectiles.getCount(); i++) {
+            if (projectiles.checkCollision(i, squirrel.getX(), squirrel.getY(), 1f)) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * Buckets the squirrel and every projectile into a collision grid and finds their contacts.
+     *
+     * @return The number of contacts, so the work cannot be optimized away.
+     */
+    @Benchmark
+    public int findContactsWithGrid() {
+        Squirrel squirrel = world.getSquirrel();
+        ProjectileSystem projectiles = world.getProjectiles();
+        grid.clear();
+        grid.add(CollisionGrid.KIND_SQUIRREL, 0, squirrel.getX(), squirrel.getY(), 0.5f);
+        for (int i = 0; i < projectiles.getCount(); i++) {
+            grid.add(CollisionGrid.KIND_PROJECTILE, i, projectiles.getX(i), projectiles.getY(i), 0.5f);
+        }
+        return grid.findContacts();
+    }
+}
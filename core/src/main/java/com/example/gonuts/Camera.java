@@ -0,0 +1,216 @@
+package com.example.gonuts;
+
+/**
+ * Maps maze cells to screen pixels for a viewport that follows a target, normally the squirrel. Each cell is
+ * drawn as a square of getCellSize() pixels, chosen from the viewport size and a zoom factor: at zoom 1 a
+ * square viewport shows {@link #DEFAULT_VISIBLE_CELLS} cells across, which is the whole classic maze.
+ *
+ * Along each axis where the maze is smaller than the viewport it is centred and stays still; along an axis
+ * where it is larger the camera centres on the target but never scrolls past the edge of the maze. The
+ * renderer only draws the cells between getFirstCol()/getFirstRow() and getLastCol()/getLastRow(), so the
+ * cost of a frame depends on the size of the screen, not the size of the maze.
+ */
+public class Camera {
+    public static final int DEFAULT_VISIBLE_CELLS = 19; // Cells across the shorter side of the view at zoom 1
+    public static final int MIN_CELL_SIZE = 4; // Smallest cell size in pixels, however far out the camera zooms
+
+    private final int rows, cols; // Size of the maze, in cells
+    private int viewWidth, viewHeight; // Size of the viewport, in pixels
+    private float zoom = 1f; // Magnification relative to DEFAULT_VISIBLE_CELLS across the view
+    private int cellSize; // Size of one cell on screen, in pixels
+    private int offsetX, offsetY; // Screen position of the maze's top-left corner, in pixels
+
+    /**
+     * Constructs a Camera for a maze. The camera shows nothing until the viewport size is set.
+     *
+     * @param rows The number of rows in the maze.
+     * @param cols The number of columns in the maze.
+     */
+    public Camera(int rows, int cols) {
+        this.rows = rows;
+        this.cols = cols;
+    }
+
+    /**
+     * Sets the size of the viewport and recomputes the cell size. The camera keeps looking at the same
+     * point, so call follow() afterwards to recentre it.
+     *
+     * @param width The width of the viewport, in pixels.
+     * @param height The height of the viewport, in pixels.
+     */
+    public void setViewSize(int width, int height) {
+        viewWidth = width;
+        viewHeight = height;
+        updateCellSize();
+    }
+
+    /**
+     * Sets the zoom factor and recomputes the cell size. Values above 1 show fewer, larger cells.
+     *
+     * @param zoom The zoom factor, greater than 0.
+     */
+    public void setZoom(float zoom) {
+        if (zoom <= 0) {
+            throw new IllegalArgumentException("Zoom must be positive");
+        }
+        this.zoom = zoom;
+        updateCellSize();
+    }
+
+    /**
+     * Recomputes the cell size from the viewport size and zoom.
+     */
+    private void updateCellSize() {
+        int base = Math.min(viewWidth, viewHeight) / DEFAULT_VISIBLE_CELLS;
+        cellSize = Math.max(MIN_CELL_SIZE, (int) (base * zoom));
+    }
+
+    /**
+     * Moves the camera so that a point of the maze is as close to the middle of the viewport as the edges of
+     * the maze allow.
+     *
+     * @param x The x-coordinate of the point to follow, in cells.
+     * @param y The y-coordinate of the point to follow, in cells.
+     * @return true if the view scrolled, so everything on screen moved.
+     */
+    public boolean follow(float x, float y) {
+        int newOffsetX = centre(x, cols, viewWidth);
+        int newOffsetY = centre(y, rows, viewHeight);
+        boolean moved = newOffsetX != offsetX || newOffsetY != offsetY;
+        offsetX = newOffsetX;
+        offsetY = newOffsetY;
+        return moved;
+    }
+
+    /**
+     * Works out the screen position of the maze's first cell along one axis.
+     *
+     * @param target The coordinate of the point to follow, in cells.
+     * @param cells The size of the maze along the axis, in cells.
+     * @param view The size of the viewport along the axis, in pixels.
+     * @return The screen coordinate of the maze's edge.
+     */
+    private int centre(float target, int cells, int view) {
+        int mazeSize = cells * cellSize;
+        if (mazeSize <= view) {
+            return (view - mazeSize) / 2;
+        }
+        // Centre on the middle of the target's cell, then clamp so no space shows beyond the maze
+        int offset = Math.round(view / 2f - (target + 0.5f) * cellSize);
+        return Math.max(view - mazeSize, Math.min(0, offset));
+    }
+
+    /**
+     * Checks whether the whole maze fits in the viewport, in which case the view never scrolls.
+     *
+     * @return true if every cell is on screen.
+     */
+    public boolean isWholeMazeVisible() {
+        return cols * cellSize <= viewWidth && rows * cellSize <= viewHeight;
+    }
+
+    /**
+     * Checks whether any part of a one-cell sprite is on screen.
+     *
+     * @param x The sprite's x-coordinate, in cells.
+     * @param y The sprite's y-coordinate, in cells.
+     * @return true if the sprite intersects the viewport.
+     */
+    public boolean isVisible(float x, float y) {
+        float left = toScreenX(x);
+        float top = toScreenY(y);
+        return left + cellSize > 0 && left < viewWidth && top + cellSize > 0 && top < viewHeight;
+    }
+
+    /**
+     * Converts a maze x-coordinate to a screen x-coordinate.
+     *
+     * @param x The x-coordinate, in cells.
+     * @return The screen x-coordinate of the left edge of a sprite at x.
+     */
+    public float toScreenX(float x) {
+        return offsetX + x * cellSize;
+    }
+
+    /**
+     * Converts a maze y-coordinate to a screen y-coordinate.
+     *
+     * @param y The y-coordinate, in cells.
+     * @return The screen y-coordinate of the top edge of a sprite at y.
+     */
+    public float toScreenY(float y) {
+        return offsetY + y * cellSize;
+    }
+
+    /**
+     * Gets the first column with any part on screen.
+     *
+     * @return The leftmost visible column.
+     */
+    public int getFirstCol() {
+        return Math.max(0, Math.floorDiv(-offsetX, cellSize));
+    }
+
+    /**
+     * Gets the last column with any part on screen.
+     *
+     * @return The rightmost visible column, or less than getFirstCol() if none is visible.
+     */
+    public int getLastCol() {
+        return Math.min(cols - 1, Math.floorDiv(viewWidth - 1 - offsetX, cellSize));
+    }
+
+    /**
+     * Gets the first row with any part on screen.
+     *
+     * @return The topmost visible row.
+     */
+    public int getFirstRow() {
+        return Math.max(0, Math.floorDiv(-offsetY, cellSize));
+    }
+
+    /**
+     * Gets the last row with any part on screen.
+     *
+     * @return The bottommost visible row, or less than getFirstRow() if none is visible.
+     */
+    public int getLastRow() {
+        return Math.min(rows - 1, Math.floorDiv(viewHeight - 1 - offsetY, cellSize));
+    }
+
+    /**
+     * Gets the size of one cell on screen.
+     *
+     * @return The cell size, in pixels.
+     */
+    public int getCellSize() {
+        return cellSize;
+    }
+
+    /**
+     * Gets the screen x-coordinate of the maze's left edge.
+     *
+     * @return The horizontal offset, in pixels; negative when the view has scrolled right.
+     */
+    public int getOffsetX() {
+        return offsetX;
+    }
+
+    /**
+     * Gets the screen y-coordinate of the maze's top edge.
+     *
+     * @return The vertical offset, in pixels; negative when the view has scrolled down.
+     */
+    public int getOffsetY() {
+        return offsetY;
+    }
+
+    /**
+     * Gets the zoom factor.
+     *
+     * @return The zoom factor.
+     */
+    public float getZoom() {
+        return zoom;
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.gonuts;
+
+/**
+ * The enemies' AI: runs entities with a STEERING component after a target from cell to cell along the shortest
+ * path through the maze, found either with a {@link PathSearch} of their own or from a {@link FlowField}
+ * shared by all of them. An entity standing on a cell picks the next cell to run into, then runs until it
+ * arrives on it exactly, so every step starts from a whole cell.
+ */
+public final class ChaseSystem {
+
+    /**
+     * Not instantiable; the system is a set of static passes over entity tables.
+     */
+    private ChaseSystem() {
+    }
+
+    /**
+     * Runs every live entity with a STEERING component after the target of a flow field for one tick. Each
+     * entity finds its next step in constant time, however many share the field.
+     *
+     * @param store The entity store.
+     * @param field The flow field, already updated to lead to the target's cell.
+     * @param speed The distance each entity runs per tick, in cells.
+     */
+    public static void update(EntityStore store, FlowField field, float speed) {
+        for (int t = 0; t < store.getTableCount(); t++) {
+            EntityTable table = store.getTable(t);
+            if (!table.has(EntityTable.STEERING)) {
+                continue;
+            }
+            for (int i = 0; i < table.count; i++) {
+                if (table.alive[i]) {
+                    chase(table, i, field, speed);
+                }
+            }
+        }
+    }
+
+    /**
+     * Decides where each live entity in a range of rows heads next, without changing anything: an entity
+     * already running into a cell keeps heading there, and one standing on a cell picks the step the flow
+     * field leads it to, or -1 at the target or with no way there. Only reads the table and the field and
+     * only writes its own range of intents, so ranges can be decided on different threads at once.
+     *
+     * @param table The entities' table, which must have STEERING.
+     * @param from The first row to decide for.
+     * @param to The row after the last one to decide for.
+     * @param field The flow field, already updated to lead to the target's cell.
+     * @param intents Receives the cell each entity heads for, indexed by row.
+     */
+    public static void decide(EntityTable table, int from, int to, FlowField field, int[] intents) {
+        MazeGrid maze = field.getMaze();
+        for (int i = from; i < to; i++) {
+            int next = table.nextCells[i];
+            if (next < 0 && table.alive[i]) {
+                next = field.nextStep(maze.index(Math.round(table.y[i]), Math.round(table.x[i])));
+            }
+            intents[i] = next;
+        }
+    }
+
+    /**
+     * Runs every live entity of a table for one tick with the intents decided for it, in row order. An entity
+     * that reaches its cell within the tick goes on to decide its following steps itself, so the result is
+     * the same as {@link #chase(EntityTable, int, FlowField, float)} for every entity.
+     *
+     * @param table The entities' table, which must have STEERING.
+     * @param intents The cell each entity heads for, from decide().
+     * @param field The flow field the intents were decided with.
+     * @param speed The distance each entity runs per tick, in cells.
+     */
+    public static void follow(EntityTable table, int[] intents, FlowField field, float speed) {
+        for (int i = 0; i < table.count; i++) {
+            if (table.alive[i] && intents[i] >= 0) {
+                table.nextCells[i] = intents[i];
+                chase(table, i, field, speed);
+            }
+        }
+    }
+
+    /**
+     * Runs an entity towards the target of a flow field for one tick. It stops once it reaches the target's
+     * cell, or if there is no way there.
+     *
+     * @param table The entity's table, which must have STEERING.
+     * @param row The row of the entity.
+     * @param field The flow field, already updated to lead to the target's cell.
+     * @param speed The distance the entity runs per tick, in cells.
+     */
+    public static void chase(EntityTable table, int row, FlowField field, float speed) {
+        MazeGrid maze = field.getMaze();
+        float remaining = speed;
+        while (remaining > 0) {
+            if (table.nextCells[row] < 0) {
+                int cell = maze.index(Math.round(table.y[row]), Math.round(table.x[row]));
+                table.nextCells[row] = field.nextStep(cell);
+                if (table.nextCells[row] < 0) {
+                    return;
+                }
+            }
+            remaining = run(table, row, maze, remaining);
+        }
+    }
+
+    /**
+     * Runs an entity towards a target for one tick. Whenever the entity stands on a cell it looks up the
+     * shortest path to the target's cell and heads for the next cell along it, so it keeps following the
+     * target as it moves. It stops once it reaches the target's cell, or if there is no way there.
+     *
+     * @param table The entity's table, which must have STEERING.
+     * @param row The row of the entity.
+     * @param paths The path search over the maze, such as a PathFinder or a CorridorGraph.
+     * @param targetX The x-coordinate of the target, in cells.
+     * @param targetY The y-coordinate of the target, in cells.
+     * @param speed The distance the entity runs per tick, in cells.
+     */
+    public static void chase(EntityTable table, int row, PathSearch paths, float targetX, float targetY,
+                             float speed) {
+        MazeGrid maze = paths.getMaze();
+        float remaining = speed;
+        while (remaining > 0) {
+            if (table.nextCells[row] < 0) {
+                // Standing on a cell: pick the next step towards the target
+                int cell = maze.index(Math.round(table.y[row]), Math.round(table.x[row]));
+                int goalRow = Math.round(targetY);
+                int goalCol = Math.round(targetX);
+                if (!maze.isInside(goalRow, goalCol)) {
+                    return;
+                }
+                int goal = maze.index(goalRow, goalCol);
+                if (cell == goal || !paths.search(cell, goal)) {
+                    return;
+                }
+                table.nextCells[row] = paths.getPathCell(1);
+            }
+            remaining = run(table, row, maze, remaining);
+        }
+    }
+
+    /**
+     * Runs an entity towards its next cell, arriving on it exactly so that the next step starts from a whole
+     * cell.
+     *
+     * @param table The entity's table.
+     * @param row The row of the entity.
+     * @param maze The maze grid.
+     * @param distance The distance the entity may still run this tick, in cells.
+     * @return The distance left over after reaching the next cell, or 0 if the entity is still on its way.
+     */
+    private static float run(EntityTable table, int row, MazeGrid maze, float distance) {
+        int next = table.nextCells[row];
+        float dx = maze.colOf(next) - table.x[row];
+        float dy = maze.rowOf(next) - table.y[row];
+        float needed = Math.abs(dx) + Math.abs(dy); // Steps are along one axis only
+        if (needed <= distance) {
+            table.x[row] = maze.colOf(next);
+            table.y[row] = maze.rowOf(next);
+            table.nextCells[row] = -1;
+            return distance - needed;
+        }
+        table.x[row] += Math.signum(dx) * distance;
+        table.y[row] += Math.signum(dy) * distance;
+        return 0;
+    }
+}
@@ -0,0 +1,270 @@
+package com.example.gonuts;
+
+/**
+ * Finds touching pairs among the world's moving entities (the squirrel, foxes and projectiles) without testing
+ * every entity against every other. Each tick the entities are added as circles, bucketed into a uniform grid
+ * laid over the maze with a counting sort, and each entity is then only tested against the entities in the
+ * grid cells around it. The cost therefore grows with how crowded an area is rather than with the total number
+ * of entities. The exact test compares squared distances, so no square roots are taken.
+ *
+ * Which pairs are reported is set per entity kind with {@link #setCollides(int, int)}; pairs of kinds that do
+ * not interact, such as two projectiles, are skipped before the distance test. Everything is stored in
+ * preallocated arrays, so a tick of collision detection does not allocate.
+ */
+public class CollisionGrid {
+    public static final int KIND_SQUIRREL = 0; // The player
+    public static final int KIND_FOX = 1; // An enemy
+    public static final int KIND_PROJECTILE = 2; // A projectile
+
+    private final int cols, rows; // Size of the grid, in cells
+    private final float cellSize; // Width and height of a grid cell, in maze cells
+    private final int capacity; // Maximum number of entities per tick
+    private final int[] collisionMasks = new int[32]; // Per kind, a bit for every kind it collides with
+
+    private final int[] kinds; // Kind of each entity
+    private final int[] ids; // Caller's id for each entity, e.g. a projectile index
+    private final float[] x, y, radii; // Circle of each entity
+    private final int[] cellOf; // Grid cell each entity is in
+    private final int[] cellStart; // First position in sorted of each cell's entities, plus a final end marker
+    private final int[] sorted; // Entity indices ordered by cell
+    private int count; // Number of entities added this tick
+    private float maxRadius; // Largest radius added this tick
+
+    private final int[] contactA, contactB; // Entity indices of each contact, ordered so kind A <= kind B
+    private int contactCount; // Number of contacts found by the last findContacts
+
+    /**
+     * Constructs a CollisionGrid covering a maze.
+     *
+     * @param cols The width of the maze, in cells.
+     * @param rows The height of the maze, in cells.
+     * @param cellSize The size of a grid cell, in maze cells. Entities outside the maze are kept in the border
+     *                 cells of the grid.
+     * @param capacity The maximum number of entities that can be added per tick.
+     */
+    public CollisionGrid(int cols, int rows, float cellSize, int capacity) {
+        this.cellSize = cellSize;
+        this.cols = Math.max(1, (int) Math.ceil(cols / cellSize));
+        this.rows = Math.max(1, (int) Math.ceil(rows / cellSize));
+        this.capacity = capacity;
+        kinds = new int[capacity];
+        ids = new int[capacity];
+        x = new float[capacity];
+        y = new float[capacity];
+        radii = new float[capacity];
+        cellOf = new int[capacity];
+        sorted = new int[capacity];
+        cellStart = new int[this.cols * this.rows + 1];
+        contactA = new int[capacity];
+        contactB = new int[capacity];
+    }
+
+    /**
+     * Sets whether two kinds of entity collide with each other. The setting is symmetric.
+     *
+     * @param kindA The first kind, from 0 to 31.
+     * @param kindB The second kind, from 0 to 31.
+     */
+    public void setCollides(int kindA, int kindB) {
+        collisionMasks[kindA] |= 1 << kindB;
+        collisionMasks[kindB] |= 1 << kindA;
+    }
+
+    /**
+     * Removes every entity so the grid can be filled for a new tick.
+     */
+    public void clear() {
+        count = 0;
+        maxRadius = 0;
+        contactCount = 0;
+    }
+
+    /**
+     * Adds an entity for this tick.
+     *
+     * @param kind The entity's kind, such as KIND_PROJECTILE.
+     * @param id The caller's id for the entity, reported back in contacts.
+     * @param entityX The x-coordinate of the entity's centre, in maze cells.
+     * @param entityY The y-coordinate of the entity's centre, in maze cells.
+     * @param radius The radius of the entity, in maze cells.
+     * @return false if the grid already holds capacity entities and this one was not added.
+     */
+    public boolean add(int kind, int id, float entityX, float entityY, float radius) {
+        if (count == capacity) {
+            return false;
+        }
+        int index = count++;
+        kinds[index] = kind;
+        ids[index] = id;
+        x[index] = entityX;
+        y[index] = entityY;
+        radii[index] = radius;
+        maxRadius = Math.max(maxRadius, radius);
+        return true;
+    }
+
+    /**
+     * Buckets the entities added this tick into the grid and records every pair of colliding kinds whose
+     * circles overlap. Each pair is reported once, in an order that depends only on the order the entities
+     * were added.
+     *
+     * @return The number of contacts found.
+     */
+    public int findContacts() {
+        buildGrid();
+
+        // Circles further apart than two of the largest radii can't touch, so only look that many cells away
+        int reach = Math.max(1, (int) Math.ceil(2 * maxRadius / cellSize));
+        contactCount = 0;
+        for (int a = 0; a < count; a++) {
+            int mask = collisionMasks[kinds[a]];
+            if (mask == 0) {
+                continue;
+            }
+            int cell = cellOf[a];
+            int cellX = cell % cols;
+            int cellY = cell / cols;
+            int minX = Math.max(0, cellX - reach);
+            int maxX = Math.min(cols - 1, cellX + reach);
+            int minY = Math.max(0, cellY - reach);
+            int maxY = Math.min(rows - 1, cellY + reach);
+            for (int gy = minY; gy <= maxY; gy++) {
+                for (int gx = minX; gx <= maxX; gx++) {
+                    int other = gy * cols + gx;
+                    for (int k = cellStart[other]; k < cellStart[other + 1]; k++) {
+                        int b = sorted[k];
+                        // Only test each pair once, from its lower entity
+                        if (b > a && (mask & (1 << kinds[b])) != 0 && overlaps(a, b)) {
+                            addContact(a, b);
+                        }
+                    }
+                }
+            }
+        }
+        return contactCount;
+    }
+
+    /**
+     * Sorts the entities by grid cell with a counting sort, filling cellOf, cellStart and sorted.
+     */
+    private void buildGrid() {
+        int cells = cols * rows;
+        for (int i = 0; i <= cells; i++) {
+            cellStart[i] = 0;
+        }
+        for (int i = 0; i < count; i++) {
+            int cellX = Math.min(cols - 1, Math.max(0, (int) Math.floor(x[i] / cellSize)));
+            int cellY = Math.min(rows - 1, Math.max(0, (int) Math.floor(y[i] / cellSize)));
+            int cell = cellY * cols + cellX;
+            cellOf[i] = cell;
+            cellStart[cell + 1]++;
+        }
+        for (int i = 0; i < cells; i++) {
+            cellStart[i + 1] += cellStart[i];
+        }
+        // cellStart[c + 1] is now the end of cell c. Fill each cell from its end backwards, so entities keep
+        // the order they were added in and the end marker walks down to the start of the cell
+        for (int i = count - 1; i >= 0; i--) {
+            int cell = cellOf[i];
+            int position = --cellStart[cell + 1];
+            sorted[position] = i;
+        }
+        // cellStart[c + 1] now holds the start of cell c; shift everything down one place
+        for (int i = 0; i < cells; i++) {
+            cellStart[i] = cellStart[i + 1];
+        }
+        cellStart[cells] = count;
+    }
+
+    /**
+     * Checks whether two entities' circles overlap.
+     *
+     * @param a The first entity.
+     * @param b The second entity.
+     * @return true if their centres are closer than the sum of their radii.
+     */
+    private boolean overlaps(int a, int b) {
+        float dx = x[a] - x[b];
+        float dy = y[a] - y[b];
+        float reach = radii[a] + radii[b];
+        return dx * dx + dy * dy < reach * reach;
+    }
+
+    /**
+     * Records a contact, with the entity of the lower kind first.
+     *
+     * @param a The first entity.
+     * @param b The second entity.
+     */
+    private void addContact(int a, int b) {
+        if (contactCount == contactA.length) {
+            return; // More contacts than entities this tick; the rest are dropped
+        }
+        if (kinds[a] <= kinds[b]) {
+            contactA[contactCount] = a;
+            contactB[contactCount] = b;
+        } else {
+            contactA[contactCount] = b;
+            contactB[contactCount] = a;
+        }
+        contactCount++;
+    }
+
+    /**
+     * Gets the number of contacts found by the last call to findContacts.
+     *
+     * @return The contact count.
+     */
+    public int getContactCount() {
+        return contactCount;
+    }
+
+    /**
+     * Gets the kind of the first entity in a contact. The first entity's kind is never greater than the second's.
+     *
+     * @param contact The index of the contact.
+     * @return The entity kind.
+     */
+    public int getKindA(int contact) {
+        return kinds[contactA[contact]];
+    }
+
+    /**
+     * Gets the caller's id of the first entity in a contact.
+     *
+     * @param contact The index of the contact.
+     * @return The entity id.
+     */
+    public int getIdA(int contact) {
+        return ids[contactA[contact]];
+    }
+
+    /**
+     * Gets the kind of the second entity in a contact.
+     *
+     * @param contact The index of the contact.
+     * @return The entity kind.
+     */
+    public int getKindB(int contact) {
+        return kinds[contactB[contact]];
+    }
+
+    /**
+     * Gets the caller's id of the second entity in a contact.
+     *
+     * @param contact The index of the contact.
+     * @return The entity id.
+     */
+    public int getIdB(int contact) {
+        return ids[contactB[contact]];
+    }
+
+    /**
+     * Gets the number of entities added this tick.
+     *
+     * @return The entity count.
+     */
+    public int getEntityCount() {
+        return count;
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.gonuts;
+
+/**
+ * Fills a {@link CollisionGrid} with every live entity that has a position, so the broadphase can find the
+ * contacts between them. Entities are added table by table in the store's order, with the table's kind and
+ * the entity's row as their id, so contacts come out in the same order for the same world.
+ */
+public final class CollisionSystem {
+
+    /**
+     * Not instantiable; the system is a static pass over entity tables.
+     */
+    private CollisionSystem() {
+    }
+
+    /**
+     * Clears the grid and adds every live entity with a position to it.
+     *
+     * @param store The entity store.
+     * @param grid The collision grid, with room for every entity.
+     * @param radii The collision radius of each kind of entity, in cells, indexed by kind.
+     */
+    public static void fill(EntityStore store, CollisionGrid grid, float[] radii) {
+        grid.clear();
+        for (int t = 0; t < store.getTableCount(); t++) {
+            EntityTable table = store.getTable(t);
+            if (!table.has(EntityTable.POSITION)) {
+                continue;
+            }
+            int kind = table.getKind();
+            float radius = radii[kind];
+            for (int i = 0; i < table.count; i++) {
+                if (table.alive[i]) {
+                    grid.add(kind, i, table.x[i], table.y[i], radius);
+                }
+            }
+        }
+    }
+}
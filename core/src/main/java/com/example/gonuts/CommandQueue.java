@@ -0,0 +1,156 @@
+package com.example.gonuts;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A bounded, lock-free queue of game commands from any number of producer threads to the single game thread.
+ * Other threads (the UI thread, input handlers) never touch the world directly; they offer commands here and
+ * the game thread drains them at the start of each tick, so the simulation itself never takes a lock.
+ *
+ * The queue is a ring buffer in which every slot carries a sequence number, as in Dmitry Vyukov's bounded
+ * queue: producers claim a slot by advancing the tail with a compare-and-set, write the command, then publish
+ * it by bumping the slot's sequence; the consumer reads a slot only once its sequence says it has been
+ * published. Commands are a type plus four float arguments stored in preallocated arrays, so offering a
+ * command does not allocate.
+ */
+public class CommandQueue {
+
+    /**
+     * Receives the commands drained from the queue.
+     */
+    public interface Consumer {
+
+        /**
+         * Called for each command, in the order the commands were offered.
+         *
+         * @param type The command type.
+         * @param a The first argument.
+         * @param b The second argument.
+         * @param c The third argument.
+         * @param d The fourth argument.
+         */
+        void onCommand(int type, float a, float b, float c, float d);
+    }
+
+    private static final int ARGS = 4; // Arguments stored per command
+
+    private final int capacity; // Number of slots, a power of two
+    private final int mask; // capacity - 1, for wrapping positions onto slots
+    private final AtomicLongArray sequences; // Per-slot position + 1 once published, + capacity once freed
+    private final int[] types; // Command type in each slot
+    private final float[] args; // Command arguments, ARGS per slot
+    private final AtomicLong tail = new AtomicLong(); // Next position producers will claim
+    private long head; // Next position the consumer will read; only touched by the consumer
+
+    /**
+     * Constructs an empty CommandQueue.
+     *
+     * @param capacity The maximum number of pending commands, rounded up to a power of two.
+     */
+    public CommandQueue(int capacity) {
+        if (capacity < 1 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("Capacity must be between 1 and 2^30");
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.capacity = size;
+        mask = size - 1;
+        sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+        types = new int[size];
+        args = new float[size * ARGS];
+    }
+
+    /**
+     * Adds a command to the queue. Safe to call from any thread.
+     *
+     * @param type The command type.
+     * @param a The first argument.
+     * @param b The second argument.
+     * @param c The third argument.
+     * @param d The fourth argument.
+     * @return true if the command was queued, false if the queue is full.
+     */
+    public boolean offer(int type, float a, float b, float c, float d) {
+        long position = tail.get();
+        int slot;
+        while (true) {
+            slot = (int) position & mask;
+            long difference = sequences.get(slot) - position;
+            if (difference == 0) {
+                // The slot is free for this position; try to claim it
+                if (tail.compareAndSet(position, position + 1)) {
+                    break;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false; // The consumer has not freed this slot yet, so the queue is full
+            } else {
+                position = tail.get(); // Another producer claimed the position first
+            }
+        }
+
+        types[slot] = type;
+        int base = slot * ARGS;
+        args[base] = a;
+        args[base + 1] = b;
+        args[base + 2] = c;
+        args[base + 3] = d;
+        sequences.lazySet(slot, position + 1); // Publish the command to the consumer
+        return true;
+    }
+
+    /**
+     * Passes every published command to the consumer and removes it from the queue. Must only be called from
+     * the consuming thread. Only commands offered before the call starts are drained, so commands offered
+     * while draining, including by the consumer itself, wait for the next call.
+     *
+     * @param consumer The consumer receiving the commands.
+     * @return The number of commands drained.
+     */
+    public int drain(Consumer consumer) {
+        int count = 0;
+        long end = tail.get();
+        while (head < end) {
+            int slot = (int) head & mask;
+            if (sequences.get(slot) != head + 1) {
+                break; // Empty, or the next producer has claimed the slot but not published yet
+            }
+            int type = types[slot];
+            int base = slot * ARGS;
+            float a = args[base];
+            float b = args[base + 1];
+            float c = args[base + 2];
+            float d = args[base + 3];
+            sequences.lazySet(slot, head + capacity); // Hand the slot back to producers for the next lap
+            head++;
+            count++;
+            consumer.onCommand(type, a, b, c, d);
+        }
+        return count;
+    }
+
+    /**
+     * Gets the maximum number of pending commands.
+     *
+     * @return The capacity of the queue.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Gets an estimate of the number of pending commands. Exact only when no other thread is using the queue.
+     *
+     * @return The approximate number of queued commands.
+     */
+    public int size() {
+        long size = tail.get() - head;
+        return (int) Math.max(0, Math.min(size, capacity));
+    }
+}
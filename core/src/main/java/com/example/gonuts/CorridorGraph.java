@@ -0,0 +1,681 @@
+package com.example.gonuts;
+
+import java.util.Arrays;
+
+/**
+ * A compressed view of a maze for AI queries. Most open cells of a maze are corridor cells with exactly two
+ * open neighbours, where there is nothing to decide, so the maze is collapsed into a weighted graph: its nodes
+ * are the junctions and dead ends (open cells without exactly two open neighbours), and its edges are the
+ * corridors between them, weighted by their length in steps. A ring of corridor cells with no junction gets
+ * one of its cells as a node. Lookup tables give, for every cell, the node it is or the corridor it lies on
+ * and how far along it, so a query can start or end anywhere.
+ *
+ * Shortest paths are found with A* over the nodes, guided by the Manhattan distance to the goal, which on
+ * generated mazes expands an order of magnitude fewer places than A* over cells. Paths are expanded back into
+ * cells, so a CorridorGraph answers the same queries as a {@link PathFinder}, including starting from a wall.
+ *
+ * The game routes its foxes with a shared {@link FlowField} and checks their shots with a {@link LineOfFire},
+ * so the graph is not part of {@link GameWorld}; it is a standalone path search for callers that search on
+ * their own, measured against PathFinder in the benchmarks.
+ *
+ * The graph is built with a few scans of the maze when it is first used. Walls rarely change, so it is only
+ * rebuilt, lazily, after {@link #invalidate()}; searches in between allocate nothing.
+ */
+public class CorridorGraph implements PathSearch {
+    private static final int NONE = -1; // Missing node, corridor or cell
+    private static final int NOT_IN_HEAP = -1; // Heap position of a node that is not waiting to be expanded
+
+    private final MazeGrid maze; // The maze being compressed
+    private final int[] nodeOf; // Node each cell is, or NONE
+    private final int[] corridorOf; // Corridor each corridor cell lies on, or NONE
+    private final int[] offsets; // Steps from the start of its corridor to each corridor cell
+    private final int[] corridorCells; // Cells inside the corridors, each corridor's in order from its start
+    private final int[] path; // The last path found, from start to goal
+    private boolean stale = true; // Set when the maze has changed since the graph was built
+
+    private int[] nodeCells = new int[0]; // Cell of each node
+    private int nodeCount; // Number of nodes
+    private int[] corridorStarts = new int[0]; // Node at the start of each corridor
+    private int[] corridorEnds = new int[0]; // Node at the end of each corridor, which may be its start node
+    private int[] corridorLengths = new int[0]; // Steps from the start to the end of each corridor
+    private int[] corridorFirstCells = new int[0]; // Position in corridorCells of each corridor's first cell
+    private int corridorCount; // Number of corridors
+    private int[] adjacencyStarts = new int[1]; // Position in adjacency of each node's corridors, plus an end
+    private int[] adjacency = new int[0]; // Corridors leading out of each node, excluding rings back to it
+
+    private int[] gScores = new int[0]; // Cost of the best known route from the start to each node
+    private int[] fScores = new int[0]; // gScore plus the estimated remaining cost to the goal
+    private int[] parents = new int[0]; // Node each node was reached from, or NONE if reached from the start
+    private int[] vias = new int[0]; // Corridor each node was reached along, or NONE if it is the start
+    private int[] viaOffsets = new int[0]; // Offset of each node within the corridor it was reached along
+    private int[] entries = new int[0]; // Start cell a node reached straight from the start was reached from
+    private int[] generations = new int[0]; // Number of the search that last touched each node
+    private boolean[] closed = new boolean[0]; // Whether a node has been expanded, for the current generation
+    private int[] heap = new int[0]; // Nodes waiting to be expanded, as a binary min-heap on fScore
+    private int[] heapPositions = new int[0]; // Position of each node in the heap, or NOT_IN_HEAP
+    private int heapSize; // Number of nodes in the heap
+    private int generation; // Number of the current search
+    private int expanded; // Number of nodes expanded by the last search
+    private int pathLength; // Number of cells in the last path found, or 0 if there was none
+
+    private int goal; // Goal cell of the current search
+    private int goalRow, goalCol; // Position of the goal cell
+    private int bestCost; // Cost of the best complete path found so far by the current search
+    private int bestNode; // Last node on that path, or NONE if it runs straight from a start cell
+    private int bestStart; // Start cell of that path, if it runs straight from it
+    private int bestEndOffset; // Offset of the last node within the goal's corridor
+
+    /**
+     * Constructs a CorridorGraph for a maze. The graph is built when it is first used.
+     *
+     * @param maze The maze grid.
+     */
+    public CorridorGraph(MazeGrid maze) {
+        this.maze = maze;
+        int size = maze.size();
+        nodeOf = new int[size];
+        corridorOf = new int[size];
+        offsets = new int[size];
+        corridorCells = new int[size];
+        path = new int[size];
+    }
+
+    /**
+     * Marks the graph as out of date, so it is built again the next time it is used. Must be called whenever
+     * a cell turns into or stops being a wall.
+     */
+    public void invalidate() {
+        stale = true;
+    }
+
+    /**
+     * Builds the graph if the maze has changed since they were last built.
+     */
+    private void refresh() {
+        if (!stale) {
+            return;
+        }
+        Arrays.fill(nodeOf, NONE);
+        Arrays.fill(corridorOf, NONE);
+        nodeCount = 0;
+        corridorCount = 0;
+        int cellCount = 0;
+        for (int cell = 0; cell < maze.size(); cell++) {
+            if (!maze.isWall(cell) && countOpenNeighbours(cell) != 2) {
+                addNode(cell);
+            }
+        }
+        for (int node = 0; node < nodeCount; node++) {
+            cellCount = traceCorridors(node, cellCount);
+        }
+        // Whatever is left are rings of corridor cells without any junction
+        for (int cell = 0; cell < maze.size(); cell++) {
+            if (!maze.isWall(cell) && nodeOf[cell] == NONE && corridorOf[cell] == NONE) {
+                addNode(cell);
+                cellCount = traceCorridors(nodeCount - 1, cellCount);
+            }
+        }
+        buildAdjacency();
+        if (gScores.length < nodeCount) {
+            allocateSearch(nodeCount);
+        }
+        stale = false;
+    }
+
+    /**
+     * Adds a node.
+     *
+     * @param cell The cell of the node.
+     */
+    private void addNode(int cell) {
+        if (nodeCount == nodeCells.length) {
+            nodeCells = Arrays.copyOf(nodeCells, Math.max(16, nodeCount * 2));
+        }
+        nodeOf[cell] = nodeCount;
+        nodeCells[nodeCount++] = cell;
+    }
+
+    /**
+     * Adds a corridor.
+     *
+     * @param start The node at its start.
+     * @param end The node at its end.
+     * @param length The number of steps from start to end.
+     * @param firstCell The position of its first inside cell in corridorCells.
+     */
+    private void addCorridor(int start, int end, int length, int firstCell) {
+        if (corridorCount == corridorStarts.length) {
+            int capacity = Math.max(16, corridorCount * 2);
+            corridorStarts = Arrays.copyOf(corridorStarts, capacity);
+            corridorEnds = Arrays.copyOf(corridorEnds, capacity);
+            corridorLengths = Arrays.copyOf(corridorLengths, capacity);
+            corridorFirstCells = Arrays.copyOf(corridorFirstCells, capacity);
+        }
+        corridorStarts[corridorCount] = start;
+        corridorEnds[corridorCount] = end;
+        corridorLengths[corridorCount] = length;
+        corridorFirstCells[corridorCount] = firstCell;
+        corridorCount++;
+    }
+
+    /**
+     * Follows every corridor leading out of a node that has not been followed from its other end yet.
+     *
+     * @param node The node.
+     * @param cellCount The number of cells in corridorCells so far.
+     * @return The new number of cells in corridorCells.
+     */
+    private int traceCorridors(int node, int cellCount) {
+        int from = nodeCells[node];
+        for (int direction = 0; direction < 4; direction++) {
+            int cell = openNeighbour(from, direction);
+            if (cell == NONE || corridorOf[cell] != NONE) {
+                continue;
+            }
+            if (nodeOf[cell] != NONE) {
+                // Two neighbouring nodes: a corridor with nothing inside, added from the lower cell only
+                if (from < cell) {
+                    addCorridor(node, nodeOf[cell], 1, cellCount);
+                }
+                continue;
+            }
+
+            int corridor = corridorCount;
+            int firstCell = cellCount;
+            int previous = from;
+            int length = 1;
+            while (nodeOf[cell] == NONE) {
+                corridorOf[cell] = corridor;
+                offsets[cell] = length;
+                corridorCells[cellCount++] = cell;
+                int next = NONE;
+                for (int d = 0; d < 4; d++) {
+                    int neighbour = openNeighbour(cell, d);
+                    if (neighbour != NONE && neighbour != previous) {
+                        next = neighbour;
+                        break;
+                    }
+                }
+                previous = cell;
+                cell = next;
+                length++;
+            }
+            addCorridor(node, nodeOf[cell], length, firstCell);
+        }
+        return cellCount;
+    }
+
+    /**
+     * Lists the corridors leading out of each node, leaving out rings that lead straight back to it.
+     */
+    private void buildAdjacency() {
+        if (adjacencyStarts.length < nodeCount + 1) {
+            adjacencyStarts = new int[nodeCount + 1];
+        }
+        Arrays.fill(adjacencyStarts, 0, nodeCount + 1, 0);
+        for (int corridor = 0; corridor < corridorCount; corridor++) {
+            if (corridorStarts[corridor] != corridorEnds[corridor]) {
+                adjacencyStarts[corridorStarts[corridor] + 1]++;
+                adjacencyStarts[corridorEnds[corridor] + 1]++;
+            }
+        }
+        for (int node = 0; node < nodeCount; node++) {
+            adjacencyStarts[node + 1] += adjacencyStarts[node];
+        }
+        if (adjacency.length < adjacencyStarts[nodeCount]) {
+            adjacency = new int[adjacencyStarts[nodeCount]];
+        }
+        // Use each node's start as its fill position, which leaves it at the next node's start
+        for (int corridor = 0; corridor < corridorCount; corridor++) {
+            if (corridorStarts[corridor] != corridorEnds[corridor]) {
+                adjacency[adjacencyStarts[corridorStarts[corridor]]++] = corridor;
+                adjacency[adjacencyStarts[corridorEnds[corridor]]++] = corridor;
+            }
+        }
+        for (int node = nodeCount; node > 0; node--) {
+            adjacencyStarts[node] = adjacencyStarts[node - 1];
+        }
+        adjacencyStarts[0] = 0;
+    }
+
+    /**
+     * Allocates the arrays for searching over a number of nodes.
+     *
+     * @param capacity The number of nodes.
+     */
+    private void allocateSearch(int capacity) {
+        gScores = new int[capacity];
+        fScores = new int[capacity];
+        parents = new int[capacity];
+        vias = new int[capacity];
+        viaOffsets = new int[capacity];
+        entries = new int[capacity];
+        generations = new int[capacity];
+        closed = new boolean[capacity];
+        heap = new int[capacity];
+        heapPositions = new int[capacity];
+    }
+
+    /**
+     * Gets an open neighbour of a cell.
+     *
+     * @param cell The cell.
+     * @param direction 0 for up, 1 for down, 2 for left and 3 for right.
+     * @return The neighbour, or NONE if it is a wall or outside the maze.
+     */
+    private int openNeighbour(int cell, int direction) {
+        int cols = maze.getCols();
+        int neighbour;
+        switch (direction) {
+            case 0:
+                neighbour = cell >= cols ? cell - cols : NONE;
+                break;
+            case 1:
+                neighbour = cell + cols < maze.size() ? cell + cols : NONE;
+                break;
+            case 2:
+                neighbour = cell % cols > 0 ? cell - 1 : NONE;
+                break;
+            default:
+                neighbour = cell % cols < cols - 1 ? cell + 1 : NONE;
+                break;
+        }
+        return neighbour != NONE && !maze.isWall(neighbour) ? neighbour : NONE;
+    }
+
+    /**
+     * Counts the open neighbours of a cell.
+     *
+     * @param cell The cell.
+     * @return The number of open neighbours, from 0 to 4.
+     */
+    private int countOpenNeighbours(int cell) {
+        int count = 0;
+        for (int direction = 0; direction < 4; direction++) {
+            if (openNeighbour(cell, direction) != NONE) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public boolean search(int start, int goal) {
+        refresh();
+        nextGeneration();
+        heapSize = 0;
+        pathLength = 0;
+        expanded = 0;
+        if (maze.isWall(goal)) {
+            return false;
+        }
+
+        this.goal = goal;
+        goalRow = maze.rowOf(goal);
+        goalCol = maze.colOf(goal);
+        bestCost = Integer.MAX_VALUE;
+        bestNode = NONE;
+        if (maze.isWall(start)) {
+            // Leaving a bush: every open neighbour is one step away
+            for (int direction = 0; direction < 4; direction++) {
+                int cell = openNeighbour(start, direction);
+                if (cell != NONE) {
+                    addStart(cell, 1);
+                }
+            }
+        } else {
+            addStart(start, 0);
+        }
+
+        int goalNode = nodeOf[goal];
+        int goalCorridor = corridorOf[goal];
+        while (heapSize > 0 && fScores[heap[0]] < bestCost) {
+            int node = pop();
+            closed[node] = true;
+            expanded++;
+            int g = gScores[node];
+            if (node == goalNode) {
+                offerPath(g, node, 0);
+            } else if (goalCorridor != NONE) {
+                // The goal lies on a corridor, reached from whichever of its ends this node is
+                if (corridorStarts[goalCorridor] == node) {
+                    offerPath(g + offsets[goal], node, 0);
+                }
+                if (corridorEnds[goalCorridor] == node) {
+                    int length = corridorLengths[goalCorridor];
+                    offerPath(g + length - offsets[goal], node, length);
+                }
+            }
+
+            for (int i = adjacencyStarts[node]; i < adjacencyStarts[node + 1]; i++) {
+                int corridor = adjacency[i];
+                int length = corridorLengths[corridor];
+                if (corridorStarts[corridor] == node) {
+                    relax(corridorEnds[corridor], g + length, node, corridor, length, NONE);
+                } else {
+                    relax(corridorStarts[corridor], g + length, node, corridor, 0, NONE);
+                }
+            }
+        }
+        if (bestCost == Integer.MAX_VALUE) {
+            return false;
+        }
+        buildPath(start);
+        return true;
+    }
+
+    /**
+     * Adds a cell the search starts from: the node it is, or the two ends of its corridor, plus the goal
+     * itself if it can be reached straight along the same corridor.
+     *
+     * @param cell The open cell.
+     * @param cost The cost of reaching the cell from the start.
+     */
+    private void addStart(int cell, int cost) {
+        if (cell == goal) {
+            offerStraightPath(cost, cell);
+        }
+        if (nodeOf[cell] != NONE) {
+            relax(nodeOf[cell], cost, NONE, NONE, 0, cell);
+            return;
+        }
+        int corridor = corridorOf[cell];
+        int offset = offsets[cell];
+        int length = corridorLengths[corridor];
+        if (corridor == corridorOf[goal]) {
+            offerStraightPath(cost + Math.abs(offsets[goal] - offset), cell);
+        }
+        relax(corridorStarts[corridor], cost + offset, NONE, corridor, 0, cell);
+        relax(corridorEnds[corridor], cost + length - offset, NONE, corridor, length, cell);
+    }
+
+    /**
+     * Keeps a complete path to the goal if it is the cheapest one found so far.
+     *
+     * @param cost The cost of the path.
+     * @param node The last node on the path.
+     * @param endOffset The offset of that node within the goal's corridor, if the goal is on one.
+     */
+    private void offerPath(int cost, int node, int endOffset) {
+        if (cost < bestCost) {
+            bestCost = cost;
+            bestNode = node;
+            bestEndOffset = endOffset;
+        }
+    }
+
+    /**
+     * Keeps a path running straight from a start cell to the goal, without passing a node, if it is the
+     * cheapest one found so far.
+     *
+     * @param cost The cost of the path.
+     * @param startCell The start cell it runs from.
+     */
+    private void offerStraightPath(int cost, int startCell) {
+        if (cost < bestCost) {
+            bestCost = cost;
+            bestNode = NONE;
+            bestStart = startCell;
+        }
+    }
+
+    /**
+     * Offers a node a route, keeping it if it is better than the best route known so far.
+     *
+     * @param node The node.
+     * @param g The cost of the route.
+     * @param parent The node the route comes from, or NONE if it comes straight from a start cell.
+     * @param via The corridor the route arrives along, or NONE if the node is itself a start cell.
+     * @param viaOffset The offset of the node within that corridor.
+     * @param entry The start cell the route comes from, if parent is NONE.
+     */
+    private void relax(int node, int g, int parent, int via, int viaOffset, int entry) {
+        if (generations[node] != generation) {
+            generations[node] = generation;
+            closed[node] = false;
+            heapPositions[node] = NOT_IN_HEAP;
+        } else if (closed[node] || g >= gScores[node]) {
+            return;
+        }
+        int cell = nodeCells[node];
+        gScores[node] = g;
+        fScores[node] = g + Math.abs(maze.rowOf(cell) - goalRow) + Math.abs(maze.colOf(cell) - goalCol);
+        parents[node] = parent;
+        vias[node] = via;
+        viaOffsets[node] = viaOffset;
+        entries[node] = entry;
+        if (heapPositions[node] == NOT_IN_HEAP) {
+            push(node);
+        } else {
+            siftUp(heapPositions[node]);
+        }
+    }
+
+    /**
+     * Expands the best path found into cells, filling them in from the goal back to the start.
+     *
+     * @param start The start cell of the search.
+     */
+    private void buildPath(int start) {
+        pathLength = bestCost + 1;
+        int index = bestCost;
+        path[index] = goal;
+        if (bestNode == NONE) {
+            if (bestStart != goal) {
+                index = walk(corridorOf[goal], offsets[goal], offsets[bestStart], index);
+            }
+        } else {
+            int node = bestNode;
+            if (nodeOf[goal] != node) {
+                index = walk(corridorOf[goal], offsets[goal], bestEndOffset, index);
+            }
+            while (parents[node] != NONE) {
+                int via = vias[node];
+                int parentOffset = viaOffsets[node] == 0 ? corridorLengths[via] : 0;
+                index = walk(via, viaOffsets[node], parentOffset, index);
+                node = parents[node];
+            }
+            if (vias[node] != NONE) {
+                index = walk(vias[node], viaOffsets[node], offsets[entries[node]], index);
+            }
+        }
+        if (index == 1) {
+            path[0] = start; // The bush the search started from
+        }
+    }
+
+    /**
+     * Writes the cells along part of a corridor into the path, backwards from a position in the path.
+     *
+     * @param corridor The corridor.
+     * @param from The offset to walk from, whose cell is already in the path.
+     * @param to The offset to walk to, whose cell is written last.
+     * @param index The position in the path of the cell at from.
+     * @return The position in the path of the cell at to.
+     */
+    private int walk(int corridor, int from, int to, int index) {
+        int step = to > from ? 1 : -1;
+        for (int offset = from; offset != to; ) {
+            offset += step;
+            path[--index] = getCorridorCell(corridor, offset);
+        }
+        return index;
+    }
+
+    /**
+     * Gets the cell at an offset along a corridor.
+     *
+     * @param corridor The corridor.
+     * @param offset The offset, from 0 (its start node) to its length (its end node).
+     * @return The packed id of the cell.
+     */
+    private int getCorridorCell(int corridor, int offset) {
+        if (offset == 0) {
+            return nodeCells[corridorStarts[corridor]];
+        } else if (offset == corridorLengths[corridor]) {
+            return nodeCells[corridorEnds[corridor]];
+        }
+        return corridorCells[corridorFirstCells[corridor] + offset - 1];
+    }
+
+    /**
+     * Starts a new search generation, clearing the generation stamps only when the counter wraps around.
+     */
+    private void nextGeneration() {
+        generation++;
+        if (generation == Integer.MAX_VALUE) {
+            Arrays.fill(generations, 0);
+            generation = 1;
+        }
+    }
+
+    /**
+     * Checks whether one node should come out of the heap before another: lower fScore first, and between
+     * equal fScores the one further from the start.
+     *
+     * @param a The first node.
+     * @param b The second node.
+     * @return true if a comes first.
+     */
+    private boolean before(int a, int b) {
+        return fScores[a] < fScores[b] || fScores[a] == fScores[b] && gScores[a] > gScores[b];
+    }
+
+    /**
+     * Adds a node to the heap.
+     *
+     * @param node The node.
+     */
+    private void push(int node) {
+        heap[heapSize] = node;
+        heapPositions[node] = heapSize;
+        siftUp(heapSize++);
+    }
+
+    /**
+     * Removes the first node from the heap.
+     *
+     * @return The node with the lowest fScore.
+     */
+    private int pop() {
+        int first = heap[0];
+        heapPositions[first] = NOT_IN_HEAP;
+        int last = heap[--heapSize];
+        if (heapSize > 0) {
+            heap[0] = last;
+            heapPositions[last] = 0;
+            siftDown(0);
+        }
+        return first;
+    }
+
+    /**
+     * Moves a heap entry up until its parent comes before it.
+     *
+     * @param position The position of the entry.
+     */
+    private void siftUp(int position) {
+        int node = heap[position];
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            int parentNode = heap[parent];
+            if (!before(node, parentNode)) {
+                break;
+            }
+            heap[position] = parentNode;
+            heapPositions[parentNode] = position;
+            position = parent;
+        }
+        heap[position] = node;
+        heapPositions[node] = position;
+    }
+
+    /**
+     * Moves a heap entry down until it comes before both of its children.
+     *
+     * @param position The position of the entry.
+     */
+    private void siftDown(int position) {
+        int node = heap[position];
+        while (true) {
+            int child = 2 * position + 1;
+            if (child >= heapSize) {
+                break;
+            }
+            if (child + 1 < heapSize && before(heap[child + 1], heap[child])) {
+                child++;
+            }
+            int childNode = heap[child];
+            if (!before(childNode, node)) {
+                break;
+            }
+            heap[position] = childNode;
+            heapPositions[childNode] = position;
+            position = child;
+        }
+        heap[position] = node;
+        heapPositions[node] = position;
+    }
+
+    @Override
+    public int getPathLength() {
+        return pathLength;
+    }
+
+    @Override
+    public int getPathCell(int index) {
+        return path[index];
+    }
+
+    @Override
+    public int getExpandedCount() {
+        return expanded;
+    }
+
+    @Override
+    public MazeGrid getMaze() {
+        return maze;
+    }
+
+    /**
+     * Gets the number of nodes, the junctions and dead ends of the maze.
+     *
+     * @return The node count.
+     */
+    public int getNodeCount() {
+        refresh();
+        return nodeCount;
+    }
+
+    /**
+     * Gets the number of corridors, the edges between nodes.
+     *
+     * @return The corridor count.
+     */
+    public int getCorridorCount() {
+        refresh();
+        return corridorCount;
+    }
+
+    /**
+     * Gets the node a cell is.
+     *
+     * @param cell The packed id of the cell.
+     * @return The node, or -1 if the cell is a wall or lies on a corridor.
+     */
+    public int getNodeOf(int cell) {
+        refresh();
+        return nodeOf[cell];
+    }
+
+    /**
+     * Gets the corridor a cell lies on.
+     *
+     * @param cell The packed id of the cell.
+     * @return The corridor, or -1 if the cell is a wall or a node.
+     */
+    public int getCorridorOf(int cell) {
+        refresh();
+        return corridorOf[cell];
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.gonuts;
+
+/**
+ * Holds the entity tables of a world, one per archetype, in the order they were added. Systems run over the
+ * store by visiting every table that has the components they need, so a new kind of entity only needs a
+ * table of its own to be moved, collided and drawn like the others.
+ */
+public class EntityStore {
+    private final EntityTable[] tables; // Tables in the order they were added
+    private int tableCount; // Number of tables in use
+
+    /**
+     * Constructs an empty EntityStore.
+     *
+     * @param maxTables The maximum number of tables.
+     */
+    public EntityStore(int maxTables) {
+        if (maxTables < 1) {
+            throw new IllegalArgumentException("Table count must be positive");
+        }
+        tables = new EntityTable[maxTables];
+    }
+
+    /**
+     * Adds a table. Systems visit tables in the order they were added, which is also the order entities are
+     * drawn in.
+     *
+     * @param table The table.
+     * @return The table, for chaining.
+     */
+    public EntityTable add(EntityTable table) {
+        if (tableCount == tables.length) {
+            throw new IllegalArgumentException("The store already holds " + tables.length + " tables");
+        }
+        tables[tableCount++] = table;
+        return table;
+    }
+
+    /**
+     * Gets the number of tables.
+     *
+     * @return The table count.
+     */
+    public int getTableCount() {
+        return tableCount;
+    }
+
+    /**
+     * Gets one of the tables.
+     *
+     * @param index The position of the table, from 0 to getTableCount() - 1.
+     * @return The table.
+     */
+    public EntityTable getTable(int index) {
+        return tables[index];
+    }
+
+    /**
+     * Counts the live entities in every table.
+     *
+     * @return The number of live entities.
+     */
+    public int getLiveCount() {
+        int live = 0;
+        for (int t = 0; t < tableCount; t++) {
+            EntityTable table = tables[t];
+            for (int i = 0; i < table.count; i++) {
+                if (table.alive[i]) {
+                    live++;
+                }
+            }
+        }
+        return live;
+    }
+}
@@ -0,0 +1,272 @@
+package com.example.gonuts;
+
+/**
+ * Stores every entity of one archetype (one kind of entity with one fixed set of components) in preallocated
+ * parallel arrays, one per attribute, the way {@link ProjectileSystem} has always stored projectiles. Only the
+ * arrays of the table's components are allocated. Live entities always occupy rows 0 to getCount() - 1, and
+ * a removed entity is replaced by the last one, so the systems can walk each component as one dense array
+ * and nothing is allocated while the game runs. Systems in this package read and write the arrays directly;
+ * everything else goes through the accessors.
+ *
+ * Rows are only stable until the next call to {@link #removeDead()}. Tables whose entities are never killed,
+ * like the foxes, keep their rows for good.
+ */
+public class EntityTable {
+    public static final int POSITION = 1; // x, y and where the entity was at the start of the tick, in cells
+    public static final int VELOCITY = 2; // Distance moved per tick along each axis, in cells
+    public static final int STEERING = 4; // Cell the entity is running into on its way to a target, or -1
+    public static final int OWNER = 8; // Id of the entity that created this one
+    public static final int WALL_SWEEP = 16; // Whether the entity has left the bushes it started in
+
+    private final int kind; // Kind of every entity in the table, such as CollisionGrid.KIND_FOX
+    private final int components; // Components the table stores, a combination of the constants above
+    private final int capacity; // Maximum number of entities
+    final float[] x, y; // Positions, or null without POSITION
+    final float[] prevX, prevY; // Positions at the start of the current simulation tick, or null
+    final float[] velocityX, velocityY; // Velocities, or null without VELOCITY
+    final int[] nextCells; // Cells being run into, or null without STEERING
+    final int[] owners; // Creators, or null without OWNER
+    final boolean[] clearOfWalls; // Set once an entity has reached an open cell, or null without WALL_SWEEP
+    final boolean[] alive; // Cleared when an entity is killed, until it is removed
+    int count; // Number of entities, live or killed but not yet removed
+    private int deadCount; // Number of killed entities waiting for removeDead
+
+    /**
+     * Constructs an empty EntityTable.
+     *
+     * @param kind The kind of the entities, such as CollisionGrid.KIND_FOX.
+     * @param components The components of the entities, a combination of POSITION, VELOCITY, STEERING, OWNER
+     *                   and WALL_SWEEP.
+     * @param capacity The maximum number of entities.
+     */
+    public EntityTable(int kind, int components, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        if ((components & (VELOCITY | STEERING | WALL_SWEEP)) != 0 && (components & POSITION) == 0) {
+            throw new IllegalArgumentException("Moving entities need a position");
+        }
+        this.kind = kind;
+        this.components = components;
+        this.capacity = capacity;
+        boolean positions = has(POSITION);
+        x = positions ? new float[capacity] : null;
+        y = positions ? new float[capacity] : null;
+        prevX = positions ? new float[capacity] : null;
+        prevY = positions ? new float[capacity] : null;
+        velocityX = has(VELOCITY) ? new float[capacity] : null;
+        velocityY = has(VELOCITY) ? new float[capacity] : null;
+        nextCells = has(STEERING) ? new int[capacity] : null;
+        owners = has(OWNER) ? new int[capacity] : null;
+        clearOfWalls = has(WALL_SWEEP) ? new boolean[capacity] : null;
+        alive = new boolean[capacity];
+    }
+
+    /**
+     * Adds an entity at the origin, standing still, with no cell to run into and no owner.
+     *
+     * @return The row of the new entity, or -1 if the table is full.
+     */
+    public int add() {
+        if (count == capacity) {
+            return -1;
+        }
+        int row = count++;
+        if (x != null) {
+            x[row] = 0;
+            y[row] = 0;
+            prevX[row] = 0;
+            prevY[row] = 0;
+        }
+        if (velocityX != null) {
+            velocityX[row] = 0;
+            velocityY[row] = 0;
+        }
+        if (nextCells != null) {
+            nextCells[row] = -1;
+        }
+        if (owners != null) {
+            owners[row] = ProjectileSystem.OWNER_NONE;
+        }
+        if (clearOfWalls != null) {
+            clearOfWalls[row] = false;
+        }
+        alive[row] = true;
+        return row;
+    }
+
+    /**
+     * Marks an entity for removal. It stays in its row, but is no longer alive, until removeDead is called,
+     * so killing entities while looping over them is safe.
+     *
+     * @param row The row of the entity.
+     */
+    public void kill(int row) {
+        if (alive[row]) {
+            alive[row] = false;
+            deadCount++;
+        }
+    }
+
+    /**
+     * Removes every killed entity by moving the last entity into its row. This changes the rows of the
+     * entities that are moved.
+     */
+    public void removeDead() {
+        int row = 0;
+        while (deadCount > 0 && row < count) {
+            if (alive[row]) {
+                row++;
+                continue;
+            }
+            int last = --count;
+            move(last, row);
+            alive[last] = false;
+            deadCount--;
+            // Check the row again, since the entity moved into it may be dead too
+        }
+    }
+
+    /**
+     * Copies every component of an entity into another row.
+     *
+     * @param from The row to copy.
+     * @param to The row to overwrite.
+     */
+    private void move(int from, int to) {
+        if (x != null) {
+            x[to] = x[from];
+            y[to] = y[from];
+            prevX[to] = prevX[from];
+            prevY[to] = prevY[from];
+        }
+        if (velocityX != null) {
+            velocityX[to] = velocityX[from];
+            velocityY[to] = velocityY[from];
+        }
+        if (nextCells != null) {
+            nextCells[to] = nextCells[from];
+        }
+        if (owners != null) {
+            owners[to] = owners[from];
+        }
+        if (clearOfWalls != null) {
+            clearOfWalls[to] = clearOfWalls[from];
+        }
+        alive[to] = alive[from];
+    }
+
+    /**
+     * Removes every entity.
+     */
+    public void clear() {
+        for (int i = 0; i < count; i++) {
+            alive[i] = false;
+        }
+        count = 0;
+        deadCount = 0;
+    }
+
+    /**
+     * Checks whether the table stores a set of components.
+     *
+     * @param mask A combination of the component constants.
+     * @return true if the table has every component in the mask.
+     */
+    public boolean has(int mask) {
+        return (components & mask) == mask;
+    }
+
+    /**
+     * Gets the kind of the table's entities.
+     *
+     * @return The kind, such as CollisionGrid.KIND_FOX.
+     */
+    public int getKind() {
+        return kind;
+    }
+
+    /**
+     * Gets the number of entities, including killed ones that have not been removed yet.
+     *
+     * @return The entity count.
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Gets the maximum number of entities.
+     *
+     * @return The capacity.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Checks whether an entity is still live.
+     *
+     * @param row The row of the entity.
+     * @return false if the entity has been killed.
+     */
+    public boolean isAlive(int row) {
+        return alive[row];
+    }
+
+    /**
+     * Moves an entity to a position without anything to interpolate from, as for a spawn or a teleport.
+     *
+     * @param row The row of the entity.
+     * @param cellX The x-coordinate, in cells.
+     * @param cellY The y-coordinate, in cells.
+     */
+    public void place(int row, float cellX, float cellY) {
+        x[row] = cellX;
+        y[row] = cellY;
+        prevX[row] = cellX;
+        prevY[row] = cellY;
+    }
+
+    /**
+     * Gets the x-coordinate of an entity's position.
+     *
+     * @param row The row of the entity.
+     * @return The x-coordinate, in cells.
+     */
+    public float getX(int row) {
+        return x[row];
+    }
+
+    /**
+     * Gets the y-coordinate of an entity's position.
+     *
+     * @param row The row of the entity.
+     * @return The y-coordinate, in cells.
+     */
+    public float getY(int row) {
+        return y[row];
+    }
+
+    /**
+     * Gets the x-coordinate to draw an entity at, between its previous and current position.
+     *
+     * @param row The row of the entity.
+     * @param alpha How far the renderer is between the previous tick (0) and the current tick (1).
+     * @return The interpolated x-coordinate, in cells.
+     */
+    public float interpolateX(int row, float alpha) {
+        return prevX[row] + (x[row] - prevX[row]) * alpha;
+    }
+
+    /**
+     * Gets the y-coordinate to draw an entity at, between its previous and current position.
+     *
+     * @param row The row of the entity.
+     * @param alpha How far the renderer is between the previous tick (0) and the current tick (1).
+     * @return The interpolated y-coordinate, in cells.
+     */
+    public float interpolateY(int row, float alpha) {
+        return prevY[row] + (y[row] - prevY[row]) * alpha;
+    }
+}
@@ -0,0 +1,218 @@
+package com.example.gonuts;
+
+/**
+ * A distance map over the open cells of a maze: the number of steps from every cell to one target cell,
+ * found with a breadth-first search outwards from the target. Any number of chasers share one field, and each
+ * of them finds its next step towards the target by looking at the distances of its four neighbours, so a
+ * horde of foxes costs one search per target move instead of one search per fox.
+ *
+ * The field is only searched again when the target moves to another cell or the walls change, and a search
+ * reuses the same preallocated queue and distance arrays. As in {@link PathFinder}, every cell records the
+ * number of the search that last reached it instead of the arrays being cleared, so a search costs only the
+ * cells reachable from the target.
+ *
+ * A chaser may stand on a wall, so that a fox can leave the bush it is hiding in; every step it is given
+ * leads onto an open cell.
+ */
+public class FlowField {
+    public static final int UNREACHABLE = -1; // Distance of a cell from which the target cannot be reached
+
+    private final MazeGrid maze; // The maze being searched
+    private final int[] distances; // Steps from each cell to the target; valid for the current generation only
+    private final int[] generations; // Number of the search that last reached each cell
+    private final int[] queue; // Cells waiting to be expanded, in order of distance
+    private int generation; // Number of the current search
+    private int target = -1; // Cell the field leads to, or -1 before the first update
+    private boolean stale = true; // Set when the walls have changed since the last search
+    private int reached; // Number of cells reached by the last search
+
+    /**
+     * Constructs a FlowField for a maze, allocating all of the memory its searches will need.
+     *
+     * @param maze The maze grid.
+     */
+    public FlowField(MazeGrid maze) {
+        this.maze = maze;
+        int size = maze.size();
+        distances = new int[size];
+        generations = new int[size];
+        queue = new int[size];
+    }
+
+    /**
+     * Points the field at a target cell, searching the maze again only if the target has moved to another
+     * cell or the field was invalidated since the last search.
+     *
+     * @param targetCell The packed id of the cell to lead to.
+     * @return true if the maze was searched, false if the field was already up to date.
+     */
+    public boolean update(int targetCell) {
+        if (targetCell == target && !stale) {
+            return false;
+        }
+        target = targetCell;
+        stale = false;
+        search();
+        return true;
+    }
+
+    /**
+     * Marks the field as out of date, so that the next update searches the maze again. Call this whenever
+     * a wall is added to or removed from the maze.
+     */
+    public void invalidate() {
+        stale = true;
+    }
+
+    /**
+     * Fills in the distances of every cell that can reach the target, in breadth-first order.
+     */
+    private void search() {
+        nextGeneration();
+        reached = 0;
+        if (maze.isWall(target)) {
+            return;
+        }
+
+        int cols = maze.getCols();
+        int lastRow = maze.getRows() - 1;
+        generations[target] = generation;
+        distances[target] = 0;
+        queue[0] = target;
+        int tail = 1;
+        for (int head = 0; head < tail; head++) {
+            int cell = queue[head];
+            int row = cell / cols;
+            int col = cell - row * cols;
+            int distance = distances[cell] + 1;
+            // Up, down, left and right, skipping neighbours outside the maze
+            if (row > 0) {
+                tail = visit(cell - cols, distance, tail);
+            }
+            if (row < lastRow) {
+                tail = visit(cell + cols, distance, tail);
+            }
+            if (col > 0) {
+                tail = visit(cell - 1, distance, tail);
+            }
+            if (col < cols - 1) {
+                tail = visit(cell + 1, distance, tail);
+            }
+        }
+        reached = tail;
+    }
+
+    /**
+     * Gives an open neighbour that the search has not reached yet its distance and queues it.
+     *
+     * @param cell The neighbouring cell.
+     * @param distance The neighbour's distance from the target.
+     * @param tail The end of the queue.
+     * @return The new end of the queue.
+     */
+    private int visit(int cell, int distance, int tail) {
+        if (generations[cell] == generation || maze.isWall(cell)) {
+            return tail;
+        }
+        generations[cell] = generation;
+        distances[cell] = distance;
+        queue[tail] = cell;
+        return tail + 1;
+    }
+
+    /**
+     * Starts a new search generation, clearing the generation stamps only when the counter wraps around.
+     */
+    private void nextGeneration() {
+        generation++;
+        if (generation == Integer.MAX_VALUE) {
+            for (int i = 0; i < generations.length; i++) {
+                generations[i] = 0;
+            }
+            generation = 1;
+        }
+    }
+
+    /**
+     * Gets the number of steps from a cell to the target.
+     *
+     * @param cell The packed id of the cell.
+     * @return The distance, or UNREACHABLE if the cell is a wall or cut off from the target.
+     */
+    public int getDistance(int cell) {
+        return generations[cell] == generation ? distances[cell] : UNREACHABLE;
+    }
+
+    /**
+     * Finds the next step from a cell towards the target: the neighbour closest to the target, preferring up,
+     * down, left and right in that order between equally close ones. Walls have no distance of their own, so
+     * from a wall this is the closest open neighbour.
+     *
+     * @param cell The packed id of the cell to step from.
+     * @return The packed id of the neighbour to step onto, or -1 if the cell is the target or there is no
+     *         way to the target.
+     */
+    public int nextStep(int cell) {
+        int cols = maze.getCols();
+        int row = cell / cols;
+        int col = cell - row * cols;
+        int current = getDistance(cell);
+        int best = -1;
+        int bestDistance = current == UNREACHABLE ? Integer.MAX_VALUE : current;
+        if (row > 0) {
+            int distance = getDistance(cell - cols);
+            if (distance != UNREACHABLE && distance < bestDistance) {
+                best = cell - cols;
+                bestDistance = distance;
+            }
+        }
+        if (row < maze.getRows() - 1) {
+            int distance = getDistance(cell + cols);
+            if (distance != UNREACHABLE && distance < bestDistance) {
+                best = cell + cols;
+                bestDistance = distance;
+            }
+        }
+        if (col > 0) {
+            int distance = getDistance(cell - 1);
+            if (distance != UNREACHABLE && distance < bestDistance) {
+                best = cell - 1;
+                bestDistance = distance;
+            }
+        }
+        if (col < cols - 1) {
+            int distance = getDistance(cell + 1);
+            if (distance != UNREACHABLE && distance < bestDistance) {
+                best = cell + 1;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Gets the cell the field leads to.
+     *
+     * @return The packed id of the target, or -1 before the first update.
+     */
+    public int getTarget() {
+        return target;
+    }
+
+    /**
+     * Gets the number of cells the last search reached, a measure of how much work it did.
+     *
+     * @return The number of cells with a distance, including the target.
+     */
+    public int getReachedCount() {
+        return reached;
+    }
+
+    /**
+     * Gets the maze being searched.
+     *
+     * @return The maze grid.
+     */
+    public MazeGrid getMaze() {
+        return maze;
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.gonuts;
+
+import java.util.Random;
+
+/**
+ * Represents the fox character in the game. This class manages the fox's position and ability to respawn
+ * at different locations within the maze. The fox can appear at any wall position that is not on the outermost layer
+ * of the maze, and picks them from a {@link WallIndex} shared with the world. Positions are in maze cell units.
+ * A chasing fox also runs after a target from cell to cell along the shortest path through the maze, found either
+ * with its own {@link PathSearch} or from a {@link FlowField} shared with other foxes.
+ *
+ * The fox's position and the cell it is running into live in a row of an {@link EntityTable}, where the world's
+ * systems move, collide and draw a whole horde of foxes as dense arrays; this class is a view of that row.
+ */
+public class Fox {
+    private final EntityTable table; // Table holding the fox's position and steering
+    private final int row; // The fox's row in the table
+    Random random; // Random generator for selecting spawn locations
+
+    /**
+     * Constructs a Fox object in a table of its own, setting its initial position to a random wall location
+     * inside the maze.
+     *
+     * @param walls The index of the maze's interior wall cells.
+     * @param random The random generator used to pick spawn locations.
+     */
+    public Fox(WallIndex walls, Random random) {
+        this(new EntityTable(CollisionGrid.KIND_FOX, EntityTable.POSITION | EntityTable.STEERING, 1), walls, random);
+    }
+
+    /**
+     * Constructs a Fox object in a new row of a table, setting its initial position to a random wall location
+     * inside the maze.
+     *
+     * @param table The table to add the fox to, which must have POSITION and STEERING.
+     * @param walls The index of the maze's interior wall cells.
+     * @param random The random generator used to pick spawn locations.
+     */
+    Fox(EntityTable table, WallIndex walls, Random random) {
+        this.table = table;
+        this.random = random;
+        row = table.add();
+        if (row < 0) {
+            throw new IllegalArgumentException("No room for another fox");
+        }
+        respawn(walls);
+    }
+
+    /**
+     * Respawns the fox at a new wall position within the maze, not on the outermost layer.
+     * This method selects one of the indexed positions at random.
+     *
+     * @param walls The index of the maze's interior wall cells.
+     */
+    public void respawn(WallIndex walls) {
+        // Select a random wall position for the fox
+        int cell = walls.pick(random);
+        float x = table.x[row];
+        float y = table.y[row];
+        if (cell >= 0) {
+            x = walls.colOf(cell);
+            y = walls.rowOf(cell);
+        }
+
+        // Respawning is a teleport, so there is nothing to interpolate from
+        table.place(row, x, y);
+        table.nextCells[row] = -1;
+    }
+
+    /**
+     * Runs towards a target for one simulation tick. Whenever the fox stands on a cell it looks up the
+     * shortest path to the target's cell and heads for the next cell along it, so it keeps following the
+     * target as it moves. The fox stops once it reaches the target's cell, or if there is no way there.
+     *
+     * @param paths The path search over the maze, such as a PathFinder or a CorridorGraph.
+     * @param targetX The x-coordinate of the target, in cells.
+     * @param targetY The y-coordinate of the target, in cells.
+     * @param speed The distance the fox runs per tick, in cells.
+     */
+    public void chase(PathSearch paths, float targetX, float targetY, float speed) {
+        ChaseSystem.chase(table, row, paths, targetX, targetY, speed);
+    }
+
+    /**
+     * Runs towards a target for one simulation tick, following a flow field that leads to it. Whenever the
+     * fox stands on a cell it steps towards the neighbour closest to the target, which costs the same however
+     * many foxes share the field. The fox stops once it reaches the target's cell, or if there is no way there.
+     *
+     * @param field The flow field, already updated to lead to the target's cell.
+     * @param speed The distance the fox runs per tick, in cells.
+     */
+    public void chase(FlowField field, float speed) {
+        ChaseSystem.chase(table, row, field, speed);
+    }
+
+    /**
+     * Retrieves the x-coordinate of the fox's current position.
+     *
+     * @return The x-coordinate, in cells.
+     */
+    public float getX() {
+        return table.x[row];
+    }
+
+    /**
+     * Retrieves the y-coordinate of the fox's current position.
+     *
+     * @return The y-coordinate, in cells.
+     */
+    public float getY() {
+        return table.y[row];
+    }
+
+    /**
+     * Records the current position as the starting point of the next simulation tick.
+     */
+    public void storePreviousPosition() {
+        table.prevX[row] = table.x[row];
+        table.prevY[row] = table.y[row];
+    }
+
+    /**
+     * Gets the x-coordinate to draw the fox at, between its previous and current position.
+     *
+     * @param alpha How far the renderer is between the previous tick (0) and the current tick (1).
+     * @return The interpolated x-coordinate, in cells.
+     */
+    public float interpolateX(float alpha) {
+        return table.interpolateX(row, alpha);
+    }
+
+    /**
+     * Gets the y-coordinate to draw the fox at, between its previous and current position.
+     *
+     * @param alpha How far the renderer is between the previous tick (0) and the current tick (1).
+     * @return The interpolated y-coordinate, in cells.
+     */
+    public float interpolateY(float alpha) {
+        return table.interpolateY(row, alpha);
+    }
+
+}
\ No newline at end of file
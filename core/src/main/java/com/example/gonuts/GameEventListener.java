@@ -0,0 +1,35 @@
+package com.example.gonuts;
+
+/**
+ * Receives the events produced by a {@link GameWorld} while it ticks, such as a maze cell changing or the
+ * squirrel being hit. This is how renderers and the rest of the app react to the simulation without the
+ * simulation knowing about them. All callbacks run on the thread that calls {@link GameWorld#tick()}.
+ */
+public interface GameEventListener {
+
+    /**
+     * Called when the value of a maze cell changes, for example when an acorn is collected.
+     *
+     * @param row The row of the cell.
+     * @param col The column of the cell.
+     */
+    void onCellChanged(int row, int col);
+
+    /**
+     * Called when the fox fires a projectile.
+     *
+     * @param index The index of the new projectile in {@link GameWorld#getProjectiles()}, valid until the world
+     *              next ticks.
+     */
+    void onProjectileFired(int index);
+
+    /**
+     * Called when the fox teleports to a new hiding place.
+     */
+    void onFoxRespawned();
+
+    /**
+     * Called when a projectile hits the squirrel, which ends the game.
+     */
+    void onSquirrelHit();
+}
@@ -0,0 +1,709 @@
+package com.example.gonuts;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The game simulation: the maze, the squirrel, the foxes and the projectiles, plus the rules that tie them
+ * together. GameWorld is plain Java with no Android dependencies, so it can run headlessly on a JVM for
+ * tests, replays and profiling; the app only renders it. Everything is measured in maze cells and advances
+ * in fixed ticks of 1 / TICKS_PER_SECOND seconds. All randomness comes from a single seeded generator, so
+ * the same seed and the same sequence of calls always produce the same game.
+ *
+ * The foxes, the squirrel and the projectiles are stored as dense component arrays in an {@link EntityStore},
+ * one table per kind, and each tick runs the same systems over all of them: {@link ChaseSystem} for the
+ * foxes' AI, {@link MovementSystem} and {@link CollisionSystem}; renderers draw them with {@link RenderSystem}.
+ * The Fox, Squirrel and ProjectileSystem objects are views of those tables. Acorns stay flags in the maze
+ * grid, which already is a dense per-cell component.
+ *
+ * GameWorld is not thread-safe and belongs to the game thread. Other threads change the game by offering
+ * commands to {@link #getCommands()}, which the world applies at the start of its next tick. The one
+ * exception is the foxes' AI, which may decide a large horde's moves on a pool of workers (see
+ * {@link #setAiPool(ForkJoinPool)}) while the game thread waits; the game comes out the same either way.
+ */
+public class GameWorld {
+    public static final int TICKS_PER_SECOND = 60; // Rate at which tick() is meant to be called
+    private static final float SQUIRREL_RADIUS = 0.5f; // Collision radius of the squirrel, in cells
+    private static final float FOX_RADIUS = 0.5f; // Collision radius of the fox, in cells
+    private static final float PROJECTILE_RADIUS = 0.5f; // Collision radius of a projectile, in cells
+    private static final float[] RADII = {SQUIRREL_RADIUS, FOX_RADIUS, PROJECTILE_RADIUS}; // Indexed by kind
+    public static final int FOX_RESPAWN_TICKS = 10 * TICKS_PER_SECOND; // Default: the fox moves every 10 seconds
+    public static final int FOX_SHOOT_TICKS = 2 * TICKS_PER_SECOND; // Default: the fox shoots every 2 seconds
+    private static final int TIMER_FOX_RESPAWN = 1; // Timer event type for moving the fox
+    private static final int TIMER_FOX_SHOOT = 2; // Timer event type for the fox shooting
+    private static final int COMMAND_CAPACITY = 256; // Commands that can be queued between two ticks
+    public static final float FOX_CHASE_SPEED = 0.05f; // Distance a chasing fox runs per tick, in cells
+    public static final int DEFAULT_PROJECTILE_CAPACITY = 256; // Projectiles that can be in flight at once
+    public static final int MAX_FOXES = 1024; // Foxes that can be in the maze at once, for horde mode
+
+    public static final int COMMAND_SPAWN_PROJECTILE = 1; // Arguments: x, y, velocity x, velocity y
+    public static final int COMMAND_MOVE_SQUIRREL = 2; // Arguments: direction x, direction y (-1, 0 or 1)
+    public static final int COMMAND_RESPAWN_FOX = 3; // No arguments
+    public static final int COMMAND_PAUSE = 4; // Arguments: 1 to pause, 0 to resume
+    public static final int COMMAND_FOX_CHASE = 5; // Arguments: 1 to make the foxes chase the squirrel, 0 to stop
+    public static final int COMMAND_ADD_FOX = 6; // No arguments
+
+    private final MazeGrid maze; // Representation of the game maze
+    private final WallIndex walls; // Interior wall cells, where the fox can hide
+    private final Random random; // Random number generator for acorns and fox spawns
+    private final EntityStore entities = new EntityStore(3); // Foxes, squirrel and projectiles, in drawing order
+    private final EntityTable foxTable; // Positions and steering of the foxes; rows are fox numbers
+    private final Squirrel squirrel; // Player character
+    private final Fox[] foxes = new Fox[MAX_FOXES]; // Views of the foxes' rows; the first foxCount are in use
+    private int foxCount; // Number of foxes in the maze
+    private final int foxRespawnTicks; // Ticks between each fox moving to a new bush
+    private final int foxShootTicks; // Ticks between each fox's shots
+    private final ProjectileSystem projectiles; // Projectiles currently in flight
+    private final CollisionGrid collisions; // Broadphase for contacts between the squirrel, foxes and projectiles
+    private final FlowField flow; // Distances to the squirrel's cell, shared by all chasing foxes
+    private final LineOfFire lineOfFire; // Straight runs of open cells, for the chasing foxes' shots
+    private ParallelChase parallelChase; // Decides the chasing foxes' moves on a pool, or null for this thread
+    private GameEventListener listener; // Receiver of game events, may be null
+    private final TimerWheel timers = new TimerWheel(16); // Game events scheduled on the simulation clock
+    private final TimerWheel.Handler timerHandler = new TimerWheel.Handler() {
+        @Override
+        public void onTimer(int timerId, int type, int payload) {
+            if (type == TIMER_FOX_RESPAWN) {
+                respawnFox(payload);
+            } else if (type == TIMER_FOX_SHOOT) {
+                foxShoot(payload);
+            }
+        }
+    };
+    private final CommandQueue commands = new CommandQueue(COMMAND_CAPACITY); // Commands from other threads
+    private final CommandQueue.Consumer commandHandler = new CommandQueue.Consumer() {
+        @Override
+        public void onCommand(int type, float a, float b, float c, float d) {
+            applyCommand(type, a, b, c, d);
+        }
+    };
+    private long tickCount; // Number of ticks simulated so far
+    private boolean gameOver; // Set once the squirrel has been hit
+    private boolean paused; // Set while the game is paused by a command
+    private boolean foxChasing; // Set while the foxes run after the squirrel instead of waiting in their bushes
+    private boolean invulnerable; // Set while hits on the squirrel do not end the game
+
+    /**
+     * Constructs a GameWorld on the classic maze.
+     *
+     * @param seed The seed for all of the world's randomness.
+     */
+    public GameWorld(long seed) {
+        this(MazeLayouts.classic(), seed);
+    }
+
+    /**
+     * Constructs a GameWorld on the given maze, scattering acorns over it and placing the squirrel on the
+     * maze's spawn point (or in the middle if it has none) and the fox in a random bush. The fox's respawn
+     * and shooting timers start right away, on the world's own clock.
+     *
+     * @param maze The maze grid, which the world takes ownership of and modifies.
+     * @param seed The seed for all of the world's randomness.
+     */
+    public GameWorld(MazeGrid maze, long seed) {
+        this(maze, seed, DEFAULT_PROJECTILE_CAPACITY);
+    }
+
+    /**
+     * Constructs a GameWorld on the given maze with room for a given number of projectiles in flight. Shots
+     * fired while that many projectiles are in flight are dropped.
+     *
+     * @param maze The maze grid, which the world takes ownership of and modifies.
+     * @param seed The seed for all of the world's randomness.
+     * @param projectileCapacity The maximum number of projectiles in flight at once.
+     */
+    public GameWorld(MazeGrid maze, long seed, int projectileCapacity) {
+        this(maze, seed, projectileCapacity, FOX_RESPAWN_TICKS, FOX_SHOOT_TICKS, true);
+    }
+
+    /**
+     * Constructs a GameWorld for a level: on a copy of the level's maze, with its acorns (plus random ones if
+     * the level asks for them), starting the squirrel on its spawn point and running the fox at its pace.
+     *
+     * @param level The level to play.
+     * @param seed The seed for all of the world's randomness.
+     */
+    public GameWorld(Level level, long seed) {
+        this(level.getMaze().copy(), seed, DEFAULT_PROJECTILE_CAPACITY, level.getFoxRespawnTicks(),
+                level.getFoxShootTicks(), level.hasRandomAcorns());
+    }
+
+    /**
+     * Constructs a GameWorld with every setting given explicitly.
+     *
+     * @param maze The maze grid, which the world takes ownership of and modifies.
+     * @param seed The seed for all of the world's randomness.
+     * @param projectileCapacity The maximum number of projectiles in flight at once.
+     * @param foxRespawnTicks The number of ticks between the fox moving to a new bush.
+     * @param foxShootTicks The number of ticks between the fox's shots.
+     * @param randomAcorns true to scatter acorns at random, in addition to any already in the maze.
+     */
+    private GameWorld(MazeGrid maze, long seed, int projectileCapacity, int foxRespawnTicks, int foxShootTicks,
+                      boolean randomAcorns) {
+        this.maze = maze;
+        this.random = new Random(seed);
+        foxTable = entities.add(new EntityTable(CollisionGrid.KIND_FOX, EntityTable.POSITION | EntityTable.STEERING,
+                MAX_FOXES));
+        EntityTable squirrelTable = entities.add(new EntityTable(CollisionGrid.KIND_SQUIRREL, EntityTable.POSITION,
+                1));
+        projectiles = new ProjectileSystem(entities.add(new EntityTable(CollisionGrid.KIND_PROJECTILE,
+                ProjectileSystem.COMPONENTS, projectileCapacity)));
+        collisions = new CollisionGrid(getCols(), getRows(), 1f, projectileCapacity + 1 + MAX_FOXES);
+        collisions.setCollides(CollisionGrid.KIND_SQUIRREL, CollisionGrid.KIND_PROJECTILE);
+        collisions.setCollides(CollisionGrid.KIND_SQUIRREL, CollisionGrid.KIND_FOX);
+        if (randomAcorns) {
+            randomizeAcorns();
+        }
+        int spawn = findSpawn();
+        squirrel = new Squirrel(squirrelTable, maze.colOf(spawn), maze.rowOf(spawn));
+        walls = new WallIndex(maze);
+        flow = new FlowField(maze);
+        lineOfFire = new LineOfFire(maze);
+        this.foxRespawnTicks = foxRespawnTicks;
+        this.foxShootTicks = foxShootTicks;
+        foxes[0] = new Fox(foxTable, walls, random);
+        foxCount = 1;
+
+        timers.scheduleRepeating(foxRespawnTicks, foxRespawnTicks, TIMER_FOX_RESPAWN, 0);
+        timers.scheduleRepeating(foxShootTicks, foxShootTicks, TIMER_FOX_SHOOT, 0);
+    }
+
+    /**
+     * Adds another fox in a random bush, for horde mode. Its respawn and shooting timers start at random
+     * points within their intervals, so that a horde does not move and shoot all at once.
+     *
+     * @return The number of the new fox, for getFox(int), or -1 if the maze already holds MAX_FOXES foxes.
+     */
+    public int addFox() {
+        if (foxCount == MAX_FOXES) {
+            return -1;
+        }
+        int id = foxCount;
+        foxes[id] = new Fox(foxTable, walls, random);
+        foxCount++;
+        timers.scheduleRepeating(1 + random.nextInt(foxRespawnTicks), foxRespawnTicks, TIMER_FOX_RESPAWN, id);
+        timers.scheduleRepeating(1 + random.nextInt(foxShootTicks), foxShootTicks, TIMER_FOX_SHOOT, id);
+        return id;
+    }
+
+    /**
+     * Sets the listener that receives the world's events.
+     *
+     * @param listener The listener, or null for none.
+     */
+    public void setListener(GameEventListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Finds where the squirrel starts: the first cell marked as a spawn point, or the middle of the maze.
+     *
+     * @return The index of the cell.
+     */
+    private int findSpawn() {
+        for (int i = 0; i < maze.size(); i++) {
+            if (maze.has(i, MazeGrid.SPAWN)) {
+                return i;
+            }
+        }
+        return maze.index(getRows() / 2, getCols() / 2);
+    }
+
+    /**
+     * Randomizes the placement of acorns within the open paths of the maze. Each open cell that is not on
+     * the outer border has a 10% chance of being assigned an acorn.
+     */
+    void randomizeAcorns() {
+        for (int i = 1; i < getRows() - 1; i++) {
+            for (int j = 1; j < getCols() - 1; j++) {
+                int cell = maze.index(i, j);
+                int flags = maze.get(cell);
+                boolean open = (flags & (MazeGrid.WALL | MazeGrid.ACORN)) == 0;
+                if (open && random.nextDouble() < 0.1) { // 10% chance to place an acorn
+                    maze.set(cell, flags | MazeGrid.ACORN);
+                }
+            }
+        }
+    }
+
+    /**
+     * Advances the simulation by one tick: applies queued commands, fires due timers (fox respawns and shots),
+     * moves chasing foxes, moves the projectiles and removes those that hit a wall or left the maze, collects
+     * the acorn under the squirrel and checks whether any projectile or chasing fox has hit the squirrel.
+     * While paused only the commands are applied, and once the game is over nothing happens.
+     */
+    public void tick() {
+        if (gameOver) {
+            return;
+        }
+        // Remember where everyone was at the start of this tick for render interpolation, before commands
+        // such as squirrel moves are applied, so those moves are drawn smoothly too
+        MovementSystem.storePreviousPositions(entities);
+        commands.drain(commandHandler);
+        if (paused) {
+            return;
+        }
+        tickCount++;
+        timers.advance(timerHandler);
+        if (foxChasing) {
+            chaseSquirrel();
+        }
+        collectAcorn();
+
+        // Move every projectile, drop those that flew into a bush or out of the maze, then find what touches what
+        MovementSystem.move(entities, maze);
+        findCollisions();
+        projectiles.removeDead();
+    }
+
+    /**
+     * Moves every fox one tick towards the squirrel. The flow field is only searched again when the squirrel
+     * has moved to another cell, and each fox then finds its next step in constant time.
+     */
+    private void chaseSquirrel() {
+        int row = Math.round(squirrel.getY());
+        int col = Math.round(squirrel.getX());
+        if (!maze.isInside(row, col)) {
+            return;
+        }
+        flow.update(maze.index(row, col));
+        if (parallelChase != null) {
+            parallelChase.update(entities, flow, FOX_CHASE_SPEED);
+        } else {
+            ChaseSystem.update(entities, flow, FOX_CHASE_SPEED);
+        }
+    }
+
+    /**
+     * Fills the collision grid with the squirrel, the foxes and the projectiles, finds the contacts between
+     * them and applies the results: a projectile touching the squirrel is removed and ends the game.
+     */
+    private void findCollisions() {
+        CollisionSystem.fill(entities, collisions, RADII);
+
+        int contacts = collisions.findContacts();
+        for (int c = 0; c < contacts; c++) {
+            if (collisions.getKindA(c) != CollisionGrid.KIND_SQUIRREL) {
+                continue;
+            }
+            if (collisions.getKindB(c) == CollisionGrid.KIND_PROJECTILE) {
+                projectiles.kill(collisions.getIdB(c)); // Remove the projectile on collision
+                hitSquirrel(); // game ends when projectile hits squirrel
+            } else if (collisions.getKindB(c) == CollisionGrid.KIND_FOX && foxChasing) {
+                hitSquirrel(); // A chasing fox that catches the squirrel ends the game too
+            }
+        }
+    }
+
+    /**
+     * Ends the game because the squirrel was hit, telling the listener the first time. Does nothing while the
+     * squirrel is invulnerable.
+     */
+    private void hitSquirrel() {
+        if (!gameOver && !invulnerable) {
+            gameOver = true;
+            if (listener != null) {
+                listener.onSquirrelHit();
+            }
+        }
+    }
+
+    /**
+     * Applies a command taken from the command queue.
+     *
+     * @param type The command type, one of the COMMAND_ constants.
+     * @param a The first argument.
+     * @param b The second argument.
+     * @param c The third argument.
+     * @param d The fourth argument.
+     */
+    private void applyCommand(int type, float a, float b, float c, float d) {
+        switch (type) {
+            case COMMAND_SPAWN_PROJECTILE:
+                spawnProjectile(a, b, c, d);
+                break;
+            case COMMAND_MOVE_SQUIRREL:
+                if (a < 0) {
+                    squirrel.moveLeft();
+                } else if (a > 0) {
+                    squirrel.moveRight();
+                }
+                if (b < 0) {
+                    squirrel.moveUp();
+                } else if (b > 0) {
+                    squirrel.moveDown();
+                }
+                break;
+            case COMMAND_RESPAWN_FOX:
+                respawnFox();
+                break;
+            case COMMAND_PAUSE:
+                paused = a != 0;
+                break;
+            case COMMAND_FOX_CHASE:
+                foxChasing = a != 0;
+                break;
+            case COMMAND_ADD_FOX:
+                addFox();
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Picks up the acorn in the cell under the centre of the squirrel, if there is one.
+     */
+    private void collectAcorn() {
+        int col = (int) Math.floor(squirrel.getX() + 0.5f);
+        int row = (int) Math.floor(squirrel.getY() + 0.5f);
+        if (maze.isInside(row, col) && maze.hasAcorn(row, col)) {
+            setCell(row, col, maze.get(row, col) & ~MazeGrid.ACORN);
+        }
+    }
+
+    /**
+     * Makes the first fox fire a projectile aimed at the squirrel's current position.
+     *
+     * @return The index of the new projectile in getProjectiles(), or -1 if the game is over or too many
+     *         projectiles are in flight.
+     */
+    public int foxShoot() {
+        return foxShoot(0);
+    }
+
+    /**
+     * Makes a fox fire a projectile aimed at the squirrel's current position. The projectile's owner is the
+     * number of the fox. A fox hiding in its bush shoots blindly, but chasing foxes hold their fire until
+     * they have a clear line of fire to the squirrel along a row or column.
+     *
+     * @param id The number of the fox, from 0 to getFoxCount() - 1.
+     * @return The index of the new projectile in getProjectiles(), or -1 if the game is over, a chasing fox
+     *         has no line of fire or too many projectiles are in flight.
+     */
+    public int foxShoot(int id) {
+        if (gameOver) {
+            return -1;
+        }
+        Fox fox = foxes[id];
+        if (foxChasing && !hasLineOfFire(fox)) {
+            return -1;
+        }
+        int index = projectiles.spawnAimed(fox.getX(), fox.getY(), squirrel.getX(), squirrel.getY(), id);
+        if (index >= 0 && listener != null) {
+            listener.onProjectileFired(index);
+        }
+        return index;
+    }
+
+    /**
+     * Adds a projectile with an explicit position and velocity, for example one replayed from a recording.
+     *
+     * @param x The starting x-coordinate, in cells.
+     * @param y The starting y-coordinate, in cells.
+     * @param velocityX The distance moved along the x-axis per tick, in cells.
+     * @param velocityY The distance moved along the y-axis per tick, in cells.
+     * @return The index of the new projectile in getProjectiles(), or -1 if too many projectiles are in flight.
+     */
+    public int spawnProjectile(float x, float y, float velocityX, float velocityY) {
+        int index = projectiles.spawn(x, y, velocityX, velocityY, ProjectileSystem.OWNER_NONE);
+        if (index >= 0 && listener != null) {
+            listener.onProjectileFired(index);
+        }
+        return index;
+    }
+
+    /**
+     * Checks whether a fox could hit the squirrel with a shot straight along a row or column.
+     *
+     * @param fox The fox.
+     * @return true if the fox's and the squirrel's cells line up with nothing but open cells between them.
+     */
+    private boolean hasLineOfFire(Fox fox) {
+        int squirrelRow = Math.round(squirrel.getY());
+        int squirrelCol = Math.round(squirrel.getX());
+        if (!maze.isInside(squirrelRow, squirrelCol)) {
+            return false;
+        }
+        int foxCell = maze.index(Math.round(fox.getY()), Math.round(fox.getX()));
+        return lineOfFire.isClear(foxCell, maze.index(squirrelRow, squirrelCol));
+    }
+
+    /**
+     * Moves the first fox to a new random hiding place in the bushes.
+     */
+    public void respawnFox() {
+        respawnFox(0);
+    }
+
+    /**
+     * Moves a fox to a new random hiding place in the bushes.
+     *
+     * @param id The number of the fox, from 0 to getFoxCount() - 1.
+     */
+    public void respawnFox(int id) {
+        foxes[id].respawn(walls);
+        if (listener != null) {
+            listener.onFoxRespawned();
+        }
+    }
+
+    /**
+     * Changes the flags of a single maze cell and reports the change to the listener. All changes to the
+     * maze should go through this method.
+     *
+     * @param row The row of the cell.
+     * @param col The column of the cell.
+     * @param flags The new cell flags, such as {@link MazeGrid#WALL} or {@link MazeGrid#ACORN}; 0 for an
+     *              empty path.
+     */
+    public void setCell(int row, int col, int flags) {
+        int old = maze.get(row, col);
+        if (old != flags) {
+            if (((old ^ flags) & MazeGrid.WALL) != 0) {
+                walls.invalidate();
+                flow.invalidate();
+                lineOfFire.invalidate();
+            }
+            maze.set(row, col, flags);
+            if (listener != null) {
+                listener.onCellChanged(row, col);
+            }
+        }
+    }
+
+    /**
+     * Gets the flags of a maze cell.
+     *
+     * @param row The row of the cell.
+     * @param col The column of the cell.
+     * @return The cell flags, such as {@link MazeGrid#WALL} or {@link MazeGrid#ACORN}; 0 for an empty path.
+     */
+    public int getCell(int row, int col) {
+        return maze.get(row, col);
+    }
+
+    /**
+     * Checks whether a cell lies within the maze.
+     *
+     * @param row The row of the cell.
+     * @param col The column of the cell.
+     * @return true if the cell is inside the maze bounds.
+     */
+    public boolean isInside(int row, int col) {
+        return maze.isInside(row, col);
+    }
+
+    /**
+     * Gets the maze grid. Callers must treat it as read-only and change cells through setCell.
+     *
+     * @return The maze grid.
+     */
+    public MazeGrid getMaze() {
+        return maze;
+    }
+
+    /**
+     * Gets the number of rows in the maze.
+     *
+     * @return The row count.
+     */
+    public int getRows() {
+        return maze.getRows();
+    }
+
+    /**
+     * Gets the number of columns in the maze.
+     *
+     * @return The column count.
+     */
+    public int getCols() {
+        return maze.getCols();
+    }
+
+    /**
+     * Gets the squirrel.
+     *
+     * @return The player character.
+     */
+    public Squirrel getSquirrel() {
+        return squirrel;
+    }
+
+    /**
+     * Gets the first fox, which is in the maze from the start of the game.
+     *
+     * @return The enemy character.
+     */
+    public Fox getFox() {
+        return foxes[0];
+    }
+
+    /**
+     * Gets one of the foxes.
+     *
+     * @param id The number of the fox, from 0 to getFoxCount() - 1.
+     * @return The enemy character.
+     */
+    public Fox getFox(int id) {
+        if (id < 0 || id >= foxCount) {
+            throw new IndexOutOfBoundsException("No fox " + id + " among " + foxCount);
+        }
+        return foxes[id];
+    }
+
+    /**
+     * Gets the number of foxes in the maze.
+     *
+     * @return The fox count, at least 1.
+     */
+    public int getFoxCount() {
+        return foxCount;
+    }
+
+    /**
+     * Gets the entity store holding the foxes, the squirrel and the projectiles, for systems such as
+     * {@link RenderSystem}. Callers must treat it as read-only.
+     *
+     * @return The world's entity store.
+     */
+    public EntityStore getEntities() {
+        return entities;
+    }
+
+    /**
+     * Gets the number of projectiles currently in flight.
+     *
+     * @return The projectile count.
+     */
+    public int getProjectileCount() {
+        return projectiles.getCount();
+    }
+
+    /**
+     * Gets the projectiles currently in flight. Callers must treat them as read-only.
+     *
+     * @return The projectile storage.
+     */
+    public ProjectileSystem getProjectiles() {
+        return projectiles;
+    }
+
+    /**
+     * Gets the queue through which other threads send commands to the world. Commands are applied at the
+     * start of the next tick, in the order they were offered.
+     *
+     * @return The world's command queue.
+     */
+    public CommandQueue getCommands() {
+        return commands;
+    }
+
+    /**
+     * Gets the collision grid holding the contacts found during the last tick, such as the squirrel touching
+     * the fox. Projectile ids in those contacts are indices from before the tick's hit projectiles were removed.
+     *
+     * @return The world's collision grid.
+     */
+    public CollisionGrid getCollisions() {
+        return collisions;
+    }
+
+    /**
+     * Gets the scheduler for game events on the simulation clock, for scheduling additional timed events.
+     *
+     * @return The world's timer wheel.
+     */
+    public TimerWheel getTimers() {
+        return timers;
+    }
+
+    /**
+     * Gets the number of ticks simulated so far.
+     *
+     * @return The tick count.
+     */
+    public long getTickCount() {
+        return tickCount;
+    }
+
+    /**
+     * Checks whether the game has ended.
+     *
+     * @return true once the squirrel has been hit.
+     */
+    public boolean isGameOver() {
+        return gameOver;
+    }
+
+    /**
+     * Checks whether the game is paused.
+     *
+     * @return true while the game is paused by a COMMAND_PAUSE command.
+     */
+    public boolean isPaused() {
+        return paused;
+    }
+
+    /**
+     * Makes the foxes chase the squirrel through the maze, or stop and wait where they are. The foxes still
+     * move to new bushes and shoot on their usual timers while chasing.
+     *
+     * @param chasing true to make the foxes chase the squirrel.
+     */
+    public void setFoxChasing(boolean chasing) {
+        foxChasing = chasing;
+    }
+
+    /**
+     * Makes the squirrel invulnerable, or vulnerable again. Contacts are still found every tick and
+     * projectiles that reach the squirrel are still removed, but neither they nor chasing foxes end the game,
+     * so a simulation can run for as long as it is measured.
+     *
+     * @param invulnerable true to keep hits on the squirrel from ending the game.
+     */
+    public void setInvulnerable(boolean invulnerable) {
+        this.invulnerable = invulnerable;
+    }
+
+    /**
+     * Checks whether the squirrel is invulnerable.
+     *
+     * @return true while hits on the squirrel do not end the game.
+     */
+    public boolean isInvulnerable() {
+        return invulnerable;
+    }
+
+    /**
+     * Sets the pool the chasing foxes' AI runs on. Each tick the foxes' next cells are then decided by the
+     * pool's workers, in batches of {@link ParallelChase#DEFAULT_BATCH_SIZE} foxes, and applied on the game
+     * thread in fox order, so the game stays bit-identical to running everything on the game thread. Hordes
+     * smaller than two batches are still decided on the game thread. The AI runs on the game thread by
+     * default: a fox's decision is a single flow field lookup, so the hand-off to the pool can cost more than
+     * it saves, and HordeTickBenchmark should show a win on the target device before a pool is set.
+     *
+     * @param pool The pool, such as ForkJoinPool.commonPool(), or null to run the AI on the game thread.
+     */
+    public void setAiPool(ForkJoinPool pool) {
+        parallelChase = pool != null ? new ParallelChase(pool) : null;
+    }
+
+    /**
+     * Checks whether the foxes are chasing the squirrel.
+     *
+     * @return true while the foxes chase the squirrel.
+     */
+    public boolean isFoxChasing() {
+        return foxChasing;
+    }
+
+    /**
+     * Gets the flow field the chasing foxes share, leading to the squirrel's cell as of the last tick.
+     *
+     * @return The flow field over the world's maze.
+     */
+    public FlowField getFlowField() {
+        return flow;
+    }
+}
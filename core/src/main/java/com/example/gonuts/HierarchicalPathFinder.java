@@ -0,0 +1,934 @@
+package com.example.gonuts;
+
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+
+/**
+ * Finds paths through very large mazes with hierarchical A* (HPA*). The maze is split into square clusters.
+ * Wherever open cells face each other across the border between two clusters, an entrance is placed: one
+ * transition in the middle of each stretch of facing cells, or one at each end of a long stretch. The cells
+ * on either side of a transition are the nodes of an abstract graph, linked across the border at a cost of
+ * 1 and, inside each cluster, to the other nodes they can reach at the cost of the shortest path between
+ * them within the cluster. Links that are no shorter than going through a third node are left out, which
+ * in a maze leaves each node with only a few. A search runs A* over that much smaller graph, entering it
+ * from the start and leaving it at the goal with breadth-first searches of their own clusters.
+ *
+ * The abstract path is only turned into cells as they are asked for, one cluster at a time, so a fox that
+ * only wants its next step pays for refining a single cluster. Paths found this way are shortest paths over
+ * the abstract graph, which are at most a few steps longer than the true shortest paths.
+ *
+ * Building the graph is the expensive part. It happens on the first search, or ahead of time on another
+ * thread with {@link #precompute(Executor)}; searches made before a background build has finished fall back
+ * to a flat {@link PathFinder}. When cells change, for example when a door opens, {@link #cellChanged(int)}
+ * marks their cluster, and before the next search only the marked clusters are rebuilt, along with the
+ * neighbours whose shared entrances moved.
+ *
+ * A HierarchicalPathFinder belongs to the thread that changes the maze; only a background build started by
+ * precompute(Executor) runs elsewhere, and it works on a snapshot of the maze. It stands on its own: the
+ * game itself does not keep one, since its foxes all follow a shared FlowField, so whoever creates one must
+ * also report cell changes to it.
+ */
+public class HierarchicalPathFinder implements PathSearch {
+    public static final int DEFAULT_CLUSTER_SIZE = 32; // Width and height of a cluster, in cells
+    private static final int LONG_ENTRANCE = 6; // Stretches of facing cells at least this long get two transitions
+    private static final int NOT_IN_HEAP = -1; // Heap position of a node that is not waiting to be expanded
+    // Entrance flags of a cell: which borders it has a transition across
+    private static final byte CROSS_UP = 1;
+    private static final byte CROSS_DOWN = 1 << 1;
+    private static final byte CROSS_LEFT = 1 << 2;
+    private static final byte CROSS_RIGHT = 1 << 3;
+
+    private final MazeGrid maze; // The maze being searched
+    private final int clusterSize; // Width and height of a cluster, in cells
+    private final int clusterRows, clusterCols; // Number of clusters down and across the maze
+    private final byte[] entrances; // Per cell, the CROSS_ flags of its transitions; nonzero for nodes
+    private final int[][] clusterNodes; // Per cluster, the cells of its nodes
+    private final int[][] linkStarts; // Per cluster, the position in its link lists of each node's links
+    private final int[][] linkTargets; // Per cluster, the node cell each link leads to
+    private final int[][] linkCosts; // Per cluster, the length of each link
+    private final int[] nodeSlots; // Position of each node cell in its cluster's list
+    private final boolean[] dirty; // Clusters whose cells have changed since they were built
+    private boolean anyDirty; // Set when any cluster is dirty
+    private boolean building; // Set once a build has been started
+    private volatile boolean ready; // Set once the first build has finished
+    private PathFinder fallback; // Flat search used while a background build is running
+    private boolean usingFallback; // Set when the last search was answered by the fallback
+
+    private final ClusterSearch goalSearch; // Distances from the goal within its cluster
+    private final ClusterSearch localSearch; // Searches from start cells, and refinement
+    private final int[] gScores; // Cost of the best known route from the start to each node
+    private final int[] fScores; // gScore plus the estimated remaining cost to the goal
+    private final int[] parents; // Cell each node was reached from on its best known route, or -1
+    private final int[] generations; // Number of the search that last touched each cell
+    private final boolean[] closed; // Whether a node has been expanded; valid for the current generation only
+    private final int[] heap; // Nodes waiting to be expanded, as a binary min-heap on fScore
+    private final int[] heapPositions; // Position of each node in the heap, or NOT_IN_HEAP
+    private int heapSize; // Number of nodes in the heap
+    private int generation; // Number of the current search
+    private int expanded; // Number of nodes expanded by the last search
+    private int goal; // Goal cell of the current search
+    private int goalRow, goalCol; // Position of the goal cell
+    private int goalCluster; // Cluster of the goal cell
+
+    private final int[] waypoints; // The abstract path found by the last search, from start to goal
+    private int waypointCount; // Number of waypoints
+    private int nextWaypoint; // First waypoint whose segment has not been refined into cells yet
+    private final int[] path; // The cells of the last path, filled in as far as refined
+    private int refined; // Number of cells of the path filled in so far
+    private int pathLength; // Number of cells in the last path found, or 0 if there was none
+
+    /**
+     * Constructs a HierarchicalPathFinder for a maze with clusters of the default size.
+     *
+     * @param maze The maze grid.
+     */
+    public HierarchicalPathFinder(MazeGrid maze) {
+        this(maze, DEFAULT_CLUSTER_SIZE);
+    }
+
+    /**
+     * Constructs a HierarchicalPathFinder for a maze. The abstract graph is built on the first search or by
+     * precompute().
+     *
+     * @param maze The maze grid.
+     * @param clusterSize The width and height of a cluster, in cells; at least 2.
+     */
+    public HierarchicalPathFinder(MazeGrid maze, int clusterSize) {
+        if (clusterSize < 2) {
+            throw new IllegalArgumentException("Clusters must be at least 2 cells wide");
+        }
+        this.maze = maze;
+        this.clusterSize = clusterSize;
+        clusterRows = (maze.getRows() + clusterSize - 1) / clusterSize;
+        clusterCols = (maze.getCols() + clusterSize - 1) / clusterSize;
+        int size = maze.size();
+        int clusters = clusterRows * clusterCols;
+        entrances = new byte[size];
+        clusterNodes = new int[clusters][];
+        linkStarts = new int[clusters][];
+        linkTargets = new int[clusters][];
+        linkCosts = new int[clusters][];
+        nodeSlots = new int[size];
+        dirty = new boolean[clusters];
+
+        goalSearch = new ClusterSearch(size);
+        localSearch = new ClusterSearch(size);
+        gScores = new int[size];
+        fScores = new int[size];
+        parents = new int[size];
+        generations = new int[size];
+        closed = new boolean[size];
+        heap = new int[size];
+        heapPositions = new int[size];
+        waypoints = new int[size];
+        path = new int[size];
+    }
+
+    /**
+     * Builds the abstract graph on the calling thread.
+     */
+    public void precompute() {
+        building = true;
+        build(maze);
+        ready = true;
+    }
+
+    /**
+     * Builds the abstract graph on another thread, from a snapshot of the maze taken now. Until it has
+     * finished, searches are answered by a flat A* search; cells changed in the meantime are repaired once it
+     * has finished.
+     *
+     * @param executor The executor to build on.
+     */
+    public void precompute(Executor executor) {
+        building = true;
+        final MazeGrid snapshot = maze.copy();
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                build(snapshot);
+                ready = true;
+            }
+        });
+    }
+
+    /**
+     * Checks whether the abstract graph has been built.
+     *
+     * @return true once searches use the abstract graph.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Marks the cluster of a cell for repair before the next search. Must be called whenever a cell turns
+     * into or stops being a wall.
+     *
+     * @param cell The packed id of the cell.
+     */
+    public void cellChanged(int cell) {
+        dirty[clusterOf(cell)] = true;
+        anyDirty = true;
+    }
+
+    /**
+     * Places the entrances between all clusters and links the nodes of every cluster.
+     *
+     * @param grid The maze to read, either the maze itself or a snapshot of it.
+     */
+    private void build(MazeGrid grid) {
+        boolean[] wanted = new boolean[clusterSize];
+        for (int clusterRow = 0; clusterRow < clusterRows; clusterRow++) {
+            for (int clusterCol = 0; clusterCol < clusterCols; clusterCol++) {
+                if (clusterCol + 1 < clusterCols) {
+                    placeEntrances(grid, clusterRow, clusterCol, true, wanted);
+                }
+                if (clusterRow + 1 < clusterRows) {
+                    placeEntrances(grid, clusterRow, clusterCol, false, wanted);
+                }
+            }
+        }
+        ClusterSearch search = new ClusterSearch(grid.size());
+        for (int cluster = 0; cluster < clusterNodes.length; cluster++) {
+            linkCluster(grid, cluster, search);
+        }
+    }
+
+    /**
+     * Rebuilds the clusters marked by cellChanged.
+     */
+    private void repairDirtyClusters() {
+        if (!anyDirty) {
+            return;
+        }
+        anyDirty = false;
+        boolean[] wanted = new boolean[clusterSize];
+        for (int cluster = 0; cluster < dirty.length; cluster++) {
+            if (dirty[cluster]) {
+                dirty[cluster] = false;
+                repair(cluster, wanted);
+            }
+        }
+    }
+
+    /**
+     * Places the entrances on the four borders of a cluster again and links its nodes, plus those of any
+     * neighbour whose entrances on the shared border moved.
+     *
+     * @param cluster The cluster.
+     * @param wanted Scratch space of clusterSize entries.
+     */
+    private void repair(int cluster, boolean[] wanted) {
+        int clusterRow = cluster / clusterCols;
+        int clusterCol = cluster % clusterCols;
+        boolean left = clusterCol > 0 && placeEntrances(maze, clusterRow, clusterCol - 1, true, wanted);
+        boolean right = clusterCol + 1 < clusterCols && placeEntrances(maze, clusterRow, clusterCol, true, wanted);
+        boolean up = clusterRow > 0 && placeEntrances(maze, clusterRow - 1, clusterCol, false, wanted);
+        boolean down = clusterRow + 1 < clusterRows && placeEntrances(maze, clusterRow, clusterCol, false, wanted);
+        linkCluster(maze, cluster, localSearch);
+        if (left) {
+            linkCluster(maze, cluster - 1, localSearch);
+        }
+        if (right) {
+            linkCluster(maze, cluster + 1, localSearch);
+        }
+        if (up) {
+            linkCluster(maze, cluster - clusterCols, localSearch);
+        }
+        if (down) {
+            linkCluster(maze, cluster + clusterCols, localSearch);
+        }
+    }
+
+    /**
+     * Places the transitions across the border between a cluster and its right or lower neighbour.
+     *
+     * @param grid The maze to read.
+     * @param clusterRow The row of the cluster.
+     * @param clusterCol The column of the cluster.
+     * @param vertical true for the border with the right neighbour, false for the one with the lower neighbour.
+     * @param wanted Scratch space of clusterSize entries.
+     * @return true if any transition was added or removed.
+     */
+    private boolean placeEntrances(MazeGrid grid, int clusterRow, int clusterCol, boolean vertical,
+                                   boolean[] wanted) {
+        int cols = grid.getCols();
+        int first;
+        int count;
+        int lineStart; // Cell on this side of the border at the first position along it
+        int along; // Step between positions along the border
+        int across; // Step from this side of the border to the other
+        byte nearFlag;
+        byte farFlag;
+        if (vertical) {
+            first = clusterRow * clusterSize;
+            count = Math.min(grid.getRows(), first + clusterSize) - first;
+            lineStart = first * cols + (clusterCol + 1) * clusterSize - 1;
+            along = cols;
+            across = 1;
+            nearFlag = CROSS_RIGHT;
+            farFlag = CROSS_LEFT;
+        } else {
+            first = clusterCol * clusterSize;
+            count = Math.min(cols, first + clusterSize) - first;
+            lineStart = ((clusterRow + 1) * clusterSize - 1) * cols + first;
+            along = 1;
+            across = cols;
+            nearFlag = CROSS_DOWN;
+            farFlag = CROSS_UP;
+        }
+
+        // Find the stretches of open cells facing each other and pick their transitions
+        int runStart = -1;
+        for (int i = 0; i <= count; i++) {
+            int cell = lineStart + i * along;
+            boolean open = i < count && !grid.isWall(cell) && !grid.isWall(cell + across);
+            if (i < count) {
+                wanted[i] = false;
+            }
+            if (open && runStart < 0) {
+                runStart = i;
+            } else if (!open && runStart >= 0) {
+                int runEnd = i - 1;
+                if (runEnd - runStart + 1 >= LONG_ENTRANCE) {
+                    wanted[runStart] = true;
+                    wanted[runEnd] = true;
+                } else {
+                    wanted[(runStart + runEnd) / 2] = true;
+                }
+                runStart = -1;
+            }
+        }
+
+        boolean changed = false;
+        for (int i = 0; i < count; i++) {
+            int cell = lineStart + i * along;
+            boolean present = (entrances[cell] & nearFlag) != 0;
+            if (present != wanted[i]) {
+                changed = true;
+                if (wanted[i]) {
+                    entrances[cell] |= nearFlag;
+                    entrances[cell + across] |= farFlag;
+                } else {
+                    entrances[cell] &= ~nearFlag;
+                    entrances[cell + across] &= ~farFlag;
+                }
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Lists the nodes of a cluster, finds the distance between every pair of them within the cluster and
+     * links each pair that is not just as well connected through a third node.
+     *
+     * @param grid The maze to read.
+     * @param cluster The cluster.
+     * @param search The breadth-first search to use.
+     */
+    private void linkCluster(MazeGrid grid, int cluster, ClusterSearch search) {
+        int cols = grid.getCols();
+        int rowStart = clusterRowStart(cluster);
+        int rowEnd = Math.min(grid.getRows(), rowStart + clusterSize);
+        int colStart = clusterColStart(cluster);
+        int colEnd = Math.min(cols, colStart + clusterSize);
+        int count = 0;
+        for (int row = rowStart; row < rowEnd; row++) {
+            for (int cell = row * cols + colStart; cell < row * cols + colEnd; cell++) {
+                if (entrances[cell] != 0) {
+                    count++;
+                }
+            }
+        }
+        int[] nodes = new int[count];
+        count = 0;
+        for (int row = rowStart; row < rowEnd; row++) {
+            for (int cell = row * cols + colStart; cell < row * cols + colEnd; cell++) {
+                if (entrances[cell] != 0) {
+                    nodeSlots[cell] = count;
+                    nodes[count++] = cell;
+                }
+            }
+        }
+
+        int[] distances = new int[count * count];
+        for (int i = 0; i < count; i++) {
+            search.run(grid, nodes[i], -1, rowStart, rowEnd, colStart, colEnd);
+            for (int j = 0; j < count; j++) {
+                distances[i * count + j] = search.getDistance(nodes[j]);
+            }
+        }
+
+        // Links shorter than any detour through another node; the others are implied by the ones kept
+        int[] starts = new int[count + 1];
+        int[] targets = new int[count * count];
+        int[] costs = new int[count * count];
+        int links = 0;
+        for (int i = 0; i < count; i++) {
+            starts[i] = links;
+            for (int j = 0; j < count; j++) {
+                int distance = distances[i * count + j];
+                if (distance > 0 && !isImplied(distances, count, i, j)) {
+                    targets[links] = nodes[j];
+                    costs[links] = distance;
+                    links++;
+                }
+            }
+        }
+        starts[count] = links;
+        clusterNodes[cluster] = nodes;
+        linkStarts[cluster] = starts;
+        linkTargets[cluster] = Arrays.copyOf(targets, links);
+        linkCosts[cluster] = Arrays.copyOf(costs, links);
+    }
+
+    /**
+     * Checks whether the shortest path between two nodes of a cluster is just as short through a third node.
+     *
+     * @param distances The distances between the cluster's nodes, -1 where there is no path.
+     * @param count The number of nodes.
+     * @param i The first node.
+     * @param j The second node.
+     * @return true if a link between them is not needed.
+     */
+    private static boolean isImplied(int[] distances, int count, int i, int j) {
+        int distance = distances[i * count + j];
+        for (int k = 0; k < count; k++) {
+            int first = distances[i * count + k];
+            int second = distances[k * count + j];
+            if (first > 0 && second > 0 && first + second == distance) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean search(int start, int goal) {
+        if (!ready) {
+            if (building) {
+                if (fallback == null) {
+                    fallback = new PathFinder(maze);
+                }
+                usingFallback = true;
+                return fallback.search(start, goal);
+            }
+            precompute();
+        }
+        usingFallback = false;
+        repairDirtyClusters();
+        nextGeneration();
+        heapSize = 0;
+        pathLength = 0;
+        waypointCount = 0;
+        expanded = 0;
+        if (maze.isWall(goal)) {
+            return false;
+        }
+
+        this.goal = goal;
+        goalRow = maze.rowOf(goal);
+        goalCol = maze.colOf(goal);
+        goalCluster = clusterOf(goal);
+        runInCluster(goalSearch, goal, -1, goalCluster);
+        if (maze.isWall(start)) {
+            // Leaving a bush: every open neighbour is one step away
+            touch(start);
+            parents[start] = -1;
+            closed[start] = true;
+            int cols = maze.getCols();
+            int row = maze.rowOf(start);
+            int col = maze.colOf(start);
+            if (row > 0 && !maze.isWall(start - cols)) {
+                addStart(start - cols, 1, start);
+            }
+            if (row < maze.getRows() - 1 && !maze.isWall(start + cols)) {
+                addStart(start + cols, 1, start);
+            }
+            if (col > 0 && !maze.isWall(start - 1)) {
+                addStart(start - 1, 1, start);
+            }
+            if (col < cols - 1 && !maze.isWall(start + 1)) {
+                addStart(start + 1, 1, start);
+            }
+        } else {
+            addStart(start, 0, -1);
+        }
+
+        while (heapSize > 0) {
+            int node = pop();
+            if (node == goal) {
+                buildWaypoints();
+                return true;
+            }
+            closed[node] = true;
+            expanded++;
+            expand(node);
+        }
+        return false;
+    }
+
+    /**
+     * Adds an open cell the search starts from, linking it to the nodes of its cluster and to the goal if
+     * they share a cluster.
+     *
+     * @param cell The cell.
+     * @param cost The cost of reaching the cell from the start.
+     * @param from The cell it is reached from, or -1 if it is the start.
+     */
+    private void addStart(int cell, int cost, int from) {
+        if (cell == goal || entrances[cell] != 0) {
+            relax(cell, cost, from);
+        } else if (generations[cell] != generation || cost < gScores[cell]) {
+            touch(cell);
+            gScores[cell] = cost;
+            parents[cell] = from;
+            closed[cell] = true;
+        } else {
+            return;
+        }
+
+        int cluster = clusterOf(cell);
+        runInCluster(localSearch, cell, -1, cluster);
+        int[] nodes = clusterNodes[cluster];
+        for (int node : nodes) {
+            int distance = localSearch.getDistance(node);
+            if (distance > 0) {
+                relax(node, cost + distance, cell);
+            }
+        }
+        if (cluster == goalCluster) {
+            int distance = localSearch.getDistance(goal);
+            if (distance > 0) {
+                relax(goal, cost + distance, cell);
+            }
+        }
+    }
+
+    /**
+     * Offers routes through a node to the nodes it is linked to in its cluster, to the nodes across its transitions and
+     * to the goal if it is in the same cluster.
+     *
+     * @param node The node being expanded.
+     */
+    private void expand(int node) {
+        int g = gScores[node];
+        int cluster = clusterOf(node);
+        if (cluster == goalCluster) {
+            int distance = goalSearch.getDistance(node);
+            if (distance >= 0) {
+                relax(goal, g + distance, node);
+            }
+        }
+
+        int[] starts = linkStarts[cluster];
+        int[] targets = linkTargets[cluster];
+        int[] costs = linkCosts[cluster];
+        int slot = nodeSlots[node];
+        for (int i = starts[slot]; i < starts[slot + 1]; i++) {
+            relax(targets[i], g + costs[i], node);
+        }
+
+        int flags = entrances[node];
+        int cols = maze.getCols();
+        if ((flags & CROSS_UP) != 0) {
+            relax(node - cols, g + 1, node);
+        }
+        if ((flags & CROSS_DOWN) != 0) {
+            relax(node + cols, g + 1, node);
+        }
+        if ((flags & CROSS_LEFT) != 0) {
+            relax(node - 1, g + 1, node);
+        }
+        if ((flags & CROSS_RIGHT) != 0) {
+            relax(node + 1, g + 1, node);
+        }
+    }
+
+    /**
+     * Offers a node a route, keeping it if it is better than the best route known so far.
+     *
+     * @param node The node, or the goal.
+     * @param g The cost of the route.
+     * @param from The cell the route arrives from.
+     */
+    private void relax(int node, int g, int from) {
+        if (generations[node] != generation) {
+            touch(node);
+        } else if (closed[node] || g >= gScores[node]) {
+            return;
+        }
+        int row = node / maze.getCols();
+        gScores[node] = g;
+        fScores[node] = g + Math.abs(row - goalRow) + Math.abs(node - row * maze.getCols() - goalCol);
+        parents[node] = from;
+        if (heapPositions[node] == NOT_IN_HEAP) {
+            push(node);
+        } else {
+            siftUp(heapPositions[node]);
+        }
+    }
+
+    /**
+     * Resets a cell's entries for the current search.
+     *
+     * @param cell The cell.
+     */
+    private void touch(int cell) {
+        generations[cell] = generation;
+        closed[cell] = false;
+        heapPositions[cell] = NOT_IN_HEAP;
+    }
+
+    /**
+     * Starts a new search generation, clearing the generation stamps only when the counter wraps around.
+     */
+    private void nextGeneration() {
+        generation++;
+        if (generation == Integer.MAX_VALUE) {
+            for (int i = 0; i < generations.length; i++) {
+                generations[i] = 0;
+            }
+            generation = 1;
+        }
+    }
+
+    /**
+     * Follows the parents back from the goal and stores the abstract path from start to goal, ready to be
+     * refined.
+     */
+    private void buildWaypoints() {
+        waypointCount = 0;
+        for (int cell = goal; cell >= 0; cell = parents[cell]) {
+            waypointCount++;
+        }
+        int index = waypointCount;
+        for (int cell = goal; cell >= 0; cell = parents[cell]) {
+            waypoints[--index] = cell;
+        }
+        pathLength = gScores[goal] + 1;
+        path[0] = waypoints[0];
+        refined = 1;
+        nextWaypoint = 1;
+    }
+
+    /**
+     * Turns the next segment of the abstract path into cells: a single step across a border or out of a
+     * bush, or the shortest path between two waypoints inside their cluster.
+     */
+    private void refineNextSegment() {
+        int from = waypoints[nextWaypoint - 1];
+        int to = waypoints[nextWaypoint];
+        nextWaypoint++;
+        int cluster = clusterOf(to);
+        if (maze.isWall(from) || clusterOf(from) != cluster) {
+            path[refined++] = to;
+            return;
+        }
+        // Searching back from the far end leaves every cell pointing one step closer to it
+        runInCluster(localSearch, to, from, cluster);
+        for (int cell = localSearch.getParent(from); cell != to; cell = localSearch.getParent(cell)) {
+            path[refined++] = cell;
+        }
+        path[refined++] = to;
+    }
+
+    /**
+     * Runs a breadth-first search confined to one cluster.
+     *
+     * @param search The search to run.
+     * @param source The cell to search from.
+     * @param target The cell at which to stop early, or -1 to search the whole cluster.
+     * @param cluster The cluster.
+     */
+    private void runInCluster(ClusterSearch search, int source, int target, int cluster) {
+        int rowStart = clusterRowStart(cluster);
+        int colStart = clusterColStart(cluster);
+        search.run(maze, source, target, rowStart, Math.min(maze.getRows(), rowStart + clusterSize),
+                colStart, Math.min(maze.getCols(), colStart + clusterSize));
+    }
+
+    /**
+     * Gets the cluster a cell belongs to.
+     *
+     * @param cell The packed id of the cell.
+     * @return The cluster.
+     */
+    private int clusterOf(int cell) {
+        return maze.rowOf(cell) / clusterSize * clusterCols + maze.colOf(cell) / clusterSize;
+    }
+
+    /**
+     * Gets the first row of a cluster.
+     *
+     * @param cluster The cluster.
+     * @return The row.
+     */
+    private int clusterRowStart(int cluster) {
+        return cluster / clusterCols * clusterSize;
+    }
+
+    /**
+     * Gets the first column of a cluster.
+     *
+     * @param cluster The cluster.
+     * @return The column.
+     */
+    private int clusterColStart(int cluster) {
+        return cluster % clusterCols * clusterSize;
+    }
+
+    /**
+     * Checks whether one node should come out of the heap before another: lower fScore first, and between
+     * equal fScores the one further from the start.
+     *
+     * @param a The first node.
+     * @param b The second node.
+     * @return true if a comes first.
+     */
+    private boolean before(int a, int b) {
+        return fScores[a] < fScores[b] || fScores[a] == fScores[b] && gScores[a] > gScores[b];
+    }
+
+    /**
+     * Adds a node to the heap.
+     *
+     * @param node The node.
+     */
+    private void push(int node) {
+        heap[heapSize] = node;
+        heapPositions[node] = heapSize;
+        siftUp(heapSize++);
+    }
+
+    /**
+     * Removes the first node from the heap.
+     *
+     * @return The node with the lowest fScore.
+     */
+    private int pop() {
+        int first = heap[0];
+        heapPositions[first] = NOT_IN_HEAP;
+        int last = heap[--heapSize];
+        if (heapSize > 0) {
+            heap[0] = last;
+            heapPositions[last] = 0;
+            siftDown(0);
+        }
+        return first;
+    }
+
+    /**
+     * Moves a heap entry up until its parent comes before it.
+     *
+     * @param position The position of the entry.
+     */
+    private void siftUp(int position) {
+        int node = heap[position];
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            int parentNode = heap[parent];
+            if (!before(node, parentNode)) {
+                break;
+            }
+            heap[position] = parentNode;
+            heapPositions[parentNode] = position;
+            position = parent;
+        }
+        heap[position] = node;
+        heapPositions[node] = position;
+    }
+
+    /**
+     * Moves a heap entry down until it comes before both of its children.
+     *
+     * @param position The position of the entry.
+     */
+    private void siftDown(int position) {
+        int node = heap[position];
+        while (true) {
+            int child = 2 * position + 1;
+            if (child >= heapSize) {
+                break;
+            }
+            if (child + 1 < heapSize && before(heap[child + 1], heap[child])) {
+                child++;
+            }
+            int childNode = heap[child];
+            if (!before(childNode, node)) {
+                break;
+            }
+            heap[position] = childNode;
+            heapPositions[childNode] = position;
+            position = child;
+        }
+        heap[position] = node;
+        heapPositions[node] = position;
+    }
+
+    @Override
+    public int getPathLength() {
+        return usingFallback ? fallback.getPathLength() : pathLength;
+    }
+
+    /**
+     * {@inheritDoc} Cells are refined from the abstract path up to the one asked for, so asking only for the
+     * first few cells is cheap.
+     */
+    @Override
+    public int getPathCell(int index) {
+        if (usingFallback) {
+            return fallback.getPathCell(index);
+        }
+        if (index < 0 || index >= pathLength) {
+            throw new IndexOutOfBoundsException("No cell " + index + " on a path of " + pathLength);
+        }
+        while (refined <= index) {
+            refineNextSegment();
+        }
+        return path[index];
+    }
+
+    /**
+     * {@inheritDoc} Counts abstract nodes, or cells if the last search fell back to a flat search.
+     */
+    @Override
+    public int getExpandedCount() {
+        return usingFallback ? fallback.getExpandedCount() : expanded;
+    }
+
+    @Override
+    public MazeGrid getMaze() {
+        return maze;
+    }
+
+    /**
+     * Gets the number of nodes in the abstract graph.
+     *
+     * @return The node count, or 0 before the graph is built.
+     */
+    public int getNodeCount() {
+        if (!ready) {
+            return 0;
+        }
+        repairDirtyClusters();
+        int count = 0;
+        for (int[] nodes : clusterNodes) {
+            count += nodes.length;
+        }
+        return count;
+    }
+
+    /**
+     * A breadth-first search confined to a rectangle of the maze, reusing its arrays between runs.
+     */
+    private static final class ClusterSearch {
+        private final int[] distances; // Steps from the source to each cell; valid for the current generation
+        private final int[] parents; // Cell each cell was reached from
+        private final int[] generations; // Number of the run that last reached each cell
+        private final int[] queue; // Cells waiting to be expanded
+        private int generation; // Number of the current run
+
+        /**
+         * Constructs a ClusterSearch for mazes of a given size.
+         *
+         * @param size The number of cells in the maze.
+         */
+        ClusterSearch(int size) {
+            distances = new int[size];
+            parents = new int[size];
+            generations = new int[size];
+            queue = new int[size];
+        }
+
+        /**
+         * Searches outwards from a cell through the open cells of a rectangle.
+         *
+         * @param grid The maze.
+         * @param source The cell to search from.
+         * @param target The cell at which to stop early, or -1 to reach every cell.
+         * @param rowStart The first row of the rectangle.
+         * @param rowEnd The row after the last row of the rectangle.
+         * @param colStart The first column of the rectangle.
+         * @param colEnd The column after the last column of the rectangle.
+         */
+        void run(MazeGrid grid, int source, int target, int rowStart, int rowEnd, int colStart, int colEnd) {
+            generation++;
+            if (generation == Integer.MAX_VALUE) {
+                for (int i = 0; i < generations.length; i++) {
+                    generations[i] = 0;
+                }
+                generation = 1;
+            }
+            int cols = grid.getCols();
+            generations[source] = generation;
+            distances[source] = 0;
+            parents[source] = -1;
+            queue[0] = source;
+            int tail = 1;
+            for (int head = 0; head < tail; head++) {
+                int cell = queue[head];
+                if (cell == target) {
+                    return;
+                }
+                int row = cell / cols;
+                int col = cell - row * cols;
+                int distance = distances[cell] + 1;
+                if (row > rowStart) {
+                    tail = visit(grid, cell - cols, cell, distance, tail);
+                }
+                if (row < rowEnd - 1) {
+                    tail = visit(grid, cell + cols, cell, distance, tail);
+                }
+                if (col > colStart) {
+                    tail = visit(grid, cell - 1, cell, distance, tail);
+                }
+                if (col < colEnd - 1) {
+                    tail = visit(grid, cell + 1, cell, distance, tail);
+                }
+            }
+        }
+
+        /**
+         * Gives an open cell that has not been reached yet its distance and queues it.
+         *
+         * @param grid The maze.
+         * @param cell The cell.
+         * @param from The cell it is reached from.
+         * @param distance Its distance from the source.
+         * @param tail The end of the queue.
+         * @return The new end of the queue.
+         */
+        private int visit(MazeGrid grid, int cell, int from, int distance, int tail) {
+            if (generations[cell] == generation || grid.isWall(cell)) {
+                return tail;
+            }
+            generations[cell] = generation;
+            distances[cell] = distance;
+            parents[cell] = from;
+            queue[tail] = cell;
+            return tail + 1;
+        }
+
+        /**
+         * Gets the distance of a cell from the source of the last run.
+         *
+         * @param cell The cell.
+         * @return The number of steps, or -1 if the run did not reach the cell.
+         */
+        int getDistance(int cell) {
+            return generations[cell] == generation ? distances[cell] : -1;
+        }
+
+        /**
+         * Gets the cell one step closer to the source of the last run.
+         *
+         * @param cell A cell the run reached.
+         * @return The cell it was reached from, or -1 for the source.
+         */
+        int getParent(int cell) {
+            return parents[cell];
+        }
+    }
+}
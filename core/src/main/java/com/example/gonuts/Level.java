@@ -0,0 +1,67 @@
+package com.example.gonuts;
+
+/**
+ * A playable level: the maze with its spawn points and acorns, and how the fox behaves in it. Spawn points
+ * and acorns are stored as {@link MazeGrid#SPAWN} and {@link MazeGrid#ACORN} flags on the maze's cells.
+ * Levels are stored in the binary {@link LevelFormat} and shipped in {@link LevelPack}s.
+ */
+public class Level {
+    private final MazeGrid maze; // Walls, spawn points and acorns of the level
+    private final int foxRespawnTicks; // Ticks between the fox moving to a new bush
+    private final int foxShootTicks; // Ticks between the fox's shots
+    private final boolean randomAcorns; // Whether acorns are scattered at random when the level starts
+
+    /**
+     * Constructs a Level.
+     *
+     * @param maze The maze, including any SPAWN and ACORN flags.
+     * @param foxRespawnTicks The number of ticks between the fox moving to a new bush.
+     * @param foxShootTicks The number of ticks between the fox's shots.
+     * @param randomAcorns true to scatter acorns at random when the level starts, in addition to the maze's.
+     */
+    public Level(MazeGrid maze, int foxRespawnTicks, int foxShootTicks, boolean randomAcorns) {
+        if (foxRespawnTicks < 1 || foxShootTicks < 1) {
+            throw new IllegalArgumentException("Fox intervals must be at least one tick");
+        }
+        this.maze = maze;
+        this.foxRespawnTicks = foxRespawnTicks;
+        this.foxShootTicks = foxShootTicks;
+        this.randomAcorns = randomAcorns;
+    }
+
+    /**
+     * Gets the level's maze. The maze is shared, so a game played on the level should use a copy.
+     *
+     * @return The maze.
+     */
+    public MazeGrid getMaze() {
+        return maze;
+    }
+
+    /**
+     * Gets the number of ticks between the fox moving to a new bush.
+     *
+     * @return The respawn interval, in ticks.
+     */
+    public int getFoxRespawnTicks() {
+        return foxRespawnTicks;
+    }
+
+    /**
+     * Gets the number of ticks between the fox's shots.
+     *
+     * @return The shooting interval, in ticks.
+     */
+    public int getFoxShootTicks() {
+        return foxShootTicks;
+    }
+
+    /**
+     * Checks whether acorns are scattered at random when the level starts.
+     *
+     * @return true for random acorns, false to use only the acorns stored in the maze.
+     */
+    public boolean hasRandomAcorns() {
+        return randomAcorns;
+    }
+}
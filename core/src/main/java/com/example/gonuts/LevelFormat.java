@@ -0,0 +1,317 @@
+package com.example.gonuts;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Encodes and decodes single levels in the Go Nuts binary level format. All numbers are big-endian. A level
+ * record is laid out as:
+ * <pre>
+ *   int     magic, "GNLV"
+ *   short   format version, currently 1
+ *   short   flags; bit 0 set means acorns are scattered at random, bit 1 set means the cells are bit-packed
+ *   int     rows
+ *   int     columns
+ *   int     ticks between fox respawns
+ *   int     ticks between fox shots
+ *   ...     cells in row-major order, either
+ *             varint* alternating run lengths of paths and walls, starting with paths (a leading run may be
+ *                     0), adding up to rows * columns; or, if bit-packed,
+ *             byte*   one bit per cell, 1 for a wall, highest bit first, padded with 0s to a whole byte
+ *   varint  number of spawn points, followed by their cell indices, each as the gap from the previous one
+ *   varint  number of acorns, followed by their cell indices, each as the gap from the previous one
+ * </pre>
+ * Varints are unsigned LEB128: 7 bits per byte, low bits first, with the top bit set on every byte but the
+ * last. The encoder picks whichever cell encoding is smaller: mazes with open areas and long walls are
+ * mostly long runs and compress far below a bit per cell, while narrow corridors and generated lattice mazes
+ * alternate so often that one bit per cell, 125 KB for a 1000 x 1000 maze, is smaller.
+ *
+ * Readers accept any version up to their own; a version bump is needed for any change to the layout. Mazes
+ * are limited to MAX_CELLS cells, so a corrupt or hostile header cannot make a reader allocate gigabytes.
+ */
+public final class LevelFormat {
+    public static final int MAGIC = 0x474E4C56; // "GNLV"
+    public static final int VERSION = 1; // Version written by this encoder
+    public static final int FLAG_RANDOM_ACORNS = 1; // Acorns are scattered at random when the level starts
+    public static final int FLAG_PACKED_CELLS = 1 << 1; // Cells are stored as one bit each instead of runs
+    public static final int MAX_CELLS = 1 << 24; // Largest maze a record may hold, 4096 x 4096 cells
+
+    /**
+     * Not instantiable; the format is used through static methods.
+     */
+    private LevelFormat() {
+    }
+
+    /**
+     * Encodes a level.
+     *
+     * @param level The level to encode.
+     * @return The level record.
+     * @throws IllegalArgumentException If the level's maze has more than MAX_CELLS cells.
+     */
+    public static byte[] encode(Level level) {
+        MazeGrid maze = level.getMaze();
+        if (maze.size() > MAX_CELLS) {
+            throw new IllegalArgumentException("Maze is larger than " + MAX_CELLS + " cells");
+        }
+        ByteArrayOutputStream runs = new ByteArrayOutputStream(64 + maze.size() / 8);
+        writeRuns(runs, maze);
+        int packedSize = (maze.size() + 7) / 8;
+        boolean packed = packedSize < runs.size();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64 + Math.min(packedSize, runs.size()));
+        writeInt(out, MAGIC);
+        writeShort(out, VERSION);
+        writeShort(out, (level.hasRandomAcorns() ? FLAG_RANDOM_ACORNS : 0) | (packed ? FLAG_PACKED_CELLS : 0));
+        writeInt(out, maze.getRows());
+        writeInt(out, maze.getCols());
+        writeInt(out, level.getFoxRespawnTicks());
+        writeInt(out, level.getFoxShootTicks());
+        if (packed) {
+            writePackedCells(out, maze);
+        } else {
+            out.write(runs.toByteArray(), 0, runs.size());
+        }
+        writeCells(out, maze, MazeGrid.SPAWN);
+        writeCells(out, maze, MazeGrid.ACORN);
+        return out.toByteArray();
+    }
+
+    /**
+     * Decodes a level record starting at the buffer's position, leaving the position just after the record.
+     *
+     * @param buffer The buffer holding the record, which may be a memory-mapped file.
+     * @return The decoded level, with its own maze.
+     * @throws IOException If the buffer does not hold a valid level record.
+     */
+    public static Level decode(ByteBuffer buffer) throws IOException {
+        try {
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Not a level record");
+            }
+            int version = buffer.getShort();
+            if (version < 1 || version > VERSION) {
+                throw new IOException("Unsupported level format version " + version);
+            }
+            int flags = buffer.getShort();
+            int rows = buffer.getInt();
+            int cols = buffer.getInt();
+            if (rows < 1 || cols < 1 || (long) rows * cols > MAX_CELLS) {
+                throw new IOException("Invalid maze size " + rows + " x " + cols);
+            }
+            int foxRespawnTicks = buffer.getInt();
+            int foxShootTicks = buffer.getInt();
+            if (foxRespawnTicks < 1 || foxShootTicks < 1) {
+                throw new IOException("Invalid fox intervals");
+            }
+
+            // Make sure bit-packed cells are all there before allocating the maze for them
+            boolean packed = (flags & FLAG_PACKED_CELLS) != 0;
+            if (packed && buffer.remaining() < (rows * cols + 7) / 8) {
+                throw new IOException("Truncated level record");
+            }
+            MazeGrid maze = new MazeGrid(rows, cols);
+            if (packed) {
+                readPackedCells(buffer, maze);
+            } else {
+                readRuns(buffer, maze);
+            }
+            readCells(buffer, maze, MazeGrid.SPAWN);
+            readCells(buffer, maze, MazeGrid.ACORN);
+            return new Level(maze, foxRespawnTicks, foxShootTicks, (flags & FLAG_RANDOM_ACORNS) != 0);
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Truncated level record", e);
+        }
+    }
+
+    /**
+     * Writes the walls of a maze as alternating run lengths of paths and walls, starting with paths.
+     *
+     * @param out The output.
+     * @param maze The maze.
+     */
+    private static void writeRuns(ByteArrayOutputStream out, MazeGrid maze) {
+        boolean wall = false;
+        int runStart = 0;
+        for (int i = 0; i < maze.size(); i++) {
+            if (maze.isWall(i) != wall) {
+                writeVarint(out, i - runStart);
+                wall = !wall;
+                runStart = i;
+            }
+        }
+        writeVarint(out, maze.size() - runStart);
+    }
+
+    /**
+     * Reads walls written by writeRuns, filling each run of walls in one go.
+     *
+     * @param buffer The buffer to read from.
+     * @param maze The maze, all paths, to add the walls to.
+     * @throws IOException If the runs do not add up to the size of the maze.
+     */
+    private static void readRuns(ByteBuffer buffer, MazeGrid maze) throws IOException {
+        boolean wall = false;
+        int cell = 0;
+        while (cell < maze.size()) {
+            int run = readVarint(buffer);
+            if (run > maze.size() - cell) {
+                throw new IOException("Cell runs overflow the maze");
+            }
+            if (wall) {
+                maze.fill(cell, cell + run, MazeGrid.WALL);
+            }
+            cell += run;
+            wall = !wall;
+        }
+    }
+
+    /**
+     * Writes the walls of a maze as one bit per cell, highest bit first.
+     *
+     * @param out The output.
+     * @param maze The maze.
+     */
+    private static void writePackedCells(ByteArrayOutputStream out, MazeGrid maze) {
+        for (int start = 0; start < maze.size(); start += 8) {
+            int bits = 0;
+            for (int bit = 0; bit < 8; bit++) {
+                int cell = start + bit;
+                if (cell < maze.size() && maze.isWall(cell)) {
+                    bits |= 0x80 >>> bit;
+                }
+            }
+            out.write(bits);
+        }
+    }
+
+    /**
+     * Reads walls written by writePackedCells, skipping bytes without any walls.
+     *
+     * @param buffer The buffer to read from.
+     * @param maze The maze, all paths, to add the walls to.
+     */
+    private static void readPackedCells(ByteBuffer buffer, MazeGrid maze) {
+        for (int start = 0; start < maze.size(); start += 8) {
+            int bits = buffer.get() & 0xFF;
+            if (bits == 0xFF && start + 8 <= maze.size()) {
+                maze.fill(start, start + 8, MazeGrid.WALL);
+                continue;
+            }
+            for (int bit = 0; bits != 0; bit++, bits = (bits << 1) & 0xFF) {
+                if ((bits & 0x80) != 0 && start + bit < maze.size()) {
+                    maze.set(start + bit, MazeGrid.WALL);
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes the cells that have a flag as a count followed by the gaps between their indices.
+     *
+     * @param out The output.
+     * @param maze The maze.
+     * @param flag The flag to look for.
+     */
+    private static void writeCells(ByteArrayOutputStream out, MazeGrid maze, int flag) {
+        int count = 0;
+        for (int i = 0; i < maze.size(); i++) {
+            if (maze.has(i, flag)) {
+                count++;
+            }
+        }
+        writeVarint(out, count);
+        int previous = 0;
+        for (int i = 0; i < maze.size(); i++) {
+            if (maze.has(i, flag)) {
+                writeVarint(out, i - previous);
+                previous = i;
+            }
+        }
+    }
+
+    /**
+     * Reads a list of cells written by writeCells and sets a flag on each of them.
+     *
+     * @param buffer The buffer to read from.
+     * @param maze The maze.
+     * @param flag The flag to set.
+     * @throws IOException If a cell lies outside the maze.
+     */
+    private static void readCells(ByteBuffer buffer, MazeGrid maze, int flag) throws IOException {
+        int count = readVarint(buffer);
+        int cell = 0;
+        for (int i = 0; i < count; i++) {
+            int gap = readVarint(buffer);
+            if (gap > maze.size() - 1 - cell) {
+                throw new IOException("Cell outside the maze");
+            }
+            cell += gap;
+            maze.addFlags(cell, flag);
+        }
+    }
+
+    /**
+     * Writes an unsigned LEB128 varint.
+     *
+     * @param out The output.
+     * @param value The value, which must not be negative.
+     */
+    private static void writeVarint(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    /**
+     * Reads an unsigned LEB128 varint.
+     *
+     * @param buffer The buffer to read from.
+     * @return The value.
+     * @throws IOException If the varint does not fit in a non-negative int.
+     */
+    private static int readVarint(ByteBuffer buffer) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 28; shift += 7) {
+            int b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        // The fifth byte holds bits 28 to 30; anything above them, or a sixth byte, does not fit
+        int b = buffer.get();
+        if ((b & 0xFF) > 0x07) {
+            throw new IOException("Invalid varint");
+        }
+        return value | b << 28;
+    }
+
+    /**
+     * Writes a big-endian int.
+     *
+     * @param out The output.
+     * @param value The value.
+     */
+    static void writeInt(ByteArrayOutputStream out, int value) {
+        out.write(value >>> 24);
+        out.write(value >>> 16);
+        out.write(value >>> 8);
+        out.write(value);
+    }
+
+    /**
+     * Writes a big-endian short.
+     *
+     * @param out The output.
+     * @param value The value.
+     */
+    static void writeShort(ByteArrayOutputStream out, int value) {
+        out.write(value >>> 8);
+        out.write(value);
+    }
+}
@@ -0,0 +1,199 @@
+package com.example.gonuts;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.List;
+
+/**
+ * A collection of levels in one file, with an index so any level can be decoded without reading the others.
+ * All numbers are big-endian. A pack is laid out as:
+ * <pre>
+ *   int    magic, "GNLP"
+ *   short  pack version, currently 1
+ *   short  reserved, 0
+ *   int    number of levels
+ *   int[2] per level: offset of its record from the start of the pack, and the record's length
+ *   ...    the level records, in {@link LevelFormat}
+ * </pre>
+ * Packs are normally memory-mapped with {@link #map(File)} or {@link #map(FileChannel, long, long)}, so
+ * opening one only reads its index, and loading a level decodes its record straight from the mapped pages
+ * without copying the file into the heap first. Packs that cannot be mapped, such as compressed app assets,
+ * can be read into memory with {@link #read(InputStream)}.
+ *
+ * A LevelPack is safe to load levels from on several threads at once.
+ */
+public class LevelPack {
+    public static final int MAGIC = 0x474E4C50; // "GNLP"
+    public static final int VERSION = 1; // Version written by this class
+    private static final int HEADER_SIZE = 12; // Bytes before the index
+    private static final int INDEX_ENTRY_SIZE = 8; // Bytes per level in the index
+
+    private final ByteBuffer buffer; // The whole pack, positioned at its start
+    private final int levelCount; // Number of levels in the pack
+
+    /**
+     * Constructs a LevelPack over a buffer holding a whole pack, checking its header and index.
+     *
+     * @param buffer The pack, from its position to its limit. The buffer's position is not changed.
+     * @throws IOException If the buffer does not hold a valid pack.
+     */
+    public LevelPack(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer.slice();
+        try {
+            if (this.buffer.getInt(0) != MAGIC) {
+                throw new IOException("Not a level pack");
+            }
+            int version = this.buffer.getShort(4);
+            if (version < 1 || version > VERSION) {
+                throw new IOException("Unsupported level pack version " + version);
+            }
+            levelCount = this.buffer.getInt(8);
+            if (levelCount < 0 || levelCount > (this.buffer.limit() - HEADER_SIZE) / INDEX_ENTRY_SIZE) {
+                throw new IOException("Invalid level count " + levelCount);
+            }
+            for (int i = 0; i < levelCount; i++) {
+                int offset = getOffset(i);
+                int length = getLength(i);
+                if (offset < 0 || length < 0 || offset > this.buffer.limit() - length) {
+                    throw new IOException("Level " + i + " lies outside the pack");
+                }
+            }
+        } catch (IndexOutOfBoundsException e) {
+            throw new IOException("Truncated level pack", e);
+        }
+    }
+
+    /**
+     * Memory-maps a level pack file.
+     *
+     * @param file The pack file.
+     * @return The pack.
+     * @throws IOException If the file cannot be mapped or is not a valid pack.
+     */
+    public static LevelPack map(File file) throws IOException {
+        FileInputStream in = new FileInputStream(file);
+        try {
+            return map(in.getChannel(), 0, file.length());
+        } finally {
+            in.close(); // The mapping stays valid after the channel is closed
+        }
+    }
+
+    /**
+     * Memory-maps a level pack stored in part of a file, such as an uncompressed asset inside an APK.
+     *
+     * @param channel The channel of the file holding the pack.
+     * @param offset The position of the pack in the file.
+     * @param length The length of the pack, in bytes.
+     * @return The pack.
+     * @throws IOException If the region cannot be mapped or is not a valid pack.
+     */
+    public static LevelPack map(FileChannel channel, long offset, long length) throws IOException {
+        return new LevelPack(channel.map(FileChannel.MapMode.READ_ONLY, offset, length));
+    }
+
+    /**
+     * Reads a whole level pack from a stream into memory. The stream is not closed.
+     *
+     * @param in The stream holding the pack.
+     * @return The pack.
+     * @throws IOException If the stream cannot be read or is not a valid pack.
+     */
+    public static LevelPack read(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(1024, in.available()));
+        byte[] chunk = new byte[8192];
+        int read;
+        while ((read = in.read(chunk)) != -1) {
+            out.write(chunk, 0, read);
+        }
+        return new LevelPack(ByteBuffer.wrap(out.toByteArray()));
+    }
+
+    /**
+     * Writes levels as a pack. The stream is not closed.
+     *
+     * @param levels The levels, in the order they are numbered in the pack.
+     * @param out The stream to write to.
+     * @throws IOException If the stream cannot be written.
+     */
+    public static void write(List<Level> levels, OutputStream out) throws IOException {
+        byte[][] records = new byte[levels.size()][];
+        for (int i = 0; i < records.length; i++) {
+            records[i] = LevelFormat.encode(levels.get(i));
+        }
+
+        ByteArrayOutputStream header = new ByteArrayOutputStream(HEADER_SIZE + records.length * INDEX_ENTRY_SIZE);
+        LevelFormat.writeInt(header, MAGIC);
+        LevelFormat.writeShort(header, VERSION);
+        LevelFormat.writeShort(header, 0);
+        LevelFormat.writeInt(header, records.length);
+        int offset = HEADER_SIZE + records.length * INDEX_ENTRY_SIZE;
+        for (byte[] record : records) {
+            LevelFormat.writeInt(header, offset);
+            LevelFormat.writeInt(header, record.length);
+            offset += record.length;
+        }
+        header.writeTo(out);
+        for (byte[] record : records) {
+            out.write(record);
+        }
+    }
+
+    /**
+     * Gets the number of levels in the pack.
+     *
+     * @return The level count.
+     */
+    public int getLevelCount() {
+        return levelCount;
+    }
+
+    /**
+     * Decodes a level from the pack.
+     *
+     * @param index The number of the level, from 0 to getLevelCount() - 1.
+     * @return The level, with its own maze.
+     * @throws IOException If the level's record is not valid.
+     */
+    public Level load(int index) throws IOException {
+        if (index < 0 || index >= levelCount) {
+            throw new IndexOutOfBoundsException("No level " + index + " in a pack of " + levelCount);
+        }
+        // A view with its own position, so that levels can be loaded concurrently
+        ByteBuffer record = buffer.duplicate();
+        int offset = getOffset(index);
+        record.limit(offset + getLength(index));
+        record.position(offset);
+        Level level = LevelFormat.decode(record);
+        if (record.hasRemaining()) {
+            throw new IOException("Level " + index + " has trailing data");
+        }
+        return level;
+    }
+
+    /**
+     * Gets the offset of a level's record from the index.
+     *
+     * @param index The number of the level.
+     * @return The offset, from the start of the pack.
+     */
+    private int getOffset(int index) {
+        return buffer.getInt(HEADER_SIZE + index * INDEX_ENTRY_SIZE);
+    }
+
+    /**
+     * Gets the length of a level's record from the index.
+     *
+     * @param index The number of the level.
+     * @return The length, in bytes.
+     */
+    private int getLength(int index) {
+        return buffer.getInt(HEADER_SIZE + index * INDEX_ENTRY_SIZE + 4);
+    }
+}
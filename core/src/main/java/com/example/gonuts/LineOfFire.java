@@ -0,0 +1,95 @@
+package com.example.gonuts;
+
+/**
+ * Answers whether a shot along a row or column of a maze would reach its target. For every open cell the
+ * index keeps the first cell of the straight run of open cells it lies in, once along its row and once along
+ * its column, so two cells on the same row or column see each other exactly when they share a run. Each query
+ * takes constant time. Walls rarely change, so the runs are only rebuilt, lazily, after {@link #invalidate()},
+ * with a single scan of the maze.
+ */
+public class LineOfFire {
+    private static final int NONE = -1; // Run of a wall cell
+
+    private final MazeGrid maze; // The maze being indexed
+    private final int[] rowRuns; // First cell of the horizontal run of open cells each cell is in, or NONE
+    private final int[] colRuns; // First cell of the vertical run of open cells each cell is in, or NONE
+    private boolean stale = true; // Set when the maze has changed since the runs were found
+
+    /**
+     * Constructs a LineOfFire for a maze. The maze is scanned when the index is first used.
+     *
+     * @param maze The maze grid.
+     */
+    public LineOfFire(MazeGrid maze) {
+        this.maze = maze;
+        rowRuns = new int[maze.size()];
+        colRuns = new int[maze.size()];
+    }
+
+    /**
+     * Marks the index as out of date, so the maze is scanned again the next time the index is used. Must be
+     * called whenever a cell turns into or stops being a wall.
+     */
+    public void invalidate() {
+        stale = true;
+    }
+
+    /**
+     * Finds the straight runs of open cells along every row and column if the maze has changed since they
+     * were last found.
+     */
+    private void refresh() {
+        if (!stale) {
+            return;
+        }
+        int cols = maze.getCols();
+        for (int cell = 0; cell < maze.size(); cell++) {
+            if (maze.isWall(cell)) {
+                rowRuns[cell] = NONE;
+                colRuns[cell] = NONE;
+                continue;
+            }
+            int col = cell % cols;
+            rowRuns[cell] = col > 0 && rowRuns[cell - 1] != NONE ? rowRuns[cell - 1] : cell;
+            colRuns[cell] = cell >= cols && colRuns[cell - cols] != NONE ? colRuns[cell - cols] : cell;
+        }
+        stale = false;
+    }
+
+    /**
+     * Checks whether a shot from one cell would reach another in a straight line along a row or column:
+     * the cells must line up and every cell after the first must be open. The first cell may be a wall, so
+     * that a fox can shoot out of its bush.
+     *
+     * @param from The packed id of the cell the shot starts from.
+     * @param to The packed id of the cell to hit.
+     * @return true if nothing stands between the cells.
+     */
+    public boolean isClear(int from, int to) {
+        refresh();
+        if (from == to) {
+            return true;
+        }
+        if (maze.isWall(to)) {
+            return false;
+        }
+        int cols = maze.getCols();
+        if (from / cols == to / cols) {
+            int next = to > from ? from + 1 : from - 1;
+            return rowRuns[next] == rowRuns[to];
+        } else if (from % cols == to % cols) {
+            int next = to > from ? from + cols : from - cols;
+            return colRuns[next] == colRuns[to];
+        }
+        return false;
+    }
+
+    /**
+     * Gets the maze the index covers.
+     *
+     * @return The maze grid.
+     */
+    public MazeGrid getMaze() {
+        return maze;
+    }
+}
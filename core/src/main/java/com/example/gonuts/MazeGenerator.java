@@ -0,0 +1,358 @@
+package com.example.gonuts;
+
+import java.util.Random;
+
+/**
+ * Generates random mazes of any size from a seed. The same size, seed and braid factor always produce the
+ * same maze.
+ *
+ * Generated mazes are laid out on a lattice: the cells with an odd row and an odd column are rooms, the cells
+ * between two rooms are walls that may be carved into passages, and everything else, including the outer
+ * border, stays a bush. With an even number of rows or columns the last row or column before the border is
+ * left as bushes too. Two algorithms are provided:
+ * <ul>
+ *     <li>the recursive backtracker, a depth-first walk that makes long winding corridors, run with an explicit
+ *     stack so it cannot overflow the call stack on large mazes;</li>
+ *     <li>Eller's algorithm, which builds the maze one row at a time keeping only O(width) state, so it can
+ *     also stream rows to a consumer without the whole maze ever being in memory.</li>
+ * </ul>
+ * Both produce perfect mazes, with exactly one route between any two rooms. The braid factor then opens up
+ * that fraction of the dead ends, creating loops so that there is more than one way around the fox. The room
+ * nearest the middle of a generated maze is marked as the squirrel's {@link MazeGrid#SPAWN} point.
+ */
+public final class MazeGenerator {
+    private static final int[] ROW_STEPS = {-1, 0, 1, 0}; // Row offset of up, right, down and left
+    private static final int[] COL_STEPS = {0, 1, 0, -1}; // Column offset of up, right, down and left
+
+    /**
+     * Receives the rows of a maze streamed by {@link #streamEller(int, int, long, RowSink)}.
+     */
+    public interface RowSink {
+
+        /**
+         * Called once for every row of the maze, in order from the top.
+         *
+         * @param row The index of the row.
+         * @param cells The flags of the row's cells; the array is reused for the next row.
+         */
+        void onRow(int row, byte[] cells);
+    }
+
+    /**
+     * Not instantiable; all generators are static.
+     */
+    private MazeGenerator() {
+    }
+
+    /**
+     * Generates a maze with the recursive backtracker.
+     *
+     * @param rows The number of rows, at least 3.
+     * @param cols The number of columns, at least 3.
+     * @param seed The seed for the maze's layout.
+     * @param braid The fraction of dead ends to open up, from 0 (a perfect maze) to 1 (no dead ends).
+     * @return A new maze.
+     */
+    public static MazeGrid backtracker(int rows, int cols, long seed, float braid) {
+        checkSize(rows, cols);
+        Random random = new Random(seed);
+        MazeGrid maze = new MazeGrid(rows, cols);
+        fillWithWalls(maze);
+
+        int roomRows = (rows - 1) / 2;
+        int roomCols = (cols - 1) / 2;
+        int[] stack = new int[roomRows * roomCols]; // Rooms on the current path, as packed room ids
+        int[] options = new int[4]; // Directions that lead to an unvisited room
+        int start = random.nextInt(roomRows * roomCols);
+        maze.set(roomCell(maze, start, roomCols), MazeGrid.PATH | MazeGrid.VISITED);
+        stack[0] = start;
+        int depth = 1;
+
+        while (depth > 0) {
+            int room = stack[depth - 1];
+            int roomRow = room / roomCols;
+            int roomCol = room % roomCols;
+
+            // Collect the directions leading to rooms that have not been visited yet
+            int optionCount = 0;
+            for (int direction = 0; direction < 4; direction++) {
+                int nextRow = roomRow + ROW_STEPS[direction];
+                int nextCol = roomCol + COL_STEPS[direction];
+                if (nextRow >= 0 && nextRow < roomRows && nextCol >= 0 && nextCol < roomCols
+                        && !maze.has(roomCell(maze, nextRow * roomCols + nextCol, roomCols), MazeGrid.VISITED)) {
+                    options[optionCount++] = direction;
+                }
+            }
+            if (optionCount == 0) {
+                depth--; // Dead end: back up to the previous room
+                continue;
+            }
+
+            // Carve through the wall into a random unvisited neighbour and continue from there
+            int direction = options[random.nextInt(optionCount)];
+            int next = (roomRow + ROW_STEPS[direction]) * roomCols + roomCol + COL_STEPS[direction];
+            maze.set(2 * roomRow + 1 + ROW_STEPS[direction], 2 * roomCol + 1 + COL_STEPS[direction], MazeGrid.PATH);
+            maze.set(roomCell(maze, next, roomCols), MazeGrid.PATH | MazeGrid.VISITED);
+            stack[depth++] = next;
+        }
+
+        maze.removeFlagsEverywhere(MazeGrid.VISITED);
+        braid(maze, braid, random);
+        markSpawn(maze);
+        return maze;
+    }
+
+    /**
+     * Generates a maze with Eller's algorithm.
+     *
+     * @param rows The number of rows, at least 3.
+     * @param cols The number of columns, at least 3.
+     * @param seed The seed for the maze's layout.
+     * @param braid The fraction of dead ends to open up, from 0 (a perfect maze) to 1 (no dead ends).
+     * @return A new maze.
+     */
+    public static MazeGrid eller(int rows, int cols, long seed, float braid) {
+        checkSize(rows, cols);
+        Random random = new Random(seed);
+        final MazeGrid maze = new MazeGrid(rows, cols);
+        eller(rows, cols, random, new RowSink() {
+            @Override
+            public void onRow(int row, byte[] cells) {
+                maze.setRow(row, cells);
+            }
+        });
+        braid(maze, braid, random);
+        markSpawn(maze);
+        return maze;
+    }
+
+    /**
+     * Generates a perfect maze with Eller's algorithm and passes it to a consumer one row at a time, using
+     * memory proportional to the width of the maze only. Streamed mazes are not braided, since opening a
+     * dead end needs to see the rows around it. The rows are the same as those of
+     * {@link #eller(int, int, long, float)} with a braid factor of 0, without the spawn point.
+     *
+     * @param rows The number of rows, at least 3.
+     * @param cols The number of columns, at least 3.
+     * @param seed The seed for the maze's layout.
+     * @param sink The consumer receiving the rows.
+     */
+    public static void streamEller(int rows, int cols, long seed, RowSink sink) {
+        checkSize(rows, cols);
+        eller(rows, cols, new Random(seed), sink);
+    }
+
+    /**
+     * Runs Eller's algorithm. Every room belongs to a set of rooms already connected to each other; the sets
+     * of the current row are kept in a union-find structure over its columns. Each row randomly joins
+     * neighbouring rooms from different sets, then gives every set at least one passage down into the next
+     * row, so no set is ever cut off. The last row joins all remaining sets.
+     *
+     * @param rows The number of rows.
+     * @param cols The number of columns.
+     * @param random The random generator to use.
+     * @param sink The consumer receiving the rows.
+     */
+    private static void eller(int rows, int cols, Random random, RowSink sink) {
+        int roomRows = (rows - 1) / 2;
+        int roomCols = (cols - 1) / 2;
+        byte[] cells = new byte[cols]; // The row being emitted
+        int[] parent = new int[roomCols]; // Union-find parent of each column's set in the current row
+        int[] roots = new int[roomCols]; // Set of each column once the row is finished
+        boolean[] down = new boolean[roomCols]; // Whether each column has a passage into the next row
+        boolean[] setHasDown = new boolean[roomCols]; // Per set root, whether the set has a passage down
+        int[] lastColumn = new int[roomCols]; // Per set root, the last column of the set in the row
+        int[] firstColumn = new int[roomCols]; // Per old set root, the first column carrying it into the next row
+        for (int c = 0; c < roomCols; c++) {
+            parent[c] = c;
+        }
+
+        fillRow(cells, MazeGrid.WALL);
+        sink.onRow(0, cells);
+        for (int roomRow = 0; roomRow < roomRows; roomRow++) {
+            boolean lastRow = roomRow == roomRows - 1;
+
+            // Rooms, joined to their right-hand neighbour at random when they are in different sets
+            fillRow(cells, MazeGrid.WALL);
+            for (int c = 0; c < roomCols; c++) {
+                cells[2 * c + 1] = MazeGrid.PATH;
+            }
+            for (int c = 0; c < roomCols - 1; c++) {
+                int left = find(parent, c);
+                int right = find(parent, c + 1);
+                if (left != right && (lastRow || random.nextBoolean())) {
+                    parent[right] = left;
+                    cells[2 * c + 2] = MazeGrid.PATH;
+                }
+            }
+            sink.onRow(2 * roomRow + 1, cells);
+            if (lastRow) {
+                break;
+            }
+
+            // Passages down: some at random, then one more for any set that didn't get one
+            for (int c = 0; c < roomCols; c++) {
+                roots[c] = find(parent, c);
+                setHasDown[c] = false;
+            }
+            for (int c = 0; c < roomCols; c++) {
+                down[c] = random.nextBoolean();
+                if (down[c]) {
+                    setHasDown[roots[c]] = true;
+                }
+                lastColumn[roots[c]] = c;
+            }
+            for (int c = 0; c < roomCols; c++) {
+                int root = roots[c];
+                if (!setHasDown[root]) {
+                    down[lastColumn[root]] = true;
+                    setHasDown[root] = true;
+                }
+            }
+            fillRow(cells, MazeGrid.WALL);
+            for (int c = 0; c < roomCols; c++) {
+                if (down[c]) {
+                    cells[2 * c + 1] = MazeGrid.PATH;
+                }
+            }
+            sink.onRow(2 * roomRow + 2, cells);
+
+            // Rooms below a passage stay in the set above; the others start new sets of their own
+            for (int c = 0; c < roomCols; c++) {
+                firstColumn[c] = -1;
+            }
+            for (int c = 0; c < roomCols; c++) {
+                if (down[c]) {
+                    int root = roots[c];
+                    if (firstColumn[root] < 0) {
+                        firstColumn[root] = c;
+                    }
+                    parent[c] = firstColumn[root];
+                } else {
+                    parent[c] = c;
+                }
+            }
+        }
+
+        // Bushes below the last row of rooms
+        fillRow(cells, MazeGrid.WALL);
+        for (int row = 2 * roomRows; row < rows; row++) {
+            sink.onRow(row, cells);
+        }
+    }
+
+    /**
+     * Finds the set a column belongs to, halving the path to the root as it goes.
+     *
+     * @param parent The union-find parents.
+     * @param column The column.
+     * @return The root column of the set.
+     */
+    private static int find(int[] parent, int column) {
+        while (parent[column] != column) {
+            parent[column] = parent[parent[column]];
+            column = parent[column];
+        }
+        return column;
+    }
+
+    /**
+     * Opens up dead ends so that the maze has loops. Rooms are visited in row-major order, and each room that
+     * is a dead end is, with probability factor, connected to another neighbouring room by carving away one
+     * of its walls, chosen at random.
+     *
+     * @param maze The maze to braid, laid out as described in the class comment.
+     * @param factor The fraction of dead ends to open up, from 0 to 1.
+     * @param random The random generator to use.
+     */
+    public static void braid(MazeGrid maze, float factor, Random random) {
+        if (factor <= 0) {
+            return;
+        }
+        int roomRows = (maze.getRows() - 1) / 2;
+        int roomCols = (maze.getCols() - 1) / 2;
+        int[] options = new int[4];
+        for (int roomRow = 0; roomRow < roomRows; roomRow++) {
+            for (int roomCol = 0; roomCol < roomCols; roomCol++) {
+                int row = 2 * roomRow + 1;
+                int col = 2 * roomCol + 1;
+                int openings = 0;
+                int optionCount = 0;
+                for (int direction = 0; direction < 4; direction++) {
+                    int nextRow = roomRow + ROW_STEPS[direction];
+                    int nextCol = roomCol + COL_STEPS[direction];
+                    if (nextRow < 0 || nextRow >= roomRows || nextCol < 0 || nextCol >= roomCols) {
+                        continue;
+                    }
+                    if (maze.isWall(row + ROW_STEPS[direction], col + COL_STEPS[direction])) {
+                        options[optionCount++] = direction;
+                    } else {
+                        openings++;
+                    }
+                }
+                if (openings == 1 && optionCount > 0 && random.nextFloat() < factor) {
+                    int direction = options[random.nextInt(optionCount)];
+                    maze.set(row + ROW_STEPS[direction], col + COL_STEPS[direction], MazeGrid.PATH);
+                }
+            }
+        }
+    }
+
+    /**
+     * Marks the room nearest the middle of the maze as the spawn point.
+     *
+     * @param maze The maze.
+     */
+    private static void markSpawn(MazeGrid maze) {
+        int roomRow = ((maze.getRows() - 1) / 2 - 1) / 2;
+        int roomCol = ((maze.getCols() - 1) / 2 - 1) / 2;
+        maze.addFlags(maze.index(2 * roomRow + 1, 2 * roomCol + 1), MazeGrid.SPAWN);
+    }
+
+    /**
+     * Gets the maze cell of a room.
+     *
+     * @param maze The maze.
+     * @param room The packed room id, room row * room columns + room column.
+     * @param roomCols The number of room columns.
+     * @return The index of the room's cell in the maze.
+     */
+    private static int roomCell(MazeGrid maze, int room, int roomCols) {
+        return maze.index(2 * (room / roomCols) + 1, 2 * (room % roomCols) + 1);
+    }
+
+    /**
+     * Turns every cell of a maze into a bush.
+     *
+     * @param maze The maze.
+     */
+    private static void fillWithWalls(MazeGrid maze) {
+        for (int i = 0; i < maze.size(); i++) {
+            maze.set(i, MazeGrid.WALL);
+        }
+    }
+
+    /**
+     * Sets every cell of a row buffer to the same flags.
+     *
+     * @param cells The row buffer.
+     * @param flags The flags.
+     */
+    private static void fillRow(byte[] cells, int flags) {
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = (byte) flags;
+        }
+    }
+
+    /**
+     * Checks that a maze is large enough to hold at least one room.
+     *
+     * @param rows The number of rows.
+     * @param cols The number of columns.
+     */
+    private static void checkSize(int rows, int cols) {
+        if (rows < 3 || cols < 3) {
+            throw new IllegalArgumentException("Generated mazes need at least 3 rows and 3 columns");
+        }
+    }
+}
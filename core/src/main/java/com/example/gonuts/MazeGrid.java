@@ -0,0 +1,289 @@
+package com.example.gonuts;
+
+import java.util.Arrays;
+
+/**
+ * The maze as a single flat byte array in row-major order, one byte of flags per cell. Compared to a grid of
+ * separately allocated int rows this uses a quarter of the memory, keeps neighbouring cells next to each other
+ * for scans and path searches, and lets the maze be any size chosen at runtime.
+ *
+ * A cell with no flags is an open path. Cells can be addressed by row and column or by their packed index
+ * (row * columns + column), which is what the scanning code and the indices built on top of the maze use.
+ */
+public final class MazeGrid {
+    public static final int PATH = 0; // An open cell with nothing on it
+    public static final int WALL = 1; // A bush
+    public static final int ACORN = 1 << 1; // An acorn waiting to be collected
+    public static final int VISITED = 1 << 2; // Scratch mark for generators and searches
+    public static final int SPAWN = 1 << 3; // A place where a character may start
+    public static final int DOOR = 1 << 4; // A passage between areas of the maze
+
+    private final int rows, cols; // Size of the maze, in cells
+    private final byte[] cells; // Flags of every cell, row by row
+
+    /**
+     * Constructs a MazeGrid of open paths.
+     *
+     * @param rows The number of rows.
+     * @param cols The number of columns.
+     */
+    public MazeGrid(int rows, int cols) {
+        if (rows < 1 || cols < 1) {
+            throw new IllegalArgumentException("A maze needs at least one cell");
+        }
+        this.rows = rows;
+        this.cols = cols;
+        cells = new byte[rows * cols];
+    }
+
+    /**
+     * Creates a MazeGrid from a grid of cell flags, such as a layout written out as rows of 0s (paths),
+     * 1s (walls) and 2s (acorns).
+     *
+     * @param values The flags of every cell, one array per row; all rows must have the same length.
+     * @return A new maze with those cells.
+     */
+    public static MazeGrid fromRows(int[][] values) {
+        MazeGrid maze = new MazeGrid(values.length, values[0].length);
+        for (int i = 0; i < maze.rows; i++) {
+            if (values[i].length != maze.cols) {
+                throw new IllegalArgumentException("Row " + i + " has " + values[i].length + " cells, expected "
+                        + maze.cols);
+            }
+            for (int j = 0; j < maze.cols; j++) {
+                maze.cells[i * maze.cols + j] = (byte) values[i][j];
+            }
+        }
+        return maze;
+    }
+
+    /**
+     * Gets the number of rows.
+     *
+     * @return The row count.
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Gets the number of columns.
+     *
+     * @return The column count.
+     */
+    public int getCols() {
+        return cols;
+    }
+
+    /**
+     * Gets the number of cells.
+     *
+     * @return rows * cols.
+     */
+    public int size() {
+        return cells.length;
+    }
+
+    /**
+     * Packs a cell's row and column into its index.
+     *
+     * @param row The row of the cell.
+     * @param col The column of the cell.
+     * @return The cell's index.
+     */
+    public int index(int row, int col) {
+        return row * cols + col;
+    }
+
+    /**
+     * Gets the row of a cell index.
+     *
+     * @param index The cell's index.
+     * @return The row of the cell.
+     */
+    public int rowOf(int index) {
+        return index / cols;
+    }
+
+    /**
+     * Gets the column of a cell index.
+     *
+     * @param index The cell's index.
+     * @return The column of the cell.
+     */
+    public int colOf(int index) {
+        return index % cols;
+    }
+
+    /**
+     * Checks whether a cell lies within the maze.
+     *
+     * @param row The row of the cell.
+     * @param col The column of the cell.
+     * @return true if the cell is inside the maze bounds.
+     */
+    public boolean isInside(int row, int col) {
+        return row >= 0 && row < rows && col >= 0 && col < cols;
+    }
+
+    /**
+     * Gets the flags of a cell.
+     *
+     * @param row The row of the cell.
+     * @param col The column of the cell.
+     * @return The cell's flags, such as WALL or ACORN.
+     */
+    public int get(int row, int col) {
+        return cells[row * cols + col];
+    }
+
+    /**
+     * Gets the flags of a cell by index.
+     *
+     * @param index The cell's index.
+     * @return The cell's flags.
+     */
+    public int get(int index) {
+        return cells[index];
+    }
+
+    /**
+     * Replaces the flags of a cell.
+     *
+     * @param row The row of the cell.
+     * @param col The column of the cell.
+     * @param flags The new flags.
+     */
+    public void set(int row, int col, int flags) {
+        cells[row * cols + col] = (byte) flags;
+    }
+
+    /**
+     * Replaces the flags of a cell by index.
+     *
+     * @param index The cell's index.
+     * @param flags The new flags.
+     */
+    public void set(int index, int flags) {
+        cells[index] = (byte) flags;
+    }
+
+    /**
+     * Replaces the flags of a whole row at once.
+     *
+     * @param row The row to replace.
+     * @param flags The new flags of every cell in the row, at least getCols() of them.
+     */
+    public void setRow(int row, byte[] flags) {
+        System.arraycopy(flags, 0, cells, row * cols, cols);
+    }
+
+    /**
+     * Replaces the flags of a run of consecutive cells, in row-major order.
+     *
+     * @param from The index of the first cell, inclusive.
+     * @param to The index of the last cell, exclusive.
+     * @param flags The new flags.
+     */
+    public void fill(int from, int to, int flags) {
+        Arrays.fill(cells, from, to, (byte) flags);
+    }
+
+    /**
+     * Checks whether a cell is a wall.
+     *
+     * @param row The row of the cell.
+     * @param col The column of the cell.
+     * @return true if the cell is a bush.
+     */
+    public boolean isWall(int row, int col) {
+        return (cells[row * cols + col] & WALL) != 0;
+    }
+
+    /**
+     * Checks whether a cell is a wall, by index.
+     *
+     * @param index The cell's index.
+     * @return true if the cell is a bush.
+     */
+    public boolean isWall(int index) {
+        return (cells[index] & WALL) != 0;
+    }
+
+    /**
+     * Checks whether a cell holds an acorn.
+     *
+     * @param row The row of the cell.
+     * @param col The column of the cell.
+     * @return true if there is an acorn in the cell.
+     */
+    public boolean hasAcorn(int row, int col) {
+        return (cells[row * cols + col] & ACORN) != 0;
+    }
+
+    /**
+     * Checks whether a cell has all of the given flags.
+     *
+     * @param index The cell's index.
+     * @param flags The flags to check.
+     * @return true if every one of the flags is set.
+     */
+    public boolean has(int index, int flags) {
+        return (cells[index] & flags) == flags;
+    }
+
+    /**
+     * Sets flags on a cell, keeping its other flags.
+     *
+     * @param index The cell's index.
+     * @param flags The flags to set.
+     */
+    public void addFlags(int index, int flags) {
+        cells[index] |= flags;
+    }
+
+    /**
+     * Clears flags on a cell, keeping its other flags.
+     *
+     * @param index The cell's index.
+     * @param flags The flags to clear.
+     */
+    public void removeFlags(int index, int flags) {
+        cells[index] &= ~flags;
+    }
+
+    /**
+     * Clears flags on every cell, for example the VISITED marks left by a search.
+     *
+     * @param flags The flags to clear.
+     */
+    public void removeFlagsEverywhere(int flags) {
+        byte mask = (byte) ~flags;
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] &= mask;
+        }
+    }
+
+    /**
+     * Overwrites every cell with the cells of another maze of the same size.
+     *
+     * @param other The maze to copy from.
+     */
+    public void copyFrom(MazeGrid other) {
+        if (other.rows != rows || other.cols != cols) {
+            throw new IllegalArgumentException("Mazes differ in size");
+        }
+        System.arraycopy(other.cells, 0, cells, 0, cells.length);
+    }
+
+    /**
+     * Creates an independent copy of this maze.
+     *
+     * @return A new maze with the same cells.
+     */
+    public MazeGrid copy() {
+        MazeGrid copy = new MazeGrid(rows, cols);
+        copy.copyFrom(this);
+        return copy;
+    }
+}
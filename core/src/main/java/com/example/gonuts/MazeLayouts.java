@@ -0,0 +1,56 @@
+package com.example.gonuts;
+
+/**
+ * Provides the built-in maze layouts. Layouts are written as rows of cell flags, where walls (bushes) are
+ * represented by 1s ({@link MazeGrid#WALL}) and open paths by 0s.
+ */
+public final class MazeLayouts {
+
+    /**
+     * Not instantiable; all layouts are static factories.
+     */
+    private MazeLayouts() {
+    }
+
+    /**
+     * Creates the original 19x19 maze, without acorns.
+     *
+     * @return A new copy of the layout that the caller may modify.
+     */
+    public static MazeGrid classic() {
+        // Hardcoded grid representing the maze layout
+        return MazeGrid.fromRows(new int[][] {
+                {1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1},
+                {1,0,0,0,0,0,0,0,0,1,0,0,0,0,0,0,0,0,1},
+                {1,0,1,1,0,1,1,1,0,1,0,1,1,1,0,1,1,0,1},
+                {1,0,1,1,0,1,1,1,0,1,0,1,1,1,0,1,1,0,1},
+                {1,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,1},
+                {1,0,1,1,0,1,0,1,1,1,1,1,0,1,0,1,1,0,1},
+                {1,0,0,0,0,1,0,0,0,1,0,0,0,1,0,0,0,0,1},
+                {1,0,0,1,0,1,1,1,0,1,0,1,1,1,0,1,0,0,1},
+                {1,0,1,1,0,1,0,0,0,0,0,0,0,1,0,1,1,0,1},
+                {1,0,0,0,0,1,0,0,0,0,0,0,0,1,0,0,0,0,1},
+                {1,0,1,1,0,0,0,0,0,0,0,0,0,0,0,1,1,0,1},
+                {1,0,0,1,0,1,0,1,1,1,1,1,0,1,0,1,0,0,1},
+                {1,0,0,0,0,0,0,0,0,1,0,0,0,0,0,0,0,0,1},
+                {1,0,1,1,0,1,1,1,0,1,0,1,1,1,0,1,1,0,1},
+                {1,0,0,1,0,0,0,0,0,0,0,0,0,0,0,1,0,0,1},
+                {1,1,0,0,0,1,0,1,1,1,1,1,0,1,0,0,0,1,1},
+                {1,0,0,1,1,1,0,0,0,1,0,0,0,1,1,1,0,0,1},
+                {1,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,1},
+                {1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1}
+        });
+    }
+
+    /**
+     * Creates the original game as a level: the classic maze with random acorns, the squirrel starting in
+     * the middle and the fox at its default pace.
+     *
+     * @return A new level.
+     */
+    public static Level classicLevel() {
+        MazeGrid maze = classic();
+        maze.addFlags(maze.index(maze.getRows() / 2, maze.getCols() / 2), MazeGrid.SPAWN);
+        return new Level(maze, GameWorld.FOX_RESPAWN_TICKS, GameWorld.FOX_SHOOT_TICKS, true);
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.gonuts;
+
+/**
+ * Moves entities along their velocities and stops those that fly into the bushes. Works on every table of an
+ * {@link EntityStore} with the components it needs, one dense array at a time.
+ */
+public final class MovementSystem {
+
+    /**
+     * Not instantiable; the system is a set of static passes over entity tables.
+     */
+    private MovementSystem() {
+    }
+
+    /**
+     * Records the current position of every entity that is moved by other systems or by commands, such as the
+     * squirrel and the foxes, as the starting point of the tick for render interpolation. Entities with a
+     * velocity record theirs when they move.
+     *
+     * @param store The entity store.
+     */
+    public static void storePreviousPositions(EntityStore store) {
+        for (int t = 0; t < store.getTableCount(); t++) {
+            EntityTable table = store.getTable(t);
+            if (table.has(EntityTable.POSITION) && !table.has(EntityTable.VELOCITY)) {
+                System.arraycopy(table.x, 0, table.prevX, 0, table.count);
+                System.arraycopy(table.y, 0, table.prevY, 0, table.count);
+            }
+        }
+    }
+
+    /**
+     * Moves every entity with a velocity by one tick, then kills those with WALL_SWEEP that crossed a wall
+     * cell or left the maze.
+     *
+     * @param store The entity store.
+     * @param maze The maze grid.
+     */
+    public static void move(EntityStore store, MazeGrid maze) {
+        for (int t = 0; t < store.getTableCount(); t++) {
+            EntityTable table = store.getTable(t);
+            if (table.has(EntityTable.VELOCITY)) {
+                integrate(table);
+            }
+            if (table.has(EntityTable.WALL_SWEEP)) {
+                sweepWalls(table, maze);
+            }
+        }
+    }
+
+    /**
+     * Advances every entity of a table with a velocity by one tick.
+     *
+     * @param table The table, which must have POSITION and VELOCITY.
+     */
+    public static void integrate(EntityTable table) {
+        float[] x = table.x;
+        float[] y = table.y;
+        float[] prevX = table.prevX;
+        float[] prevY = table.prevY;
+        float[] velocityX = table.velocityX;
+        float[] velocityY = table.velocityY;
+        for (int i = 0; i < table.count; i++) {
+            prevX[i] = x[i];
+            prevY[i] = y[i];
+            x[i] += velocityX[i];
+            y[i] += velocityY[i];
+        }
+    }
+
+    /**
+     * Kills every entity of a table whose movement during the last tick crossed a wall cell or left the maze.
+     * Each entity's path from its previous to its current position is walked cell by cell, so fast entities
+     * cannot skip over a wall between two ticks. Entities start out inside the bushes they are fired from,
+     * so walls only stop them once they have reached an open cell.
+     *
+     * @param table The table, which must have POSITION and WALL_SWEEP.
+     * @param maze The maze grid.
+     */
+    public static void sweepWalls(EntityTable table, MazeGrid maze) {
+        for (int i = 0; i < table.count; i++) {
+            if (table.alive[i] && sweepHitsWall(table, i, maze)) {
+                table.kill(i);
+            }
+        }
+    }
+
+    /**
+     * Walks the cells an entity passed through during the last tick, in order, using the grid traversal of
+     * Amanatides and Woo. Marks the entity as clear of walls once it reaches an open cell.
+     *
+     * @param table The entity's table.
+     * @param row The row of the entity.
+     * @param maze The maze grid.
+     * @return true if the entity left the maze, or hit a wall after it was clear of walls.
+     */
+    private static boolean sweepHitsWall(EntityTable table, int row, MazeGrid maze) {
+        // Shift by half a cell so that cells are the unit squares [col, col + 1) x [row, row + 1)
+        float startX = table.prevX[row] + 0.5f;
+        float startY = table.prevY[row] + 0.5f;
+        float dx = table.x[row] + 0.5f - startX;
+        float dy = table.y[row] + 0.5f - startY;
+        int col = (int) Math.floor(startX);
+        int cellRow = (int) Math.floor(startY);
+        int endCol = (int) Math.floor(startX + dx);
+        int endRow = (int) Math.floor(startY + dy);
+
+        int stepCol = dx > 0 ? 1 : -1;
+        int stepRow = dy > 0 ? 1 : -1;
+        // Distance along the path, as a fraction of it, to the next column and row boundary and between them
+        float colDeltaT = dx == 0 ? Float.POSITIVE_INFINITY : 1 / Math.abs(dx);
+        float rowDeltaT = dy == 0 ? Float.POSITIVE_INFINITY : 1 / Math.abs(dy);
+        float nextColT = dx == 0 ? Float.POSITIVE_INFINITY
+                : (dx > 0 ? col + 1 - startX : startX - col) * colDeltaT;
+        float nextRowT = dy == 0 ? Float.POSITIVE_INFINITY
+                : (dy > 0 ? cellRow + 1 - startY : startY - cellRow) * rowDeltaT;
+
+        int steps = Math.abs(endCol - col) + Math.abs(endRow - cellRow);
+        for (int step = 0; ; step++) {
+            if (!maze.isInside(cellRow, col)) {
+                return true; // Left the maze
+            }
+            if (maze.isWall(cellRow, col)) {
+                if (table.clearOfWalls[row]) {
+                    return true;
+                }
+            } else {
+                table.clearOfWalls[row] = true;
+            }
+            if (step == steps) {
+                return false;
+            }
+            if (nextColT < nextRowT) {
+                col += stepCol;
+                nextColT += colDeltaT;
+            } else {
+                cellRow += stepRow;
+                nextRowT += rowDeltaT;
+            }
+        }
+    }
+}
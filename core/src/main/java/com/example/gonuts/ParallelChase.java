@@ -0,0 +1,162 @@
+package com.example.gonuts;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Runs the foxes' AI across the cores of a {@link ForkJoinPool}. Each tick is split into two phases. In the
+ * decision phase the rows of each table with a STEERING component are cut into batches, and workers decide
+ * every entity's next cell with {@link ChaseSystem#decide} into an array of intents. Nothing writes to the
+ * tables or the flow field while it runs, so the world itself serves as the read-only snapshot. In the
+ * movement phase the game thread applies the intents in row order with {@link ChaseSystem#follow}.
+ *
+ * Every intent depends only on its own entity and the field, and the intents are applied in the same order
+ * whatever thread decided them, so the result is bit-identical to {@link ChaseSystem#update} however the
+ * batches are scheduled. Tables with fewer than two batches' worth of rows are decided on the calling thread,
+ * where handing them to the pool would cost more than it saves. The batch tasks are allocated once and
+ * reinitialized every tick.
+ *
+ * A ParallelChase is driven by one thread at a time, like the world it belongs to.
+ */
+public class ParallelChase {
+    public static final int DEFAULT_BATCH_SIZE = 256; // Rows decided by one task
+
+    private final ForkJoinPool pool; // Workers deciding the batches
+    private final int batchSize; // Rows decided by one task
+    private int[] intents = new int[0]; // Cell each entity heads for, indexed by row, grown to the largest table
+    private Batch[] batches = new Batch[0]; // Decision tasks, one per batch of rows
+    private final Decision decision = new Decision(); // Task forking the batches of one table
+    private EntityTable table; // Table being decided
+    private FlowField field; // Flow field the table is decided with
+    private int batchCount; // Number of batches the table is cut into
+
+    /**
+     * Constructs a ParallelChase with the default batch size.
+     *
+     * @param pool The pool to decide batches on.
+     */
+    public ParallelChase(ForkJoinPool pool) {
+        this(pool, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Constructs a ParallelChase.
+     *
+     * @param pool The pool to decide batches on.
+     * @param batchSize The number of rows decided by one task.
+     */
+    public ParallelChase(ForkJoinPool pool, int batchSize) {
+        if (pool == null) {
+            throw new IllegalArgumentException("A pool is required");
+        }
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        this.pool = pool;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Runs every live entity with a STEERING component after the target of a flow field for one tick, with
+     * the same result as {@link ChaseSystem#update}.
+     *
+     * @param store The entity store.
+     * @param field The flow field, already updated to lead to the target's cell.
+     * @param speed The distance each entity runs per tick, in cells.
+     */
+    public void update(EntityStore store, FlowField field, float speed) {
+        for (int t = 0; t < store.getTableCount(); t++) {
+            EntityTable steering = store.getTable(t);
+            if (!steering.has(EntityTable.STEERING)) {
+                continue;
+            }
+            decide(steering, field);
+            ChaseSystem.follow(steering, intents, field, speed);
+        }
+    }
+
+    /**
+     * Decides the next cell of every entity in a table, on the pool if the table holds at least two batches.
+     *
+     * @param steering The table, which must have STEERING.
+     * @param flow The flow field.
+     */
+    private void decide(EntityTable steering, FlowField flow) {
+        int count = steering.getCount();
+        if (intents.length < steering.getCapacity()) {
+            intents = new int[steering.getCapacity()];
+        }
+        if (count < 2 * batchSize) {
+            ChaseSystem.decide(steering, 0, count, flow, intents);
+            return;
+        }
+
+        batchCount = (count + batchSize - 1) / batchSize;
+        if (batches.length < batchCount) {
+            Batch[] grown = new Batch[(steering.getCapacity() + batchSize - 1) / batchSize];
+            for (int i = 0; i < grown.length; i++) {
+                grown[i] = i < batches.length ? batches[i] : new Batch();
+            }
+            batches = grown;
+        }
+        for (int i = 0; i < batchCount; i++) {
+            batches[i].from = i * batchSize;
+            batches[i].to = Math.min(count, (i + 1) * batchSize);
+        }
+        table = steering;
+        field = flow;
+        decision.reinitialize();
+        pool.invoke(decision);
+        table = null;
+        field = null;
+    }
+
+    /**
+     * Gets the number of rows decided by one task.
+     *
+     * @return The batch size.
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Forks the batches of the table being decided and waits for all of them.
+     */
+    @SuppressWarnings("serial") // Never serialized
+    private class Decision extends RecursiveAction {
+
+        /**
+         * Decides the first batch on this worker while the others are stolen by the rest of the pool.
+         */
+        @Override
+        protected void compute() {
+            for (int i = 1; i < batchCount; i++) {
+                batches[i].reinitialize();
+                batches[i].fork();
+            }
+            batches[0].reinitialize();
+            batches[0].invoke();
+            for (int i = 1; i < batchCount; i++) {
+                batches[i].join();
+            }
+        }
+    }
+
+    /**
+     * Decides one batch of rows of the table being decided.
+     */
+    @SuppressWarnings("serial") // Never serialized
+    private class Batch extends RecursiveAction {
+        private int from; // First row of the batch
+        private int to; // Row after the last one of the batch
+
+        /**
+         * Decides the batch's rows.
+         */
+        @Override
+        protected void compute() {
+            ChaseSystem.decide(table, from, to, field, intents);
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package com.example.gonuts;
+
+/**
+ * Finds shortest paths through the open cells of a maze with A*, moving between the four neighbours of a cell
+ * at a cost of 1 per step and guided by the Manhattan distance to the goal.
+ *
+ * Every search reuses the same preallocated arrays, one entry per maze cell: the cost of the best known route
+ * to each cell, the cell it was reached from, and an indexed binary heap of cell ids ordered by estimated
+ * total cost. Instead of clearing these arrays before each search, every cell records the number of the
+ * search that last touched it, and entries from older searches are treated as unset. A search therefore
+ * allocates nothing and costs only the cells it actually visits, so it can run every tick.
+ *
+ * The start cell may be a wall, so that the fox can leave the bush it is hiding in; every other cell on a
+ * path, including the goal, is open. Walls are read from the maze on every search, so changes to the maze
+ * are picked up without any invalidation. On large mazes made mostly of corridors, {@link CorridorGraph}
+ * answers the same queries with far fewer expansions.
+ */
+public class PathFinder implements PathSearch {
+    private static final int NOT_IN_HEAP = -1; // Heap position of a cell that is not waiting to be expanded
+
+    private final MazeGrid maze; // The maze being searched
+    private final int[] gScores; // Cost of the best known route from the start to each cell
+    private final int[] fScores; // gScore plus the estimated remaining cost to the goal
+    private final int[] parents; // Cell each cell was reached from on its best known route
+    private final int[] generations; // Number of the search that last touched each cell
+    private final boolean[] closed; // Whether a cell has been expanded; valid for the current generation only
+    private final int[] heap; // Cells waiting to be expanded, as a binary min-heap on fScore
+    private final int[] heapPositions; // Position of each cell in the heap, or NOT_IN_HEAP
+    private final int[] path; // The last path found, from start to goal
+    private int heapSize; // Number of cells in the heap
+    private int pathLength; // Number of cells in the last path found, or 0 if there was none
+    private int generation; // Number of the current search
+    private int expanded; // Number of cells expanded by the last search
+
+    /**
+     * Constructs a PathFinder for a maze, allocating all of the memory its searches will need.
+     *
+     * @param maze The maze grid.
+     */
+    public PathFinder(MazeGrid maze) {
+        this.maze = maze;
+        int size = maze.size();
+        gScores = new int[size];
+        fScores = new int[size];
+        parents = new int[size];
+        generations = new int[size];
+        closed = new boolean[size];
+        heap = new int[size];
+        heapPositions = new int[size];
+        path = new int[size];
+    }
+
+    /**
+     * Searches for a shortest path between two cells. The path can then be read with getPathLength() and
+     * getPathCell().
+     *
+     * @param start The packed id of the cell to start from.
+     * @param goal The packed id of the cell to reach.
+     * @return true if a path was found.
+     */
+    @Override
+    public boolean search(int start, int goal) {
+        nextGeneration();
+        heapSize = 0;
+        pathLength = 0;
+        expanded = 0;
+        if (maze.isWall(goal)) {
+            return false;
+        }
+
+        int cols = maze.getCols();
+        int goalRow = maze.rowOf(goal);
+        int goalCol = maze.colOf(goal);
+        touch(start);
+        gScores[start] = 0;
+        fScores[start] = Math.abs(maze.rowOf(start) - goalRow) + Math.abs(maze.colOf(start) - goalCol);
+        parents[start] = -1;
+        push(start);
+
+        while (heapSize > 0) {
+            int cell = pop();
+            if (cell == goal) {
+                buildPath(goal);
+                return true;
+            }
+            closed[cell] = true;
+            expanded++;
+
+            int row = cell / cols;
+            int col = cell - row * cols;
+            int g = gScores[cell] + 1;
+            // Up, down, left and right, skipping neighbours outside the maze
+            if (row > 0) {
+                relax(cell, cell - cols, g, row - 1, col, goalRow, goalCol);
+            }
+            if (row < maze.getRows() - 1) {
+                relax(cell, cell + cols, g, row + 1, col, goalRow, goalCol);
+            }
+            if (col > 0) {
+                relax(cell, cell - 1, g, row, col - 1, goalRow, goalCol);
+            }
+            if (col < cols - 1) {
+                relax(cell, cell + 1, g, row, col + 1, goalRow, goalCol);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Offers a neighbour a route through the cell being expanded, keeping it if it is better than the best
+     * route known so far.
+     *
+     * @param from The cell being expanded.
+     * @param cell The neighbouring cell.
+     * @param g The cost of reaching the neighbour through from.
+     * @param row The row of the neighbour.
+     * @param col The column of the neighbour.
+     * @param goalRow The row of the goal.
+     * @param goalCol The column of the goal.
+     */
+    private void relax(int from, int cell, int g, int row, int col, int goalRow, int goalCol) {
+        if (maze.isWall(cell)) {
+            return;
+        }
+        if (generations[cell] != generation) {
+            touch(cell);
+        } else if (closed[cell] || g >= gScores[cell]) {
+            return;
+        }
+        gScores[cell] = g;
+        fScores[cell] = g + Math.abs(row - goalRow) + Math.abs(col - goalCol);
+        parents[cell] = from;
+        if (heapPositions[cell] == NOT_IN_HEAP) {
+            push(cell);
+        } else {
+            siftUp(heapPositions[cell]);
+        }
+    }
+
+    /**
+     * Resets a cell's entries for the current search.
+     *
+     * @param cell The cell.
+     */
+    private void touch(int cell) {
+        generations[cell] = generation;
+        closed[cell] = false;
+        heapPositions[cell] = NOT_IN_HEAP;
+    }
+
+    /**
+     * Starts a new search generation, clearing the generation stamps only when the counter wraps around.
+     */
+    private void nextGeneration() {
+        generation++;
+        if (generation == Integer.MAX_VALUE) {
+            for (int i = 0; i < generations.length; i++) {
+                generations[i] = 0;
+            }
+            generation = 1;
+        }
+    }
+
+    /**
+     * Follows the parents back from the goal and stores the path from start to goal.
+     *
+     * @param goal The goal cell.
+     */
+    private void buildPath(int goal) {
+        pathLength = gScores[goal] + 1;
+        int cell = goal;
+        for (int i = pathLength - 1; i >= 0; i--) {
+            path[i] = cell;
+            cell = parents[cell];
+        }
+    }
+
+    /**
+     * Checks whether one cell should come out of the heap before another: lower fScore first, and between
+     * equal fScores the one further from the start, which is closer to the goal and cuts down the number of
+     * equally good cells that get expanded.
+     *
+     * @param a The first cell.
+     * @param b The second cell.
+     * @return true if a comes first.
+     */
+    private boolean before(int a, int b) {
+        return fScores[a] < fScores[b] || fScores[a] == fScores[b] && gScores[a] > gScores[b];
+    }
+
+    /**
+     * Adds a cell to the heap.
+     *
+     * @param cell The cell.
+     */
+    private void push(int cell) {
+        heap[heapSize] = cell;
+        heapPositions[cell] = heapSize;
+        siftUp(heapSize++);
+    }
+
+    /**
+     * Removes the first cell from the heap.
+     *
+     * @return The cell with the lowest fScore.
+     */
+    private int pop() {
+        int first = heap[0];
+        heapPositions[first] = NOT_IN_HEAP;
+        int last = heap[--heapSize];
+        if (heapSize > 0) {
+            heap[0] = last;
+            heapPositions[last] = 0;
+            siftDown(0);
+        }
+        return first;
+    }
+
+    /**
+     * Moves a heap entry up until its parent comes before it.
+     *
+     * @param position The position of the entry.
+     */
+    private void siftUp(int position) {
+        int cell = heap[position];
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            int parentCell = heap[parent];
+            if (!before(cell, parentCell)) {
+                break;
+            }
+            heap[position] = parentCell;
+            heapPositions[parentCell] = position;
+            position = parent;
+        }
+        heap[position] = cell;
+        heapPositions[cell] = position;
+    }
+
+    /**
+     * Moves a heap entry down until it comes before both of its children.
+     *
+     * @param position The position of the entry.
+     */
+    private void siftDown(int position) {
+        int cell = heap[position];
+        while (true) {
+            int child = 2 * position + 1;
+            if (child >= heapSize) {
+                break;
+            }
+            if (child + 1 < heapSize && before(heap[child + 1], heap[child])) {
+                child++;
+            }
+            int childCell = heap[child];
+            if (!before(childCell, cell)) {
+                break;
+            }
+            heap[position] = childCell;
+            heapPositions[childCell] = position;
+            position = child;
+        }
+        heap[position] = cell;
+        heapPositions[cell] = position;
+    }
+
+    /**
+     * Gets the number of cells on the last path found.
+     *
+     * @return The number of cells including the start and the goal, or 0 if the last search found no path.
+     */
+    @Override
+    public int getPathLength() {
+        return pathLength;
+    }
+
+    /**
+     * Gets a cell on the last path found.
+     *
+     * @param index The position along the path, from 0 (the start) to getPathLength() - 1 (the goal).
+     * @return The packed id of the cell.
+     */
+    @Override
+    public int getPathCell(int index) {
+        return path[index];
+    }
+
+    /**
+     * Gets the number of cells the last search expanded, a measure of how much work it did.
+     *
+     * @return The number of expanded cells.
+     */
+    @Override
+    public int getExpandedCount() {
+        return expanded;
+    }
+
+    /**
+     * Gets the maze being searched.
+     *
+     * @return The maze grid.
+     */
+    @Override
+    public MazeGrid getMaze() {
+        return maze;
+    }
+}
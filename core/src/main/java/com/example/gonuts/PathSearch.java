@@ -0,0 +1,49 @@
+package com.example.gonuts;
+
+/**
+ * Finds shortest paths between cells of a maze, moving between the four neighbours of a cell at a cost of 1
+ * per step. The start cell may be a wall, so that the fox can leave the bush it is hiding in; every other cell
+ * on a path, including the goal, is open. Implementations reuse their memory between searches, so a path
+ * stays valid only until the next search.
+ */
+public interface PathSearch {
+
+    /**
+     * Searches for a shortest path between two cells. The path can then be read with getPathLength() and
+     * getPathCell().
+     *
+     * @param start The packed id of the cell to start from.
+     * @param goal The packed id of the cell to reach.
+     * @return true if a path was found.
+     */
+    boolean search(int start, int goal);
+
+    /**
+     * Gets the number of cells on the last path found.
+     *
+     * @return The number of cells including the start and the goal, or 0 if the last search found no path.
+     */
+    int getPathLength();
+
+    /**
+     * Gets a cell on the last path found.
+     *
+     * @param index The position along the path, from 0 (the start) to getPathLength() - 1 (the goal).
+     * @return The packed id of the cell.
+     */
+    int getPathCell(int index);
+
+    /**
+     * Gets the number of places the last search expanded, a measure of how much work it did.
+     *
+     * @return The number of expanded cells or graph nodes.
+     */
+    int getExpandedCount();
+
+    /**
+     * Gets the maze being searched.
+     *
+     * @return The maze grid.
+     */
+    MazeGrid getMaze();
+}
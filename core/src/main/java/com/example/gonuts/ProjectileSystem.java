@@ -0,0 +1,246 @@
+package com.example.gonuts;
+
+/**
+ * Stores every projectile in flight in preallocated parallel arrays, one per attribute, instead of one object
+ * per projectile; the arrays are the projectile archetype's {@link EntityTable}, which the world's systems
+ * move, collide and draw along with the other entities. Live projectiles always occupy indices 0 to
+ * getCount() - 1: a removed projectile is replaced by the last one in the arrays, so removal is O(1) and
+ * nothing is allocated while the game runs. Positions and velocities are in maze cell units, and each
+ * projectile remembers where it was at the start of the tick so that it can be drawn smoothly between ticks.
+ *
+ * Indices are only stable until the next call to {@link #removeDead()}, so they must not be kept across ticks.
+ *
+ * A projectile's cell is the one its position rounds to, the same convention the world uses for the squirrel
+ * and the acorns. Projectiles are fired from inside the bushes the fox hides in, so a projectile only starts
+ * colliding with walls once it has reached an open cell.
+ */
+public class ProjectileSystem {
+    public static final float SPEED = 0.15f; // Distance travelled per simulation tick, in cells
+    public static final int OWNER_NONE = -1; // Owner of projectiles not fired by an enemy, e.g. replayed ones
+    public static final int COMPONENTS = EntityTable.POSITION | EntityTable.VELOCITY | EntityTable.OWNER
+            | EntityTable.WALL_SWEEP; // Components of the projectile archetype
+
+    private final EntityTable table; // Position, velocity, owner and wall state of every projectile
+
+    /**
+     * Constructs an empty ProjectileSystem.
+     *
+     * @param capacity The maximum number of projectiles that can be in flight at once.
+     */
+    public ProjectileSystem(int capacity) {
+        this(new EntityTable(CollisionGrid.KIND_PROJECTILE, COMPONENTS, capacity));
+    }
+
+    /**
+     * Constructs a ProjectileSystem over an empty table of the projectile archetype.
+     *
+     * @param table The table, which must have every one of COMPONENTS.
+     */
+    ProjectileSystem(EntityTable table) {
+        if (!table.has(COMPONENTS)) {
+            throw new IllegalArgumentException("The table lacks projectile components");
+        }
+        this.table = table;
+    }
+
+    /**
+     * Adds a projectile with an explicit velocity.
+     *
+     * @param startX The starting x-coordinate.
+     * @param startY The starting y-coordinate.
+     * @param vx The distance moved along the x-axis per simulation tick.
+     * @param vy The distance moved along the y-axis per simulation tick.
+     * @param owner The id of the enemy firing the projectile, or OWNER_NONE.
+     * @return The index of the new projectile, or -1 if the system is full.
+     */
+    public int spawn(float startX, float startY, float vx, float vy, int owner) {
+        int index = table.add();
+        if (index < 0) {
+            return -1;
+        }
+        table.place(index, startX, startY);
+        table.velocityX[index] = vx;
+        table.velocityY[index] = vy;
+        table.owners[index] = owner;
+        return index;
+    }
+
+    /**
+     * Adds a projectile travelling at SPEED from a starting point towards a target point.
+     *
+     * @param startX The x-coordinate the projectile is fired from.
+     * @param startY The y-coordinate the projectile is fired from.
+     * @param targetX The x-coordinate the projectile is aimed at.
+     * @param targetY The y-coordinate the projectile is aimed at.
+     * @param owner The id of the enemy firing the projectile, or OWNER_NONE.
+     * @return The index of the new projectile, or -1 if the system is full.
+     */
+    public int spawnAimed(float startX, float startY, float targetX, float targetY, int owner) {
+        // Normalize the direction so every projectile travels at the same speed
+        float dx = targetX - startX;
+        float dy = targetY - startY;
+        float length = (float) Math.sqrt(dx * dx + dy * dy);
+        if (length == 0) {
+            return spawn(startX, startY, 0, 0, owner);
+        }
+        return spawn(startX, startY, dx / length * SPEED, dy / length * SPEED, owner);
+    }
+
+    /**
+     * Advances every projectile by one simulation tick.
+     */
+    public void update() {
+        MovementSystem.integrate(table);
+    }
+
+    /**
+     * Kills every projectile whose movement during the last update crossed a wall cell or left the maze. Each
+     * projectile's path from its previous to its current position is walked cell by cell, so fast projectiles
+     * cannot skip over a wall between two ticks.
+     *
+     * @param maze The maze grid.
+     */
+    public void collideWithWalls(MazeGrid maze) {
+        MovementSystem.sweepWalls(table, maze);
+    }
+
+    /**
+     * Checks whether a projectile is close enough to a target to count as a hit.
+     *
+     * @param index The index of the projectile.
+     * @param targetX The x-coordinate of the target.
+     * @param targetY The y-coordinate of the target.
+     * @param targetSize The size of the target.
+     * @return true if the projectile is alive and within targetSize of the target.
+     */
+    public boolean checkCollision(int index, float targetX, float targetY, float targetSize) {
+        float dx = table.x[index] - targetX;
+        float dy = table.y[index] - targetY;
+        return table.alive[index] && dx * dx + dy * dy < targetSize * targetSize;
+    }
+
+    /**
+     * Marks a projectile for removal. It stays at its index, but is no longer alive, until removeDead is
+     * called, so killing projectiles while looping over them is safe.
+     *
+     * @param index The index of the projectile.
+     */
+    public void kill(int index) {
+        table.kill(index);
+    }
+
+    /**
+     * Removes every killed projectile by moving the last projectile into its place. This changes the indices
+     * of the projectiles that are moved.
+     */
+    public void removeDead() {
+        table.removeDead();
+    }
+
+    /**
+     * Removes every projectile.
+     */
+    public void clear() {
+        table.clear();
+    }
+
+    /**
+     * Gets the number of projectiles, including killed ones that have not been removed yet.
+     *
+     * @return The projectile count.
+     */
+    public int getCount() {
+        return table.getCount();
+    }
+
+    /**
+     * Gets the maximum number of projectiles that can be in flight at once.
+     *
+     * @return The capacity.
+     */
+    public int getCapacity() {
+        return table.getCapacity();
+    }
+
+    /**
+     * Checks whether a projectile is still in flight.
+     *
+     * @param index The index of the projectile.
+     * @return false if the projectile has been killed.
+     */
+    public boolean isAlive(int index) {
+        return table.isAlive(index);
+    }
+
+    /**
+     * Gets the x-coordinate of a projectile's position.
+     *
+     * @param index The index of the projectile.
+     * @return The x-coordinate of the projectile.
+     */
+    public float getX(int index) {
+        return table.getX(index);
+    }
+
+    /**
+     * Gets the y-coordinate of a projectile's position.
+     *
+     * @param index The index of the projectile.
+     * @return The y-coordinate of the projectile.
+     */
+    public float getY(int index) {
+        return table.getY(index);
+    }
+
+    /**
+     * Gets the distance a projectile moves along the x-axis per simulation tick.
+     *
+     * @param index The index of the projectile.
+     * @return The x velocity of the projectile.
+     */
+    public float getVelocityX(int index) {
+        return table.velocityX[index];
+    }
+
+    /**
+     * Gets the distance a projectile moves along the y-axis per simulation tick.
+     *
+     * @param index The index of the projectile.
+     * @return The y velocity of the projectile.
+     */
+    public float getVelocityY(int index) {
+        return table.velocityY[index];
+    }
+
+    /**
+     * Gets the enemy that fired a projectile.
+     *
+     * @param index The index of the projectile.
+     * @return The owner id, or OWNER_NONE.
+     */
+    public int getOwner(int index) {
+        return table.owners[index];
+    }
+
+    /**
+     * Gets the x-coordinate to draw a projectile at, between its previous and current position.
+     *
+     * @param index The index of the projectile.
+     * @param alpha How far the renderer is between the previous tick (0) and the current tick (1).
+     * @return The interpolated x-coordinate.
+     */
+    public float interpolateX(int index, float alpha) {
+        return table.interpolateX(index, alpha);
+    }
+
+    /**
+     * Gets the y-coordinate to draw a projectile at, between its previous and current position.
+     *
+     * @param index The index of the projectile.
+     * @param alpha How far the renderer is between the previous tick (0) and the current tick (1).
+     * @return The interpolated y-coordinate.
+     */
+    public float interpolateY(int index, float alpha) {
+        return table.interpolateY(index, alpha);
+    }
+}
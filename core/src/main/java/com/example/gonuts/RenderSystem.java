@@ -0,0 +1,53 @@
+package com.example.gonuts;
+
+/**
+ * Walks every live entity with a position and hands it to a renderer at its interpolated position, so the
+ * renderer draws each kind of entity with one sprite instead of asking each class to draw itself. Tables are
+ * visited in the store's order, which is the order entities are drawn in, back to front.
+ */
+public final class RenderSystem {
+
+    /**
+     * Receives the sprites to draw.
+     */
+    public interface Sprites {
+
+        /**
+         * Draws one entity.
+         *
+         * @param kind The kind of the entity, such as CollisionGrid.KIND_FOX.
+         * @param cellX The x-coordinate to draw the entity at, in cells.
+         * @param cellY The y-coordinate to draw the entity at, in cells.
+         */
+        void drawSprite(int kind, float cellX, float cellY);
+    }
+
+    /**
+     * Not instantiable; the system is a static pass over entity tables.
+     */
+    private RenderSystem() {
+    }
+
+    /**
+     * Hands every live entity with a position to a renderer, part of the way between its previous and
+     * current position.
+     *
+     * @param store The entity store.
+     * @param alpha How far the renderer is between the previous tick (0) and the current tick (1).
+     * @param sprites The renderer.
+     */
+    public static void draw(EntityStore store, float alpha, Sprites sprites) {
+        for (int t = 0; t < store.getTableCount(); t++) {
+            EntityTable table = store.getTable(t);
+            if (!table.has(EntityTable.POSITION)) {
+                continue;
+            }
+            int kind = table.getKind();
+            for (int i = 0; i < table.count; i++) {
+                if (table.alive[i]) {
+                    sprites.drawSprite(kind, table.interpolateX(i, alpha), table.interpolateY(i, alpha));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.gonuts;
+
+/**
+ * Represents the squirrel character in the game. This class manages the squirrel's position and movement
+ * in maze cell units, where (column, row) is the top-left corner of the cell the squirrel occupies.
+ * The squirrel also remembers its position at the start of the current tick so renderers can draw it
+ * smoothly between ticks. Its position lives in a row of an {@link EntityTable}, where the world's systems
+ * move, collide and draw it along with every other entity; this class is a view of that row.
+ */
+public class Squirrel {
+    private final EntityTable table; // Table holding the squirrel's position
+    private final int row; // The squirrel's row in the table
+    private float speed = 0.25f; // Distance moved by a single movement step, in cells
+
+    /**
+     * Constructs a Squirrel at the given position, in a table of its own.
+     *
+     * @param x The starting column.
+     * @param y The starting row.
+     */
+    public Squirrel(float x, float y) {
+        this(new EntityTable(CollisionGrid.KIND_SQUIRREL, EntityTable.POSITION, 1), x, y);
+    }
+
+    /**
+     * Constructs a Squirrel at the given position, in a new row of a table.
+     *
+     * @param table The table to add the squirrel to, which must have POSITION.
+     * @param x The starting column.
+     * @param y The starting row.
+     */
+    Squirrel(EntityTable table, float x, float y) {
+        this.table = table;
+        row = table.add();
+        if (row < 0) {
+            throw new IllegalArgumentException("No room for the squirrel");
+        }
+        table.place(row, x, y);
+    }
+
+    /**
+     * Gets the x-coordinate of the squirrel's position.
+     *
+     * @return The x-coordinate of the squirrel, in cells.
+     */
+    public float getX() {
+        return table.x[row];
+    }
+
+    /**
+     * Gets the y-coordinate of the squirrel's position.
+     *
+     * @return The y-coordinate of the squirrel, in cells.
+     */
+    public float getY() {
+        return table.y[row];
+    }
+
+    /**
+     * Moves the squirrel position up.
+     *
+     */
+    public void moveUp() {
+        table.y[row] -= speed;
+    }
+
+    /**
+     * Moves the squirrel position down.
+     *
+     */
+    public void moveDown() {
+        table.y[row] += speed;
+    }
+
+    /**
+     * Moves the squirrel position left.
+     *
+     */
+    public void moveLeft() {
+        table.x[row] -= speed;
+    }
+
+    /**
+     * Moves the squirrel position right.
+     *
+     */
+    public void moveRight() {
+        table.x[row] += speed;
+    }
+
+    /**
+     * Records the current position as the starting point of the next simulation tick, so that rendering
+     * can interpolate between the two.
+     */
+    public void storePreviousPosition() {
+        table.prevX[row] = table.x[row];
+        table.prevY[row] = table.y[row];
+    }
+
+    /**
+     * Gets the x-coordinate to draw the squirrel at, between its previous and current position.
+     *
+     * @param alpha How far the renderer is between the previous tick (0) and the current tick (1).
+     * @return The interpolated x-coordinate, in cells.
+     */
+    public float interpolateX(float alpha) {
+        return table.interpolateX(row, alpha);
+    }
+
+    /**
+     * Gets the y-coordinate to draw the squirrel at, between its previous and current position.
+     *
+     * @param alpha How far the renderer is between the previous tick (0) and the current tick (1).
+     * @return The interpolated y-coordinate, in cells.
+     */
+    public float interpolateY(float alpha) {
+        return table.interpolateY(row, alpha);
+    }
+
+
+
+    // future methods to be added
+}
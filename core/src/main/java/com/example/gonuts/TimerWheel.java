@@ -0,0 +1,336 @@
+package com.example.gonuts;
+
+/**
+ * Schedules game events on the simulation clock. Time is counted in ticks and only moves when
+ * {@link #advance(Handler)} is called from the game loop, so timers pause whenever the simulation does.
+ *
+ * Timers are kept in a hierarchical timing wheel: four levels of 64 slots, where level 0 holds timers due within
+ * the next 64 ticks, level 1 those due within 64^2 ticks, and so on. Scheduling and cancelling are O(1), and
+ * each tick only looks at one level 0 slot, plus an occasional cascade of a higher slot into the levels below.
+ * Timers live in preallocated parallel arrays linked into per-slot lists, and fire through a single
+ * {@link Handler} with an event type and payload, so scheduling a timer does not allocate a Runnable.
+ */
+public class TimerWheel {
+
+    /**
+     * Receives timers as they fire.
+     */
+    public interface Handler {
+
+        /**
+         * Called when a timer is due.
+         *
+         * @param timerId The id returned when the timer was scheduled.
+         * @param type The event type the timer was scheduled with.
+         * @param payload The payload the timer was scheduled with.
+         */
+        void onTimer(int timerId, int type, int payload);
+    }
+
+    private static final int SLOT_BITS = 6; // Each level has 2^SLOT_BITS slots
+    private static final int SLOTS = 1 << SLOT_BITS; // Slots per level
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4; // Number of wheel levels
+    private static final long MAX_DELAY = 1L << (SLOT_BITS * LEVELS); // Delays beyond this are re-filed when reached
+    private static final int NONE = -1; // End-of-list marker
+    private static final int DUE_LIST = LEVELS * SLOTS; // List of timers being fired in the current tick
+    private static final int INDEX_BITS = 20; // Low bits of a timer id holding the array index
+    private static final int INDEX_MASK = (1 << INDEX_BITS) - 1;
+
+    private static final byte FREE = 0; // Slot in the timer arrays is unused
+    private static final byte PENDING = 1; // Timer is waiting in the wheel
+    private static final byte FIRING = 2; // Timer's handler is running
+    private static final byte CANCELLED = 3; // Timer was cancelled while its handler was running
+
+    private final int[] heads = new int[LEVELS * SLOTS + 1]; // First timer in each slot's list, plus DUE_LIST
+    private int[] next; // Next timer in the same slot
+    private int[] prev; // Previous timer in the same slot
+    private int[] bucket; // Which slot list each timer is in
+    private long[] deadlines; // Tick at which each timer fires
+    private long[] periods; // Repeat period in ticks, or 0 for one-shot timers
+    private int[] types; // Event type of each timer
+    private int[] payloads; // Payload of each timer
+    private int[] generations; // Incremented on reuse so stale ids can be detected
+    private byte[] states; // FREE, PENDING, FIRING or CANCELLED
+    private int freeList; // First unused index, linked through next
+    private int activeCount; // Number of scheduled timers
+    private long currentTick; // Last tick processed
+
+    /**
+     * Constructs an empty TimerWheel.
+     *
+     * @param initialCapacity The number of timers to preallocate room for; the wheel grows if more are scheduled.
+     */
+    public TimerWheel(int initialCapacity) {
+        for (int i = 0; i < heads.length; i++) {
+            heads[i] = NONE;
+        }
+        next = new int[0];
+        prev = new int[0];
+        bucket = new int[0];
+        deadlines = new long[0];
+        periods = new long[0];
+        types = new int[0];
+        payloads = new int[0];
+        generations = new int[0];
+        states = new byte[0];
+        freeList = NONE;
+        grow(Math.max(1, initialCapacity));
+    }
+
+    /**
+     * Schedules a timer that fires once.
+     *
+     * @param delayTicks Ticks from now until the timer fires; values below 1 fire on the next tick.
+     * @param type The event type passed to the handler.
+     * @param payload The payload passed to the handler.
+     * @return The timer's id, for cancelling it.
+     */
+    public int schedule(long delayTicks, int type, int payload) {
+        return scheduleRepeating(delayTicks, 0, type, payload);
+    }
+
+    /**
+     * Schedules a timer that fires after a delay and then repeatedly at a fixed period until cancelled.
+     *
+     * @param delayTicks Ticks from now until the first firing; values below 1 fire on the next tick.
+     * @param periodTicks Ticks between firings, or 0 to fire only once.
+     * @param type The event type passed to the handler.
+     * @param payload The payload passed to the handler.
+     * @return The timer's id, for cancelling it.
+     */
+    public int scheduleRepeating(long delayTicks, long periodTicks, int type, int payload) {
+        if (freeList == NONE) {
+            grow(next.length * 2);
+        }
+        int index = freeList;
+        freeList = next[index];
+
+        deadlines[index] = currentTick + Math.max(1, delayTicks);
+        periods[index] = Math.max(0, periodTicks);
+        types[index] = type;
+        payloads[index] = payload;
+        states[index] = PENDING;
+        activeCount++;
+        insert(index);
+        return (generations[index] << INDEX_BITS) | index;
+    }
+
+    /**
+     * Cancels a timer. Cancelling a repeating timer from its own handler stops it from being rescheduled.
+     *
+     * @param timerId The id returned when the timer was scheduled.
+     * @return true if the timer was still scheduled, false if it had already fired, been cancelled or the
+     *         id is unknown.
+     */
+    public boolean cancel(int timerId) {
+        int index = timerId & INDEX_MASK;
+        if (index >= next.length || generations[index] != (timerId >>> INDEX_BITS)) {
+            return false;
+        }
+        if (states[index] == PENDING) {
+            unlink(index);
+            release(index);
+            return true;
+        }
+        if (states[index] == FIRING) {
+            states[index] = CANCELLED;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Advances the clock by one tick and fires every timer that is due. The firing order of timers due on the
+     * same tick is deterministic but unspecified. Handlers may schedule and cancel timers, including ones due
+     * on the same tick that have not fired yet.
+     *
+     * @param handler The handler receiving the fired timers.
+     */
+    public void advance(Handler handler) {
+        currentTick++;
+
+        // Cascade higher levels down when the lower level wraps around, highest first
+        int cascadeLevels = 0;
+        while (cascadeLevels < LEVELS - 1
+                && ((currentTick >>> (SLOT_BITS * (cascadeLevels + 1))) << (SLOT_BITS * (cascadeLevels + 1)))
+                == currentTick) {
+            cascadeLevels++;
+        }
+        for (int level = cascadeLevels; level >= 1; level--) {
+            cascade(level, (int) (currentTick >>> (SLOT_BITS * level)) & SLOT_MASK);
+        }
+
+        // Move the due slot to its own list so timers scheduled by handlers go into a fresh one
+        int slot = (int) currentTick & SLOT_MASK;
+        heads[DUE_LIST] = heads[slot];
+        heads[slot] = NONE;
+        for (int index = heads[DUE_LIST]; index != NONE; index = next[index]) {
+            bucket[index] = DUE_LIST;
+        }
+        while (heads[DUE_LIST] != NONE) {
+            int index = heads[DUE_LIST];
+            unlink(index);
+            if (deadlines[index] != currentTick) {
+                insert(index); // Filed early because its delay exceeded the wheel's range
+            } else {
+                fire(index, handler);
+            }
+        }
+    }
+
+    /**
+     * Runs one due timer's handler and then reschedules or releases it.
+     *
+     * @param index The timer's index.
+     * @param handler The handler to call.
+     */
+    private void fire(int index, Handler handler) {
+        states[index] = FIRING;
+        handler.onTimer((generations[index] << INDEX_BITS) | index, types[index], payloads[index]);
+        if (states[index] == FIRING && periods[index] > 0) {
+            states[index] = PENDING;
+            deadlines[index] += periods[index];
+            insert(index);
+        } else {
+            release(index);
+        }
+    }
+
+    /**
+     * Moves every timer in a slot of a higher level into the levels below, now that it is close enough.
+     *
+     * @param level The level of the slot.
+     * @param slot The slot within the level.
+     */
+    private void cascade(int level, int slot) {
+        int list = level * SLOTS + slot;
+        int index = heads[list];
+        heads[list] = NONE;
+        while (index != NONE) {
+            int following = next[index];
+            insert(index);
+            index = following;
+        }
+    }
+
+    /**
+     * Files a timer into the slot matching how far away its deadline is.
+     *
+     * @param index The timer's index.
+     */
+    private void insert(int index) {
+        long deadline = deadlines[index];
+        long delay = deadline - currentTick;
+        if (delay >= MAX_DELAY) {
+            // Too far away for the wheel; file it at the furthest point and re-file it from there
+            deadline = currentTick + MAX_DELAY - 1;
+            delay = MAX_DELAY - 1;
+        }
+        int level = 0;
+        while (level < LEVELS - 1 && delay >= (1L << (SLOT_BITS * (level + 1)))) {
+            level++;
+        }
+        int list = level * SLOTS + ((int) (deadline >>> (SLOT_BITS * level)) & SLOT_MASK);
+
+        bucket[index] = list;
+        prev[index] = NONE;
+        next[index] = heads[list];
+        if (heads[list] != NONE) {
+            prev[heads[list]] = index;
+        }
+        heads[list] = index;
+    }
+
+    /**
+     * Removes a pending timer from its slot list.
+     *
+     * @param index The timer's index.
+     */
+    private void unlink(int index) {
+        if (prev[index] != NONE) {
+            next[prev[index]] = next[index];
+        } else {
+            heads[bucket[index]] = next[index];
+        }
+        if (next[index] != NONE) {
+            prev[next[index]] = prev[index];
+        }
+    }
+
+    /**
+     * Returns a timer's index to the free list and invalidates its id.
+     *
+     * @param index The timer's index.
+     */
+    private void release(int index) {
+        states[index] = FREE;
+        generations[index] = (generations[index] + 1) & ((1 << (31 - INDEX_BITS)) - 1);
+        next[index] = freeList;
+        freeList = index;
+        activeCount--;
+    }
+
+    /**
+     * Enlarges the timer arrays and adds the new indices to the free list.
+     *
+     * @param capacity The new capacity.
+     */
+    private void grow(int capacity) {
+        if (capacity > INDEX_MASK + 1) {
+            throw new IllegalStateException("Too many timers");
+        }
+        int oldCapacity = next.length;
+        next = copyOf(next, capacity);
+        prev = copyOf(prev, capacity);
+        bucket = copyOf(bucket, capacity);
+        types = copyOf(types, capacity);
+        payloads = copyOf(payloads, capacity);
+        generations = copyOf(generations, capacity);
+        long[] newDeadlines = new long[capacity];
+        System.arraycopy(deadlines, 0, newDeadlines, 0, oldCapacity);
+        deadlines = newDeadlines;
+        long[] newPeriods = new long[capacity];
+        System.arraycopy(periods, 0, newPeriods, 0, oldCapacity);
+        periods = newPeriods;
+        byte[] newStates = new byte[capacity];
+        System.arraycopy(states, 0, newStates, 0, oldCapacity);
+        states = newStates;
+
+        for (int i = capacity - 1; i >= oldCapacity; i--) {
+            next[i] = freeList;
+            freeList = i;
+        }
+    }
+
+    /**
+     * Copies an int array into a larger one.
+     *
+     * @param source The array to copy.
+     * @param length The length of the new array.
+     * @return The new array.
+     */
+    private static int[] copyOf(int[] source, int length) {
+        int[] copy = new int[length];
+        System.arraycopy(source, 0, copy, 0, source.length);
+        return copy;
+    }
+
+    /**
+     * Gets the last tick processed by advance.
+     *
+     * @return The current tick.
+     */
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    /**
+     * Gets the number of timers waiting to fire.
+     *
+     * @return The number of scheduled timers.
+     */
+    public int getActiveCount() {
+        return activeCount;
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.gonuts;
+
+import java.util.Random;
+
+/**
+ * Lists the wall cells of a maze that are not on its outer border, which are the places the fox can hide in.
+ * The cells are found with one scan of the maze and kept as packed cell ids ({@link MazeGrid#index}) in a
+ * single int array, so every fox can pick a random hiding place in O(1) without scanning the maze or
+ * allocating. Walls rarely change, so the index is only rescanned, lazily, after {@link #invalidate()}.
+ */
+public class WallIndex {
+    private final MazeGrid maze; // The maze being indexed
+    private int[] cells = new int[0]; // Packed ids of the interior wall cells, in row-major order
+    private int count; // Number of valid entries in cells
+    private boolean stale = true; // Set when the maze has changed since the last scan
+
+    /**
+     * Constructs a WallIndex for a maze. The maze is scanned when the index is first used.
+     *
+     * @param maze The maze grid.
+     */
+    public WallIndex(MazeGrid maze) {
+        this.maze = maze;
+    }
+
+    /**
+     * Marks the index as out of date, so the maze is scanned again the next time the index is used. Must be
+     * called whenever a cell turns into or stops being a wall.
+     */
+    public void invalidate() {
+        stale = true;
+    }
+
+    /**
+     * Scans the maze for interior wall cells if it has changed since the last scan.
+     */
+    private void refresh() {
+        if (!stale) {
+            return;
+        }
+        count = 0;
+        int cols = maze.getCols();
+        for (int i = 1; i < maze.getRows() - 1; i++) {
+            for (int cell = i * cols + 1; cell < (i + 1) * cols - 1; cell++) {
+                if (maze.isWall(cell)) {
+                    if (count == cells.length) {
+                        int[] grown = new int[Math.max(16, cells.length * 2)];
+                        System.arraycopy(cells, 0, grown, 0, count);
+                        cells = grown;
+                    }
+                    cells[count++] = cell;
+                }
+            }
+        }
+        stale = false;
+    }
+
+    /**
+     * Picks a random interior wall cell.
+     *
+     * @param random The random generator to pick with.
+     * @return The packed id of the cell, or -1 if the maze has no interior walls.
+     */
+    public int pick(Random random) {
+        refresh();
+        if (count == 0) {
+            return -1;
+        }
+        return cells[random.nextInt(count)];
+    }
+
+    /**
+     * Gets the number of interior wall cells.
+     *
+     * @return The wall cell count.
+     */
+    public int size() {
+        refresh();
+        return count;
+    }
+
+    /**
+     * Gets an interior wall cell.
+     *
+     * @param index The index of the cell, from 0 to size() - 1, in row-major order.
+     * @return The packed id of the cell.
+     */
+    public int get(int index) {
+        refresh();
+        return cells[index];
+    }
+
+    /**
+     * Gets the row of a packed cell id.
+     *
+     * @param cell The packed cell id.
+     * @return The row of the cell.
+     */
+    public int rowOf(int cell) {
+        return maze.rowOf(cell);
+    }
+
+    /**
+     * Gets the column of a packed cell id.
+     *
+     * @param cell The packed cell id.
+     * @return The column of the cell.
+     */
+    public int colOf(int cell) {
+        return maze.colOf(cell);
+    }
+}
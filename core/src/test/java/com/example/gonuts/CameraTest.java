@@ -0,0 +1,102 @@
+package com.example.gonuts;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Tests the {@link Camera} viewport: sizing, following with clamping, and the visible tile range.
+ */
+public class CameraTest {
+
+    /**
+     * Tests that at zoom 1 the classic maze fills the shorter side of the screen and is centred, so it looks
+     * the same as before there was a camera.
+     */
+    @Test
+    public void testClassicMazeFits() {
+        Camera camera = new Camera(19, 19);
+        camera.setViewSize(1080, 1920);
+        assertEquals(56, camera.getCellSize());
+        assertTrue(camera.isWholeMazeVisible());
+        camera.follow(9, 9);
+        assertFalse("A maze that fits never scrolls", camera.follow(3, 15));
+        assertEquals((1080 - 19 * 56) / 2, camera.getOffsetX());
+        assertEquals((1920 - 19 * 56) / 2, camera.getOffsetY());
+        assertEquals(0, camera.getFirstCol());
+        assertEquals(18, camera.getLastCol());
+        assertEquals(0, camera.getFirstRow());
+        assertEquals(18, camera.getLastRow());
+    }
+
+    /**
+     * Tests that on a large maze the camera centres on the target, and the visible tiles depend only on the
+     * size of the screen.
+     */
+    @Test
+    public void testFollowsTargetOnLargeMaze() {
+        Camera camera = new Camera(1000, 1000);
+        camera.setViewSize(1000, 2000);
+        assertEquals(52, camera.getCellSize());
+        assertFalse(camera.isWholeMazeVisible());
+        assertTrue(camera.follow(500, 500));
+
+        // The middle of the target's cell is in the middle of the screen
+        assertEquals(500f, camera.toScreenX(500) + 26, 1f);
+        assertEquals(1000f, camera.toScreenY(500) + 26, 1f);
+        assertTrue(camera.isVisible(500, 500));
+        assertFalse(camera.isVisible(520, 500));
+
+        int visibleCols = camera.getLastCol() - camera.getFirstCol() + 1;
+        int visibleRows = camera.getLastRow() - camera.getFirstRow() + 1;
+        assertTrue(visibleCols <= 1000 / 52 + 2);
+        assertTrue(visibleRows <= 2000 / 52 + 2);
+        assertTrue(camera.getFirstCol() * 52 + camera.getOffsetX() <= 0);
+        assertTrue((camera.getLastCol() + 1) * 52 + camera.getOffsetX() >= 1000);
+
+        assertFalse("Following the same point again does not scroll", camera.follow(500, 500));
+    }
+
+    /**
+     * Tests that the camera stops at the edges of the maze instead of showing space beyond it.
+     */
+    @Test
+    public void testClampsToMazeEdges() {
+        Camera camera = new Camera(200, 300);
+        camera.setViewSize(760, 760);
+        camera.follow(0, 0);
+        assertEquals(0, camera.getOffsetX());
+        assertEquals(0, camera.getOffsetY());
+        assertEquals(0, camera.getFirstCol());
+
+        camera.follow(299, 199);
+        assertEquals(760 - 300 * 40, camera.getOffsetX());
+        assertEquals(760 - 200 * 40, camera.getOffsetY());
+        assertEquals(299, camera.getLastCol());
+        assertEquals(199, camera.getLastRow());
+    }
+
+    /**
+     * Tests that zooming changes the cell size, never below the minimum, and can make a maze fit or overflow.
+     */
+    @Test
+    public void testZoom() {
+        Camera camera = new Camera(19, 19);
+        camera.setViewSize(950, 950);
+        camera.setZoom(2f);
+        assertEquals(100, camera.getCellSize());
+        assertFalse(camera.isWholeMazeVisible());
+        camera.setZoom(0.5f);
+        assertEquals(25, camera.getCellSize());
+        assertTrue(camera.isWholeMazeVisible());
+        camera.setZoom(0.01f);
+        assertEquals(Camera.MIN_CELL_SIZE, camera.getCellSize());
+    }
+
+    /**
+     * Tests that a zoom factor that is not positive is rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidZoom() {
+        new Camera(19, 19).setZoom(0);
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.gonuts;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Tests the {@link CollisionGrid} broadphase against a brute-force check of every pair.
+ */
+public class CollisionGridTest {
+    private CollisionGrid grid;
+
+    /**
+     * Sets up a grid over a 20 x 20 maze in which the squirrel collides with foxes and projectiles.
+     */
+    @Before
+    public void setUp() {
+        grid = new CollisionGrid(20, 20, 1f, 600);
+        grid.setCollides(CollisionGrid.KIND_SQUIRREL, CollisionGrid.KIND_PROJECTILE);
+        grid.setCollides(CollisionGrid.KIND_SQUIRREL, CollisionGrid.KIND_FOX);
+    }
+
+    /**
+     * Tests that a touching pair is reported once with the lower kind first, and a pair just out of reach
+     * is not.
+     */
+    @Test
+    public void testSingleContact() {
+        grid.add(CollisionGrid.KIND_PROJECTILE, 7, 5.9f, 5f, 0.5f);
+        grid.add(CollisionGrid.KIND_SQUIRREL, 0, 5f, 5f, 0.5f);
+        grid.add(CollisionGrid.KIND_PROJECTILE, 8, 6f, 5f, 0.5f); // Exactly one cell away: not touching
+        assertEquals(1, grid.findContacts());
+        assertEquals(CollisionGrid.KIND_SQUIRREL, grid.getKindA(0));
+        assertEquals(0, grid.getIdA(0));
+        assertEquals(CollisionGrid.KIND_PROJECTILE, grid.getKindB(0));
+        assertEquals(7, grid.getIdB(0));
+    }
+
+    /**
+     * Tests that pairs of kinds that do not collide, such as two projectiles, are never reported.
+     */
+    @Test
+    public void testNonCollidingKindsIgnored() {
+        grid.add(CollisionGrid.KIND_PROJECTILE, 0, 3f, 3f, 0.5f);
+        grid.add(CollisionGrid.KIND_PROJECTILE, 1, 3f, 3f, 0.5f);
+        grid.add(CollisionGrid.KIND_FOX, 0, 3f, 3f, 0.5f);
+        assertEquals(0, grid.findContacts());
+    }
+
+    /**
+     * Tests that entities outside the maze and entities larger than a grid cell still find their contacts.
+     */
+    @Test
+    public void testOutsideMazeAndLargeRadius() {
+        grid.add(CollisionGrid.KIND_SQUIRREL, 0, -3f, 25f, 0.5f);
+        grid.add(CollisionGrid.KIND_PROJECTILE, 1, -3.5f, 25.5f, 0.5f);
+        grid.add(CollisionGrid.KIND_FOX, 2, 10f, 10f, 3f);
+        grid.add(CollisionGrid.KIND_SQUIRREL, 3, 13f, 10f, 0.5f);
+        assertEquals(2, grid.findContacts());
+    }
+
+    /**
+     * Tests many randomly placed entities against a brute-force check of every pair, over several ticks.
+     */
+    @Test
+    public void testMatchesBruteForce() {
+        Random random = new Random(11);
+        int count = 500;
+        int[] kinds = new int[count];
+        float[] x = new float[count];
+        float[] y = new float[count];
+        float[] radii = new float[count];
+        for (int tick = 0; tick < 5; tick++) {
+            grid.clear();
+            for (int i = 0; i < count; i++) {
+                kinds[i] = random.nextInt(10) == 0 ? CollisionGrid.KIND_SQUIRREL
+                        : random.nextBoolean() ? CollisionGrid.KIND_FOX : CollisionGrid.KIND_PROJECTILE;
+                x[i] = random.nextFloat() * 22 - 1;
+                y[i] = random.nextFloat() * 22 - 1;
+                radii[i] = 0.1f + random.nextFloat() * 0.6f;
+                assertTrue(grid.add(kinds[i], i, x[i], y[i], radii[i]));
+            }
+
+            Set<Long> expected = new HashSet<>();
+            for (int a = 0; a < count; a++) {
+                for (int b = a + 1; b < count; b++) {
+                    boolean squirrelPair = (kinds[a] == CollisionGrid.KIND_SQUIRREL)
+                            != (kinds[b] == CollisionGrid.KIND_SQUIRREL);
+                    float dx = x[a] - x[b];
+                    float dy = y[a] - y[b];
+                    float reach = radii[a] + radii[b];
+                    if (squirrelPair && dx * dx + dy * dy < reach * reach) {
+                        expected.add(pairKey(a, b));
+                    }
+                }
+            }
+
+            int contacts = grid.findContacts();
+            Set<Long> found = new HashSet<>();
+            for (int c = 0; c < contacts; c++) {
+                assertTrue(grid.getKindA(c) <= grid.getKindB(c));
+                assertTrue("Each pair should be reported once", found.add(pairKey(grid.getIdA(c), grid.getIdB(c))));
+            }
+            assertEquals(expected, found);
+        }
+    }
+
+    /**
+     * Makes an order-independent key for a pair of entity ids.
+     *
+     * @param a The first id.
+     * @param b The second id.
+     * @return A key equal for (a, b) and (b, a).
+     */
+    private static long pairKey(int a, int b) {
+        return ((long) Math.min(a, b) << 32) | Math.max(a, b);
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.gonuts;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Tests the {@link CommandQueue} used to pass commands from other threads to the game thread.
+ */
+public class CommandQueueTest {
+
+    /**
+     * Records every drained command as its type and arguments.
+     */
+    private static class RecordingConsumer implements CommandQueue.Consumer {
+        final List<float[]> commands = new ArrayList<>();
+
+        @Override
+        public void onCommand(int type, float a, float b, float c, float d) {
+            commands.add(new float[]{type, a, b, c, d});
+        }
+    }
+
+    /**
+     * Tests that commands come out in the order they went in, with their arguments intact.
+     */
+    @Test
+    public void testFifoOrder() {
+        CommandQueue queue = new CommandQueue(8);
+        RecordingConsumer consumer = new RecordingConsumer();
+        assertTrue(queue.offer(1, 1.5f, 2.5f, 3.5f, 4.5f));
+        assertTrue(queue.offer(2, -1f, 0f, 0f, 0f));
+        assertEquals(2, queue.size());
+
+        assertEquals(2, queue.drain(consumer));
+        assertArrayEquals(new float[]{1, 1.5f, 2.5f, 3.5f, 4.5f}, consumer.commands.get(0), 0);
+        assertArrayEquals(new float[]{2, -1f, 0f, 0f, 0f}, consumer.commands.get(1), 0);
+        assertEquals(0, queue.drain(consumer));
+        assertEquals(0, queue.size());
+    }
+
+    /**
+     * Tests that the capacity is rounded up to a power of two and that a full queue rejects commands until
+     * it is drained.
+     */
+    @Test
+    public void testFullQueueRejectsAndRecovers() {
+        CommandQueue queue = new CommandQueue(3);
+        assertEquals(4, queue.getCapacity());
+        for (int i = 0; i < 4; i++) {
+            assertTrue(queue.offer(i, 0, 0, 0, 0));
+        }
+        assertFalse("A full queue should reject commands", queue.offer(99, 0, 0, 0, 0));
+
+        RecordingConsumer consumer = new RecordingConsumer();
+        assertEquals(4, queue.drain(consumer));
+        for (int lap = 0; lap < 10; lap++) {
+            assertTrue(queue.offer(lap, 0, 0, 0, 0));
+            assertTrue(queue.offer(lap, 0, 0, 0, 0));
+            assertEquals(2, queue.drain(consumer));
+        }
+        assertEquals(24, consumer.commands.size());
+    }
+
+    /**
+     * Tests that a command offered by the consumer while draining waits for the next drain.
+     */
+    @Test
+    public void testCommandsOfferedWhileDrainingWait() {
+        final CommandQueue queue = new CommandQueue(4);
+        CommandQueue.Consumer requeueing = new CommandQueue.Consumer() {
+            @Override
+            public void onCommand(int type, float a, float b, float c, float d) {
+                queue.offer(type, a, b, c, d);
+            }
+        };
+        queue.offer(1, 0, 0, 0, 0);
+        assertEquals(1, queue.drain(requeueing));
+        assertEquals(1, queue.size());
+    }
+
+    /**
+     * Tests several producers offering commands while the consumer drains them: every command must arrive
+     * exactly once, and each producer's commands must arrive in the order they were offered.
+     */
+    @Test
+    public void testConcurrentProducers() throws InterruptedException {
+        final CommandQueue queue = new CommandQueue(64);
+        final int producers = 4;
+        final int perProducer = 20000;
+        final CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[producers];
+        for (int p = 0; p < producers; p++) {
+            final int producer = p;
+            threads[p] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int i = 0; i < perProducer; i++) {
+                        while (!queue.offer(producer, i, 0, 0, 0)) {
+                            Thread.yield(); // Full; wait for the consumer
+                        }
+                    }
+                }
+            });
+            threads[p].start();
+        }
+
+        final int[] nextExpected = new int[producers];
+        final int[] received = new int[1];
+        CommandQueue.Consumer checking = new CommandQueue.Consumer() {
+            @Override
+            public void onCommand(int type, float a, float b, float c, float d) {
+                assertEquals("Commands from one producer should stay in order", nextExpected[type], (int) a);
+                nextExpected[type]++;
+                received[0]++;
+            }
+        };
+        start.countDown();
+        long deadline = System.currentTimeMillis() + 30000;
+        while (received[0] < producers * perProducer && System.currentTimeMillis() < deadline) {
+            if (queue.drain(checking) == 0) {
+                Thread.yield();
+            }
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(producers * perProducer, received[0]);
+        assertEquals(0, queue.size());
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.gonuts;
+
+import static com.example.gonuts.MazeTestSupport.*;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * Tests the {@link CorridorGraph} compression of a maze and its paths against {@link PathFinder}.
+ */
+public class CorridorGraphTest {
+
+    /**
+     * Tests the nodes and corridors of a small maze with a dead end, a junction and a loop.
+     */
+    @Test
+    public void testCompression() {
+        MazeGrid maze = MazeGrid.fromRows(new int[][]{
+                {1, 1, 1, 1, 1, 1, 1},
+                {1, 0, 0, 0, 0, 0, 1},
+                {1, 0, 1, 1, 1, 0, 1},
+                {1, 0, 0, 0, 0, 0, 1},
+                {1, 1, 1, 0, 1, 1, 1},
+                {1, 1, 1, 0, 1, 1, 1},
+                {1, 1, 1, 1, 1, 1, 1},
+        });
+        CorridorGraph graph = new CorridorGraph(maze);
+        // The T-junction below the loop and the dead end at the bottom
+        assertEquals(2, graph.getNodeCount());
+        assertTrue(graph.getNodeOf(maze.index(3, 3)) >= 0);
+        assertTrue(graph.getNodeOf(maze.index(5, 3)) >= 0);
+        // The loop back to the junction, and the corridor down to the dead end
+        assertEquals(2, graph.getCorridorCount());
+        assertEquals(graph.getCorridorOf(maze.index(1, 1)), graph.getCorridorOf(maze.index(3, 5)));
+        assertEquals(-1, graph.getCorridorOf(maze.index(0, 0)));
+        assertEquals(-1, graph.getNodeOf(maze.index(1, 1)));
+
+        assertTrue(graph.search(maze.index(1, 2), maze.index(5, 3)));
+        assertEquals(8, graph.getPathLength());
+        assertValidPath(graph, maze.index(1, 2), maze.index(5, 3));
+        assertTrue(graph.search(maze.index(1, 2), maze.index(1, 4)));
+        assertEquals(3, graph.getPathLength());
+        assertTrue(graph.search(maze.index(3, 1), maze.index(3, 5)));
+        assertEquals(5, graph.getPathLength());
+        assertValidPath(graph, maze.index(3, 1), maze.index(3, 5));
+    }
+
+    /**
+     * Tests a ring with no junctions at all, searches within it and a start and goal on the same cell.
+     */
+    @Test
+    public void testRing() {
+        MazeGrid maze = MazeGrid.fromRows(new int[][]{
+                {0, 0, 0, 0},
+                {0, 1, 1, 0},
+                {0, 0, 0, 0},
+        });
+        CorridorGraph graph = new CorridorGraph(maze);
+        assertEquals(1, graph.getNodeCount());
+        assertEquals(1, graph.getCorridorCount());
+        for (int start = 0; start < maze.size(); start++) {
+            for (int goal = 0; goal < maze.size(); goal++) {
+                if (!maze.isWall(start) && !maze.isWall(goal)) {
+                    assertTrue(graph.search(start, goal));
+                    assertValidPath(graph, start, goal);
+                }
+            }
+        }
+        assertTrue(graph.search(maze.index(0, 1), maze.index(2, 2)));
+        assertEquals(6, graph.getPathLength());
+        assertTrue(graph.search(maze.index(0, 1), maze.index(0, 1)));
+        assertEquals(1, graph.getPathLength());
+        assertFalse(graph.search(maze.index(0, 1), maze.index(1, 1)));
+    }
+
+    /**
+     * Tests many random searches on braided generated mazes against A* over cells, including searches
+     * starting inside a bush, and that the graph expands far fewer places.
+     */
+    @Test
+    public void testMatchesPathFinder() {
+        Random random = new Random(12);
+        MazeGrid maze = MazeGenerator.backtracker(61, 81, 6L, 0.3f);
+        CorridorGraph graph = new CorridorGraph(maze);
+        PathFinder paths = new PathFinder(maze);
+        long graphExpanded = 0;
+        long cellsExpanded = 0;
+        for (int i = 0; i < 300; i++) {
+            int start = random.nextInt(maze.size());
+            int goal = randomOpenCell(maze, random);
+            boolean found = paths.search(start, goal);
+            assertEquals(found, graph.search(start, goal));
+            assertEquals(paths.getPathLength(), graph.getPathLength());
+            if (found) {
+                assertValidPath(graph, start, goal);
+            }
+            graphExpanded += graph.getExpandedCount();
+            cellsExpanded += paths.getExpandedCount();
+        }
+        assertTrue(graph.getNodeCount() * 10 < maze.size());
+        assertTrue(graphExpanded * 5 < cellsExpanded);
+    }
+
+    /**
+     * Tests that the graph is rebuilt after it is invalidated, and not before.
+     */
+    @Test
+    public void testInvalidate() {
+        MazeGrid maze = new MazeGrid(3, 5);
+        CorridorGraph graph = new CorridorGraph(maze);
+        assertTrue(graph.search(maze.index(1, 0), maze.index(1, 4)));
+        assertEquals(5, graph.getPathLength());
+        maze.set(0, 2, MazeGrid.WALL);
+        maze.set(1, 2, MazeGrid.WALL);
+        graph.invalidate();
+        assertTrue(graph.search(maze.index(1, 0), maze.index(1, 4)));
+        assertEquals(7, graph.getPathLength());
+        assertValidPath(graph, maze.index(1, 0), maze.index(1, 4));
+        maze.set(2, 2, MazeGrid.WALL);
+        graph.invalidate();
+        assertFalse(graph.search(maze.index(1, 0), maze.index(1, 4)));
+        assertEquals(0, graph.getPathLength());
+    }
+}
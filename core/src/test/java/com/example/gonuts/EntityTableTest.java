@@ -0,0 +1,110 @@
+package com.example.gonuts;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Tests the {@link EntityTable} storage and the systems that run over an {@link EntityStore}.
+ */
+public class EntityTableTest {
+
+    /**
+     * Tests that only the table's components are allocated and that new entities start out cleared.
+     */
+    @Test
+    public void testComponents() {
+        EntityTable table = new EntityTable(CollisionGrid.KIND_FOX, EntityTable.POSITION | EntityTable.STEERING, 4);
+        assertTrue(table.has(EntityTable.POSITION | EntityTable.STEERING));
+        assertFalse(table.has(EntityTable.POSITION | EntityTable.VELOCITY));
+        assertNull(table.velocityX);
+        assertNull(table.owners);
+        assertEquals(CollisionGrid.KIND_FOX, table.getKind());
+
+        int row = table.add();
+        assertEquals(0, row);
+        assertEquals(-1, table.nextCells[row]);
+        table.place(row, 3, 4);
+        assertEquals(3, table.interpolateX(row, 0.5f), 0);
+        assertEquals(4, table.interpolateY(row, 0.5f), 0);
+    }
+
+    /**
+     * Tests that killed entities are removed by moving the last ones into their rows, and that a full table
+     * refuses new entities.
+     */
+    @Test
+    public void testRemoveDead() {
+        EntityTable table = new EntityTable(CollisionGrid.KIND_PROJECTILE, ProjectileSystem.COMPONENTS, 4);
+        for (int i = 0; i < 4; i++) {
+            int row = table.add();
+            table.place(row, i, 0);
+            table.owners[row] = i;
+        }
+        assertEquals(-1, table.add());
+        table.kill(0);
+        table.kill(3);
+        table.kill(3);
+        table.removeDead();
+        assertEquals(2, table.getCount());
+        assertEquals(2, table.getX(0), 0);
+        assertEquals(2, table.owners[0]);
+        assertEquals(1, table.getX(1), 0);
+        assertTrue(table.isAlive(0));
+        assertTrue(table.isAlive(1));
+    }
+
+    /**
+     * Tests that a table of moving entities needs positions, and that a table needs room for an entity.
+     */
+    @Test
+    public void testInvalidTables() {
+        try {
+            new EntityTable(CollisionGrid.KIND_PROJECTILE, EntityTable.VELOCITY, 4);
+            fail("A table with velocities but no positions should be rejected");
+        } catch (IllegalArgumentException expected) {
+            // Expected
+        }
+        try {
+            new EntityTable(CollisionGrid.KIND_FOX, EntityTable.POSITION, 0);
+            fail("An empty table should be rejected");
+        } catch (IllegalArgumentException expected) {
+            // Expected
+        }
+    }
+
+    /**
+     * Tests that the systems visit every live entity of every table with the components they need, in the
+     * store's order, and move only the entities with a velocity.
+     */
+    @Test
+    public void testSystems() {
+        EntityStore store = new EntityStore(2);
+        EntityTable foxes = store.add(new EntityTable(CollisionGrid.KIND_FOX, EntityTable.POSITION, 2));
+        ProjectileSystem projectiles = new ProjectileSystem(store.add(
+                new EntityTable(CollisionGrid.KIND_PROJECTILE, ProjectileSystem.COMPONENTS, 8)));
+        foxes.place(foxes.add(), 2, 2);
+        projectiles.spawn(5, 1, 0.5f, 0, ProjectileSystem.OWNER_NONE);
+        projectiles.spawn(5, 2, 0, 0, ProjectileSystem.OWNER_NONE);
+        projectiles.kill(1);
+        assertEquals(2, store.getLiveCount());
+
+        MazeGrid maze = new MazeGrid(5, 8);
+        MovementSystem.storePreviousPositions(store);
+        MovementSystem.move(store, maze);
+        assertEquals(5.5f, projectiles.getX(0), 0);
+        assertEquals(2, foxes.getX(0), 0);
+
+        final StringBuilder drawn = new StringBuilder();
+        RenderSystem.draw(store, 0.5f, new RenderSystem.Sprites() {
+            @Override
+            public void drawSprite(int kind, float cellX, float cellY) {
+                drawn.append(kind).append('@').append(cellX).append(' ');
+            }
+        });
+        assertEquals(CollisionGrid.KIND_FOX + "@2.0 " + CollisionGrid.KIND_PROJECTILE + "@5.25 ", drawn.toString());
+
+        CollisionGrid grid = new CollisionGrid(maze.getCols(), maze.getRows(), 1f, 8);
+        CollisionSystem.fill(store, grid, new float[]{0.5f, 0.5f, 0.5f});
+        assertEquals(2, grid.getEntityCount());
+    }
+}
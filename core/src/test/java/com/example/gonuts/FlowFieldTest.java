@@ -0,0 +1,110 @@
+package com.example.gonuts;
+
+import static com.example.gonuts.MazeTestSupport.*;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * Tests the {@link FlowField} distance map against {@link PathFinder} and the steps chasers take along it.
+ */
+public class FlowFieldTest {
+
+    /**
+     * Tests distances and steps around a wall, and that walls themselves have no distance.
+     */
+    @Test
+    public void testDistancesAroundWall() {
+        MazeGrid maze = MazeGrid.fromRows(new int[][]{
+                {0, 0, 0, 0},
+                {0, 1, 1, 0},
+                {0, 0, 1, 0},
+        });
+        FlowField field = new FlowField(maze);
+        assertTrue(field.update(maze.index(2, 3)));
+        assertEquals(0, field.getDistance(maze.index(2, 3)));
+        assertEquals(8, field.getDistance(maze.index(2, 1)));
+        assertEquals(FlowField.UNREACHABLE, field.getDistance(maze.index(1, 1)));
+        assertEquals(9, field.getReachedCount());
+        assertEquals(maze.index(2, 0), field.nextStep(maze.index(2, 1)));
+        assertEquals(maze.index(1, 3), field.nextStep(maze.index(0, 3)));
+        assertEquals(-1, field.nextStep(maze.index(2, 3)));
+    }
+
+    /**
+     * Tests that the field is only searched again when the target changes cell or the field is invalidated,
+     * and that a search after invalidating sees the new walls.
+     */
+    @Test
+    public void testUpdatesOnlyWhenNeeded() {
+        MazeGrid maze = new MazeGrid(3, 5);
+        FlowField field = new FlowField(maze);
+        int target = maze.index(1, 4);
+        assertTrue(field.update(target));
+        assertFalse(field.update(target));
+        assertEquals(4, field.getDistance(maze.index(1, 0)));
+
+        maze.set(0, 2, MazeGrid.WALL);
+        maze.set(1, 2, MazeGrid.WALL);
+        field.invalidate();
+        assertTrue(field.update(target));
+        assertEquals(6, field.getDistance(maze.index(1, 0)));
+        maze.set(2, 2, MazeGrid.WALL);
+        field.invalidate();
+        assertTrue(field.update(target));
+        assertEquals(FlowField.UNREACHABLE, field.getDistance(maze.index(1, 0)));
+        assertEquals(-1, field.nextStep(maze.index(1, 0)));
+        assertTrue(field.update(maze.index(1, 0)));
+        assertEquals(1, field.getDistance(maze.index(1, 1)));
+    }
+
+    /**
+     * Tests that a fox in a bush is led out onto an open cell, and that a target inside a wall cannot be
+     * reached from anywhere.
+     */
+    @Test
+    public void testWalls() {
+        MazeGrid maze = MazeLayouts.classic();
+        FlowField field = new FlowField(maze);
+        assertTrue(maze.isWall(2, 2));
+        field.update(maze.index(9, 9));
+        int step = field.nextStep(maze.index(2, 2));
+        assertFalse(maze.isWall(step));
+
+        field.update(maze.index(2, 2));
+        assertEquals(0, field.getReachedCount());
+        assertEquals(-1, field.nextStep(maze.index(1, 1)));
+    }
+
+    /**
+     * Tests distances on a generated maze against A* path lengths, for many targets with one reused field,
+     * and that following the steps from any cell reaches the target in exactly its distance.
+     */
+    @Test
+    public void testMatchesPathFinder() {
+        Random random = new Random(9);
+        MazeGrid maze = MazeGenerator.backtracker(41, 51, 3L, 0.4f);
+        FlowField field = new FlowField(maze);
+        PathFinder paths = new PathFinder(maze);
+        for (int i = 0; i < 50; i++) {
+            int target = randomOpenCell(maze, random);
+            field.update(target);
+            for (int j = 0; j < 20; j++) {
+                int start = randomOpenCell(maze, random);
+                assertTrue(paths.search(start, target));
+                int distance = field.getDistance(start);
+                assertEquals(paths.getPathLength() - 1, distance);
+
+                int cell = start;
+                for (int steps = 0; steps < distance; steps++) {
+                    int next = field.nextStep(cell);
+                    assertFalse(maze.isWall(next));
+                    assertEquals(field.getDistance(cell) - 1, field.getDistance(next));
+                    cell = next;
+                }
+                assertEquals(target, cell);
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.gonuts;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * Tests that the Fox spawns and respawns only in the interior bushes of the maze.
+ */
+public class FoxTest {
+    private final MazeGrid maze = MazeGrid.fromRows(new int[][]{
+            {1, 1, 1, 1, 1},
+            {1, 0, 1, 0, 1},
+            {1, 0, 1, 0, 1},
+            {1, 0, 0, 0, 1},
+            {1, 1, 1, 1, 1},
+    });
+
+    /**
+     * Tests that every respawn lands on one of the two interior wall cells, never on the outer border, and
+     * that a respawn leaves nothing to interpolate from.
+     */
+    @Test
+    public void testRespawnInInteriorBushes() {
+        WallIndex walls = new WallIndex(maze);
+        Fox fox = new Fox(walls, new Random(1));
+        boolean[] seen = new boolean[3];
+        for (int i = 0; i < 50; i++) {
+            fox.respawn(walls);
+            assertEquals("The fox should hide in the middle column", 2, fox.getX(), 0);
+            int row = Math.round(fox.getY());
+            assertTrue("The fox should hide in row 1 or 2, not " + row, row == 1 || row == 2);
+            assertTrue(maze.isWall(row, 2));
+            assertEquals(fox.getX(), fox.interpolateX(0), 0);
+            assertEquals(fox.getY(), fox.interpolateY(0), 0);
+            seen[row] = true;
+        }
+        assertTrue("Both bushes should be used", seen[1] && seen[2]);
+    }
+}
@@ -0,0 +1,374 @@
+package com.example.gonuts;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * Tests the {@link GameWorld} simulation on a plain JVM. Because the world has no Android dependencies and
+ * takes a seed for all of its randomness, these tests can build real games and tick them directly.
+ */
+public class GameWorldTest {
+
+    /**
+     * Records the events reported by the world.
+     */
+    private static class RecordingListener implements GameEventListener {
+        int cellsChanged;
+        int projectilesFired;
+        int foxRespawns;
+        int squirrelHits;
+
+        @Override
+        public void onCellChanged(int row, int col) {
+            cellsChanged++;
+        }
+
+        @Override
+        public void onProjectileFired(int index) {
+            projectilesFired++;
+        }
+
+        @Override
+        public void onFoxRespawned() {
+            foxRespawns++;
+        }
+
+        @Override
+        public void onSquirrelHit() {
+            squirrelHits++;
+        }
+    }
+
+    private MazeGrid maze;
+    private RecordingListener listener;
+
+    /**
+     * Sets up a small open maze before each test.
+     */
+    @Before
+    public void setUp() {
+        maze = MazeGrid.fromRows(new int[][]{
+                {1, 1, 1, 1, 1, 1, 1},
+                {1, 0, 0, 0, 0, 0, 1},
+                {1, 0, 1, 0, 1, 0, 1},
+                {1, 0, 0, 0, 0, 0, 1},
+                {1, 0, 1, 0, 1, 0, 1},
+                {1, 0, 0, 0, 0, 0, 1},
+                {1, 1, 1, 1, 1, 1, 1}
+        });
+        listener = new RecordingListener();
+    }
+
+    /**
+     * Tests that two worlds created with the same seed place acorns and the fox identically.
+     */
+    @Test
+    public void testSameSeedGivesSameWorld() {
+        GameWorld first = new GameWorld(42L);
+        GameWorld second = new GameWorld(42L);
+        for (int i = 0; i < first.getMaze().size(); i++) {
+            assertEquals(first.getMaze().get(i), second.getMaze().get(i));
+        }
+        assertEquals(first.getFox().getX(), second.getFox().getX(), 0);
+        assertEquals(first.getFox().getY(), second.getFox().getY(), 0);
+    }
+
+    /**
+     * Tests that the fox only ever spawns on wall cells that are not on the outer border.
+     */
+    @Test
+    public void testFoxRespawnsInsideWalls() {
+        GameWorld world = new GameWorld(maze, 7L);
+        world.setListener(listener);
+        for (int i = 0; i < 50; i++) {
+            world.respawnFox();
+            int col = (int) world.getFox().getX();
+            int row = (int) world.getFox().getY();
+            assertTrue("Fox should respawn in a bush", maze.isWall(row, col));
+            assertTrue("Fox should not respawn on the border", row > 0 && row < 6 && col > 0 && col < 6);
+        }
+        assertEquals(50, listener.foxRespawns);
+    }
+
+    /**
+     * Tests that a bush grown through setCell becomes a hiding place for the fox.
+     */
+    @Test
+    public void testFoxUsesNewWalls() {
+        GameWorld world = new GameWorld(maze, 7L);
+        for (int[] pillar : new int[][]{{2, 2}, {2, 4}, {4, 2}, {4, 4}}) {
+            world.setCell(pillar[0], pillar[1], MazeGrid.PATH);
+        }
+        world.setCell(3, 1, MazeGrid.WALL);
+        world.respawnFox();
+        assertEquals(1, world.getFox().getX(), 0);
+        assertEquals(3, world.getFox().getY(), 0);
+    }
+
+    /**
+     * Tests the respawn position chosen by a controlled random generator, in the style of the app's FoxTest.
+     */
+    @Test
+    public void testFoxRespawnWithControlledRandom() {
+        WallIndex walls = new WallIndex(maze);
+        Fox fox = new Fox(walls, new Random(0));
+        fox.random = new Random() {
+            @Override
+            public int nextInt(int bound) {
+                return 1; // Second interior wall in row-major order: row 2, column 4
+            }
+        };
+        fox.respawn(walls);
+        assertEquals(4, fox.getX(), 0);
+        assertEquals(2, fox.getY(), 0);
+    }
+
+    /**
+     * Tests that the squirrel collects the acorn in the cell it stands on and the change is reported.
+     */
+    @Test
+    public void testSquirrelCollectsAcorn() {
+        GameWorld world = new GameWorld(maze, 1L);
+        world.setListener(listener);
+        world.setCell(3, 3, MazeGrid.ACORN); // The squirrel starts in the middle cell
+        listener.cellsChanged = 0;
+
+        world.tick();
+        assertEquals("Acorn should be collected", MazeGrid.PATH, world.getCell(3, 3));
+        assertEquals(1, listener.cellsChanged);
+    }
+
+    /**
+     * Tests that the fox's first shot is scheduled on the game clock, two seconds of ticks after the start.
+     */
+    @Test
+    public void testFoxShootsOnGameClock() {
+        GameWorld world = new GameWorld(maze, 3L);
+        world.setListener(listener);
+        for (int i = 1; i < 2 * GameWorld.TICKS_PER_SECOND; i++) {
+            world.tick();
+        }
+        assertEquals(0, listener.projectilesFired);
+        world.tick();
+        assertEquals("The fox should shoot after 2 seconds", 1, listener.projectilesFired);
+        assertEquals(1, world.getProjectileCount());
+        assertEquals(0, listener.foxRespawns);
+    }
+
+    /**
+     * Tests that queued commands are applied at the start of the next tick, and that pausing freezes the
+     * simulation while still accepting commands.
+     */
+    @Test
+    public void testCommandsAppliedOnTick() {
+        GameWorld world = new GameWorld(maze, 3L);
+        world.setListener(listener);
+        float startX = world.getSquirrel().getX();
+        CommandQueue commands = world.getCommands();
+        assertTrue(commands.offer(GameWorld.COMMAND_MOVE_SQUIRREL, 1, 0, 0, 0));
+        assertTrue(commands.offer(GameWorld.COMMAND_RESPAWN_FOX, 0, 0, 0, 0));
+        assertEquals("Commands wait for the next tick", startX, world.getSquirrel().getX(), 0);
+
+        world.tick();
+        assertTrue(world.getSquirrel().getX() > startX);
+        assertEquals(1, listener.foxRespawns);
+
+        commands.offer(GameWorld.COMMAND_PAUSE, 1, 0, 0, 0);
+        commands.offer(GameWorld.COMMAND_SPAWN_PROJECTILE, 1, 1, 0, 0);
+        long tickCount = world.getTickCount();
+        world.tick();
+        world.tick();
+        assertTrue(world.isPaused());
+        assertEquals("Paused ticks should not advance the game", tickCount, world.getTickCount());
+        assertEquals(1, world.getProjectileCount());
+        assertEquals(1, world.getProjectiles().getX(0), 0);
+
+        commands.offer(GameWorld.COMMAND_PAUSE, 0, 0, 0, 0);
+        world.tick();
+        assertFalse(world.isPaused());
+        assertEquals(tickCount + 1, world.getTickCount());
+    }
+
+    /**
+     * Tests that projectiles flying away from the squirrel are removed when they reach the bushes at the edge
+     * of the maze, so they don't pile up over a long game.
+     */
+    @Test
+    public void testMissedProjectilesAreRemoved() {
+        GameWorld world = new GameWorld(maze, 3L);
+        world.spawnProjectile(1, 1, -0.2f, 0);
+        world.spawnProjectile(5, 5, 0, 0.3f);
+        world.spawnProjectile(1, 5, 0, 0.2f);
+        assertEquals(3, world.getProjectileCount());
+        for (int i = 0; i < 5; i++) {
+            world.tick();
+        }
+        assertFalse(world.isGameOver());
+        assertEquals(0, world.getProjectileCount());
+    }
+
+    /**
+     * Tests that a projectile fired by the fox travels towards the squirrel and ends the game on impact.
+     */
+    @Test
+    public void testProjectileHitEndsGame() {
+        GameWorld world = new GameWorld(maze, 3L);
+        world.setListener(listener);
+        world.foxShoot();
+        assertEquals(1, world.getProjectileCount());
+        assertEquals(1, listener.projectilesFired);
+
+        int ticks = 0;
+        while (!world.isGameOver() && ticks < 1000) {
+            world.tick();
+            ticks++;
+        }
+        assertTrue("The projectile should reach the squirrel", world.isGameOver());
+        assertEquals(1, listener.squirrelHits);
+        assertEquals(0, world.getProjectileCount());
+
+        long tickCount = world.getTickCount();
+        world.tick();
+        assertEquals("Ticks after game over should do nothing", tickCount, world.getTickCount());
+        assertEquals(-1, world.foxShoot());
+    }
+
+    /**
+     * Tests that on a generated maze the squirrel starts on the spawn point, which is an open room, and the
+     * fox hides in a bush.
+     */
+    @Test
+    public void testGeneratedMaze() {
+        MazeGrid generated = MazeGenerator.backtracker(100, 100, 8L, 0.2f);
+        GameWorld world = new GameWorld(generated, 8L);
+        int col = Math.round(world.getSquirrel().getX());
+        int row = Math.round(world.getSquirrel().getY());
+        assertTrue(generated.has(generated.index(row, col), MazeGrid.SPAWN));
+        assertFalse(generated.isWall(row, col));
+        assertTrue(generated.isWall(Math.round(world.getFox().getY()), Math.round(world.getFox().getX())));
+    }
+
+    /**
+     * Tests that an invulnerable squirrel survives a projectile and a chasing fox, and that the projectile is
+     * still removed when it reaches the squirrel.
+     */
+    @Test
+    public void testInvulnerableSquirrel() {
+        GameWorld world = new GameWorld(maze, 3L);
+        world.setListener(listener);
+        world.setInvulnerable(true);
+        assertTrue(world.isInvulnerable());
+        world.foxShoot();
+        world.setFoxChasing(true);
+        for (int ticks = 0; ticks < 1000; ticks++) {
+            world.tick();
+        }
+        assertFalse(world.isGameOver());
+        assertEquals(0, listener.squirrelHits);
+        assertEquals(1000, world.getTickCount());
+        assertEquals(0, world.getProjectileCount());
+    }
+
+    /**
+     * Tests that a chasing fox leaves its bush, runs along open cells to the squirrel and ends the game when
+     * it catches it, before it has even fired a shot.
+     */
+    @Test
+    public void testChasingFoxCatchesSquirrel() {
+        GameWorld world = new GameWorld(maze, 5L);
+        world.setListener(listener);
+        assertTrue(world.getCommands().offer(GameWorld.COMMAND_FOX_CHASE, 1, 0, 0, 0));
+        world.tick();
+        assertTrue(world.isFoxChasing());
+
+        int ticks = 1;
+        while (!world.isGameOver() && ticks < GameWorld.FOX_SHOOT_TICKS) {
+            Fox fox = world.getFox();
+            boolean onCell = fox.getX() == Math.round(fox.getX()) && fox.getY() == Math.round(fox.getY());
+            if (onCell && ticks > 1) {
+                assertFalse(maze.isWall(Math.round(fox.getY()), Math.round(fox.getX())));
+            }
+            world.tick();
+            ticks++;
+        }
+        assertTrue("The fox should catch the squirrel", world.isGameOver());
+        assertEquals(1, listener.squirrelHits);
+        assertEquals(0, listener.projectilesFired);
+    }
+
+    /**
+     * Tests horde mode: foxes added up to the limit, each shooting on its own timer, and a horde
+     * chasing the squirrel along one shared flow field that is only searched when the squirrel changes cell.
+     */
+    @Test
+    public void testHordeChasesSquirrel() {
+        GameWorld world = new GameWorld(MazeGenerator.backtracker(31, 31, 4L, 0.3f), 4L);
+        world.setListener(listener);
+        for (int i = 1; i < GameWorld.MAX_FOXES; i++) {
+            assertEquals(i, world.addFox());
+        }
+        assertEquals(-1, world.addFox());
+        assertEquals(GameWorld.MAX_FOXES, world.getFoxCount());
+
+        // Shots are owned by the fox that fired them, and the added foxes shoot on their own timers, before
+        // the first fox's first shot
+        int index = world.foxShoot(GameWorld.MAX_FOXES - 1);
+        assertEquals(GameWorld.MAX_FOXES - 1, world.getProjectiles().getOwner(index));
+        for (int t = 1; t < GameWorld.FOX_SHOOT_TICKS && !world.isGameOver(); t++) {
+            world.tick();
+        }
+        assertTrue(listener.projectilesFired > 1);
+        // Every fox, the squirrel and every projectile in flight live in the world's entity tables
+        assertEquals(world.getFoxCount() + 1 + world.getProjectileCount(), world.getEntities().getLiveCount());
+
+        GameWorld horde = new GameWorld(maze, 6L);
+        assertTrue(horde.getCommands().offer(GameWorld.COMMAND_ADD_FOX, 0, 0, 0, 0));
+        assertTrue(horde.getCommands().offer(GameWorld.COMMAND_ADD_FOX, 0, 0, 0, 0));
+        horde.setFoxChasing(true);
+        horde.tick();
+        assertEquals(3, horde.getFoxCount());
+        int target = horde.getFlowField().getTarget();
+        assertEquals(maze.index(3, 3), target);
+        while (!horde.isGameOver() && horde.getTickCount() < GameWorld.FOX_SHOOT_TICKS) {
+            horde.tick();
+            assertEquals(target, horde.getFlowField().getTarget());
+        }
+        assertTrue("The horde should catch the squirrel", horde.isGameOver());
+    }
+
+    /**
+     * Tests that a chasing fox holds its fire without a straight line of fire to the squirrel, while a fox
+     * waiting in its bush shoots blindly.
+     */
+    @Test
+    public void testChasingFoxNeedsLineOfFire() {
+        GameWorld world = new GameWorld(maze, 7L);
+        world.setListener(listener);
+        // Every bush of the small maze is diagonal to the squirrel in the middle
+        world.setFoxChasing(true);
+        assertEquals(-1, world.foxShoot());
+        assertEquals(0, listener.projectilesFired);
+        world.setFoxChasing(false);
+        assertTrue(world.foxShoot() >= 0);
+        assertEquals(1, listener.projectilesFired);
+    }
+
+    /**
+     * Tests that a squirrel move queued as a command is drawn part of the way between ticks, rather than
+     * snapping to its new position.
+     */
+    @Test
+    public void testQueuedMoveIsInterpolated() {
+        GameWorld world = new GameWorld(maze, 3L);
+        Squirrel squirrel = world.getSquirrel();
+        float startX = squirrel.getX();
+        assertTrue(world.getCommands().offer(GameWorld.COMMAND_MOVE_SQUIRREL, 1, 0, 0, 0));
+        world.tick();
+        assertEquals(startX + 0.25f, squirrel.getX(), 0);
+        assertEquals(startX + 0.125f, squirrel.interpolateX(0.5f), 1e-6f);
+        assertEquals(startX, squirrel.interpolateX(0), 0);
+    }
+}
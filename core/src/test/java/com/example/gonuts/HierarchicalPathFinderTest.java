@@ -0,0 +1,134 @@
+package com.example.gonuts;
+
+import static com.example.gonuts.MazeTestSupport.*;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Executor;
+
+/**
+ * Tests the {@link HierarchicalPathFinder} against the exact {@link PathFinder}, its cluster repairs and its
+ * background build.
+ */
+public class HierarchicalPathFinderTest {
+
+    /**
+     * Tests many random searches on a braided generated maze spanning many clusters, including searches
+     * starting inside a bush: paths exist exactly when they do for A*, are valid and are close to the
+     * shortest.
+     */
+    @Test
+    public void testCloseToShortestPaths() {
+        Random random = new Random(3);
+        MazeGrid maze = MazeGenerator.backtracker(101, 131, 4L, 0.3f);
+        HierarchicalPathFinder routes = new HierarchicalPathFinder(maze);
+        PathFinder paths = new PathFinder(maze);
+        long routeSteps = 0;
+        long shortestSteps = 0;
+        for (int i = 0; i < 300; i++) {
+            int start = random.nextInt(maze.size());
+            int goal = randomOpenCell(maze, random);
+            boolean found = paths.search(start, goal);
+            assertEquals(found, routes.search(start, goal));
+            if (found) {
+                assertTrue(routes.getPathLength() >= paths.getPathLength());
+                assertValidPath(routes, start, goal);
+                routeSteps += routes.getPathLength();
+                shortestSteps += paths.getPathLength();
+            }
+        }
+        assertTrue(routes.isReady());
+        assertTrue(routes.getNodeCount() * 4 < maze.size());
+        assertTrue(routeSteps < shortestSteps * 1.1);
+    }
+
+    /**
+     * Tests searches that stay within one cluster, touch the maze's edges, and start and end on one cell.
+     */
+    @Test
+    public void testSmallMaze() {
+        MazeGrid maze = MazeLayouts.classic();
+        HierarchicalPathFinder routes = new HierarchicalPathFinder(maze, 4);
+        PathFinder paths = new PathFinder(maze);
+        for (int start = 0; start < maze.size(); start += 7) {
+            for (int goal = 0; goal < maze.size(); goal += 5) {
+                boolean found = paths.search(start, goal);
+                assertEquals(found, routes.search(start, goal));
+                if (found) {
+                    assertValidPath(routes, start, goal);
+                }
+            }
+        }
+        assertTrue(routes.search(maze.index(1, 1), maze.index(1, 1)));
+        assertEquals(1, routes.getPathLength());
+        assertFalse(routes.search(maze.index(1, 1), maze.index(0, 0)));
+    }
+
+    /**
+     * Tests that a door opening in a wall between two halves of the maze is found after repairing its
+     * cluster, and that closing it again cuts the halves off.
+     */
+    @Test
+    public void testRepairAfterDoorOpens() {
+        MazeGrid maze = new MazeGrid(40, 40);
+        for (int row = 0; row < 40; row++) {
+            maze.set(row, 20, MazeGrid.WALL | MazeGrid.DOOR);
+        }
+        HierarchicalPathFinder routes = new HierarchicalPathFinder(maze, 8);
+        int start = maze.index(5, 5);
+        int goal = maze.index(5, 35);
+        assertFalse(routes.search(start, goal));
+
+        maze.set(30, 20, MazeGrid.DOOR);
+        routes.cellChanged(maze.index(30, 20));
+        assertTrue(routes.search(start, goal));
+        assertValidPath(routes, start, goal);
+        assertTrue(routes.getPathLength() >= 25 + 15 + 25 + 15 + 1);
+
+        maze.set(30, 20, MazeGrid.WALL | MazeGrid.DOOR);
+        routes.cellChanged(maze.index(30, 20));
+        assertFalse(routes.search(start, goal));
+    }
+
+    /**
+     * Tests that searches fall back to exact A* until a background build has run, and that changes made
+     * while it was running are repaired afterwards.
+     */
+    @Test
+    public void testBackgroundBuild() {
+        MazeGrid maze = MazeGenerator.backtracker(61, 61, 9L, 0.2f);
+        final List<Runnable> pending = new ArrayList<>();
+        Executor executor = new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                pending.add(command);
+            }
+        };
+        HierarchicalPathFinder routes = new HierarchicalPathFinder(maze);
+        routes.precompute(executor);
+        assertFalse(routes.isReady());
+        assertEquals(0, routes.getNodeCount());
+
+        PathFinder paths = new PathFinder(maze);
+        int start = maze.index(1, 1);
+        int goal = maze.index(59, 59);
+        assertTrue(paths.search(start, goal));
+        assertTrue(routes.search(start, goal));
+        assertEquals(paths.getPathLength(), routes.getPathLength());
+        assertEquals(paths.getPathCell(1), routes.getPathCell(1));
+
+        // Wall off the goal while the build works on its snapshot
+        maze.set(58, 59, MazeGrid.WALL);
+        maze.set(59, 58, MazeGrid.WALL);
+        routes.cellChanged(maze.index(58, 59));
+        routes.cellChanged(maze.index(59, 58));
+        pending.get(0).run();
+        assertTrue(routes.isReady());
+        assertFalse(routes.search(start, goal));
+        assertTrue(routes.search(start, maze.index(57, 59)));
+        assertValidPath(routes, start, maze.index(57, 59));
+    }
+}
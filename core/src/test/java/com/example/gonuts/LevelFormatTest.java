@@ -0,0 +1,183 @@
+package com.example.gonuts;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Tests encoding and decoding single levels in the {@link LevelFormat}.
+ */
+public class LevelFormatTest {
+
+    /**
+     * Tests that a level with walls, spawn points, acorns and fox settings survives a round trip unchanged,
+     * and that decoding stops right after the record.
+     */
+    @Test
+    public void testRoundTrip() throws IOException {
+        MazeGrid maze = MazeGenerator.backtracker(31, 45, 4L, 0.3f);
+        maze.addFlags(maze.index(1, 1), MazeGrid.ACORN);
+        maze.addFlags(maze.index(29, 43), MazeGrid.ACORN | MazeGrid.SPAWN);
+        Level level = new Level(maze, 300, 45, false);
+
+        byte[] record = LevelFormat.encode(level);
+        ByteBuffer buffer = ByteBuffer.allocate(record.length + 3);
+        buffer.put(record).put(new byte[]{7, 7, 7}).flip();
+        Level decoded = LevelFormat.decode(buffer);
+
+        assertEquals(record.length, buffer.position());
+        assertEquals(300, decoded.getFoxRespawnTicks());
+        assertEquals(45, decoded.getFoxShootTicks());
+        assertFalse(decoded.hasRandomAcorns());
+        assertEquals(31, decoded.getMaze().getRows());
+        assertEquals(45, decoded.getMaze().getCols());
+        for (int i = 0; i < maze.size(); i++) {
+            assertEquals("Cell " + i, maze.get(i), decoded.getMaze().get(i));
+        }
+    }
+
+    /**
+     * Tests edge cases of the run encoding: a maze that starts with a wall, one that is all paths, and runs
+     * long enough to need multi-byte varints.
+     */
+    @Test
+    public void testRuns() throws IOException {
+        MazeGrid walls = new MazeGrid(200, 300);
+        walls.fill(0, walls.size(), MazeGrid.WALL);
+        walls.set(150, 150, MazeGrid.PATH);
+        assertSameMaze(walls, roundTrip(walls));
+
+        MazeGrid open = new MazeGrid(3, 3);
+        assertSameMaze(open, roundTrip(open));
+    }
+
+    /**
+     * Tests that a large generated maze, which alternates between walls and paths, is bit-packed, while an
+     * open arena is stored as runs in far less than a bit per cell.
+     */
+    @Test
+    public void testCellEncodings() throws IOException {
+        MazeGrid generated = MazeGenerator.eller(1001, 999, 1L, 0.2f);
+        byte[] record = LevelFormat.encode(new Level(generated, 600, 120, true));
+        assertTrue((record[7] & LevelFormat.FLAG_PACKED_CELLS) != 0);
+        assertTrue(record.length < 1001 * 999 / 8 + 1000);
+        assertSameMaze(generated, LevelFormat.decode(ByteBuffer.wrap(record)).getMaze());
+
+        MazeGrid arena = new MazeGrid(100, 100);
+        for (int i = 0; i < 100; i++) {
+            arena.set(0, i, MazeGrid.WALL);
+            arena.set(99, i, MazeGrid.WALL);
+            arena.set(i, 0, MazeGrid.WALL);
+            arena.set(i, 99, MazeGrid.WALL);
+        }
+        record = LevelFormat.encode(new Level(arena, 600, 120, true));
+        assertEquals(0, record[7] & LevelFormat.FLAG_PACKED_CELLS);
+        assertTrue(record.length < 100 * 100 / 16);
+        assertSameMaze(arena, LevelFormat.decode(ByteBuffer.wrap(record)).getMaze());
+    }
+
+    /**
+     * Tests that a record with the wrong magic number is rejected.
+     */
+    @Test(expected = IOException.class)
+    public void testBadMagic() throws IOException {
+        byte[] record = LevelFormat.encode(MazeLayouts.classicLevel());
+        record[0] = 'X';
+        LevelFormat.decode(ByteBuffer.wrap(record));
+    }
+
+    /**
+     * Tests that a record from a newer version of the format is rejected.
+     */
+    @Test(expected = IOException.class)
+    public void testNewerVersion() throws IOException {
+        byte[] record = LevelFormat.encode(MazeLayouts.classicLevel());
+        record[5] = (byte) (LevelFormat.VERSION + 1);
+        LevelFormat.decode(ByteBuffer.wrap(record));
+    }
+
+    /**
+     * Tests that a truncated record is reported as an IOException rather than a buffer exception.
+     */
+    @Test(expected = IOException.class)
+    public void testTruncated() throws IOException {
+        byte[] record = LevelFormat.encode(MazeLayouts.classicLevel());
+        LevelFormat.decode(ByteBuffer.wrap(record, 0, record.length - 2));
+    }
+
+    /**
+     * Tests that a header claiming a maze larger than MAX_CELLS is rejected before anything is allocated for
+     * it, and that bit-packed cells must all be present before the maze is allocated.
+     */
+    @Test
+    public void testOversizedMaze() {
+        byte[] record = LevelFormat.encode(MazeLayouts.classicLevel());
+        ByteBuffer header = ByteBuffer.wrap(record);
+        header.putInt(8, 40000); // 40000 x 50000 cells would be a 2 GB maze
+        header.putInt(12, 50000);
+        try {
+            LevelFormat.decode(ByteBuffer.wrap(record));
+            fail("An oversized maze should be rejected");
+        } catch (IOException expected) {
+            // Expected
+        }
+
+        header.putShort(6, (short) LevelFormat.FLAG_PACKED_CELLS);
+        header.putInt(8, 4096);
+        header.putInt(12, 4096);
+        try {
+            LevelFormat.decode(ByteBuffer.wrap(record));
+            fail("Packed cells missing from the record should be rejected");
+        } catch (IOException expected) {
+            // Expected
+        }
+    }
+
+    /**
+     * Tests that a five-byte varint whose last byte has bits beyond an int is rejected rather than having
+     * those bits dropped. The first run of an all-wall maze is 0, which is also what the overlong varint
+     * would have been read as.
+     */
+    @Test(expected = IOException.class)
+    public void testOverlongVarint() throws IOException {
+        MazeGrid maze = new MazeGrid(10, 10);
+        maze.fill(0, maze.size(), MazeGrid.WALL);
+        byte[] record = LevelFormat.encode(new Level(maze, 1, 1, false));
+        assertEquals(0, record[24]); // First run length, of paths, right after the 24-byte header
+        byte[] tampered = new byte[record.length + 4];
+        System.arraycopy(record, 0, tampered, 0, 24);
+        tampered[24] = (byte) 0x80;
+        tampered[25] = (byte) 0x80;
+        tampered[26] = (byte) 0x80;
+        tampered[27] = (byte) 0x80;
+        tampered[28] = 0x10;
+        System.arraycopy(record, 25, tampered, 29, record.length - 25);
+        LevelFormat.decode(ByteBuffer.wrap(tampered));
+    }
+
+    /**
+     * Encodes and decodes a maze as a level.
+     *
+     * @param maze The maze.
+     * @return The decoded maze.
+     */
+    private static MazeGrid roundTrip(MazeGrid maze) throws IOException {
+        return LevelFormat.decode(ByteBuffer.wrap(LevelFormat.encode(new Level(maze, 1, 1, false)))).getMaze();
+    }
+
+    /**
+     * Asserts that two mazes have the same size and cells.
+     *
+     * @param expected The expected maze.
+     * @param actual The actual maze.
+     */
+    private static void assertSameMaze(MazeGrid expected, MazeGrid actual) {
+        assertEquals(expected.getRows(), actual.getRows());
+        assertEquals(expected.getCols(), actual.getCols());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), actual.get(i));
+        }
+    }
+}
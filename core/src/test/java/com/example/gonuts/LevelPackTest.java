@@ -0,0 +1,139 @@
+package com.example.gonuts;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests writing {@link LevelPack}s and loading levels from them, both memory-mapped and from a stream.
+ */
+public class LevelPackTest {
+
+    /**
+     * Tests that every level of a memory-mapped pack loads back as written, in any order.
+     */
+    @Test
+    public void testMappedPack() throws IOException {
+        List<Level> levels = createLevels(20);
+        File file = File.createTempFile("levels", ".gnl");
+        try {
+            FileOutputStream out = new FileOutputStream(file);
+            try {
+                LevelPack.write(levels, out);
+            } finally {
+                out.close();
+            }
+
+            LevelPack pack = LevelPack.map(file);
+            assertEquals(20, pack.getLevelCount());
+            for (int i = levels.size() - 1; i >= 0; i--) {
+                assertSameLevel(levels.get(i), pack.load(i));
+            }
+        } finally {
+            assertTrue(file.delete());
+        }
+    }
+
+    /**
+     * Tests reading a pack from a stream, and that a pack inside a larger buffer is found from the buffer's
+     * position, as with an asset stored inside an APK.
+     */
+    @Test
+    public void testStreamAndEmbeddedPack() throws IOException {
+        List<Level> levels = createLevels(3);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        LevelPack.write(levels, out);
+        byte[] bytes = out.toByteArray();
+
+        LevelPack streamed = LevelPack.read(new ByteArrayInputStream(bytes));
+        assertSameLevel(levels.get(2), streamed.load(2));
+
+        ByteBuffer container = ByteBuffer.allocate(bytes.length + 100);
+        container.position(100);
+        container.put(bytes);
+        container.position(100);
+        LevelPack embedded = new LevelPack(container);
+        assertEquals(100, container.position());
+        assertSameLevel(levels.get(1), embedded.load(1));
+    }
+
+    /**
+     * Tests that a level from a pack starts a world with the level's settings.
+     */
+    @Test
+    public void testWorldFromLevel() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        List<Level> levels = new ArrayList<>();
+        levels.add(MazeLayouts.classicLevel());
+        LevelPack.write(levels, out);
+        Level level = LevelPack.read(new ByteArrayInputStream(out.toByteArray())).load(0);
+
+        GameWorld fromLevel = new GameWorld(level, 42L);
+        GameWorld classic = new GameWorld(42L);
+        assertEquals(classic.getSquirrel().getX(), fromLevel.getSquirrel().getX(), 0f);
+        assertEquals(classic.getSquirrel().getY(), fromLevel.getSquirrel().getY(), 0f);
+        assertEquals(classic.getFox().getX(), fromLevel.getFox().getX(), 0f);
+        assertFalse("The world plays on a copy of the level's maze", level.getMaze() == fromLevel.getMaze());
+    }
+
+    /**
+     * Tests that a pack whose index points past its end is rejected when it is opened.
+     */
+    @Test(expected = IOException.class)
+    public void testCorruptIndex() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        LevelPack.write(createLevels(2), out);
+        byte[] bytes = out.toByteArray();
+        bytes[16] = 0x7F; // High byte of the first level's offset
+        new LevelPack(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * Tests that data that is not a pack is rejected.
+     */
+    @Test(expected = IOException.class)
+    public void testNotAPack() throws IOException {
+        new LevelPack(ByteBuffer.wrap(new byte[]{1, 2, 3}));
+    }
+
+    /**
+     * Creates generated levels of different sizes and settings.
+     *
+     * @param count The number of levels.
+     * @return The levels.
+     */
+    private static List<Level> createLevels(int count) {
+        List<Level> levels = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            MazeGrid maze = MazeGenerator.eller(11 + 2 * i, 15 + 4 * i, i, i % 3 * 0.25f);
+            maze.addFlags(maze.index(1, 1), MazeGrid.ACORN);
+            levels.add(new Level(maze, 100 + i, 50 + i, i % 2 == 0));
+        }
+        return levels;
+    }
+
+    /**
+     * Asserts that two levels are the same.
+     *
+     * @param expected The expected level.
+     * @param actual The actual level.
+     */
+    private static void assertSameLevel(Level expected, Level actual) {
+        assertEquals(expected.getFoxRespawnTicks(), actual.getFoxRespawnTicks());
+        assertEquals(expected.getFoxShootTicks(), actual.getFoxShootTicks());
+        assertEquals(expected.hasRandomAcorns(), actual.hasRandomAcorns());
+        assertEquals(expected.getMaze().getRows(), actual.getMaze().getRows());
+        assertEquals(expected.getMaze().getCols(), actual.getMaze().getCols());
+        for (int i = 0; i < expected.getMaze().size(); i++) {
+            assertEquals(expected.getMaze().get(i), actual.getMaze().get(i));
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.gonuts;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Tests the {@link LineOfFire} queries along the rows and columns of a maze.
+ */
+public class LineOfFireTest {
+
+    /**
+     * Tests straight lines of fire along rows and columns, out of a bush, and blocked by walls.
+     */
+    @Test
+    public void testLineOfFire() {
+        MazeGrid maze = MazeLayouts.classic();
+        LineOfFire lineOfFire = new LineOfFire(maze);
+        assertTrue(lineOfFire.isClear(maze.index(1, 1), maze.index(1, 8)));
+        assertTrue(lineOfFire.isClear(maze.index(1, 8), maze.index(1, 1)));
+        assertFalse(lineOfFire.isClear(maze.index(1, 1), maze.index(1, 17)));
+        assertTrue(lineOfFire.isClear(maze.index(1, 1), maze.index(14, 1)));
+        assertFalse(lineOfFire.isClear(maze.index(1, 1), maze.index(17, 1)));
+        assertFalse(lineOfFire.isClear(maze.index(1, 1), maze.index(4, 4)));
+        assertFalse(lineOfFire.isClear(maze.index(1, 1), maze.index(0, 1)));
+        // Out of the bush at (5, 2) into the open cells next to it, but not across the bushes beyond
+        assertTrue(maze.isWall(5, 2));
+        assertTrue(lineOfFire.isClear(maze.index(5, 2), maze.index(4, 2)));
+        assertTrue(lineOfFire.isClear(maze.index(5, 2), maze.index(5, 1)));
+        assertFalse(lineOfFire.isClear(maze.index(5, 2), maze.index(5, 4)));
+        assertFalse(lineOfFire.isClear(maze.index(5, 2), maze.index(1, 2)));
+    }
+
+    /**
+     * Tests that a new wall blocks the line of fire once the index is invalidated, and that clearing it opens
+     * the line again.
+     */
+    @Test
+    public void testInvalidate() {
+        MazeGrid maze = MazeLayouts.classic();
+        LineOfFire lineOfFire = new LineOfFire(maze);
+        assertTrue(lineOfFire.isClear(maze.index(1, 1), maze.index(1, 8)));
+
+        maze.set(1, 4, MazeGrid.WALL);
+        lineOfFire.invalidate();
+        assertFalse(lineOfFire.isClear(maze.index(1, 1), maze.index(1, 8)));
+        assertTrue(lineOfFire.isClear(maze.index(1, 1), maze.index(1, 3)));
+
+        maze.set(1, 4, MazeGrid.PATH);
+        lineOfFire.invalidate();
+        assertTrue(lineOfFire.isClear(maze.index(1, 1), maze.index(1, 8)));
+    }
+}
@@ -0,0 +1,204 @@
+package com.example.gonuts;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Tests the {@link MazeGenerator} algorithms: determinism, connectivity and braiding.
+ */
+public class MazeGeneratorTest {
+
+    /**
+     * Tests that the same seed gives the same maze, and a different seed a different one.
+     */
+    @Test
+    public void testSeeded() {
+        assertSameCells(MazeGenerator.backtracker(41, 61, 5L, 0.3f), MazeGenerator.backtracker(41, 61, 5L, 0.3f));
+        assertSameCells(MazeGenerator.eller(41, 61, 5L, 0.3f), MazeGenerator.eller(41, 61, 5L, 0.3f));
+        assertFalse(sameCells(MazeGenerator.backtracker(41, 61, 5L, 0), MazeGenerator.backtracker(41, 61, 6L, 0)));
+        assertFalse(sameCells(MazeGenerator.eller(41, 61, 5L, 0), MazeGenerator.eller(41, 61, 6L, 0)));
+    }
+
+    /**
+     * Tests that both algorithms make perfect mazes: a bush border, every room reachable, and exactly one
+     * route between rooms, which for a connected maze means open cells = 2 * rooms - 1.
+     */
+    @Test
+    public void testPerfectMazes() {
+        int[][] sizes = {{3, 3}, {21, 21}, {40, 25}, {101, 77}};
+        for (int[] size : sizes) {
+            for (long seed = 0; seed < 3; seed++) {
+                assertPerfect(MazeGenerator.backtracker(size[0], size[1], seed, 0));
+                assertPerfect(MazeGenerator.eller(size[0], size[1], seed, 0));
+            }
+        }
+    }
+
+    /**
+     * Tests that braiding removes dead ends while keeping every room reachable.
+     */
+    @Test
+    public void testBraid() {
+        MazeGrid perfect = MazeGenerator.backtracker(61, 61, 3L, 0);
+        MazeGrid braided = MazeGenerator.backtracker(61, 61, 3L, 1);
+        assertTrue(countDeadEnds(perfect) > 0);
+        assertEquals(0, countDeadEnds(braided));
+        assertEquals(countOpen(braided), countReachable(braided));
+
+        MazeGrid half = MazeGenerator.eller(61, 61, 3L, 0.5f);
+        int perfectDeadEnds = countDeadEnds(MazeGenerator.eller(61, 61, 3L, 0));
+        assertTrue(countDeadEnds(half) < perfectDeadEnds);
+        assertTrue(countDeadEnds(half) > 0);
+    }
+
+    /**
+     * Tests that streaming Eller's algorithm gives every row in order, matching the unbraided maze
+     * apart from its spawn point.
+     */
+    @Test
+    public void testStreamEller() {
+        final MazeGrid expected = MazeGenerator.eller(30, 45, 9L, 0);
+        final int[] nextRow = {0};
+        MazeGenerator.streamEller(30, 45, 9L, new MazeGenerator.RowSink() {
+            @Override
+            public void onRow(int row, byte[] cells) {
+                assertEquals(nextRow[0]++, row);
+                for (int col = 0; col < expected.getCols(); col++) {
+                    assertEquals(expected.get(row, col) & ~MazeGrid.SPAWN, cells[col]);
+                }
+            }
+        });
+        assertEquals(30, nextRow[0]);
+    }
+
+    /**
+     * Tests that a 1000 x 1000 maze can be generated by either algorithm.
+     */
+    @Test
+    public void testLargeMaze() {
+        assertPerfect(MazeGenerator.backtracker(1000, 1000, 1L, 0));
+        assertPerfect(MazeGenerator.eller(1000, 1000, 1L, 0));
+    }
+
+    /**
+     * Tests that mazes too small to hold a room are rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testTooSmall() {
+        MazeGenerator.eller(2, 10, 1L, 0);
+    }
+
+    /**
+     * Asserts that a maze is a perfect maze surrounded by bushes.
+     *
+     * @param maze The maze.
+     */
+    private static void assertPerfect(MazeGrid maze) {
+        for (int row = 0; row < maze.getRows(); row++) {
+            assertTrue(maze.isWall(row, 0));
+            assertTrue(maze.isWall(row, maze.getCols() - 1));
+        }
+        for (int col = 0; col < maze.getCols(); col++) {
+            assertTrue(maze.isWall(0, col));
+            assertTrue(maze.isWall(maze.getRows() - 1, col));
+        }
+        int rooms = ((maze.getRows() - 1) / 2) * ((maze.getCols() - 1) / 2);
+        assertEquals(2 * rooms - 1, countOpen(maze));
+        assertEquals(countOpen(maze), countReachable(maze));
+    }
+
+    /**
+     * Counts the open cells of a maze.
+     *
+     * @param maze The maze.
+     * @return The number of cells that are not bushes.
+     */
+    private static int countOpen(MazeGrid maze) {
+        int open = 0;
+        for (int i = 0; i < maze.size(); i++) {
+            if (!maze.isWall(i)) {
+                open++;
+            }
+        }
+        return open;
+    }
+
+    /**
+     * Counts the open cells reachable from the top-left room with a breadth-first search.
+     *
+     * @param maze The maze.
+     * @return The number of reachable cells.
+     */
+    private static int countReachable(MazeGrid maze) {
+        boolean[] seen = new boolean[maze.size()];
+        int[] queue = new int[maze.size()];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = maze.index(1, 1);
+        seen[maze.index(1, 1)] = true;
+        while (head < tail) {
+            int cell = queue[head++];
+            int[] neighbours = {cell - 1, cell + 1, cell - maze.getCols(), cell + maze.getCols()};
+            for (int next : neighbours) {
+                // The border is all bushes, so neighbours of open cells are always inside the maze
+                if (!seen[next] && !maze.isWall(next)) {
+                    seen[next] = true;
+                    queue[tail++] = next;
+                }
+            }
+        }
+        return tail;
+    }
+
+    /**
+     * Counts the rooms with only one way out.
+     *
+     * @param maze The maze.
+     * @return The number of dead ends.
+     */
+    private static int countDeadEnds(MazeGrid maze) {
+        int deadEnds = 0;
+        for (int row = 1; row < maze.getRows() - 1; row += 2) {
+            for (int col = 1; col < maze.getCols() - 1; col += 2) {
+                int openings = 0;
+                openings += maze.isWall(row - 1, col) ? 0 : 1;
+                openings += maze.isWall(row + 1, col) ? 0 : 1;
+                openings += maze.isWall(row, col - 1) ? 0 : 1;
+                openings += maze.isWall(row, col + 1) ? 0 : 1;
+                if (openings == 1) {
+                    deadEnds++;
+                }
+            }
+        }
+        return deadEnds;
+    }
+
+    /**
+     * Checks whether two mazes have the same cells.
+     *
+     * @param a The first maze.
+     * @param b The second maze.
+     * @return true if every cell has the same flags.
+     */
+    private static boolean sameCells(MazeGrid a, MazeGrid b) {
+        if (a.size() != b.size()) {
+            return false;
+        }
+        for (int i = 0; i < a.size(); i++) {
+            if (a.get(i) != b.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Asserts that two mazes have the same cells.
+     *
+     * @param expected The expected maze.
+     * @param actual The actual maze.
+     */
+    private static void assertSameCells(MazeGrid expected, MazeGrid actual) {
+        assertTrue(sameCells(expected, actual));
+    }
+}
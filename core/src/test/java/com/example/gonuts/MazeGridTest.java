@@ -0,0 +1,76 @@
+package com.example.gonuts;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Tests the {@link MazeGrid} cell storage and its flag accessors.
+ */
+public class MazeGridTest {
+
+    /**
+     * Tests that a maze built from rows keeps its size and cells, and that rows and columns map to the
+     * same cells as their packed index.
+     */
+    @Test
+    public void testFromRows() {
+        MazeGrid maze = MazeGrid.fromRows(new int[][]{
+                {1, 1, 1},
+                {1, 2, 0},
+        });
+        assertEquals(2, maze.getRows());
+        assertEquals(3, maze.getCols());
+        assertTrue(maze.isWall(0, 2));
+        assertTrue(maze.hasAcorn(1, 1));
+        assertFalse(maze.isWall(1, 1));
+        assertEquals(MazeGrid.PATH, maze.get(1, 2));
+
+        int index = maze.index(1, 2);
+        assertEquals(5, index);
+        assertEquals(1, maze.rowOf(index));
+        assertEquals(2, maze.colOf(index));
+        assertFalse(maze.isInside(2, 0));
+        assertFalse(maze.isInside(0, -1));
+    }
+
+    /**
+     * Tests that flags can be added and removed without disturbing a cell's other flags.
+     */
+    @Test
+    public void testFlags() {
+        MazeGrid maze = new MazeGrid(4, 5);
+        int cell = maze.index(2, 3);
+        maze.addFlags(cell, MazeGrid.SPAWN | MazeGrid.VISITED);
+        maze.addFlags(cell, MazeGrid.DOOR);
+        assertTrue(maze.has(cell, MazeGrid.SPAWN | MazeGrid.DOOR));
+        maze.removeFlags(cell, MazeGrid.SPAWN);
+        assertFalse(maze.has(cell, MazeGrid.SPAWN));
+        assertTrue(maze.has(cell, MazeGrid.DOOR | MazeGrid.VISITED));
+
+        maze.addFlags(0, MazeGrid.VISITED | MazeGrid.WALL);
+        maze.removeFlagsEverywhere(MazeGrid.VISITED);
+        assertEquals(MazeGrid.DOOR, maze.get(cell));
+        assertEquals(MazeGrid.WALL, maze.get(0));
+    }
+
+    /**
+     * Tests that copies are independent of the original.
+     */
+    @Test
+    public void testCopy() {
+        MazeGrid maze = MazeLayouts.classic();
+        MazeGrid copy = maze.copy();
+        copy.set(1, 1, MazeGrid.ACORN);
+        assertEquals(MazeGrid.PATH, maze.get(1, 1));
+        maze.copyFrom(copy);
+        assertTrue(maze.hasAcorn(1, 1));
+    }
+
+    /**
+     * Tests that rows of different lengths are rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testRaggedRowsRejected() {
+        MazeGrid.fromRows(new int[][]{{0, 0}, {0}});
+    }
+}
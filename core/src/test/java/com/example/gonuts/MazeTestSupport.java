@@ -0,0 +1,55 @@
+package com.example.gonuts;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+/**
+ * Helpers shared by the tests of the path searches and the AI that runs over them.
+ */
+final class MazeTestSupport {
+
+    /**
+     * Not instantiable; the helpers are static.
+     */
+    private MazeTestSupport() {
+    }
+
+    /**
+     * Picks a random open cell.
+     *
+     * @param maze The maze.
+     * @param random The random generator.
+     * @return The packed id of the cell.
+     */
+    static int randomOpenCell(MazeGrid maze, Random random) {
+        while (true) {
+            int cell = random.nextInt(maze.size());
+            if (!maze.isWall(cell)) {
+                return cell;
+            }
+        }
+    }
+
+    /**
+     * Asserts that the last path found runs from the start to the goal one step at a time through open
+     * cells, apart from its start.
+     *
+     * @param paths The path search.
+     * @param start The start cell.
+     * @param goal The goal cell.
+     */
+    static void assertValidPath(PathSearch paths, int start, int goal) {
+        MazeGrid maze = paths.getMaze();
+        assertEquals(start, paths.getPathCell(0));
+        assertEquals(goal, paths.getPathCell(paths.getPathLength() - 1));
+        for (int i = 1; i < paths.getPathLength(); i++) {
+            int previous = paths.getPathCell(i - 1);
+            int cell = paths.getPathCell(i);
+            assertFalse(maze.isWall(cell));
+            int steps = Math.abs(maze.rowOf(cell) - maze.rowOf(previous))
+                    + Math.abs(maze.colOf(cell) - maze.colOf(previous));
+            assertEquals(1, steps);
+        }
+    }
+}
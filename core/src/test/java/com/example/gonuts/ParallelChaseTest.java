@@ -0,0 +1,130 @@
+package com.example.gonuts;
+
+import static com.example.gonuts.MazeTestSupport.*;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Tests that the {@link ParallelChase} gives bit-identical results to running the foxes' AI on one thread.
+ */
+public class ParallelChaseTest {
+
+    /**
+     * Tests small batches of entities chasing a moving target through a braided maze, including rows killed
+     * along the way, against the same entities run by {@link ChaseSystem#update}.
+     */
+    @Test
+    public void testMatchesSingleThread() {
+        MazeGrid maze = MazeGenerator.backtracker(41, 41, 2L, 0.3f);
+        FlowField field = new FlowField(maze);
+        EntityStore serial = createStore(maze, 3L);
+        EntityStore parallel = createStore(maze, 3L);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        ParallelChase chase = new ParallelChase(pool, 7);
+        Random random = new Random(5);
+        int target = randomOpenCell(maze, random);
+        try {
+            chaseTogether(maze, field, serial, parallel, chase, random, target);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Runs the same entities after a target that jumps to another cell every 40 ticks, once on one thread
+     * and once on the pool, comparing them after every tick.
+     *
+     * @param maze The maze.
+     * @param field The flow field over the maze.
+     * @param serial The entities run on this thread.
+     * @param parallel The same entities, run on the pool.
+     * @param chase The parallel chase.
+     * @param random The random generator for the target's cells.
+     * @param target The first target cell.
+     */
+    private static void chaseTogether(MazeGrid maze, FlowField field, EntityStore serial, EntityStore parallel,
+                                      ParallelChase chase, Random random, int target) {
+        for (int tick = 0; tick < 400; tick++) {
+            if (tick % 40 == 0) {
+                target = randomOpenCell(maze, random);
+            }
+            if (tick == 100) {
+                serial.getTable(0).kill(11);
+                parallel.getTable(0).kill(11);
+            }
+            field.update(target);
+            ChaseSystem.update(serial, field, 0.3f);
+            chase.update(parallel, field, 0.3f);
+            EntityTable expected = serial.getTable(0);
+            EntityTable actual = parallel.getTable(0);
+            for (int i = 0; i < expected.getCount(); i++) {
+                assertEquals(Float.floatToIntBits(expected.getX(i)), Float.floatToIntBits(actual.getX(i)));
+                assertEquals(Float.floatToIntBits(expected.getY(i)), Float.floatToIntBits(actual.getY(i)));
+                assertEquals(expected.nextCells[i], actual.nextCells[i]);
+            }
+        }
+    }
+
+    /**
+     * Tests that a world whose AI runs on the pool plays out exactly like one running everything on the game
+     * thread, with a horde large enough to be cut into several batches.
+     */
+    @Test
+    public void testWorldMatchesSingleThread() {
+        GameWorld serial = createHorde();
+        GameWorld parallel = createHorde();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        parallel.setAiPool(pool);
+        try {
+            while (!serial.isGameOver() && serial.getTickCount() < 600) {
+                serial.tick();
+                parallel.tick();
+                assertEquals(serial.isGameOver(), parallel.isGameOver());
+                assertEquals(serial.getProjectileCount(), parallel.getProjectileCount());
+                for (int i = 0; i < serial.getFoxCount(); i++) {
+                    assertEquals(serial.getFox(i).getX(), parallel.getFox(i).getX(), 0);
+                    assertEquals(serial.getFox(i).getY(), parallel.getFox(i).getY(), 0);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+        assertTrue(serial.getTickCount() > 40);
+    }
+
+    /**
+     * Creates a world on a generated maze with a chasing horde of three batches' worth of foxes.
+     *
+     * @return The world.
+     */
+    private static GameWorld createHorde() {
+        GameWorld world = new GameWorld(MazeGenerator.backtracker(101, 101, 3L, 0.2f), 3L);
+        for (int i = 1; i < 3 * ParallelChase.DEFAULT_BATCH_SIZE; i++) {
+            world.addFox();
+        }
+        world.setFoxChasing(true);
+        return world;
+    }
+
+    /**
+     * Creates a store with one table of entities on random open cells.
+     *
+     * @param maze The maze.
+     * @param seed The seed for the entities' cells.
+     * @return The store.
+     */
+    private static EntityStore createStore(MazeGrid maze, long seed) {
+        EntityStore store = new EntityStore(1);
+        EntityTable table = store.add(new EntityTable(CollisionGrid.KIND_FOX,
+                EntityTable.POSITION | EntityTable.STEERING, 50));
+        Random random = new Random(seed);
+        for (int i = 0; i < 50; i++) {
+            int cell = randomOpenCell(maze, random);
+            table.place(table.add(), maze.colOf(cell), maze.rowOf(cell));
+        }
+        return store;
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.gonuts;
+
+import static com.example.gonuts.MazeTestSupport.*;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Tests the {@link PathFinder} A* search against breadth-first search distances.
+ */
+public class PathFinderTest {
+
+    /**
+     * Tests a path around a wall, and that paths start and end where asked and only take single steps
+     * through open cells.
+     */
+    @Test
+    public void testPathAroundWall() {
+        MazeGrid maze = MazeGrid.fromRows(new int[][]{
+                {0, 0, 0, 0},
+                {0, 1, 1, 0},
+                {0, 0, 1, 0},
+        });
+        PathFinder paths = new PathFinder(maze);
+        assertTrue(paths.search(maze.index(2, 1), maze.index(2, 3)));
+        assertEquals(9, paths.getPathLength());
+        assertEquals(maze.index(2, 1), paths.getPathCell(0));
+        assertValidPath(paths, maze.index(2, 1), maze.index(2, 3));
+    }
+
+    /**
+     * Tests that a walled-off goal, or a goal that is itself a wall, gives no path, and that a search from
+     * the goal to itself is a path of one cell.
+     */
+    @Test
+    public void testUnreachable() {
+        MazeGrid maze = MazeGrid.fromRows(new int[][]{
+                {0, 1, 0},
+                {0, 1, 0},
+                {0, 1, 1},
+        });
+        PathFinder paths = new PathFinder(maze);
+        assertFalse(paths.search(maze.index(0, 0), maze.index(0, 2)));
+        assertEquals(0, paths.getPathLength());
+        assertFalse(paths.search(maze.index(0, 0), maze.index(0, 1)));
+        assertTrue(paths.search(maze.index(1, 0), maze.index(1, 0)));
+        assertEquals(1, paths.getPathLength());
+    }
+
+    /**
+     * Tests that the fox can find its way out of the bush it is hiding in.
+     */
+    @Test
+    public void testStartInsideWall() {
+        MazeGrid maze = MazeLayouts.classic();
+        PathFinder paths = new PathFinder(maze);
+        assertTrue(maze.isWall(2, 2));
+        assertTrue(paths.search(maze.index(2, 2), maze.index(9, 9)));
+        assertFalse(maze.isWall(paths.getPathCell(1)));
+        assertValidPath(paths, maze.index(2, 2), maze.index(9, 9));
+    }
+
+    /**
+     * Tests many random searches on generated mazes against breadth-first search, reusing one path finder
+     * so that stale entries from earlier searches would show up as wrong answers.
+     */
+    @Test
+    public void testMatchesBreadthFirstSearch() {
+        Random random = new Random(5);
+        MazeGrid maze = MazeGenerator.backtracker(41, 51, 2L, 0.4f);
+        PathFinder paths = new PathFinder(maze);
+        for (int i = 0; i < 200; i++) {
+            int start = randomOpenCell(maze, random);
+            int goal = randomOpenCell(maze, random);
+            int[] distances = breadthFirst(maze, start);
+            assertTrue(paths.search(start, goal));
+            assertEquals(distances[goal] + 1, paths.getPathLength());
+            assertValidPath(paths, start, goal);
+        }
+    }
+
+    /**
+     * Tests that the search sees walls added after the path finder was created.
+     */
+    @Test
+    public void testMazeChanges() {
+        MazeGrid maze = new MazeGrid(3, 5);
+        PathFinder paths = new PathFinder(maze);
+        assertTrue(paths.search(maze.index(1, 0), maze.index(1, 4)));
+        assertEquals(5, paths.getPathLength());
+        maze.set(0, 2, MazeGrid.WALL);
+        maze.set(1, 2, MazeGrid.WALL);
+        assertTrue(paths.search(maze.index(1, 0), maze.index(1, 4)));
+        assertEquals(7, paths.getPathLength());
+        maze.set(2, 2, MazeGrid.WALL);
+        assertFalse(paths.search(maze.index(1, 0), maze.index(1, 4)));
+    }
+
+    /**
+     * Computes the number of steps from a cell to every open cell with breadth-first search.
+     *
+     * @param maze The maze, surrounded by walls.
+     * @param start The cell to start from.
+     * @return The distance to each cell, or -1 for cells that cannot be reached.
+     */
+    private static int[] breadthFirst(MazeGrid maze, int start) {
+        int[] distances = new int[maze.size()];
+        Arrays.fill(distances, -1);
+        int[] queue = new int[maze.size()];
+        int head = 0;
+        int tail = 0;
+        distances[start] = 0;
+        queue[tail++] = start;
+        while (head < tail) {
+            int cell = queue[head++];
+            int[] neighbours = {cell - 1, cell + 1, cell - maze.getCols(), cell + maze.getCols()};
+            for (int next : neighbours) {
+                if (distances[next] < 0 && !maze.isWall(next)) {
+                    distances[next] = distances[cell] + 1;
+                    queue[tail++] = next;
+                }
+            }
+        }
+        return distances;
+    }
+}
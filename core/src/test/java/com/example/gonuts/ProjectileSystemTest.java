@@ -0,0 +1,145 @@
+package com.example.gonuts;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+/**
+ * A class for testing the functionality of the ProjectileSystem class. Tests include
+ * methods to ensure that projectile position updates correctly according to its velocity,
+ * that collision detection logic is functioning as expected, and that removal keeps the
+ * projectiles packed at the front of the arrays.
+ */
+public class ProjectileSystemTest {
+    private ProjectileSystem projectiles;
+    private int projectile;
+
+    /**
+     * Sets up the testing environment before each test method is executed.
+     * This method adds a projectile at a known starting position with
+     * a specified velocity to ensure predictable behavior in tests.
+     */
+    @Before
+    public void setUp() {
+        projectiles = new ProjectileSystem(4);
+        // Projectile starts at (100, 100) moving at (10, 5) per update
+        projectile = projectiles.spawn(100, 100, 10, 5, ProjectileSystem.OWNER_NONE);
+    }
+
+    /**
+     * Tests the update method of the ProjectileSystem class. Verifies that the projectile's
+     * position is updated correctly based on its initial velocity.
+     */
+    @Test
+    public void testUpdate() {
+        projectiles.update();
+        assertEquals("X position should be updated by velocityX", 110, projectiles.getX(projectile), 0.01);
+        assertEquals("Y position should be updated by velocityY", 105, projectiles.getY(projectile), 0.01);
+        assertEquals(105, projectiles.interpolateX(projectile, 0.5f), 0.01);
+    }
+
+    /**
+     * Tests the checkCollision method of the ProjectileSystem class. Ensures that the collision detection
+     * accurately identifies when the projectile is sufficiently close to a specified target point,
+     * and when it is not, based on the target's size.
+     */
+    @Test
+    public void testCheckCollision() {
+        assertTrue("Projectile should detect collision with target at (102, 103)",
+                   projectiles.checkCollision(projectile, 102, 103, 5));
+        assertFalse("Projectile should not detect collision with target far away",
+                    projectiles.checkCollision(projectile, 200, 200, 5));
+        projectiles.kill(projectile);
+        assertFalse("Killed projectiles should not collide",
+                    projectiles.checkCollision(projectile, 102, 103, 5));
+    }
+
+    /**
+     * Tests that aimed projectiles travel at SPEED towards their target.
+     */
+    @Test
+    public void testSpawnAimed() {
+        int aimed = projectiles.spawnAimed(0, 0, 3, 4, 7);
+        assertEquals(ProjectileSystem.SPEED * 0.6f, projectiles.getVelocityX(aimed), 1e-6);
+        assertEquals(ProjectileSystem.SPEED * 0.8f, projectiles.getVelocityY(aimed), 1e-6);
+        assertEquals(7, projectiles.getOwner(aimed));
+    }
+
+    /**
+     * Tests that removing killed projectiles moves the last projectile into the gap and that a full system
+     * refuses new projectiles until there is room again.
+     */
+    @Test
+    public void testSwapRemoveAndCapacity() {
+        projectiles.spawn(1, 0, 0, 0, 1);
+        projectiles.spawn(2, 0, 0, 0, 2);
+        projectiles.spawn(3, 0, 0, 0, 3);
+        assertEquals(-1, projectiles.spawn(4, 0, 0, 0, 4));
+
+        projectiles.kill(0);
+        projectiles.kill(3);
+        assertEquals("Killed projectiles stay until removed", 4, projectiles.getCount());
+        projectiles.removeDead();
+        assertEquals(2, projectiles.getCount());
+        assertEquals(2, projectiles.getX(0), 0);
+        assertEquals(2, projectiles.getOwner(0));
+        assertEquals(1, projectiles.getX(1), 0);
+        assertTrue(projectiles.isAlive(0) && projectiles.isAlive(1));
+
+        assertEquals(2, projectiles.spawn(5, 0, 0, 0, 5));
+    }
+
+    /**
+     * Tests that projectiles are removed when they fly into a wall, even when they move more than a cell per
+     * tick, and when they leave the maze.
+     */
+    @Test
+    public void testCollideWithWalls() {
+        MazeGrid maze = MazeGrid.fromRows(new int[][]{
+                {0, 0, 0, 0, 0},
+                {0, 0, 1, 0, 0},
+                {0, 0, 0, 0, 0}
+        });
+        ProjectileSystem system = new ProjectileSystem(4);
+        int slow = system.spawn(0, 1, 0.4f, 0, ProjectileSystem.OWNER_NONE);
+        int fast = system.spawn(0, 1, 3f, 0, ProjectileSystem.OWNER_NONE); // Would jump over the wall
+        int leaving = system.spawn(4, 0, 0, -0.4f, ProjectileSystem.OWNER_NONE);
+        int passing = system.spawn(0, 2, 0.4f, 0, ProjectileSystem.OWNER_NONE);
+
+        system.update();
+        system.collideWithWalls(maze);
+        assertTrue(system.isAlive(slow));
+        assertFalse("Fast projectiles must not tunnel through walls", system.isAlive(fast));
+        assertTrue(system.isAlive(leaving));
+
+        for (int i = 0; i < 2; i++) {
+            system.update();
+            system.collideWithWalls(maze);
+        }
+        assertTrue("Projectile should still be short of the wall", system.isAlive(slow));
+        system.update();
+        system.collideWithWalls(maze);
+        assertFalse("Projectile should stop at the wall", system.isAlive(slow));
+        assertFalse("Projectile should be removed after leaving the maze", system.isAlive(leaving));
+        assertTrue(system.isAlive(passing));
+    }
+
+    /**
+     * Tests that a projectile fired from inside a bush leaves it, and is then stopped by the next bush.
+     */
+    @Test
+    public void testFiredFromBush() {
+        MazeGrid maze = MazeGrid.fromRows(new int[][]{
+                {1, 1, 0, 0, 1, 0}
+        });
+        ProjectileSystem system = new ProjectileSystem(1);
+        int shot = system.spawn(0, 0, 0.5f, 0, ProjectileSystem.OWNER_NONE);
+        for (int i = 0; i < 6; i++) {
+            system.update();
+            system.collideWithWalls(maze);
+            assertTrue("Projectile should fly out of the bush it was fired from", system.isAlive(shot));
+        }
+        system.update();
+        system.collideWithWalls(maze);
+        assertFalse("Projectile should stop when it reaches the next bush", system.isAlive(shot));
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.gonuts;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests that the Squirrel moves the correct distance in the correct direction when each movement method is
+ * called, and that it is drawn between its previous and current position.
+ */
+public class SquirrelTest {
+    private static final float SPEED = 0.25f; // Distance of a single movement step, in cells
+
+    private Squirrel squirrel;
+
+    /**
+     * Places the squirrel at a known position before each test.
+     */
+    @Before
+    public void setUp() {
+        squirrel = new Squirrel(5, 5);
+    }
+
+    /**
+     * Tests that moving up decreases the y-coordinate by one step.
+     */
+    @Test
+    public void testMoveUp() {
+        squirrel.moveUp();
+        assertEquals(5 - SPEED, squirrel.getY(), 0);
+        assertEquals(5, squirrel.getX(), 0);
+    }
+
+    /**
+     * Tests that moving down increases the y-coordinate by one step.
+     */
+    @Test
+    public void testMoveDown() {
+        squirrel.moveDown();
+        assertEquals(5 + SPEED, squirrel.getY(), 0);
+    }
+
+    /**
+     * Tests that moving left decreases the x-coordinate by one step.
+     */
+    @Test
+    public void testMoveLeft() {
+        squirrel.moveLeft();
+        assertEquals(5 - SPEED, squirrel.getX(), 0);
+    }
+
+    /**
+     * Tests that moving right increases the x-coordinate by one step.
+     */
+    @Test
+    public void testMoveRight() {
+        squirrel.moveRight();
+        assertEquals(5 + SPEED, squirrel.getX(), 0);
+        assertEquals(5, squirrel.getY(), 0);
+    }
+
+    /**
+     * Tests that the squirrel is drawn between the position stored at the start of the tick and its current
+     * position.
+     */
+    @Test
+    public void testInterpolation() {
+        squirrel.storePreviousPosition();
+        squirrel.moveRight();
+        assertEquals(5, squirrel.interpolateX(0), 0);
+        assertEquals(5 + SPEED / 2, squirrel.interpolateX(0.5f), 0);
+        assertEquals(5 + SPEED, squirrel.interpolateX(1), 0);
+    }
+}
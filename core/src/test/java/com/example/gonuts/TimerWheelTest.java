@@ -0,0 +1,184 @@
+package com.example.gonuts;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Tests the {@link TimerWheel} scheduler, including timers that cascade down from the higher levels and
+ * handlers that schedule and cancel timers while the wheel is firing.
+ */
+public class TimerWheelTest {
+
+    /**
+     * Records the tick, type and payload of every timer that fires.
+     */
+    private static class RecordingHandler implements TimerWheel.Handler {
+        TimerWheel wheel;
+        final List<long[]> fired = new ArrayList<>();
+
+        @Override
+        public void onTimer(int timerId, int type, int payload) {
+            fired.add(new long[]{wheel.getCurrentTick(), type, payload});
+        }
+    }
+
+    private TimerWheel wheel;
+    private RecordingHandler handler;
+
+    /**
+     * Sets up an empty wheel before each test.
+     */
+    @Before
+    public void setUp() {
+        wheel = new TimerWheel(4);
+        handler = new RecordingHandler();
+        handler.wheel = wheel;
+    }
+
+    /**
+     * Advances the wheel a number of ticks.
+     *
+     * @param ticks The number of ticks to advance.
+     */
+    private void advance(int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            wheel.advance(handler);
+        }
+    }
+
+    /**
+     * Tests that a one-shot timer fires exactly once, on the tick it is due.
+     */
+    @Test
+    public void testOneShotFiresOnDueTick() {
+        wheel.schedule(5, 7, 42);
+        advance(4);
+        assertTrue(handler.fired.isEmpty());
+        advance(1);
+        assertEquals(1, handler.fired.size());
+        assertArrayEquals(new long[]{5, 7, 42}, handler.fired.get(0));
+        advance(100);
+        assertEquals(1, handler.fired.size());
+        assertEquals(0, wheel.getActiveCount());
+    }
+
+    /**
+     * Tests that a repeating timer fires at its delay and then at every period.
+     */
+    @Test
+    public void testRepeatingTimer() {
+        wheel.scheduleRepeating(10, 120, 1, 0);
+        advance(10 + 120 * 3);
+        assertEquals(4, handler.fired.size());
+        for (int i = 0; i < 4; i++) {
+            assertEquals(10 + 120 * i, handler.fired.get(i)[0]);
+        }
+        assertEquals(1, wheel.getActiveCount());
+    }
+
+    /**
+     * Tests that cancelled timers never fire and that stale ids cannot cancel a reused timer slot.
+     */
+    @Test
+    public void testCancel() {
+        int id = wheel.schedule(3, 1, 0);
+        assertTrue(wheel.cancel(id));
+        assertFalse("A timer can only be cancelled once", wheel.cancel(id));
+
+        int reused = wheel.schedule(3, 2, 0);
+        assertFalse("A stale id must not cancel a new timer", wheel.cancel(id));
+        advance(3);
+        assertEquals(1, handler.fired.size());
+        assertEquals(2, handler.fired.get(0)[1]);
+        assertFalse("A fired timer cannot be cancelled", wheel.cancel(reused));
+    }
+
+    /**
+     * Tests that long delays are held in the higher levels and still fire on the exact tick.
+     */
+    @Test
+    public void testLongDelaysCascade() {
+        wheel.schedule(64, 1, 0);
+        wheel.schedule(5000, 2, 0);
+        wheel.schedule(300000, 3, 0);
+        wheel.schedule(20000000, 4, 0); // Beyond the wheel's range
+        advance(20000000);
+        assertEquals(4, handler.fired.size());
+        assertArrayEquals(new long[]{64, 1, 0}, handler.fired.get(0));
+        assertArrayEquals(new long[]{5000, 2, 0}, handler.fired.get(1));
+        assertArrayEquals(new long[]{300000, 3, 0}, handler.fired.get(2));
+        assertArrayEquals(new long[]{20000000, 4, 0}, handler.fired.get(3));
+    }
+
+    /**
+     * Tests many timers with random delays scheduled at random times, each of which must fire on its due tick.
+     */
+    @Test
+    public void testRandomTimersFireOnTime() {
+        Random random = new Random(5);
+        int count = 2000;
+        for (int i = 0; i < count; i++) {
+            if (random.nextInt(4) == 0) {
+                advance(random.nextInt(50));
+            }
+            long delay = 1 + random.nextInt(random.nextBoolean() ? 100 : 20000);
+            wheel.schedule(delay, 0, (int) (wheel.getCurrentTick() + delay));
+        }
+        advance(20000);
+        assertEquals(count, handler.fired.size());
+        for (long[] fired : handler.fired) {
+            assertEquals("Timer should fire on its due tick", fired[2], fired[0]);
+        }
+    }
+
+    /**
+     * Tests that a handler can cancel a timer due on the same tick, stop its own repeating timer and
+     * schedule new ones.
+     */
+    @Test
+    public void testHandlerCanScheduleAndCancel() {
+        final int[] ids = new int[3];
+        final List<Integer> fired = new ArrayList<>();
+        TimerWheel.Handler reentrant = new TimerWheel.Handler() {
+            @Override
+            public void onTimer(int timerId, int type, int payload) {
+                fired.add(type);
+                if (type == 0 || type == 1) {
+                    // Whichever of the first two fires first cancels the other
+                    wheel.cancel(ids[1 - type]);
+                    wheel.schedule(1, 3, 0);
+                } else if (type == 2) {
+                    wheel.cancel(timerId);
+                }
+            }
+        };
+        ids[0] = wheel.schedule(2, 0, 0);
+        ids[1] = wheel.schedule(2, 1, 0);
+        ids[2] = wheel.scheduleRepeating(2, 1, 2, 0);
+        for (int i = 0; i < 10; i++) {
+            wheel.advance(reentrant);
+        }
+        assertEquals(3, fired.size());
+        assertTrue(fired.contains(2));
+        assertEquals(Integer.valueOf(3), fired.get(2));
+        assertEquals(0, wheel.getActiveCount());
+    }
+
+    /**
+     * Tests that the wheel grows past its initial capacity.
+     */
+    @Test
+    public void testGrowsBeyondInitialCapacity() {
+        for (int i = 0; i < 100; i++) {
+            wheel.schedule(1 + i, 0, i);
+        }
+        assertEquals(100, wheel.getActiveCount());
+        advance(100);
+        assertEquals(100, handler.fired.size());
+    }
+}
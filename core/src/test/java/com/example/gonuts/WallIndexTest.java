@@ -0,0 +1,71 @@
+package com.example.gonuts;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * Tests the {@link WallIndex} of interior wall cells used to pick the fox's hiding places.
+ */
+public class WallIndexTest {
+    private MazeGrid maze;
+
+    /**
+     * Sets up a small maze with three interior walls before each test.
+     */
+    @Before
+    public void setUp() {
+        maze = MazeGrid.fromRows(new int[][]{
+                {1, 1, 1, 1, 1},
+                {1, 1, 0, 0, 1},
+                {1, 0, 2, 1, 1},
+                {1, 1, 0, 0, 1},
+                {1, 1, 1, 1, 1}
+        });
+    }
+
+    /**
+     * Tests that only interior walls are indexed, as packed cell ids in row-major order.
+     */
+    @Test
+    public void testIndexesInteriorWalls() {
+        WallIndex walls = new WallIndex(maze);
+        assertEquals(3, walls.size());
+        assertEquals(1 * 5 + 1, walls.get(0));
+        assertEquals(2 * 5 + 3, walls.get(1));
+        assertEquals(3, walls.rowOf(walls.get(2)));
+        assertEquals(1, walls.colOf(walls.get(2)));
+    }
+
+    /**
+     * Tests that every pick is an interior wall.
+     */
+    @Test
+    public void testPickReturnsWalls() {
+        WallIndex walls = new WallIndex(maze);
+        Random random = new Random(3);
+        for (int i = 0; i < 100; i++) {
+            int cell = walls.pick(random);
+            assertTrue(maze.isWall(walls.rowOf(cell), walls.colOf(cell)));
+        }
+    }
+
+    /**
+     * Tests that the index only sees maze changes after being invalidated, and that a maze without
+     * interior walls has nothing to pick.
+     */
+    @Test
+    public void testInvalidate() {
+        WallIndex walls = new WallIndex(maze);
+        assertEquals(3, walls.size());
+        maze.set(1, 1, MazeGrid.PATH);
+        maze.set(2, 3, MazeGrid.PATH);
+        maze.set(3, 1, MazeGrid.PATH);
+        assertEquals("The index is only rescanned when invalidated", 3, walls.size());
+        walls.invalidate();
+        assertEquals(0, walls.size());
+        assertEquals(-1, walls.pick(new Random(1)));
+    }
+}